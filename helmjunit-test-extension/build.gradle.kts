@@ -1,7 +1,9 @@
 plugins {
     id("java")
     `java-library`
+    `java-test-fixtures`
     `maven-publish`
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.raushan.helmjunit"
@@ -26,13 +28,44 @@ java {
     }
 }
 
+// Macro benchmark of the release lifecycle, run with ./gradlew lifecycleBenchmark.
+val benchmark: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[benchmark.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+
 dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
     implementation("org.junit.jupiter:junit-jupiter-api:5.10.2")
+    // Listeners are loaded by the launcher of the user's build; the extension must not pin its version.
+    compileOnly("org.junit.platform:junit-platform-launcher:1.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.2")
     implementation("org.slf4j:slf4j-api:2.0.17")
     implementation("ch.qos.logback:logback-classic:1.5.18")
+    jmhImplementation(testFixtures(project))
+    "benchmarkImplementation"(testFixtures(project))
+    "benchmarkImplementation"("org.junit.jupiter:junit-jupiter:5.10.2")
+    "benchmarkImplementation"("org.junit.platform:junit-platform-launcher:1.10.2")
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+tasks.register<JavaExec>("lifecycleBenchmark") {
+    group = "verification"
+    description = "Runs synthetic @HelmChartTest classes through the JUnit Platform launcher and reports lifecycle throughput."
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("com.raushan.helmjunit.benchmark.LifecycleBenchmark")
+    // e.g. -PlifecycleBenchmark.args="--classes=150 --charts=2 --backend=real"
+    args = (findProperty("lifecycleBenchmark.args") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+    systemProperties(System.getProperties().filterKeys { it.toString().startsWith("helmjunit.") }.mapKeys { it.key.toString() })
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    // One file per version, so that results can be compared across releases.
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results-${project.version}.json"))
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.benchmark;
+
+import com.raushan.helmjunit.util.ProcessExecutor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ProcessExecutor.Backend} that counts the commands it passes on to another backend, by subcommand,
+ * e.g. {@code helm install} or {@code kubectl get}.
+ */
+final class CountingBackend implements ProcessExecutor.Backend {
+
+    private final ProcessExecutor.Backend delegate;
+    private final boolean forking;
+    private final Map<String, LongAdder> commands = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a counting backend.
+     *
+     * @param delegate the backend that executes the commands
+     * @param forking  true if the delegate starts an operating system process for every command
+     */
+    CountingBackend(ProcessExecutor.Backend delegate, boolean forking) {
+        this.delegate = delegate;
+        this.forking = forking;
+    }
+
+    @Override
+    public ProcessExecutor.ProcessResult execute(List<String> command, byte[] stdin) throws Exception {
+        commands.computeIfAbsent(subcommand(command), key -> new LongAdder()).increment();
+        return delegate.execute(command, stdin);
+    }
+
+    /**
+     * Returns the number of executed commands by subcommand, sorted by subcommand.
+     *
+     * @return the command counts
+     */
+    Map<String, Long> commandCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        commands.forEach((subcommand, count) -> counts.put(subcommand, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns the number of executed commands.
+     *
+     * @return the command count
+     */
+    long commands() {
+        return commands.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Returns the number of releases installed or upgraded with {@code helm install} or {@code helm upgrade}.
+     *
+     * @return the install count
+     */
+    long installs() {
+        return count("helm install") + count("helm upgrade");
+    }
+
+    /**
+     * Returns the number of operating system processes started for the commands: zero for an in-process backend.
+     *
+     * @return the fork count
+     */
+    long forks() {
+        return forking ? commands() : 0;
+    }
+
+    private long count(String subcommand) {
+        LongAdder count = commands.get(subcommand);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Returns the program and its first argument that is not an option, e.g. {@code kubectl get}.
+     */
+    static String subcommand(List<String> command) {
+        if (command.isEmpty()) return "";
+        for (int i = 1; i < command.size(); i++) {
+            if (!command.get(i).startsWith("-")) {
+                return command.get(0) + " " + command.get(i);
+            }
+        }
+        return command.get(0);
+    }
+}
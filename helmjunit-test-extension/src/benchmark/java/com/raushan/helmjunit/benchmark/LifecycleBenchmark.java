@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.benchmark;
+
+import com.raushan.helmjunit.fake.FakeCluster;
+import com.raushan.helmjunit.report.PhaseTimings;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A macro benchmark of the whole release lifecycle: it runs synthetic {@code @HelmChartTest} classes through the
+ * JUnit Platform launcher, exactly as a build would, and reports wall time, installs, helm/kubectl processes,
+ * peak memory and the time per lifecycle phase.
+ * <p>
+ * The backend is either the in-process {@link FakeCluster} ({@code --backend=fake}, the default), with
+ * configurable latencies, or the real {@code helm} and {@code kubectl} against the current kubeconfig context
+ * ({@code --backend=real}), e.g. minikube or kind. HelmJUnit features such as async teardown, reuse or the
+ * chart cache are controlled as usual with {@code -Dhelmjunit.*} system properties, so that runs with and
+ * without a feature can be compared.
+ * <p>
+ * Options, all in {@code --name=value} form:
+ * <ul>
+ *     <li>{@code classes} (20), {@code charts} (2), {@code tests} (1): synthetic test classes, charts per class and
+ *     test methods per class</li>
+ *     <li>{@code backend} ({@code fake}): {@code fake} or {@code real}</li>
+ *     <li>{@code chart}: the chart to install, by default a generated chart running the {@code pause} image</li>
+ *     <li>{@code pooled} ({@code false}): lease pooled namespaces instead of one namespace per class</li>
+ *     <li>{@code parallelism} (0): run test classes concurrently with this many threads, 0 runs them sequentially</li>
+ *     <li>{@code install-latency-ms} (800), {@code uninstall-latency-ms} (300), {@code pod-ready-ms} (3000),
+ *     {@code namespace-deletion-ms} (2000): latencies of the fake backend</li>
+ *     <li>{@code report-dir}: where the JSON report is written, by default {@value HelmJUnitSettings#REPORT_DIR}</li>
+ * </ul>
+ */
+public final class LifecycleBenchmark {
+
+    private LifecycleBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int classes = Integer.parseInt(options.getOrDefault("classes", "20"));
+        int charts = Integer.parseInt(options.getOrDefault("charts", "2"));
+        int tests = Integer.parseInt(options.getOrDefault("tests", "1"));
+        int parallelism = Integer.parseInt(options.getOrDefault("parallelism", "0"));
+        boolean fake = !"real".equals(options.getOrDefault("backend", "fake"));
+
+        FakeCluster cluster = fake ? fakeCluster(options).install() : null;
+        // Counts the commands of whichever backend is in place: the fake cluster, or processes.
+        ProcessExecutor.Backend backend = ProcessExecutor.useBackend(null);
+        CountingBackend counting = new CountingBackend(backend, !fake);
+        ProcessExecutor.useBackend(counting);
+
+        Path workDir = Files.createTempDirectory("helmjunit-lifecycle-");
+        SyntheticSuite suite = new SyntheticSuite(workDir, classes, charts, tests,
+                Boolean.parseBoolean(options.getOrDefault("pooled", "false")));
+        String chart = options.containsKey("chart") ? options.get("chart") : suite.writeChart().toString();
+        List<Class<?>> testClasses = suite.compile(chart);
+
+        LauncherDiscoveryRequestBuilder request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(testClasses.stream().map(DiscoverySelectors::selectClass).toList());
+        if (parallelism > 0) {
+            request.configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                    .configurationParameter("junit.jupiter.execution.parallel.mode.classes.default", "concurrent")
+                    .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "fixed")
+                    .configurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism", String.valueOf(parallelism));
+        }
+        LauncherDiscoveryRequest discoveryRequest = request.build();
+        Launcher launcher = LauncherFactory.create();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+        Thread.currentThread().setContextClassLoader(testClasses.isEmpty()
+                ? LifecycleBenchmark.class.getClassLoader()
+                : testClasses.get(0).getClassLoader());
+        long start = System.nanoTime();
+        launcher.execute(discoveryRequest, listener);
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+
+        ProcessExecutor.useBackend(backend);
+        if (cluster != null) {
+            cluster.close();
+        }
+
+        TestExecutionSummary summary = listener.getSummary();
+        LifecycleReport report = new LifecycleReport(fake ? "fake" : "real", classes, charts, wallTime,
+                summary.getTestsSucceededCount(), summary.getTestsFailedCount(), counting.installs(),
+                counting.commandCounts(), counting.forks(), LifecycleReport.measurePeakRss(), LifecycleReport.measurePeakHeap(),
+                LifecycleReport.phaseStats(PhaseTimings.shared().timings()));
+        Path directory = options.containsKey("report-dir") ? Path.of(options.get("report-dir")) : HelmJUnitSettings.reportDir();
+        Path file = report.writeTo(directory);
+
+        System.out.print(report.toText());
+        System.out.println("  report         " + file.toAbsolutePath());
+        for (TestExecutionSummary.Failure failure : summary.getFailures()) {
+            System.out.println("  ❌ " + failure.getTestIdentifier().getDisplayName() + ": " + failure.getException());
+        }
+        System.exit(summary.getTestsFailedCount() == 0 ? 0 : 1);
+    }
+
+    private static FakeCluster fakeCluster(Map<String, String> options) {
+        Duration install = millis(options, "install-latency-ms", 800);
+        Duration uninstall = millis(options, "uninstall-latency-ms", 300);
+        Duration ready = millis(options, "pod-ready-ms", 3000);
+        return new FakeCluster()
+                .latency("helm install", install)
+                .latency("helm upgrade", install)
+                .latency("helm uninstall", uninstall)
+                .latency("helm template", Duration.ofMillis(150))
+                .latency("kubectl", Duration.ofMillis(60))
+                .podTimeline(ready.dividedBy(5), ready.dividedBy(2), ready)
+                .namespaceFinalization(millis(options, "namespace-deletion-ms", 2000));
+    }
+
+    private static Duration millis(Map<String, String> options, String name, long defaultValue) {
+        return Duration.ofMillis(Long.parseLong(options.getOrDefault(name, String.valueOf(defaultValue))));
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument '" + arg + "'. Options have the form --name=value.");
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.benchmark;
+
+import com.raushan.helmjunit.report.Phase;
+import com.raushan.helmjunit.report.PhaseTiming;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * The outcome of a {@link LifecycleBenchmark} run: wall time, test results, the helm and kubectl commands and
+ * processes it cost, the memory it needed and how the release lifecycle time was spent per phase.
+ *
+ * @param backend         the backend the run used, {@code fake} or {@code real}
+ * @param classes         the number of synthetic test classes
+ * @param charts          the number of charts per test class
+ * @param wallTime        the time the launcher took to discover and execute the test classes
+ * @param testsSucceeded  the number of successful tests
+ * @param testsFailed     the number of failed tests
+ * @param installs        the number of {@code helm install} and {@code helm upgrade} commands
+ * @param commands        the number of helm and kubectl commands by subcommand
+ * @param forks           the number of processes started for the commands
+ * @param peakRssBytes    the peak resident set size of the JVM, or -1 if unknown
+ * @param peakHeapBytes   the sum of the peak usage of the heap memory pools
+ * @param phases          the lifecycle time per phase
+ */
+record LifecycleReport(String backend, int classes, int charts, Duration wallTime, long testsSucceeded, long testsFailed,
+                       long installs, Map<String, Long> commands, long forks, long peakRssBytes, long peakHeapBytes,
+                       Map<Phase, PhaseStats> phases) {
+
+    static final String JSON_FILE = "helmjunit-lifecycle-benchmark.json";
+
+    /**
+     * The time spent in one lifecycle phase over all releases.
+     *
+     * @param count the number of recorded phases
+     * @param total the sum of their durations
+     * @param p50   the median duration
+     * @param p95   the 95th percentile duration
+     * @param max   the longest duration
+     */
+    record PhaseStats(int count, Duration total, Duration p50, Duration p95, Duration max) {
+
+        static PhaseStats of(List<Duration> durations) {
+            List<Duration> sorted = durations.stream().sorted().toList();
+            return new PhaseStats(sorted.size(), sorted.stream().reduce(Duration.ZERO, Duration::plus),
+                    percentile(sorted, 0.5), percentile(sorted, 0.95), sorted.get(sorted.size() - 1));
+        }
+
+        private static Duration percentile(List<Duration> sorted, double quantile) {
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(quantile * sorted.size()) - 1));
+        }
+    }
+
+    /**
+     * Aggregates recorded phase timings per phase.
+     *
+     * @param timings the recorded timings
+     * @return the statistics per phase, in lifecycle order
+     */
+    static Map<Phase, PhaseStats> phaseStats(List<PhaseTiming> timings) {
+        Map<Phase, List<Duration>> durations = new EnumMap<>(Phase.class);
+        for (PhaseTiming timing : timings) {
+            durations.computeIfAbsent(timing.phase(), phase -> new ArrayList<>()).add(timing.duration());
+        }
+        Map<Phase, PhaseStats> stats = new EnumMap<>(Phase.class);
+        durations.forEach((phase, values) -> stats.put(phase, PhaseStats.of(values)));
+        return stats;
+    }
+
+    /**
+     * Returns the peak resident set size of this JVM from {@code /proc/self/status}.
+     *
+     * @return the peak RSS in bytes, or -1 if the platform does not report it
+     */
+    static long measurePeakRss() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux: fall through.
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the sum of the peak usage of all heap memory pools of this JVM.
+     *
+     * @return the peak heap usage in bytes
+     */
+    static long measurePeakHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getPeakUsage)
+                .filter(Objects::nonNull)
+                .mapToLong(MemoryUsage::getUsed)
+                .sum();
+    }
+
+    /**
+     * Renders the report as a human readable summary.
+     *
+     * @return the summary
+     */
+    String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "HelmJUnit lifecycle benchmark (%s backend): %d classes x %d charts%n",
+                backend, classes, charts));
+        text.append(String.format(Locale.ROOT, "  wall time      %10.1f s%n", wallTime.toMillis() / 1000.0));
+        text.append(String.format(Locale.ROOT, "  tests          %10d passed, %d failed%n", testsSucceeded, testsFailed));
+        text.append(String.format(Locale.ROOT, "  installs       %10d%n", installs));
+        text.append(String.format(Locale.ROOT, "  commands       %10d%n", commands.values().stream().mapToLong(Long::longValue).sum()));
+        text.append(String.format(Locale.ROOT, "  forks          %10d%n", forks));
+        text.append(String.format(Locale.ROOT, "  peak RSS       %10s%n", peakRssBytes < 0 ? "n/a" : megabytes(peakRssBytes)));
+        text.append(String.format(Locale.ROOT, "  peak heap      %10s%n", megabytes(peakHeapBytes)));
+        text.append(String.format(Locale.ROOT, "  %-20s %6s %10s %9s %9s %9s%n", "phase", "count", "total s", "p50 ms", "p95 ms", "max ms"));
+        phases.forEach((phase, stats) -> text.append(String.format(Locale.ROOT, "  %-20s %6d %10.1f %9d %9d %9d%n",
+                phase.label(), stats.count(), stats.total().toMillis() / 1000.0,
+                stats.p50().toMillis(), stats.p95().toMillis(), stats.max().toMillis())));
+        return text.toString();
+    }
+
+    /**
+     * Renders the report as JSON.
+     *
+     * @return the JSON report
+     */
+    String toJson() {
+        StringJoiner commandJson = new StringJoiner(",");
+        commands.forEach((subcommand, count) -> commandJson.add("\n    \"" + subcommand + "\": " + count));
+        StringJoiner phaseJson = new StringJoiner(",");
+        phases.forEach((phase, stats) -> phaseJson.add("\n    \"" + phase.name() + "\": {\"count\": " + stats.count()
+                + ", \"totalMs\": " + stats.total().toMillis() + ", \"p50Ms\": " + stats.p50().toMillis()
+                + ", \"p95Ms\": " + stats.p95().toMillis() + ", \"maxMs\": " + stats.max().toMillis() + "}"));
+        return "{\n  \"backend\": \"" + backend + "\",\n  \"classes\": " + classes + ",\n  \"charts\": " + charts
+                + ",\n  \"wallTimeMs\": " + wallTime.toMillis()
+                + ",\n  \"testsSucceeded\": " + testsSucceeded + ",\n  \"testsFailed\": " + testsFailed
+                + ",\n  \"installs\": " + installs + ",\n  \"forks\": " + forks
+                + ",\n  \"peakRssBytes\": " + peakRssBytes + ",\n  \"peakHeapBytes\": " + peakHeapBytes
+                + ",\n  \"commands\": {" + commandJson + "\n  },\n  \"phases\": {" + phaseJson + "\n  }\n}\n";
+    }
+
+    /**
+     * Writes the JSON report into a directory, creating it if needed.
+     *
+     * @param directory the report directory
+     * @return the written file
+     * @throws IOException if the file cannot be written
+     */
+    Path writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return Files.writeString(directory.resolve(JSON_FILE), toJson());
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.benchmark;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates and compiles synthetic {@code @HelmChartTest} classes: {@code classes} test classes, each installing
+ * {@code charts} releases of the same chart into its own namespace (or a pooled one) and asserting that every
+ * release was injected.
+ */
+final class SyntheticSuite {
+
+    static final String PACKAGE = "helmjunit.synthetic";
+
+    private final Path directory;
+    private final int classes;
+    private final int charts;
+    private final int testsPerClass;
+    private final boolean pooled;
+
+    /**
+     * Creates a suite.
+     *
+     * @param directory     the directory the sources, classes and the default chart are written to
+     * @param classes       the number of test classes
+     * @param charts        the number of charts per test class
+     * @param testsPerClass the number of test methods per test class
+     * @param pooled        true to lease pooled namespaces instead of creating a namespace per class
+     */
+    SyntheticSuite(Path directory, int classes, int charts, int testsPerClass, boolean pooled) {
+        this.directory = directory;
+        this.classes = classes;
+        this.charts = charts;
+        this.testsPerClass = testsPerClass;
+        this.pooled = pooled;
+    }
+
+    /**
+     * Writes a minimal chart: a Deployment running the {@code pause} image and a Service. It installs in seconds
+     * on minikube or kind, so that a run against a real cluster measures HelmJUnit rather than the workload.
+     *
+     * @return the chart directory
+     * @throws IOException if the chart cannot be written
+     */
+    Path writeChart() throws IOException {
+        Path chart = Files.createDirectories(directory.resolve("synthetic-chart"));
+        Files.createDirectories(chart.resolve("templates"));
+        Files.writeString(chart.resolve("Chart.yaml"), """
+                apiVersion: v2
+                name: synthetic
+                version: 1.0.0
+                """);
+        Files.writeString(chart.resolve("templates").resolve("deployment.yaml"), """
+                apiVersion: apps/v1
+                kind: Deployment
+                metadata:
+                  name: {{ .Release.Name }}
+                  labels:
+                    app.kubernetes.io/instance: {{ .Release.Name }}
+                spec:
+                  replicas: 1
+                  selector:
+                    matchLabels:
+                      app.kubernetes.io/instance: {{ .Release.Name }}
+                  template:
+                    metadata:
+                      labels:
+                        app.kubernetes.io/instance: {{ .Release.Name }}
+                    spec:
+                      containers:
+                        - name: pause
+                          image: registry.k8s.io/pause:3.9
+                """);
+        Files.writeString(chart.resolve("templates").resolve("service.yaml"), """
+                apiVersion: v1
+                kind: Service
+                metadata:
+                  name: {{ .Release.Name }}
+                  labels:
+                    app.kubernetes.io/instance: {{ .Release.Name }}
+                spec:
+                  type: ClusterIP
+                  ports:
+                    - port: 80
+                  selector:
+                    app.kubernetes.io/instance: {{ .Release.Name }}
+                """);
+        return chart;
+    }
+
+    /**
+     * Generates and compiles the test classes with the system Java compiler, against the class path of this JVM.
+     *
+     * @param chart the chart every release installs
+     * @return the loaded test classes
+     * @throws IOException if the classes cannot be generated or compiled
+     */
+    List<Class<?>> compile(String chart) throws IOException {
+        Path sources = Files.createDirectories(directory.resolve("src").resolve(PACKAGE.replace('.', '/')));
+        Path output = Files.createDirectories(directory.resolve("classes"));
+        List<String> arguments = new ArrayList<>(List.of(
+                "-d", output.toString(), "-cp", System.getProperty("java.class.path"), "-proc:none", "-nowarn"));
+        for (int index = 0; index < classes; index++) {
+            Path source = sources.resolve(className(index) + ".java");
+            Files.writeString(source, source(index, chart));
+            arguments.add(source.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler available. Run the benchmark on a JDK.");
+        }
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        if (compiler.run(null, null, errors, arguments.toArray(String[]::new)) != 0) {
+            throw new IllegalStateException("Unable to compile synthetic test classes:\n" + errors.toString(StandardCharsets.UTF_8));
+        }
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, SyntheticSuite.class.getClassLoader());
+        List<Class<?>> loaded = new ArrayList<>();
+        for (int index = 0; index < classes; index++) {
+            try {
+                loaded.add(loader.loadClass(PACKAGE + "." + className(index)));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Compiled synthetic test class not found", e);
+            }
+        }
+        return loaded;
+    }
+
+    String source(int index, String chart) {
+        String namespace = pooled ? "HelmResource.POOLED_NAMESPACE" : quote("helmjunit-synthetic-" + index);
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(PACKAGE).append(";\n\n")
+                .append("import com.raushan.helmjunit.annotation.HelmChartTest;\n")
+                .append("import com.raushan.helmjunit.annotation.HelmResource;\n")
+                .append("import com.raushan.helmjunit.model.HelmRelease;\n")
+                .append("import org.junit.jupiter.api.Test;\n\n")
+                .append("import static org.junit.jupiter.api.Assertions.assertNotNull;\n\n")
+                .append("@HelmChartTest\n")
+                .append("public class ").append(className(index)).append(" {\n");
+        for (int release = 0; release < charts; release++) {
+            source.append("\n    @HelmResource(chart = ").append(quote(chart))
+                    .append(", releaseName = ").append(quote("s" + index + "-c" + release))
+                    .append(", namespace = ").append(namespace).append(")\n")
+                    .append("    HelmRelease chart").append(release).append(";\n");
+        }
+        for (int test = 0; test < testsPerClass; test++) {
+            source.append("\n    @Test\n    void test").append(test).append("() {\n");
+            for (int release = 0; release < charts; release++) {
+                source.append("        assertNotNull(chart").append(release).append(");\n");
+            }
+            source.append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private static String className(int index) {
+        return "SyntheticTest" + index;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.core;
+
+import com.raushan.helmjunit.annotation.HelmResource;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.model.HelmRelease;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures {@link HelmAnnotationParser#parseHelmAnnotations(Class)}, which runs once per test class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelmAnnotationParserBenchmark {
+
+    private final HelmAnnotationParser parser = new HelmAnnotationParser();
+    private Logger parserLogger;
+
+    @Setup
+    public void setUp() {
+        // The parser logs every call on INFO; keep a reference so that the level is not lost on GC.
+        parserLogger = Logger.getLogger(HelmAnnotationParser.class.getName());
+        parserLogger.setLevel(Level.WARNING);
+    }
+
+    @Benchmark
+    public List<HelmChartDescriptor> parseHelmAnnotations() {
+        return parser.parseHelmAnnotations(ShopIntegrationTest.class);
+    }
+
+    /**
+     * A test class as found in practice: a few charts among ordinary test fields.
+     */
+    @SuppressWarnings("unused")
+    static class ShopIntegrationTest {
+
+        @HelmResource(chart = "bitnami/postgresql", releaseName = "orders-db", namespace = "shop",
+                values = {"auth.postgresPassword=secret", "primary.persistence.enabled=false"})
+        HelmRelease ordersDb;
+
+        @HelmResource(chart = "bitnami/redis", namespace = "shop", version = "19.x",
+                valuesFile = "values/redis.yaml", valuesFromClassPath = true)
+        HelmRelease cache;
+
+        @HelmResource(chart = "bitnami/kafka", releaseName = "events", namespace = "shop")
+        HelmRelease events;
+
+        String baseUrl;
+        int retries;
+        List<String> fixtures;
+        Object client;
+        long timeoutMillis;
+        boolean initialized;
+    }
+}
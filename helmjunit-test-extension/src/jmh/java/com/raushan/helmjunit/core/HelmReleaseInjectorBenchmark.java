@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.core;
+
+import com.raushan.helmjunit.annotation.HelmResource;
+import com.raushan.helmjunit.fake.FakeCluster;
+import com.raushan.helmjunit.helm.HelmClient;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.model.HelmRelease;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HelmReleaseInjector#injectInto(Object, HelmChartDescriptor)} for a release installed on a
+ * {@link FakeCluster}: manifest lookup, service resolution and field injection, without cluster latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelmReleaseInjectorBenchmark {
+
+    private final HelmReleaseInjector injector = new HelmReleaseInjector();
+    private FakeCluster cluster;
+    private HelmChartDescriptor descriptor;
+
+    @Setup
+    public void setUp() throws Exception {
+        Path workDir = Files.createTempDirectory("helmjunit-jmh");
+        System.setProperty(HelmJUnitSettings.CACHE_DIR, workDir.resolve("cache").toString());
+        Path chart = Files.createDirectories(workDir.resolve("orders"));
+        Files.writeString(chart.resolve("Chart.yaml"), "apiVersion: v2\nname: orders\nversion: 1.0.0\n");
+
+        cluster = new FakeCluster().install();
+        descriptor = new HelmChartDescriptor(chart.toString(), "orders", "jmh-inject", List.of());
+        new HelmClient().installChart(descriptor);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        new HelmClient().uninstallChart(descriptor);
+        cluster.close();
+    }
+
+    @Benchmark
+    public OrdersTest injectInto() {
+        OrdersTest testInstance = new OrdersTest();
+        injector.injectInto(testInstance, descriptor);
+        return testInstance;
+    }
+
+    @SuppressWarnings("unused")
+    public static class OrdersTest {
+
+        @HelmResource(chart = "charts/orders", releaseName = "orders", namespace = "jmh-inject")
+        HelmRelease orders;
+
+        String baseUrl;
+        int retries;
+    }
+}
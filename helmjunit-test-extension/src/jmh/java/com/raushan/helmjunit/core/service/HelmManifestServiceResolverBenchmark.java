@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.core.service;
+
+import com.raushan.helmjunit.helm.RenderedManifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of large rendered manifests, as produced by operator charts that ship their
+ * CustomResourceDefinitions: service discovery in {@link HelmManifestServiceResolver} and
+ * {@link RenderedManifest#parse(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelmManifestServiceResolverBenchmark {
+
+    @Param({"1", "4"})
+    public int megabytes;
+
+    private String manifest;
+
+    @Setup
+    public void setUp() {
+        manifest = operatorManifest(megabytes * 1024 * 1024);
+    }
+
+    @Benchmark
+    public Optional<String> findServiceName() {
+        return HelmManifestServiceResolver.findServiceName(manifest);
+    }
+
+    @Benchmark
+    public RenderedManifest parseRenderedManifest() {
+        return RenderedManifest.parse(manifest);
+    }
+
+    /**
+     * Renders a manifest of at least the given size: CustomResourceDefinitions with large schemas, followed by
+     * a webhook Service without an explicit type, the operator Service and its Deployment, in Helm's install order.
+     */
+    static String operatorManifest(int minimumSize) {
+        StringBuilder manifest = new StringBuilder(minimumSize + 4096);
+        for (int crd = 0; manifest.length() < minimumSize; crd++) {
+            manifest.append("""
+                    ---
+                    # Source: operator/crds/widget%1$d.yaml
+                    apiVersion: apiextensions.k8s.io/v1
+                    kind: CustomResourceDefinition
+                    metadata:
+                      name: widget%1$ds.example.com
+                    spec:
+                      group: example.com
+                      names:
+                        kind: Widget%1$d
+                        plural: widget%1$ds
+                      scope: Namespaced
+                      versions:
+                        - name: v1
+                          served: true
+                          storage: true
+                          schema:
+                            openAPIV3Schema:
+                              type: object
+                              properties:
+                    """.formatted(crd));
+            for (int field = 0; field < 100; field++) {
+                manifest.append("""
+                                        field%1$d:
+                                          description: Field %1$d of the widget specification, validated by the operator.
+                                          type: string
+                        """.formatted(field));
+            }
+        }
+        manifest.append("""
+                ---
+                # Source: operator/templates/webhook-service.yaml
+                apiVersion: v1
+                kind: Service
+                metadata:
+                  name: operator-webhook
+                spec:
+                  ports:
+                    - port: 443
+                      targetPort: 9443
+                ---
+                # Source: operator/templates/service.yaml
+                apiVersion: v1
+                kind: Service
+                metadata:
+                  name: operator
+                spec:
+                  type: ClusterIP
+                  ports:
+                    - port: 8080
+                ---
+                # Source: operator/templates/deployment.yaml
+                apiVersion: apps/v1
+                kind: Deployment
+                metadata:
+                  name: operator
+                spec:
+                  replicas: 1
+                  template:
+                    spec:
+                      containers:
+                        - name: operator
+                          image: "registry.local/operator:1.0.0"
+                """);
+        return manifest.toString();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.util;
+
+import com.raushan.helmjunit.fake.FakeCluster;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HelmCommandBuilder#buildInstallCommand(HelmChartDescriptor)} for a chart with a classpath
+ * values file, which is either materialized into a file or streamed to Helm over stdin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelmCommandBuilderBenchmark {
+
+    @Param({"false", "true"})
+    public boolean valuesOverStdin;
+
+    private FakeCluster cluster;
+    private HelmChartDescriptor descriptor;
+
+    @Setup
+    public void setUp() throws Exception {
+        System.setProperty(HelmJUnitSettings.VALUES_STDIN, String.valueOf(valuesOverStdin));
+        System.setProperty(HelmJUnitSettings.CACHE_DIR, Files.createTempDirectory("helmjunit-jmh").toString());
+        // Answers the one-time helm version check for release labels without starting helm.
+        cluster = new FakeCluster().install();
+        descriptor = new HelmChartDescriptor("bitnami/redis", "cache", "jmh-command",
+                List.of("architecture=standalone", "auth.enabled=false"), "benchmark/values.yaml", true, "19.6.4");
+    }
+
+    @TearDown
+    public void tearDown() {
+        cluster.close();
+    }
+
+    @Benchmark
+    public void buildInstallCommand(Blackhole blackhole) throws Exception {
+        blackhole.consume(HelmCommandBuilder.buildInstallCommand(descriptor));
+        blackhole.consume(HelmCommandBuilder.buildValuesInput(descriptor));
+    }
+}
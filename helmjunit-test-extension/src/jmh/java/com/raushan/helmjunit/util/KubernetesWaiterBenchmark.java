@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.util;
+
+import com.raushan.helmjunit.fake.FakeCluster;
+import com.raushan.helmjunit.kube.PodState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what every readiness check of the {@link KubernetesWaiter} does with {@code kubectl} output when
+ * the Kubernetes API client is not used: parsing {@code kubectl get pods,svc,endpoints -o json} into a
+ * {@link NamespaceSnapshot} and deriving the readiness of its pods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KubernetesWaiterBenchmark {
+
+    @Param({"10", "200"})
+    public int pods;
+
+    private String kubectlOutput;
+
+    @Setup
+    public void setUp() throws Exception {
+        FakeCluster cluster = new FakeCluster().replicas(pods);
+        cluster.execute(List.of("helm", "install", "app", "charts/app", "--namespace", "jmh-wait", "--create-namespace"), null);
+        kubectlOutput = cluster.execute(List.of("kubectl", "get", "pods,svc,endpoints", "-n", "jmh-wait", "-o", "json"), null)
+                .stdout();
+    }
+
+    @Benchmark
+    public NamespaceSnapshot parseSnapshot() {
+        return NamespaceSnapshot.parse("jmh-wait", kubectlOutput);
+    }
+
+    @Benchmark
+    public boolean podsReady() {
+        List<PodState> states = NamespaceSnapshot.parse("jmh-wait", kubectlOutput).pods();
+        return !states.isEmpty() && states.stream().allMatch(PodState::isReady);
+    }
+}
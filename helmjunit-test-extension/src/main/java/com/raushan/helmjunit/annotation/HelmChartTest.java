@@ -39,8 +39,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
  * }
  * </pre>
  * <p>
- * This annotation does not have any attributes and is used solely for
- * identification purposes.
+ * Tests that only need the release state to be reset between test methods can
+ * combine the per-test lifecycle with a lighter reset strategy:
+ * <pre>
+ * &#64;HelmChartTest(perTestLifecycle = true, resetStrategy = ResetStrategy.ROLLBACK_TO_BASELINE)
+ * public class MyHelmChartTest {
+ *     // Test methods go here
+ * }
+ * </pre>
  *
  * @see HelmResource
  */
@@ -66,4 +72,25 @@ public @interface HelmChartTest {
      * @return true if running in a local environment, false otherwise
      */
     boolean localEnvironment() default true;
+
+    /**
+     * The strategy used to reset the Helm releases between test methods.
+     * Only applies when {@link #perTestLifecycle()} is enabled.
+     * {@link ResetStrategy#FULL_REINSTALL} uninstalls and installs the charts around every test method,
+     * while the lighter strategies install the charts once and only reset their state between test methods.
+     *
+     * @return the reset strategy used for the per-test lifecycle
+     */
+    ResetStrategy resetStrategy() default ResetStrategy.FULL_REINSTALL;
+
+    /**
+     * Indicates whether the Helm releases should be kept installed after the test class and reused by the next run.
+     * If set to true, the next run skips the installation of a release whose chart and values are unchanged and
+     * whose pods are healthy. Intended for fast edit-run loops on a local cluster; it does not apply to the
+     * per-test lifecycle with {@link ResetStrategy#FULL_REINSTALL}.
+     * Reuse can also be enabled for all test classes with the {@code helmjunit.reuse} system property.
+     *
+     * @return true if releases are kept and reused across runs, false otherwise
+     */
+    boolean reuse() default false;
 }
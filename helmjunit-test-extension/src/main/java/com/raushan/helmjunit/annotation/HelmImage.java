@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Builds a container image for a {@link HelmResource} straight into the cluster before the chart is installed,
+ * and sets the image in the chart's values. No registry is involved.
+ * <p>
+ * On minikube the image is built with {@code minikube image build}, on kind with {@code docker build} followed
+ * by {@code kind load docker-image}. Other clusters get a plain {@code docker build}, which only helps clusters
+ * sharing the local docker daemon, e.g. Docker Desktop.
+ * <p>
+ * The build is skipped when the content of the build context, the Dockerfile and the build arguments are
+ * unchanged since the last build for the current cluster and the image is still present there. If {@link #tag()}
+ * has no tag part, the image is tagged with a hash of that content, so that every change gets a new tag and
+ * rolls out the pods.
+ * <p>
+ * Example usage:
+ * <pre>
+ * &#64;HelmResource(chart = "charts/my-app")
+ * &#64;HelmImage(context = "../my-app", tag = "my-app")
+ * private HelmRelease myApp;
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface HelmImage {
+
+    /**
+     * The build context directory, relative to the working directory of the tests.
+     *
+     * @return the build context
+     */
+    String context();
+
+    /**
+     * The image reference, e.g. {@code my-app} or {@code my-app:dev}. Without a tag part, a hash of the build
+     * content is used as tag.
+     *
+     * @return the image reference
+     */
+    String tag();
+
+    /**
+     * The Dockerfile, relative to the build context.
+     *
+     * @return the Dockerfile
+     */
+    String dockerfile() default "Dockerfile";
+
+    /**
+     * Build arguments passed to the build.
+     * e.g.: buildArgs = {"VERSION=1.0"}
+     *
+     * @return the build arguments
+     */
+    String[] buildArgs() default {};
+
+    /**
+     * The chart value set to the image repository, or blank to not set it.
+     *
+     * @return the repository value key
+     */
+    String repositoryValue() default "image.repository";
+
+    /**
+     * The chart value set to the image tag, or blank to not set it.
+     *
+     * @return the tag value key
+     */
+    String tagValue() default "image.tag";
+
+    /**
+     * The chart value set to the full image reference, for charts that take {@code repository:tag} as a
+     * single value, or blank to not set it.
+     *
+     * @return the image value key
+     */
+    String imageValue() default "";
+
+    /**
+     * The chart value set to {@code IfNotPresent}, so that the kubelet does not try to pull the image from a
+     * registry, or blank to not set it.
+     *
+     * @return the pull policy value key
+     */
+    String pullPolicyValue() default "image.pullPolicy";
+}
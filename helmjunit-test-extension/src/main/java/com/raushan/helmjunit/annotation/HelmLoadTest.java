@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.annotation;
+
+import com.raushan.helmjunit.extension.HelmLoadTestExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test method as an HTTP load test against the service of a Helm release of the test class.
+ * <p>
+ * Before the method runs, load is generated against the release's service for {@link #warmupSeconds()} plus
+ * {@link #durationSeconds()}, using virtual threads. Only requests started after the warmup are measured.
+ * The test fails if one of the service level objectives ({@code max*} attributes) is breached. Otherwise the
+ * method runs and can declare a {@link com.raushan.helmjunit.load.LoadTestResult} parameter for further
+ * assertions.
+ * <p>
+ * Example usage:
+ * <pre>
+ * &#64;HelmLoadTest(release = "echo", path = "/health", rps = 200, durationSeconds = 30, maxP99Millis = 250)
+ * void echoKeepsUp(LoadTestResult result) {
+ *     assertTrue(result.requests() &gt; 5000);
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Test
+@ExtendWith(HelmLoadTestExtension.class)
+public @interface HelmLoadTest {
+
+    /**
+     * The release name of the {@link HelmResource} field to load. May be omitted if the test class has a single
+     * Helm release.
+     *
+     * @return the release name
+     */
+    String release() default "";
+
+    /**
+     * The HTTP method of the requests. Requests have no body.
+     *
+     * @return the HTTP method
+     */
+    String method() default "GET";
+
+    /**
+     * The path requested on the service, starting with {@code /}.
+     *
+     * @return the request path
+     */
+    String path() default "/";
+
+    /**
+     * How the service is reached.
+     *
+     * @return the endpoint
+     */
+    LoadTestEndpoint endpoint() default LoadTestEndpoint.PORT_FORWARD;
+
+    /**
+     * The load model: a fixed arrival rate or a fixed number of workers.
+     *
+     * @return the load model
+     */
+    LoadModel model() default LoadModel.OPEN;
+
+    /**
+     * The target requests per second of the {@link LoadModel#OPEN open} model.
+     *
+     * @return the target rate
+     */
+    int rps() default 50;
+
+    /**
+     * The number of workers of the {@link LoadModel#CLOSED closed} model, or the maximum number of requests in
+     * flight of the open model.
+     *
+     * @return the concurrency
+     */
+    int concurrency() default 16;
+
+    /**
+     * How long the load is measured, after the warmup.
+     *
+     * @return the measured duration in seconds
+     */
+    int durationSeconds() default 10;
+
+    /**
+     * How long load is generated before measuring starts, e.g. to warm up connection pools and JIT compilers.
+     *
+     * @return the warmup in seconds
+     */
+    int warmupSeconds() default 2;
+
+    /**
+     * The timeout of a single request. Requests that time out count as errors.
+     *
+     * @return the request timeout in milliseconds
+     */
+    int timeoutMillis() default 5000;
+
+    /**
+     * The maximum median latency, or -1 for no limit.
+     *
+     * @return the limit in milliseconds
+     */
+    double maxP50Millis() default -1;
+
+    /**
+     * The maximum 99th percentile latency, or -1 for no limit.
+     *
+     * @return the limit in milliseconds
+     */
+    double maxP99Millis() default -1;
+
+    /**
+     * The maximum 99.9th percentile latency, or -1 for no limit.
+     *
+     * @return the limit in milliseconds
+     */
+    double maxP999Millis() default -1;
+
+    /**
+     * The maximum share of failed requests, from 0 to 1, or -1 for no limit. Requests fail if they cannot be
+     * sent, time out, are dropped or are answered with a status of 400 or higher.
+     *
+     * @return the maximum error rate
+     */
+    double maxErrorRate() default -1;
+}
@@ -38,6 +38,13 @@ import java.lang.annotation.Target;
 @Target(ElementType.FIELD)
 public @interface HelmResource {
 
+    /**
+     * Namespace value that lets HelmJUnit lease a namespace from its namespace pool instead of creating and
+     * deleting a dedicated one. All pooled charts of a test class share the leased namespace, which is scrubbed
+     * and returned to the pool after the class.
+     */
+    String POOLED_NAMESPACE = "<pooled>";
+
     /**
      * The name of the Helm chart to be used.
      * This is a mandatory field.
@@ -46,6 +53,14 @@ public @interface HelmResource {
      */
     String chart();
 
+    /**
+     * The version (or version constraint) of the Helm chart to be used.
+     * If not specified, the latest version available in the chart repository will be used.
+     *
+     * @return the version of the Helm chart
+     */
+    String version() default "";
+
     /**
      * The version of the Helm chart to be used.
      * If not specified, the default version will be used.
@@ -57,6 +72,7 @@ public @interface HelmResource {
     /**
      * The namespace in which the Helm chart will be deployed.
      * If not specified, the default namespace will be used.
+     * Use {@link #POOLED_NAMESPACE} to deploy into a namespace leased from the namespace pool.
      *
      * @return the namespace for the Helm chart deployment
      */
@@ -89,4 +105,13 @@ public @interface HelmResource {
      * @return true if values should be loaded from classpath, false otherwise
      */
     boolean valuesFromClassPath() default false;
+
+    /**
+     * The time the install may take, from the start of {@code helm install} until the release's pods are ready.
+     * Installs that take longer fail. Reused releases and in-place upgrades are not checked.
+     * e.g.: maxReadySeconds = 90
+     *
+     * @return the ready time budget in seconds, or -1 for no limit
+     */
+    int maxReadySeconds() default -1;
 }
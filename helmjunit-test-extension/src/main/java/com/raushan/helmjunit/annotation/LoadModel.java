@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.annotation;
+
+/**
+ * How a {@link HelmLoadTest} generates load.
+ *
+ * @see HelmLoadTest#model()
+ */
+public enum LoadModel {
+
+    /**
+     * Sends requests at a fixed arrival rate of {@link HelmLoadTest#rps()}, whether or not earlier requests have
+     * completed. Latency is measured from the time a request was due, so that a slow service is not hidden
+     * by fewer requests being sent (coordinated omission). At most {@link HelmLoadTest#concurrency()} requests
+     * are in flight; requests due beyond that are counted as dropped errors.
+     */
+    OPEN,
+
+    /**
+     * Runs {@link HelmLoadTest#concurrency()} workers, each sending its next request as soon as the previous one
+     * has completed.
+     */
+    CLOSED
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.annotation;
+
+/**
+ * How a {@link HelmLoadTest} reaches the service of a release.
+ *
+ * @see HelmLoadTest#endpoint()
+ */
+public enum LoadTestEndpoint {
+
+    /**
+     * Through a {@code kubectl port-forward} to the service, for tests running outside the cluster.
+     */
+    PORT_FORWARD,
+
+    /**
+     * Directly through the cluster DNS name of the service, e.g. {@code http://my-app.my-ns.svc.cluster.local:8080},
+     * for tests running inside the cluster. This avoids the throughput limit of port-forwarding.
+     */
+    SERVICE_DNS
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.annotation;
+
+/**
+ * Strategy used to bring Helm releases back to a clean state between test methods
+ * when {@link HelmChartTest#perTestLifecycle()} is enabled.
+ * <p>
+ * The lighter strategies install the releases once before all tests and only reset
+ * their state between test methods, which avoids tearing down and recreating the
+ * namespace for every test.
+ *
+ * @see HelmChartTest#resetStrategy()
+ */
+public enum ResetStrategy {
+
+    /**
+     * Uninstalls the releases (including their namespace) after each test method
+     * and installs them again before the next one.
+     */
+    FULL_REINSTALL,
+
+    /**
+     * Rolls every release back with {@code helm rollback} to the revision it had right
+     * after the install before all tests, and waits for the pods to become ready again.
+     */
+    ROLLBACK_TO_BASELINE,
+
+    /**
+     * Deletes the pods of every release, and the persistent volume claims created from the
+     * {@code volumeClaimTemplates} of its StatefulSets, so that their controllers recreate them
+     * from scratch, then waits for the pods to become ready again. Persistent volume claims
+     * rendered by the chart itself are kept.
+     */
+    ROLLOUT_RESTART
+}
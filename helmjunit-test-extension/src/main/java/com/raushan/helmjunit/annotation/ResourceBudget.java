@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the CPU and memory the containers of the Helm releases may use while a test runs.
+ * <p>
+ * While each test method of a {@link HelmChartTest} class with this annotation runs, the pods of its releases
+ * are sampled through the Kubernetes metrics API (metrics-server). After the method the test fails if a
+ * container exceeded a limit. Peak values are the highest usage of a single pod's container; averages are
+ * taken over all samples of all pods. Limits of -1 are not checked.
+ * <p>
+ * The annotation can be put on the test class and on single test methods, which then replace the class
+ * budget. Example usage:
+ * <pre>
+ * &#64;HelmChartTest
+ * &#64;ResourceBudget(maxMemoryMi = 512, maxAverageCpuMillis = 250)
+ * class RedisBudgetTest { ... }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ResourceBudget {
+
+    /**
+     * The release name the budget applies to, or blank for all releases of the test class.
+     *
+     * @return the release name
+     */
+    String release() default "";
+
+    /**
+     * The container name the budget applies to, or blank for all containers.
+     *
+     * @return the container name
+     */
+    String container() default "";
+
+    /**
+     * The maximum memory working set of a container, in mebibytes.
+     *
+     * @return the peak memory limit, or -1 for no limit
+     */
+    long maxMemoryMi() default -1;
+
+    /**
+     * The maximum average memory working set of a container, in mebibytes.
+     *
+     * @return the average memory limit, or -1 for no limit
+     */
+    long maxAverageMemoryMi() default -1;
+
+    /**
+     * The maximum CPU usage of a container, in millicores.
+     *
+     * @return the peak CPU limit, or -1 for no limit
+     */
+    long maxCpuMillis() default -1;
+
+    /**
+     * The maximum average CPU usage of a container, in millicores.
+     *
+     * @return the average CPU limit, or -1 for no limit
+     */
+    long maxAverageCpuMillis() default -1;
+
+    /**
+     * How often the metrics API is polled. metrics-server refreshes its values every 15 seconds by default, so
+     * shorter intervals only add load. The pods are also sampled when the test starts and ends.
+     *
+     * @return the sampling interval in seconds
+     */
+    int sampleIntervalSeconds() default 15;
+
+    /**
+     * Whether the test fails when no usage could be sampled, e.g. because the cluster has no metrics-server.
+     * If false, the budget is skipped with a warning instead.
+     *
+     * @return true if samples are required
+     */
+    boolean requireMetrics() default true;
+}
@@ -16,7 +16,9 @@
 
 package com.raushan.helmjunit.core;
 
+import com.raushan.helmjunit.annotation.HelmImage;
 import com.raushan.helmjunit.annotation.HelmResource;
+import com.raushan.helmjunit.helm.ImageBuilder;
 import com.raushan.helmjunit.model.HelmChartDescriptor;
 
 import java.lang.reflect.Field;
@@ -35,7 +37,8 @@ public class HelmAnnotationParser {
     /**
      * Parses the Helm annotations from the specified test class.
      * It looks for fields annotated with @HelmResource and creates HelmChartDescriptor objects
-     * based on the annotation values.
+     * based on the annotation values. The values of a @HelmImage on the same field come first,
+     * so that explicit values can override them.
      *
      * @param testClass the class to parse for Helm annotations
      * @return a list of HelmChartDescriptor objects representing the parsed Helm resources
@@ -46,11 +49,19 @@ public class HelmAnnotationParser {
         for (Field field : testClass.getDeclaredFields()) {
             HelmResource helmResource = field.getAnnotation(HelmResource.class);
             if (helmResource != null) {
+                List<String> values = new ArrayList<>();
+                HelmImage helmImage = field.getAnnotation(HelmImage.class);
+                if (helmImage != null) {
+                    values.addAll(ImageBuilder.shared().values(helmImage));
+                }
+                values.addAll(List.of(helmResource.values()));
                 HelmChartDescriptor descriptor = new HelmChartDescriptor(
                         helmResource.chart(),
                         helmResource.releaseName().isEmpty() ? generateDefaultReleaseName(field) : helmResource.releaseName(),
                         helmResource.namespace(),
-                        List.of(helmResource.values()), helmResource.valuesFile(), helmResource.valuesFromClassPath());
+                        List.copyOf(values), helmResource.valuesFile(), helmResource.valuesFromClassPath(),
+                        helmResource.version().isEmpty() ? null : helmResource.version(),
+                        helmResource.maxReadySeconds());
                 helmChartDescriptors.add(descriptor);
             }
         }
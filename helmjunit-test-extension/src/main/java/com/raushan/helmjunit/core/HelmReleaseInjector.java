@@ -19,9 +19,11 @@ package com.raushan.helmjunit.core;
 import com.raushan.helmjunit.annotation.HelmResource;
 import com.raushan.helmjunit.core.service.ChainedServiceResolver;
 import com.raushan.helmjunit.core.service.HelmManifestServiceResolver;
-import com.raushan.helmjunit.core.service.KubectlServiceResolver;
+import com.raushan.helmjunit.core.service.KubernetesApiServiceResolver;
 import com.raushan.helmjunit.model.HelmChartDescriptor;
 import com.raushan.helmjunit.model.HelmRelease;
+import com.raushan.helmjunit.report.Phase;
+import com.raushan.helmjunit.report.PhaseTimings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,11 +40,11 @@ public class HelmReleaseInjector {
 
     private final ServiceResolver resolver = new ChainedServiceResolver(
             new HelmManifestServiceResolver(),
-            new KubectlServiceResolver()
+            KubernetesApiServiceResolver.orKubectl()
     );
 
     public HelmRelease createHelmRelease(String releaseName, String namespace) {
-        try {
+        try (PhaseTimings.Span ignored = PhaseTimings.shared().start(namespace, releaseName, Phase.SERVICE_RESOLUTION)) {
             logger.info("Resolving HelmRelease for '{}' in namespace '{}'", releaseName, namespace);
 
             Optional<String> serviceNameOpt = resolver.resolveServiceName(releaseName, namespace);
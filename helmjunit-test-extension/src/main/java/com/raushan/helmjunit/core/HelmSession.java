@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.core;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * HelmSession represents a HelmJUnit test session, i.e. one JUnit Platform execution or, for DSL usage
+ * outside the extension, the lifetime of the JVM.
+ * <p>
+ * Components that keep state for the whole session (caches, background work, reports) register close hooks
+ * here. The hooks run in reverse registration order when the JUnit root extension context is closed, or at the
+ * latest when the JVM shuts down. Hooks registered after a close run at the end of the next session.
+ */
+public final class HelmSession implements ExtensionContext.Store.CloseableResource {
+
+    private static final Logger logger = LoggerFactory.getLogger(HelmSession.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(HelmSession.class);
+    private static final HelmSession CURRENT = new HelmSession();
+
+    private final Deque<CloseHook> hooks = new ConcurrentLinkedDeque<>();
+
+    private HelmSession() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "helmjunit-session-shutdown"));
+    }
+
+    /**
+     * Returns the current session.
+     *
+     * @return the current HelmJUnit session
+     */
+    public static HelmSession current() {
+        return CURRENT;
+    }
+
+    /**
+     * Binds the current session to the root of a JUnit extension context, so that the session is closed
+     * when the JUnit Platform execution finishes instead of at JVM shutdown.
+     *
+     * @param extensionContext any extension context of the running test plan
+     */
+    public static void attachTo(ExtensionContext extensionContext) {
+        extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(HelmSession.class, key -> CURRENT, HelmSession.class);
+    }
+
+    /**
+     * Registers a hook to run when the session closes.
+     *
+     * @param description a short description used in logs
+     * @param hook        the hook to run
+     */
+    public void onClose(String description, AutoCloseable hook) {
+        hooks.push(new CloseHook(description, hook));
+    }
+
+    /**
+     * Closes the session by running all registered hooks in reverse registration order.
+     * Failures of individual hooks are logged and do not prevent the remaining hooks from running.
+     */
+    @Override
+    public void close() {
+        CloseHook hook;
+        while ((hook = hooks.poll()) != null) {
+            try {
+                logger.debug("Closing session resource: {}", hook.description());
+                hook.hook().close();
+            } catch (Exception e) {
+                logger.warn("Failed to close session resource: {}", hook.description(), e);
+            }
+        }
+    }
+
+    private record CloseHook(String description, AutoCloseable hook) {
+    }
+}
@@ -17,8 +17,13 @@
 package com.raushan.helmjunit.core.service;
 
 import com.raushan.helmjunit.core.ServiceResolver;
+import com.raushan.helmjunit.helm.ManifestCache;
+import com.raushan.helmjunit.helm.ReleaseStore;
+import com.raushan.helmjunit.helm.RenderedManifest;
+import com.raushan.helmjunit.helm.StoredRelease;
+import com.raushan.helmjunit.util.ProcessExecutor;
 
-import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -28,21 +33,47 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Parses rendered manifests from Helm to discover service name and port.
+ * The manifest is read from the {@link ManifestCache} for releases installed by HelmJUnit, then from the
+ * release Secrets through the {@link ReleaseStore}, and only fetched with {@code helm get manifest} as a last resort.
  */
 public class HelmManifestServiceResolver implements ServiceResolver {
 
     private static final Logger logger = LoggerFactory.getLogger(HelmManifestServiceResolver.class.getName());
+    private static final Pattern SERVICE = Pattern.compile(
+            "(?m)^kind: Service\n.*?metadata:\n  name: (.*?)\n.*?spec:\n.*?type: (ClusterIP|LoadBalancer|NodePort)", Pattern.DOTALL);
+
+    private final ManifestCache manifestCache = ManifestCache.shared();
+    private final ReleaseStore releaseStore = ReleaseStore.shared();
+    private final ServiceResolver clusterResolver = KubernetesApiServiceResolver.orKubectl();
 
     @Override
     public Optional<String> resolveServiceName(String releaseName, String namespace) throws Exception {
-        ProcessBuilder builder = new ProcessBuilder("helm", "get", "manifest", releaseName, "-n", namespace);
-        Process process = builder.start();
-        InputStream input = process.getInputStream();
-        String manifest = new String(input.readAllBytes());
-        process.waitFor();
+        String manifest = manifestCache.forRelease(releaseName, namespace)
+                .map(RenderedManifest::text)
+                .orElse(null);
+        if (manifest == null) {
+            manifest = releaseStore.latest(releaseName, namespace)
+                    .map(StoredRelease::manifest)
+                    .orElse(null);
+        }
+        if (manifest == null) {
+            logger.debug("No cached manifest for release '{}'. Falling back to helm get manifest.", releaseName);
+            manifest = ProcessExecutor.execute(List.of("helm", "get", "manifest", releaseName, "-n", namespace),
+                    "Helm get manifest: " + releaseName).stdout();
+        }
+
+        return findServiceName(manifest);
+    }
 
-        Pattern svcPattern = Pattern.compile("(?m)^kind: Service\n.*?metadata:\n  name: (.*?)\n.*?spec:\n.*?type: (ClusterIP|LoadBalancer|NodePort)", Pattern.DOTALL);
-        Matcher matcher = svcPattern.matcher(manifest);
+    /**
+     * Finds the service of a release in its rendered manifest: the first service whose name contains
+     * {@code master}, or the first service otherwise.
+     *
+     * @param manifest the rendered manifest
+     * @return the service name, or empty if the manifest has no service
+     */
+    static Optional<String> findServiceName(String manifest) {
+        Matcher matcher = SERVICE.matcher(manifest);
 
         while (matcher.find()) {
             String name = matcher.group(1);
@@ -61,7 +92,7 @@ public class HelmManifestServiceResolver implements ServiceResolver {
 
     @Override
     public int resolveServicePort(String serviceName, String namespace) throws Exception {
-        // fallback to kubectl if not parsing YAML
-        return new KubectlServiceResolver().resolveServicePort(serviceName, namespace);
+        // fallback to the cluster if not parsing YAML
+        return clusterResolver.resolveServicePort(serviceName, namespace);
     }
 }
@@ -17,8 +17,9 @@
 package com.raushan.helmjunit.core.service;
 
 import com.raushan.helmjunit.core.ServiceResolver;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.NamespaceSnapshot;
 
-import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +29,8 @@ import org.slf4j.LoggerFactory;
 /**
  * Uses kubectl commands to resolve service name and port for a Helm release.
  * This is useful when the Helm manifest parsing is not sufficient or fails.
+ * Lookups are served from the shared {@link NamespaceSnapshot}, so name and port resolution for the
+ * same namespace cost a single kubectl call.
  */
 public class KubectlServiceResolver implements ServiceResolver {
 
@@ -35,20 +38,13 @@ public class KubectlServiceResolver implements ServiceResolver {
 
     @Override
     public Optional<String> resolveServiceName(String releaseName, String namespace) throws Exception {
-        ProcessBuilder builder = new ProcessBuilder(
-                "kubectl", "get", "svc", "-n", namespace,
-                "-l", "app.kubernetes.io/instance=" + releaseName,
-                "-o", "jsonpath={.items[?(@.spec.clusterIP!=\"None\")].metadata.name}"
-        );
+        List<String> names = NamespaceSnapshot.of(namespace).services().stream()
+                .filter(service -> releaseName.equals(Json.string(service, "metadata", "labels", "app.kubernetes.io/instance")))
+                .filter(service -> !"None".equals(Json.string(service, "spec", "clusterIP")))
+                .map(service -> Json.string(service, "metadata", "name"))
+                .toList();
+        logger.debug("Services of release '{}' in namespace '{}': {}", releaseName, namespace, names);
 
-        Process process = builder.start();
-        InputStream input = process.getInputStream();
-        String output = new String(input.readAllBytes()).trim();
-        process.waitFor();
-
-        if (output.isBlank()) return Optional.empty();
-
-        List<String> names = List.of(output.split("\\s+"));
         return names.stream()
                 .filter(name -> name.contains("master"))
                 .findFirst()
@@ -57,20 +53,14 @@ public class KubectlServiceResolver implements ServiceResolver {
 
     @Override
     public int resolveServicePort(String serviceName, String namespace) throws Exception {
-        ProcessBuilder builder = new ProcessBuilder(
-                "kubectl", "get", "svc", serviceName, "-n", namespace,
-                "-o", "jsonpath={.spec.ports[0].port}"
-        );
-
-        Process process = builder.start();
-        InputStream input = process.getInputStream();
-        String output = new String(input.readAllBytes()).trim();
-        process.waitFor();
+        long port = NamespaceSnapshot.of(namespace).service(serviceName)
+                .map(service -> Json.number(service, -1, "spec", "ports", 0, "port"))
+                .orElse(-1L);
 
-        if (output.isBlank()) {
+        if (port < 0) {
             throw new RuntimeException("Unable to resolve port for service: " + serviceName);
         }
 
-        return Integer.parseInt(output);
+        return (int) port;
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.core.service;
+
+import com.raushan.helmjunit.core.ServiceResolver;
+import com.raushan.helmjunit.kube.ClusterStateCache;
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.util.Json;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Uses the Kubernetes API to resolve service name and port for a Helm release.
+ * It performs the same lookups as {@link KubectlServiceResolver}, served from the {@link ClusterStateCache}
+ * when it is enabled, or over the shared API client connection otherwise.
+ */
+public class KubernetesApiServiceResolver implements ServiceResolver {
+
+    private final KubernetesClient client;
+    private final Optional<ClusterStateCache> cache;
+
+    public KubernetesApiServiceResolver(KubernetesClient client) {
+        this.client = client;
+        this.cache = ClusterStateCache.shared();
+    }
+
+    /**
+     * Returns the resolver that queries the cluster directly: this resolver if the shared API client is
+     * available, or a {@link KubectlServiceResolver} otherwise.
+     *
+     * @return the cluster service resolver
+     */
+    public static ServiceResolver orKubectl() {
+        return KubernetesClient.shared()
+                .<ServiceResolver>map(KubernetesApiServiceResolver::new)
+                .orElseGet(KubectlServiceResolver::new);
+    }
+
+    @Override
+    public Optional<String> resolveServiceName(String releaseName, String namespace) throws Exception {
+        List<Map<String, Object>> services = cache.isPresent()
+                ? cache.get().byInstance(namespace, ClusterStateCache.Resource.SERVICES, releaseName)
+                : client.listItems(KubernetesClient.corePath(namespace, "services"), "app.kubernetes.io/instance=" + releaseName);
+        List<String> names = services.stream()
+                .filter(service -> !"None".equals(Json.string(service, "spec", "clusterIP")))
+                .map(service -> Json.string(service, "metadata", "name"))
+                .toList();
+
+        return names.stream()
+                .filter(name -> name.contains("master"))
+                .findFirst()
+                .or(() -> names.stream().findFirst());
+    }
+
+    @Override
+    public int resolveServicePort(String serviceName, String namespace) throws Exception {
+        Optional<Map<String, Object>> found = cache.isPresent()
+                ? cache.get().get(namespace, ClusterStateCache.Resource.SERVICES, serviceName)
+                : client.get(KubernetesClient.corePath(namespace, "services") + "/" + serviceName);
+        Map<String, Object> service = found.orElseThrow(() -> new RuntimeException("Unable to resolve port for service: " + serviceName));
+        long port = Json.number(service, -1, "spec", "ports", 0, "port");
+        if (port < 0) {
+            throw new RuntimeException("Unable to resolve port for service: " + serviceName);
+        }
+        return (int) port;
+    }
+}
@@ -37,6 +37,15 @@ public interface HelmTestBuilder {
      */
     HelmTestBuilder chart(String chart);
 
+    /**
+     * Sets the version of the Helm chart to be used for the test.
+     * If not set, the latest version available in the chart repository is used.
+     *
+     * @param version the chart version or version constraint
+     * @return the current HelmTestBuilder instance
+     */
+    HelmTestBuilder version(String version);
+
     /**
      * Sets the release name for the Helm test.
      *
@@ -71,6 +80,15 @@ public interface HelmTestBuilder {
      */
     HelmTestBuilder valuesFromClasspath(boolean valuesFromClasspath);
 
+    /**
+     * Sets the time the install may take until the release's pods are ready.
+     * Installs that take longer fail.
+     *
+     * @param seconds the ready time budget in seconds, or -1 for no limit
+     * @return the current HelmTestBuilder instance
+     */
+    HelmTestBuilder maxReadySeconds(int seconds);
+
     /**
      * Sets a key-value pair for the Helm test.
      * This can be used to override specific values in the Helm chart.
@@ -55,10 +55,12 @@ public class HelmTestRunner {
         private final List<HelmChartDescriptor> descriptors = new ArrayList<>();
 
         private String chart;
+        private String version;
         private String releaseName;
         private String namespace;
         private String valuesFile;
         private boolean valuesFromClasspath;
+        private int maxReadySeconds = -1;
         private final List<String> values = new ArrayList<>();
         private boolean isMultiChartMode = false;
 
@@ -78,6 +80,18 @@ public class HelmTestRunner {
             return this;
         }
 
+        /**
+         * Sets the version of the Helm chart to be deployed.
+         *
+         * @param version the chart version or version constraint
+         * @return this HelmTestBuilder instance
+         */
+        @Override
+        public HelmTestBuilder version(String version) {
+            this.version = version;
+            return this;
+        }
+
         /**
          * Sets the release name for the Helm chart.
          * The release name cannot be null or empty.
@@ -136,6 +150,18 @@ public class HelmTestRunner {
             return this;
         }
 
+        /**
+         * Sets the time the install may take until the release's pods are ready.
+         *
+         * @param seconds the ready time budget in seconds, or -1 for no limit
+         * @return this HelmTestBuilder instance
+         */
+        @Override
+        public HelmTestBuilder maxReadySeconds(int seconds) {
+            this.maxReadySeconds = seconds;
+            return this;
+        }
+
         /**
          * Adds a key-value pair to the list of values to be passed to the Helm chart.
          * This can be used to override specific values in the chart.
@@ -167,7 +193,7 @@ public class HelmTestRunner {
         private HelmChartDescriptor toDescriptor() {
             return new HelmChartDescriptor(
                     chart, releaseName, namespace,
-                    new ArrayList<>(values), valuesFile, valuesFromClasspath
+                    new ArrayList<>(values), valuesFile, valuesFromClasspath, version, maxReadySeconds
             );
         }
 
@@ -214,7 +240,7 @@ public class HelmTestRunner {
             try {
                 consumer.accept(env);
             } finally {
-                client.uninstallChart(descriptor);
+                client.scheduleUninstall(descriptor);
             }
         }
 
@@ -245,7 +271,7 @@ public class HelmTestRunner {
                 consumer.accept(releases);
             } finally {
                 for (HelmChartDescriptor desc : descriptors) {
-                    client.uninstallChart(desc);
+                    client.scheduleUninstall(desc);
                 }
             }
         }
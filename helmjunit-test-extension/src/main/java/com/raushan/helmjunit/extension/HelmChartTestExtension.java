@@ -17,10 +17,20 @@
 package com.raushan.helmjunit.extension;
 
 import com.raushan.helmjunit.annotation.HelmChartTest;
+import com.raushan.helmjunit.annotation.ResetStrategy;
+import com.raushan.helmjunit.annotation.ResourceBudget;
 import com.raushan.helmjunit.core.HelmAnnotationParser;
 import com.raushan.helmjunit.core.HelmReleaseInjector;
+import com.raushan.helmjunit.core.HelmSession;
 import com.raushan.helmjunit.helm.HelmClient;
+import com.raushan.helmjunit.helm.ImageBuilder;
+import com.raushan.helmjunit.helm.NamespacePool;
+import com.raushan.helmjunit.jfr.LifecycleEvent;
+import com.raushan.helmjunit.helm.ReleaseReuse;
 import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.report.PhaseTimings;
+import com.raushan.helmjunit.resources.ResourceSampling;
+import com.raushan.helmjunit.resources.ResourceUsage;
 import com.raushan.helmjunit.util.MinikubeSupport;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
@@ -28,6 +38,8 @@ import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -47,25 +59,60 @@ public class HelmChartTestExtension implements BeforeAllCallback, AfterAllCallba
     private final HelmClient helmClient = new HelmClient();
     List<HelmChartDescriptor> charts;
     private final HelmReleaseInjector releaseInjector = new HelmReleaseInjector();
+    private final ReleaseReuse releaseReuse = ReleaseReuse.shared();
+    private String leasedNamespace;
     private boolean isEnvReady = false;
+    private boolean isResetPending = false;
 
     @Override
     public void beforeAll(ExtensionContext extensionContext) throws Exception {
-        if (isLocalDevelopment(extensionContext)) {
-            logger.info("ℹ️ Local development environment detected. Spinning up Minikube cluster...");
-            MinikubeSupport.ensureEnvironmentReady();
-        }
-        isEnvReady = true;
-        if (isPerTestLifecycle(extensionContext)) {
-            logger.info("ℹ️ Per-test lifecycle enabled. Helm chart will be installed before each test.");
-        } else {
-            logger.info("🍲 Preparing Helm chart test environment...");
+        LifecycleEvent event = LifecycleEvent.start();
+        try {
+            if (isLocalDevelopment(extensionContext)) {
+                logger.info("ℹ️ Local development environment detected. Spinning up Minikube cluster...");
+                MinikubeSupport.ensureEnvironmentReady();
+            }
+            isEnvReady = true;
+            HelmSession.attachTo(extensionContext);
             Class<?> testClass = extensionContext.getRequiredTestClass();
-            charts = new HelmAnnotationParser().parseHelmAnnotations(testClass);
-            for (HelmChartDescriptor chart : charts) {
-                logger.info("🏗️ Installing Helm chart: {} with release name: {}", chart.chart(), chart.releaseName());
-                helmClient.installChart(chart);
+            charts = leasePooledNamespace(new HelmAnnotationParser().parseHelmAnnotations(testClass));
+            charts.forEach(chart -> PhaseTimings.shared().bind(chart, testClass.getName()));
+            ImageBuilder.shared().buildImages(testClass);
+            if (isReuse(extensionContext)) {
+                if (isReinstallPerTest(extensionContext)) {
+                    logger.warn("⚠️ Reuse mode does not apply to the per-test lifecycle with full reinstall. Ignoring it.");
+                } else {
+                    logger.info("📌 Reuse mode enabled. Helm releases will be kept installed after the tests.");
+                    for (HelmChartDescriptor chart : charts) {
+                        if (chart.namespace().equals(leasedNamespace)) {
+                            logger.warn("⚠️ Helm release {} uses a pooled namespace, which is recycled after the tests. Not keeping it.",
+                                    chart.releaseName());
+                        } else {
+                            releaseReuse.keep(chart);
+                        }
+                    }
+                }
+            }
+            if (isReinstallPerTest(extensionContext)) {
+                logger.info("ℹ️ Per-test lifecycle enabled. Helm chart will be installed before each test.");
+            } else {
+                if (isPerTestLifecycle(extensionContext)) {
+                    logger.info("ℹ️ Per-test lifecycle enabled with reset strategy {}. Helm chart will be installed once and reset between tests.",
+                            getResetStrategy(extensionContext));
+                } else {
+                    logger.info("🍲 Preparing Helm chart test environment...");
+                }
+                for (HelmChartDescriptor chart : charts) {
+                    logger.info("🏗️ Installing Helm chart: {} with release name: {}", chart.chart(), chart.releaseName());
+                    helmClient.installChart(chart);
+                    if (isPerTestLifecycle(extensionContext)
+                            && getResetStrategy(extensionContext) == ResetStrategy.ROLLBACK_TO_BASELINE) {
+                        helmClient.recordBaseline(chart);
+                    }
+                }
             }
+        } finally {
+            event.complete("beforeAll", extensionContext);
         }
     }
 
@@ -75,53 +122,187 @@ public class HelmChartTestExtension implements BeforeAllCallback, AfterAllCallba
 
     @Override
     public void afterAll(ExtensionContext extensionContext) throws Exception {
-        if (!isEnvReady) {
-            logger.warn("Environment was not prepared before tests. Skipping cleanup.");
-            return;
-        }
-        if (isPerTestLifecycle(extensionContext)) {
-            logger.info("ℹ️ Per-test lifecycle enabled. Helm chart will be uninstalled after each test.");
-        } else {
-            logger.info("🧹 Cleaning up Helm chart test environment...");
-            Class<?> testClass = extensionContext.getRequiredTestClass();
-            charts = new HelmAnnotationParser().parseHelmAnnotations(testClass);
-            for (HelmChartDescriptor chart : charts) {
-                logger.info("🚨 Uninstalling Helm chart: {} with release name: {}", chart.chart(), chart.releaseName());
-                helmClient.uninstallChart(chart);
+        LifecycleEvent event = LifecycleEvent.start();
+        try {
+            if (!isEnvReady) {
+                logger.warn("Environment was not prepared before tests. Skipping cleanup.");
+                return;
+            }
+            if (isReinstallPerTest(extensionContext)) {
+                logger.info("ℹ️ Per-test lifecycle enabled. Helm chart will be uninstalled after each test.");
+            } else {
+                logger.info("🧹 Cleaning up Helm chart test environment...");
+                for (HelmChartDescriptor chart : charts) {
+                    if (releaseReuse.isKept(chart)) {
+                        logger.info("📌 Keeping Helm release {} installed for reuse.", chart.releaseName());
+                        continue;
+                    }
+                    logger.info("🚨 Uninstalling Helm chart: {} with release name: {}", chart.chart(), chart.releaseName());
+                    helmClient.scheduleUninstall(chart);
+                }
             }
+            if (leasedNamespace != null) {
+                NamespacePool.shared().release(leasedNamespace);
+                leasedNamespace = null;
+            }
+        } finally {
+            event.complete("afterAll", extensionContext);
         }
     }
 
     @Override
     public void beforeEach(ExtensionContext extensionContext) throws Exception {
-        if (isPerTestLifecycle(extensionContext)) {
-            logger.info("🪃 Preparing for Helm chart test...");
-            List<HelmChartDescriptor> charts = new HelmAnnotationParser().parseHelmAnnotations(extensionContext.getRequiredTestClass());
-            for (HelmChartDescriptor chart : charts) {
-                logger.info("📩 Installing Helm chart: {} with release name: {}", chart.chart(), chart.releaseName());
-                helmClient.installChart(chart);
+        LifecycleEvent event = LifecycleEvent.start();
+        try {
+            if (isReinstallPerTest(extensionContext)) {
+                logger.info("🪃 Preparing for Helm chart test...");
+                long start = System.nanoTime();
+                for (HelmChartDescriptor chart : charts) {
+                    logger.info("📩 Installing Helm chart: {} with release name: {}", chart.chart(), chart.releaseName());
+                    helmClient.installChart(chart);
+                }
+                logLifecycleCost("install", start);
+            } else if (isPerTestLifecycle(extensionContext) && isResetPending) {
+                ResetStrategy strategy = getResetStrategy(extensionContext);
+                logger.info("🔄 Resetting Helm releases using strategy {}...", strategy);
+                long start = System.nanoTime();
+                for (HelmChartDescriptor chart : charts) {
+                    logger.info("♻️ Resetting Helm release: {}", chart.releaseName());
+                    if (strategy == ResetStrategy.ROLLBACK_TO_BASELINE) {
+                        helmClient.rollbackToBaseline(chart);
+                    } else {
+                        helmClient.restartRollout(chart);
+                    }
+                }
+                isResetPending = false;
+                logLifecycleCost("reset (" + strategy + ")", start);
             }
-        }
-        Object testInstance = extensionContext.getRequiredTestInstance();
-        if (nonNull(testInstance)) {
-            for (HelmChartDescriptor chart : charts) {
-                releaseInjector.injectInto(testInstance, chart);
+            Object testInstance = extensionContext.getRequiredTestInstance();
+            if (nonNull(testInstance)) {
+                for (HelmChartDescriptor chart : charts) {
+                    releaseInjector.injectInto(testInstance, chart);
+                }
             }
+            startResourceSampling(extensionContext);
+        } finally {
+            event.complete("beforeEach", extensionContext);
         }
     }
 
     @Override
     public void afterEach(ExtensionContext extensionContext) throws Exception {
-        if (isPerTestLifecycle(extensionContext)) {
-            logger.info("🕯️ Cleaning up after Helm chart test...");
-            List<HelmChartDescriptor> charts = new HelmAnnotationParser().parseHelmAnnotations(extensionContext.getRequiredTestClass());
-            for (HelmChartDescriptor chart : charts) {
-                logger.info("🚨 Uninstalling Helm chart: " + chart.chart() + " with release name: " + chart.releaseName());
-                helmClient.uninstallChart(chart);
+        LifecycleEvent event = LifecycleEvent.start();
+        try {
+            List<String> budgetViolations = stopResourceSampling(extensionContext);
+            if (isReinstallPerTest(extensionContext)) {
+                logger.info("🕯️ Cleaning up after Helm chart test...");
+                long start = System.nanoTime();
+                for (HelmChartDescriptor chart : charts) {
+                    logger.info("🚨 Uninstalling Helm chart: " + chart.chart() + " with release name: " + chart.releaseName());
+                    helmClient.scheduleUninstall(chart);
+                }
+                logLifecycleCost("uninstall scheduling", start);
+            } else if (isPerTestLifecycle(extensionContext)) {
+                isResetPending = true;
             }
+            if (!budgetViolations.isEmpty()) {
+                throw new AssertionError("Resource budget exceeded: " + String.join("; ", budgetViolations));
+            }
+        } finally {
+            event.complete("afterEach", extensionContext);
         }
     }
 
+    /**
+     * Starts sampling the resource usage of the releases covered by the {@link ResourceBudget} of the test, if any.
+     *
+     * @param extensionContext the JUnit extension context
+     */
+    private void startResourceSampling(ExtensionContext extensionContext) {
+        ResourceBudget budget = getResourceBudget(extensionContext);
+        if (budget == null) {
+            return;
+        }
+        for (HelmChartDescriptor chart : charts) {
+            if (budget.release().isBlank() || budget.release().equals(chart.releaseName())) {
+                ResourceSampling.shared().start(chart.releaseName(), chart.namespace(),
+                        Duration.ofSeconds(Math.max(1, budget.sampleIntervalSeconds())));
+            }
+        }
+    }
+
+    /**
+     * Stops sampling the resource usage of the releases and checks it against the {@link ResourceBudget} of the test.
+     *
+     * @param extensionContext the JUnit extension context
+     * @return a description of every exceeded limit, empty if there is no budget or it was kept
+     */
+    private List<String> stopResourceSampling(ExtensionContext extensionContext) {
+        ResourceBudget budget = getResourceBudget(extensionContext);
+        List<String> violations = new ArrayList<>();
+        if (budget == null) {
+            return violations;
+        }
+        for (HelmChartDescriptor chart : charts) {
+            ResourceUsage usage = ResourceSampling.shared().stop(chart.releaseName(), chart.namespace()).orElse(null);
+            if (usage == null) {
+                continue;
+            }
+            logger.info("📊 Resource usage of {}: {}", chart.releaseName(), usage.summary());
+            if (usage.containers().isEmpty()) {
+                if (budget.requireMetrics()) {
+                    violations.add("no resource usage was sampled for release " + chart.releaseName()
+                            + ". Is metrics-server installed?");
+                } else {
+                    logger.warn("⚠️ No resource usage was sampled for release {}. Skipping its resource budget.",
+                            chart.releaseName());
+                }
+            }
+            violations.addAll(usage.violations(budget));
+        }
+        return violations;
+    }
+
+    /**
+     * Returns the resource budget of the test method, or of the test class if the method has none.
+     *
+     * @param extensionContext the JUnit extension context
+     * @return the resource budget, or null if there is none
+     */
+    private static ResourceBudget getResourceBudget(ExtensionContext extensionContext) {
+        ResourceBudget budget = extensionContext.getRequiredTestMethod().getAnnotation(ResourceBudget.class);
+        return budget != null ? budget : extensionContext.getRequiredTestClass().getAnnotation(ResourceBudget.class);
+    }
+
+    /**
+     * Leases one namespace from the {@link NamespacePool} for all charts of the test class that ask for a pooled
+     * namespace, and points them to it.
+     *
+     * @param parsed the charts parsed from the test class
+     * @return the charts with the leased namespace in place of {@link com.raushan.helmjunit.annotation.HelmResource#POOLED_NAMESPACE}
+     * @throws Exception if the pool namespaces cannot be created
+     */
+    private List<HelmChartDescriptor> leasePooledNamespace(List<HelmChartDescriptor> parsed) throws Exception {
+        if (parsed.stream().noneMatch(NamespacePool::isPooled)) {
+            return parsed;
+        }
+        leasedNamespace = NamespacePool.shared().lease();
+        return parsed.stream()
+                .map(chart -> NamespacePool.isPooled(chart) ? chart.withNamespace(leasedNamespace) : chart)
+                .toList();
+    }
+
+    /**
+     * Logs the time spent in a per-test lifecycle step for all charts of the test class.
+     *
+     * @param step  the name of the lifecycle step
+     * @param start the {@link System#nanoTime()} value taken when the step started
+     */
+    private void logLifecycleCost(String step, long start) {
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("⏱️ Per-test {} of {} Helm release(s) took {} ms", step, charts.size(), elapsedMillis);
+    }
+
     /**
      * Checks if the Helm chart test is configured to use per-test lifecycle.
      *
@@ -131,4 +312,34 @@ public class HelmChartTestExtension implements BeforeAllCallback, AfterAllCallba
     private static boolean isPerTestLifecycle(ExtensionContext extensionContext) {
         return extensionContext.getRequiredTestClass().getAnnotation(HelmChartTest.class).perTestLifecycle();
     }
+
+    /**
+     * Returns the reset strategy configured for the per-test lifecycle.
+     *
+     * @param extensionContext the JUnit extension context
+     * @return the configured reset strategy
+     */
+    private static ResetStrategy getResetStrategy(ExtensionContext extensionContext) {
+        return extensionContext.getRequiredTestClass().getAnnotation(HelmChartTest.class).resetStrategy();
+    }
+
+    /**
+     * Checks if the Helm releases are kept installed after the tests and reused by later runs.
+     *
+     * @param extensionContext the JUnit extension context
+     * @return true if reuse mode is enabled for the test class or globally, false otherwise
+     */
+    private static boolean isReuse(ExtensionContext extensionContext) {
+        return ReleaseReuse.isEnabled(extensionContext.getRequiredTestClass().getAnnotation(HelmChartTest.class).reuse());
+    }
+
+    /**
+     * Checks if the Helm charts have to be uninstalled and installed again around every test method.
+     *
+     * @param extensionContext the JUnit extension context
+     * @return true if per-test lifecycle is enabled with the full reinstall strategy, false otherwise
+     */
+    private static boolean isReinstallPerTest(ExtensionContext extensionContext) {
+        return isPerTestLifecycle(extensionContext) && getResetStrategy(extensionContext) == ResetStrategy.FULL_REINSTALL;
+    }
 }
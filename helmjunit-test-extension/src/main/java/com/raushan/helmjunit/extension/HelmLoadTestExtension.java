@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.extension;
+
+import com.raushan.helmjunit.annotation.HelmLoadTest;
+import com.raushan.helmjunit.annotation.LoadTestEndpoint;
+import com.raushan.helmjunit.load.LoadGenerator;
+import com.raushan.helmjunit.load.LoadProfile;
+import com.raushan.helmjunit.load.LoadTestResult;
+import com.raushan.helmjunit.model.HelmRelease;
+import com.raushan.helmjunit.util.PortForwardManager;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit 5 extension behind {@link HelmLoadTest}. It generates the load right before the test method runs,
+ * fails the test if a service level objective is breached and resolves {@link LoadTestResult} parameters.
+ */
+public class HelmLoadTestExtension implements BeforeTestExecutionCallback, ParameterResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(HelmLoadTestExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(HelmLoadTestExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) throws Exception {
+        HelmLoadTest loadTest = context.getRequiredTestMethod().getAnnotation(HelmLoadTest.class);
+        if (loadTest == null) {
+            return;
+        }
+        HelmRelease release = findRelease(context.getRequiredTestInstance(), loadTest.release());
+        LoadTestResult result;
+        if (loadTest.endpoint() == LoadTestEndpoint.PORT_FORWARD) {
+            try (PortForwardManager forward = new PortForwardManager(
+                    "svc/" + release.serviceName(), release.servicePort(), release.namespace())) {
+                result = run(loadTest, forward.getLocalUrl(release.servicePort()));
+            }
+        } else {
+            result = run(loadTest, "http://" + release.serviceName() + "." + release.namespace()
+                    + ".svc.cluster.local:" + release.servicePort());
+        }
+        context.getStore(NAMESPACE).put(context.getUniqueId(), result);
+
+        List<String> violations = result.violations(loadTest);
+        if (!violations.isEmpty()) {
+            logger.error("❌ Load test {} breached its objectives: {}", context.getDisplayName(), violations);
+            throw new AssertionError("Load test against release " + release.releaseName()
+                    + " breached its objectives: " + String.join("; ", violations) + " (" + result.summary() + ")");
+        }
+        logger.info("✅ Load test {} met its objectives", context.getDisplayName());
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
+            throws ParameterResolutionException {
+        return parameterContext.getParameter().getType() == LoadTestResult.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
+            throws ParameterResolutionException {
+        LoadTestResult result = extensionContext.getStore(NAMESPACE)
+                .get(extensionContext.getUniqueId(), LoadTestResult.class);
+        if (result == null) {
+            throw new ParameterResolutionException("No load test result available for "
+                    + extensionContext.getDisplayName() + ". Is the method annotated with @HelmLoadTest?");
+        }
+        return result;
+    }
+
+    private static LoadTestResult run(HelmLoadTest loadTest, String baseUrl) throws InterruptedException {
+        LoadTestResult result = new LoadGenerator(LoadProfile.of(loadTest, baseUrl)).run();
+        logger.info("📈 {}", result.summary());
+        if (result.errors() > 0) {
+            logger.warn("⚠️ Failed requests by cause: {}", result.errorsByCause());
+        }
+        return result;
+    }
+
+    /**
+     * Finds the injected {@link HelmRelease} with the given release name, or the only one if the name is blank.
+     */
+    static HelmRelease findRelease(Object testInstance, String releaseName) throws IllegalAccessException {
+        List<HelmRelease> releases = new ArrayList<>();
+        for (Class<?> type = testInstance.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.getType().equals(HelmRelease.class)) {
+                    field.setAccessible(true);
+                    HelmRelease release = (HelmRelease) field.get(testInstance);
+                    if (release != null) {
+                        releases.add(release);
+                    }
+                }
+            }
+        }
+        if (releaseName.isBlank()) {
+            if (releases.size() != 1) {
+                throw new RuntimeException("@HelmLoadTest must name a release when the test class has "
+                        + releases.size() + " Helm releases");
+            }
+            return releases.getFirst();
+        }
+        return releases.stream()
+                .filter(release -> release.releaseName().equals(releaseName))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("No Helm release '" + releaseName
+                        + "' is injected into " + testInstance.getClass().getName()));
+    }
+}
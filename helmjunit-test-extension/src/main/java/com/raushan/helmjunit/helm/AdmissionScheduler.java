@@ -0,0 +1,297 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.kube.ClusterStateCache;
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * AdmissionScheduler keeps concurrent installs from over-committing the cluster.
+ * <p>
+ * Before a chart is installed, the CPU and memory requests of its rendered manifest are estimated
+ * (see {@link ResourceRequests#of(RenderedManifest)}) and compared with the free capacity of the cluster: the
+ * allocatable capacity of the schedulable nodes, minus the requests of all running and pending pods and of the
+ * installs admitted but not finished yet. An install that does not fit is queued until enough capacity is free,
+ * e.g. because another install finished and its release was torn down. Queued installs are admitted in order.
+ * <p>
+ * An install that does not fit is still admitted when waiting cannot free any capacity, i.e. no other install of
+ * this JVM is in flight and no release is being torn down by the {@link TeardownReaper}, and when the capacity of
+ * the cluster cannot be read. When nothing is in flight or torn down, the install is admitted without reading the
+ * cluster at all. Charts without requests are admitted right away. Only the head of the queue reads the cluster, from the {@link ClusterStateCache} when it is available,
+ * and outside the lock, so that finishing installs are never blocked by a listing. After a failed read, e.g.
+ * against a cluster without access to nodes, the capacity is not read again for a while.
+ * The scheduler is disabled with {@value HelmJUnitSettings#ADMISSION}.
+ */
+public class AdmissionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionScheduler.class);
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(2);
+    private static final Duration UNREADABLE_RETRY_INTERVAL = Duration.ofMinutes(1);
+    private static final List<String> INSTANCE_LABELS = List.of("app.kubernetes.io/instance", "release");
+    private static AdmissionScheduler shared;
+
+    /**
+     * Reads cluster objects, as parsed JSON.
+     */
+    interface ClusterSource {
+
+        /**
+         * Lists the objects of a core resource in all namespaces.
+         *
+         * @param resource the resource, {@code nodes} or {@code pods}
+         * @return the objects
+         * @throws Exception if the objects cannot be listed
+         */
+        List<Object> list(String resource) throws Exception;
+    }
+
+    /**
+     * An admitted install, which holds its requests until it is closed.
+     */
+    public interface Admission extends AutoCloseable {
+
+        /**
+         * Releases the requests of the install, once its pods are ready or the install failed.
+         */
+        @Override
+        void close();
+    }
+
+    private record Reservation(String namespace, String releaseName, ResourceRequests requests) {
+    }
+
+    /**
+     * The allocatable capacity of the schedulable nodes and the pods that are not terminated, as last read.
+     */
+    private record ClusterUsage(ResourceRequests allocatable, List<Object> pods) {
+    }
+
+    private final ClusterSource cluster;
+    private final BooleanSupplier teardownPending;
+    private final Object monitor = new Object();
+    private final Deque<Long> queue = new ArrayDeque<>();
+    private final List<Reservation> inFlight = new ArrayList<>();
+    private long nextTicket;
+    private long releases;
+    private volatile boolean unreadable;
+    private volatile long unreadableUntil;
+
+    /**
+     * Returns the admission scheduler shared by all HelmJUnit components.
+     *
+     * @return the shared admission scheduler
+     */
+    public static synchronized AdmissionScheduler shared() {
+        if (shared == null) {
+            shared = new AdmissionScheduler(defaultSource(), TeardownReaper::hasPendingTeardowns);
+        }
+        return shared;
+    }
+
+    AdmissionScheduler(ClusterSource cluster, BooleanSupplier teardownPending) {
+        this.cluster = cluster;
+        this.teardownPending = teardownPending;
+    }
+
+    /**
+     * Waits until the cluster has capacity for the pods of a rendered chart and admits its install.
+     *
+     * @param descriptor the descriptor of the release
+     * @param manifest   the rendered manifest of the release
+     * @return the admission, to be closed once the pods of the release are ready or the install failed
+     * @throws InterruptedException if the calling thread is interrupted while the install is queued
+     */
+    public Admission admit(HelmChartDescriptor descriptor, RenderedManifest manifest) throws InterruptedException {
+        ResourceRequests requests = ResourceRequests.of(manifest);
+        if (!HelmJUnitSettings.getBoolean(HelmJUnitSettings.ADMISSION, true) || requests.isZero()) {
+            return () -> {
+            };
+        }
+        Reservation reservation = new Reservation(descriptor.namespace(), descriptor.releaseName(), requests);
+        long start = System.nanoTime();
+        boolean queued = false;
+        long ticket;
+        synchronized (monitor) {
+            ticket = nextTicket++;
+            queue.addLast(ticket);
+        }
+        try {
+            while (true) {
+                long seenReleases;
+                synchronized (monitor) {
+                    // Only the head of the queue polls the cluster; the others wait for it to be admitted.
+                    while (queue.peekFirst() != ticket) {
+                        monitor.wait();
+                    }
+                    if (inFlight.isEmpty() && !teardownPending.getAsBoolean()) {
+                        inFlight.add(reservation);
+                        break;
+                    }
+                    seenReleases = releases;
+                }
+                Optional<ClusterUsage> usage = readUsage();
+                synchronized (monitor) {
+                    Optional<ResourceRequests> free = usage.map(this::freeCapacity);
+                    boolean fits = free.isEmpty() || requests.fitsIn(free.get());
+                    // Waiting only helps while other installs or teardowns are about to free capacity.
+                    if (fits || (inFlight.isEmpty() && !teardownPending.getAsBoolean())) {
+                        if (!fits) {
+                            logger.warn("⚠️ Release '{}' requests {}, but only {} is free. Installing it anyway.",
+                                    descriptor.releaseName(), requests, free.get());
+                            MetricsRegistry.shared().counter("helmjunit_admission_overcommits",
+                                    "Installs admitted although they did not fit the free capacity").increment();
+                        }
+                        inFlight.add(reservation);
+                        break;
+                    }
+                    if (!queued) {
+                        logger.info("⏳ Queuing install of release '{}': requests {}, {} free, {} install(s) in flight",
+                                descriptor.releaseName(), requests, free.get(), inFlight.size());
+                        queued = true;
+                    }
+                    // An install released while the cluster was read frees capacity, so read it again right away.
+                    if (releases == seenReleases) {
+                        monitor.wait(POLL_INTERVAL.toMillis());
+                    }
+                }
+            }
+        } finally {
+            synchronized (monitor) {
+                queue.remove(ticket);
+                monitor.notifyAll();
+            }
+        }
+        if (queued) {
+            logger.info("🚦 Admitted install of release '{}' after {} ms", descriptor.releaseName(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        MetricsRegistry.shared().histogram("helmjunit_admission_wait_seconds",
+                "Time installs waited for cluster capacity").observeSince(start);
+        return () -> release(reservation);
+    }
+
+    private void release(Reservation reservation) {
+        synchronized (monitor) {
+            inFlight.remove(reservation);
+            releases++;
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Reads the allocatable capacity of the schedulable nodes and the pods that are not terminated. Called without
+     * holding the monitor, so that the listing does not block installs that finish meanwhile.
+     *
+     * @return the usage of the cluster, or empty if it cannot be read
+     */
+    private Optional<ClusterUsage> readUsage() {
+        if (unreadable && System.nanoTime() - unreadableUntil < 0) {
+            return Optional.empty();
+        }
+        try {
+            ResourceRequests allocatable = ResourceRequests.NONE;
+            for (Object node : cluster.list("nodes")) {
+                if (!Boolean.TRUE.equals(Json.path(node, "spec", "unschedulable"))) {
+                    allocatable = allocatable.plus(ResourceRequests.parse(
+                            Json.string(node, "status", "allocatable", "cpu"),
+                            Json.string(node, "status", "allocatable", "memory")));
+                }
+            }
+            if (allocatable.isZero()) {
+                return Optional.empty();
+            }
+            List<Object> pods = new ArrayList<>();
+            for (Object pod : cluster.list("pods")) {
+                String phase = Json.string(pod, "status", "phase");
+                if (!"Succeeded".equals(phase) && !"Failed".equals(phase)) {
+                    pods.add(pod);
+                }
+            }
+            return Optional.of(new ClusterUsage(allocatable, pods));
+        } catch (Exception e) {
+            logger.debug("Unable to read the capacity of the cluster, admitting installs without it for {}s",
+                    UNREADABLE_RETRY_INTERVAL.toSeconds(), e);
+            unreadableUntil = System.nanoTime() + UNREADABLE_RETRY_INTERVAL.toNanos();
+            unreadable = true;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the allocatable capacity minus the requests of the pods and of the installs in flight. Pods of
+     * installs in flight are skipped, as they are covered by the requests of their install. Called while holding
+     * the monitor, so that it sees the current installs in flight.
+     *
+     * @param usage the usage of the cluster
+     * @return the free capacity
+     */
+    private ResourceRequests freeCapacity(ClusterUsage usage) {
+        ResourceRequests used = ResourceRequests.NONE;
+        for (Object pod : usage.pods()) {
+            if (!isInFlight(pod)) {
+                used = used.plus(ResourceRequests.ofPod(pod));
+            }
+        }
+        for (Reservation reservation : inFlight) {
+            used = used.plus(reservation.requests());
+        }
+        return usage.allocatable().minus(used);
+    }
+
+    private boolean isInFlight(Object pod) {
+        String namespace = Json.string(pod, "metadata", "namespace");
+        Map<String, Object> labels = Json.object(pod, "metadata", "labels");
+        for (Reservation reservation : inFlight) {
+            if (reservation.namespace().equals(namespace)
+                    && INSTANCE_LABELS.stream().anyMatch(label -> reservation.releaseName().equals(labels.get(label)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ClusterSource defaultSource() {
+        return resource -> {
+            Optional<ClusterStateCache> cache = ClusterStateCache.shared();
+            if (cache.isPresent()) {
+                return new ArrayList<>(cache.get().listAll(resource));
+            }
+            Optional<KubernetesClient> client = KubernetesClient.shared();
+            if (client.isPresent()) {
+                return Json.array(client.get().list("/api/v1/" + resource, null), "items");
+            }
+            return Json.array(Json.parse(ProcessExecutor.capture(List.of("kubectl", "get", resource, "-A", "-o", "json"),
+                    "kubectl get " + resource)), "items");
+        };
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * ChartCache keeps a content-addressed local cache of packaged Helm charts.
+ * <p>
+ * Repository charts (e.g. {@code bitnami/redis}) are resolved to a concrete version, pulled once with
+ * {@code helm pull} and stored as {@code <cache>/sha256/<digest>/<name>-<version>.tgz}. An index maps
+ * {@code chart@version} to the cached archive, so later installs of the same chart version, in this or any
+ * later run, use the local archive instead of downloading the chart again.
+ * <p>
+ * Local chart directories are left untouched, but their dependencies are built once per directory
+ * with {@code helm dependency build}.
+ * <p>
+ * In offline mode ({@value HelmJUnitSettings#OFFLINE}), the cache never touches the network:
+ * charts missing from the cache fail fast instead of being downloaded.
+ */
+public class ChartCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChartCache.class);
+    private static final String INDEX_FILE = "index.properties";
+    private static ChartCache shared;
+
+    private final Path cacheDir;
+    private final boolean enabled;
+    private final boolean offline;
+    private final Set<Path> builtDependencies = ConcurrentHashMap.newKeySet();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private final Map<String, String> resolvedVersions = new ConcurrentHashMap<>();
+    private final Object indexLock = new Object();
+
+    /**
+     * Creates a chart cache.
+     *
+     * @param cacheDir the directory holding cached chart archives
+     * @param enabled  whether repository charts are cached
+     * @param offline  whether network access is forbidden
+     */
+    public ChartCache(Path cacheDir, boolean enabled, boolean offline) {
+        this.cacheDir = cacheDir;
+        this.enabled = enabled;
+        this.offline = offline;
+    }
+
+    /**
+     * Returns the chart cache shared by all Helm clients, configured from system properties.
+     *
+     * @return the shared chart cache
+     */
+    public static synchronized ChartCache shared() {
+        if (shared == null) {
+            shared = new ChartCache(
+                    HelmJUnitSettings.cacheDir().resolve("charts"),
+                    HelmJUnitSettings.getBoolean(HelmJUnitSettings.CHART_CACHE_ENABLED, true),
+                    HelmJUnitSettings.getBoolean(HelmJUnitSettings.OFFLINE, false));
+        }
+        return shared;
+    }
+
+    /**
+     * Discards the shared chart cache, so that the next call to {@link #shared()} creates it from the current
+     * system properties, e.g. after a test fixture changed the cache directory.
+     */
+    public static synchronized void resetShared() {
+        shared = null;
+    }
+
+    /**
+     * Resolves the chart of a descriptor to a locally cached archive.
+     * Repository charts are downloaded into the cache if needed and the descriptor is rewritten to point to
+     * the cached archive. Local charts are returned unchanged after their dependencies have been built.
+     * <p>
+     * Concurrent calls only wait for each other if they resolve the same chart version or local chart directory,
+     * so that pulling one chart does not hold up the installs of other charts.
+     *
+     * @param descriptor the descriptor to resolve
+     * @return the descriptor pointing to the locally cached chart, or the original descriptor
+     * @throws Exception if the chart cannot be resolved, e.g. when it is missing from the cache in offline mode
+     */
+    public HelmChartDescriptor resolve(HelmChartDescriptor descriptor) throws Exception {
+        String chart = descriptor.chart();
+        Path localChart = toLocalPath(chart);
+        if (localChart != null) {
+            if (Files.isDirectory(localChart)) {
+                buildDependencies(localChart);
+            }
+            return descriptor;
+        }
+        if (!enabled) {
+            return descriptor;
+        }
+
+        String version = resolveVersion(chart, descriptor.version());
+        if (version == null) {
+            if (offline) {
+                throw new IllegalStateException("❌ Unable to resolve a version for chart '" + chart + "' in offline mode");
+            }
+            logger.warn("Unable to resolve a version for chart '{}'. Installing it without the chart cache.", chart);
+            return descriptor;
+        }
+
+        String key = chart + "@" + version;
+        Path cached;
+        synchronized (lockFor(key)) {
+            cached = lookup(key);
+            if (cached == null) {
+                if (offline) {
+                    throw new IllegalStateException("❌ Chart '" + key + "' is not in the chart cache and offline mode is enabled");
+                }
+                cached = pull(chart, version);
+                store(key, cached);
+                logger.info("📦 Cached chart {} as {}", key, cached);
+            } else {
+                logger.info("📦 Using cached chart {} from {}", key, cached);
+            }
+        }
+        return descriptor.withChart(cached.toString());
+    }
+
+    /**
+     * Returns the path of a chart reference if it points to a local chart directory or archive.
+     *
+     * @param chart the chart reference
+     * @return the local path, or null for repository and OCI references
+     */
+    static Path toLocalPath(String chart) {
+        if (chart.contains("://")) return null;
+        try {
+            Path path = Path.of(chart);
+            return Files.exists(path) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs {@code helm dependency build} for a local chart directory, once per directory and JVM.
+     * Charts without dependencies are skipped.
+     *
+     * @param chartDir the chart directory
+     * @throws Exception if building the dependencies fails
+     */
+    private void buildDependencies(Path chartDir) throws Exception {
+        Path normalized = chartDir.toAbsolutePath().normalize();
+        if (builtDependencies.contains(normalized)) return;
+
+        // Concurrent installs of the same chart wait for the build instead of installing without dependencies.
+        synchronized (lockFor(normalized.toString())) {
+            if (builtDependencies.contains(normalized)) return;
+            try {
+                Path chartYaml = normalized.resolve("Chart.yaml");
+                if (!Files.isRegularFile(chartYaml) || !Files.readString(chartYaml).contains("dependencies:")) return;
+
+                if (offline) {
+                    logger.info("Offline mode enabled. Skipping helm dependency build for {}", normalized);
+                    return;
+                }
+                ProcessExecutor.run(List.of("helm", "dependency", "build", normalized.toString()),
+                        "Helm dependency build: " + normalized.getFileName());
+            } finally {
+                builtDependencies.add(normalized);
+            }
+        }
+    }
+
+    /**
+     * Returns the lock guarding the resolution of one chart version or local chart directory.
+     */
+    private Object lockFor(String key) {
+        return locks.computeIfAbsent(key, ignored -> new Object());
+    }
+
+    /**
+     * Resolves the concrete version of a repository chart from the locally known repository indexes.
+     * {@code helm search repo} only reads the local repository cache, so this never touches the network.
+     * A resolved version is remembered per chart and constraint, so that repeated installs of the same chart
+     * only search once.
+     *
+     * @param chart      the repository chart reference
+     * @param constraint the requested version or version constraint, or null for the latest version
+     * @return the concrete chart version, or null if it cannot be resolved
+     * @throws Exception if Helm cannot be run
+     */
+    private String resolveVersion(String chart, String constraint) throws Exception {
+        boolean hasConstraint = constraint != null && !constraint.isBlank();
+        if (hasConstraint && constraint.matches("v?\\d+\\.\\d+\\.\\d+([-+][0-9A-Za-z.+-]*)?")) {
+            return constraint;
+        }
+        if (chart.startsWith("oci://")) {
+            return null;
+        }
+        String key = chart + " " + (hasConstraint ? constraint : "");
+        String resolved = resolvedVersions.get(key);
+        if (resolved != null) {
+            return resolved;
+        }
+        synchronized (lockFor("search " + key)) {
+            resolved = resolvedVersions.get(key);
+            if (resolved == null) {
+                resolved = searchVersion(chart, hasConstraint ? constraint : null);
+                if (resolved != null) {
+                    resolvedVersions.put(key, resolved);
+                }
+            }
+            return resolved;
+        }
+    }
+
+    /**
+     * Runs {@code helm search repo} for a chart and returns the version it resolves to, or null if none matches.
+     */
+    private String searchVersion(String chart, String constraint) throws Exception {
+        List<String> command = new ArrayList<>(List.of("helm", "search", "repo", chart, "--output", "json"));
+        if (constraint != null) {
+            command.add("--version");
+            command.add(constraint);
+        }
+        ProcessExecutor.ProcessResult result = ProcessExecutor.execute(command, "Helm search repo: " + chart);
+        if (result.exitCode() != 0 || result.stdout().isBlank()) {
+            return null;
+        }
+        return Json.array(Json.parse(result.stdout())).stream()
+                .filter(entry -> chart.equals(Json.string(entry, "name")))
+                .map(entry -> Json.string(entry, "version"))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Downloads a chart archive and moves it into its content-addressed location.
+     *
+     * @param chart   the repository chart reference
+     * @param version the concrete chart version
+     * @return the path of the cached archive
+     * @throws Exception if the chart cannot be downloaded
+     */
+    private Path pull(String chart, String version) throws Exception {
+        Files.createDirectories(cacheDir);
+        Path download = Files.createTempDirectory(cacheDir, "pull-");
+        try {
+            ProcessExecutor.run(List.of("helm", "pull", chart, "--version", version, "--destination", download.toString()),
+                    "Helm pull: " + chart + "@" + version);
+
+            Path archive;
+            try (Stream<Path> files = Files.list(download)) {
+                archive = files.filter(file -> file.getFileName().toString().endsWith(".tgz"))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("helm pull did not produce an archive for " + chart));
+            }
+
+            Path target = cacheDir.resolve("sha256").resolve(sha256(archive)).resolve(archive.getFileName().toString());
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                moveAtomically(archive, target);
+            }
+            return target;
+        } finally {
+            deleteRecursively(download);
+        }
+    }
+
+    /**
+     * Looks up a cached archive in the on-disk index.
+     *
+     * @param key the {@code chart@version} key
+     * @return the cached archive, or null if it is not cached
+     * @throws IOException if the index cannot be read
+     */
+    private Path lookup(String key) throws IOException {
+        String relative = loadIndex().getProperty(key);
+        if (relative == null) return null;
+        Path archive = cacheDir.resolve(relative);
+        return Files.isRegularFile(archive) ? archive : null;
+    }
+
+    /**
+     * Records a cached archive in the on-disk index.
+     * The index is re-read before writing so that entries added by concurrent test JVMs are kept.
+     *
+     * @param key     the {@code chart@version} key
+     * @param archive the cached archive
+     * @throws IOException if the index cannot be written
+     */
+    private void store(String key, Path archive) throws IOException {
+        synchronized (indexLock) {
+            Properties index = loadIndex();
+            index.setProperty(key, cacheDir.relativize(archive).toString().replace('\\', '/'));
+            Path temp = Files.createTempFile(cacheDir, "index-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                index.store(out, "HelmJUnit chart cache index");
+            }
+            moveAtomically(temp, cacheDir.resolve(INDEX_FILE));
+        }
+    }
+
+    private Properties loadIndex() throws IOException {
+        Properties index = new Properties();
+        Path file = cacheDir.resolve(INDEX_FILE);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                index.load(in);
+            }
+        }
+        return index;
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            } catch (FileAlreadyExistsException ignored) {
+                // another JVM cached the same content concurrently
+            }
+        }
+    }
+
+    private static String sha256(Path file) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -16,15 +16,36 @@
 
 package com.raushan.helmjunit.helm;
 
+import com.raushan.helmjunit.kube.ClusterStateCache;
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
 import com.raushan.helmjunit.model.HelmChartDescriptor;
-
+import com.raushan.helmjunit.report.Phase;
+import com.raushan.helmjunit.report.PhaseTimings;
+import com.raushan.helmjunit.report.ReadyTime;
+import com.raushan.helmjunit.report.ReadyTimes;
+import com.raushan.helmjunit.report.StartupBaseline;
 import com.raushan.helmjunit.util.HelmCommandBuilder;
+import com.raushan.helmjunit.util.Json;
 import com.raushan.helmjunit.util.KubernetesWaiter;
 import com.raushan.helmjunit.util.ProcessExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * HelmClient is a utility class that provides methods to interact with Helm,
@@ -35,76 +56,637 @@ public class HelmClient {
 
     private static final Logger logger = LoggerFactory.getLogger(HelmClient.class.getName());
     private final KubernetesWaiter waiter = new KubernetesWaiter();
+    private final ChartCache chartCache = ChartCache.shared();
+    private final ManifestCache manifestCache = ManifestCache.shared();
+    private final ReleaseStore releaseStore = ReleaseStore.shared();
+    private final ReleaseSweeper releaseSweeper = ReleaseSweeper.shared();
+    private final ReleaseReuse releaseReuse = ReleaseReuse.shared();
+    private final PhaseTimings timings = PhaseTimings.shared();
+    private final ReadyTimes readyTimes = ReadyTimes.shared();
+    private final MetricsRegistry metrics = MetricsRegistry.shared();
+    private final AdmissionScheduler admissionScheduler = AdmissionScheduler.shared();
+    private final Map<String, Integer> baselineRevisions = new ConcurrentHashMap<>();
 
     /**
      * Installs a Helm chart based on the provided HelmChartDescriptor.
      * It retries the installation up to 3 times in case of failure.
+     * <p>
+     * Repository charts are resolved through the {@link ChartCache} first, so that the chart is installed from
+     * a locally cached archive. The rendered manifest is taken from the {@link ManifestCache} and used to scope
+     * the readiness check to the workloads of the release.
+     * <p>
+     * If a release with the same name and chart already exists, it is upgraded in place instead
+     * (see {@link #upgradeChart(HelmChartDescriptor)}). A release with the same name but a different
+     * chart is uninstalled first. A pending asynchronous teardown of the target namespace is waited for.
+     * <p>
+     * Releases kept by {@link ReleaseReuse} are not installed at all if an earlier run installed them with the
+     * same configuration and their pods are healthy.
+     * <p>
+     * Fresh installs wait for the {@link AdmissionScheduler} to admit them, until the cluster has capacity for the
+     * requests of their rendered manifest. The wait is not part of the ready time.
+     * <p>
+     * The time from the first {@code helm install} attempt until the pods are ready is recorded for the
+     * {@link StartupBaseline}. If it exceeds {@link HelmChartDescriptor#maxReadySeconds()}, the install fails with
+     * an {@link AssertionError}; the release stays installed.
      *
-     * @param descriptor the descriptor containing chart details
+     * @param chartDescriptor the descriptor containing chart details
      * @throws Exception if the installation fails after retries
      */
-    public void installChart(HelmChartDescriptor descriptor) throws Exception {
+    public void installChart(HelmChartDescriptor chartDescriptor) throws Exception {
+        long start = System.nanoTime();
+        releaseSweeper.sweepOnce();
+        TeardownReaper.awaitPendingTeardown(chartDescriptor.namespace());
+        HelmChartDescriptor descriptor;
+        try (PhaseTimings.Span ignored = timings.start(chartDescriptor, Phase.CHART_RESOLVE)) {
+            descriptor = chartCache.resolve(chartDescriptor);
+        }
+        if (releaseReuse.isKept(descriptor) && isReusable(descriptor)) {
+            logger.info("♻️ Reusing release '{}': configuration unchanged and pods healthy. Skipping install.",
+                    descriptor.releaseName());
+            return;
+        }
+        Optional<StoredRelease> existing = findRelease(descriptor);
+        if (existing.isPresent()) {
+            StoredRelease installed = existing.get();
+            if (isSameChart(descriptor, installed.chart()) && installed.isUpgradable()) {
+                upgradeChart(descriptor);
+                return;
+            }
+            logger.info("♻️ Release '{}' already exists with chart '{}' ({}). Uninstalling it before install...",
+                    descriptor.releaseName(), installed.chart(), installed.status());
+            ProcessExecutor.run(HelmCommandBuilder.buildUninstallCommand(descriptor), "Helm uninstall: " + descriptor.releaseName());
+        }
+
+        RenderedManifest manifest = manifestCache.render(descriptor);
+        AdmissionScheduler.Admission admission;
+        try (PhaseTimings.Span ignored = timings.start(descriptor, Phase.ADMISSION)) {
+            admission = admissionScheduler.admit(descriptor, manifest);
+        }
+        int maxRetries = 3;
+        int attempt = 0;
+        long installStart = System.nanoTime();
+
+        try (admission) {
+            while (true) {
+                try {
+                    List<String> command = HelmCommandBuilder.buildInstallCommand(descriptor);
+                    try (PhaseTimings.Span ignored = timings.start(descriptor, Phase.HELM_INSTALL)) {
+                        ProcessExecutor.run(command, "Helm install: " + descriptor.releaseName(),
+                                HelmCommandBuilder.buildValuesInput(descriptor));
+                    }
+                    manifestCache.bindRelease(descriptor, manifest);
+                    onInstalled(descriptor);
+
+                    waitForWorkloadsReady(descriptor, manifest);
+                    metrics.histogram("helmjunit_install_duration_seconds",
+                            "Time from installChart until the release's pods are ready", "chart", chartDescriptor.chart())
+                            .observeSince(start);
+                    break;
+                } catch (Exception e) {
+                    attempt++;
+                    logger.error("❌ Helm install failed for release '{}'. Attempt {}/{}", descriptor.releaseName(), attempt, maxRetries, e);
+                    if (attempt >= maxRetries) {
+                        metrics.counter("helmjunit_install_failures", "Installs that failed after all retries",
+                                "chart", chartDescriptor.chart()).increment();
+                        throw new RuntimeException("Helm install failed after " + maxRetries + " attempts", e);
+                    }
+                    metrics.counter("helmjunit_install_retries", "Retried helm install attempts", "chart", chartDescriptor.chart())
+                            .increment();
+                    Thread.sleep(2000);
+                }
+            }
+        }
+        checkReadyTime(chartDescriptor, descriptor, Duration.ofNanos(System.nanoTime() - installStart));
+    }
+
+    /**
+     * Records the ready time of a fresh install for the {@link StartupBaseline} and checks it against the
+     * {@link HelmChartDescriptor#maxReadySeconds() ready time budget} of the chart.
+     *
+     * @param chartDescriptor the descriptor as declared by the test
+     * @param descriptor      the descriptor with the chart resolved through the {@link ChartCache}
+     * @param readyTime       the time from the start of the install until the pods were ready
+     */
+    private void checkReadyTime(HelmChartDescriptor chartDescriptor, HelmChartDescriptor descriptor, Duration readyTime) {
+        try {
+            readyTimes.record(new ReadyTime(chartDescriptor.chart(), descriptor.releaseName(), descriptor.namespace(),
+                    ManifestCache.chartFingerprint(descriptor), readyTime));
+        } catch (Exception e) {
+            logger.debug("Unable to fingerprint chart '{}' for the startup baseline", chartDescriptor.chart(), e);
+        }
+        if (chartDescriptor.maxReadySeconds() >= 0 && readyTime.toMillis() > chartDescriptor.maxReadySeconds() * 1000L) {
+            metrics.counter("helmjunit_ready_budget_exceeded", "Installs that exceeded their ready time budget",
+                    "chart", chartDescriptor.chart()).increment();
+            throw new AssertionError(String.format(Locale.ROOT, "Release '%s' became ready in %.1fs, over its budget of %ds",
+                    descriptor.releaseName(), readyTime.toMillis() / 1000.0, chartDescriptor.maxReadySeconds()));
+        }
+    }
+
+    /**
+     * Upgrades an existing release to the values of the descriptor.
+     * The rendered manifest of the descriptor is compared with the manifest of the installed release:
+     * if they are identical, the upgrade is skipped entirely. Otherwise, {@code helm upgrade --install}
+     * is run and only the workloads whose rendered manifest changed are waited for.
+     *
+     * @param descriptor the descriptor containing chart details
+     * @throws Exception if the upgrade fails or the changed workloads do not become ready
+     */
+    public void upgradeChart(HelmChartDescriptor descriptor) throws Exception {
+        Optional<RenderedManifest> known = installedManifest(descriptor);
+        RenderedManifest installed = known.isPresent() ? known.get() : RenderedManifest.parse(ProcessExecutor.capture(
+                HelmCommandBuilder.buildGetManifestCommand(descriptor), "Helm get manifest: " + descriptor.releaseName()));
+        RenderedManifest desired = manifestCache.render(descriptor);
+
+        if (desired.isEquivalentTo(installed)) {
+            logger.info("⏭️ Rendered manifest of release '{}' is unchanged. Skipping upgrade.", descriptor.releaseName());
+            manifestCache.bindRelease(descriptor, desired);
+            onInstalled(descriptor);
+            return;
+        }
+
+        Set<String> changed = desired.changedResources(installed);
+        logger.info("🔼 Upgrading release '{}' in place. Changed resources: {}", descriptor.releaseName(), changed);
+        try (PhaseTimings.Span ignored = timings.start(descriptor, Phase.HELM_INSTALL)) {
+            ProcessExecutor.run(HelmCommandBuilder.buildUpgradeCommand(descriptor), "Helm upgrade: " + descriptor.releaseName(),
+                    HelmCommandBuilder.buildValuesInput(descriptor));
+        }
+        manifestCache.bindRelease(descriptor, desired);
+        onInstalled(descriptor);
+
+        for (String resource : changed) {
+            if (RenderedManifest.isWorkload(resource)) {
+                waiter.waitForRollout(descriptor.namespace(), resource);
+            }
+        }
+    }
+
+    /**
+     * Uninstalls a Helm chart based on the provided HelmChartDescriptor.
+     * It retries the uninstallation up to 3 times in case of failure.
+     *
+     * @param descriptor the descriptor containing chart details
+     * @throws Exception if the uninstallation fails after retries
+     */
+    public void uninstallChart(HelmChartDescriptor descriptor) throws Exception {
+        releaseSweeper.untrack(descriptor);
         int maxRetries = 3;
         int attempt = 0;
 
         while (true) {
             try {
-                List<String> command = HelmCommandBuilder.buildInstallCommand(descriptor);
-                ProcessExecutor.run(command, "Helm install: " + descriptor.releaseName());
+                List<String> command = HelmCommandBuilder.buildUninstallCommand(descriptor);
+                try (PhaseTimings.Span ignored = timings.start(descriptor, Phase.UNINSTALL)) {
+                    ProcessExecutor.run(command, "Helm uninstall: " + descriptor.releaseName());
+                }
+                manifestCache.unbindRelease(descriptor);
 
-                waiter.waitForPodsReady(descriptor.namespace());
+                waiter.confirmResourcesDeleted(descriptor.namespace());
+                deleteNamespace(descriptor.namespace());
                 return;
             } catch (Exception e) {
                 attempt++;
-                logger.error("❌ Helm install failed for release '{}'. Attempt {}/{}", descriptor.releaseName(), attempt, maxRetries, e);
                 if (attempt >= maxRetries) {
-                    throw new RuntimeException("Helm install failed after " + maxRetries + " attempts", e);
+                    throw new RuntimeException("❌ Helm uninstall failed after " + maxRetries + " attempts", e);
                 }
+                metrics.counter("helmjunit_uninstall_retries", "Retried helm uninstall attempts").increment();
+                logger.error("❌ Helm uninstall failed for release '{}'. Attempt {}/{}", descriptor.releaseName(), attempt, maxRetries, e);
                 Thread.sleep(2000);
             }
         }
     }
 
     /**
-     * Uninstalls a Helm chart based on the provided HelmChartDescriptor.
+     * Schedules the uninstallation of a Helm chart on the {@link TeardownReaper}, so that the caller does not
+     * wait for Kubernetes to delete the release resources and its namespace.
+     * If asynchronous teardown is disabled, the chart is uninstalled right away with {@link #uninstallChart}.
+     *
+     * @param descriptor the descriptor containing chart details
+     * @throws Exception if asynchronous teardown is disabled and the uninstallation fails
+     */
+    public void scheduleUninstall(HelmChartDescriptor descriptor) throws Exception {
+        if (TeardownReaper.isEnabled()) {
+            releaseSweeper.untrack(descriptor);
+            TeardownReaper.shared().submit(descriptor);
+        } else {
+            uninstallChart(descriptor);
+        }
+    }
+
+    /**
+     * Uninstalls the release of a descriptor without waiting for its resources to be deleted.
      * It retries the uninstallation up to 3 times in case of failure.
      *
      * @param descriptor the descriptor containing chart details
      * @throws Exception if the uninstallation fails after retries
      */
-    public void uninstallChart(HelmChartDescriptor descriptor) throws Exception {
+    public void uninstallRelease(HelmChartDescriptor descriptor) throws Exception {
         int maxRetries = 3;
         int attempt = 0;
 
         while (true) {
             try {
-                List<String> command = HelmCommandBuilder.buildUninstallCommand(descriptor);
-                ProcessExecutor.run(command, "Helm uninstall: " + descriptor.releaseName());
-
-                waiter.confirmResourcesDeleted(descriptor.namespace());
-                deleteNamespace(descriptor.namespace());
+                try (PhaseTimings.Span ignored = timings.start(descriptor, Phase.UNINSTALL)) {
+                    ProcessExecutor.run(HelmCommandBuilder.buildUninstallCommand(descriptor), "Helm uninstall: " + descriptor.releaseName());
+                }
+                manifestCache.unbindRelease(descriptor);
                 return;
             } catch (Exception e) {
                 attempt++;
                 if (attempt >= maxRetries) {
                     throw new RuntimeException("❌ Helm uninstall failed after " + maxRetries + " attempts", e);
                 }
+                metrics.counter("helmjunit_uninstall_retries", "Retried helm uninstall attempts").increment();
                 logger.error("❌ Helm uninstall failed for release '{}'. Attempt {}/{}", descriptor.releaseName(), attempt, maxRetries, e);
                 Thread.sleep(2000);
             }
         }
     }
 
+    /**
+     * Requests the deletion of namespaces without waiting for Kubernetes to finalize them.
+     * Protected namespaces such as {@code default} and {@code kube-system} are never deleted.
+     *
+     * @param namespaces the namespaces to delete
+     * @throws Exception if the deletion request fails
+     */
+    public void deleteNamespaces(Collection<String> namespaces) throws Exception {
+        List<String> deletable = namespaces.stream().filter(namespace -> !isProtectedNamespace(namespace)).toList();
+        if (deletable.isEmpty()) return;
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            for (String namespace : deletable) {
+                client.get().delete("/api/v1/namespaces/" + namespace);
+                ClusterStateCache.shared().ifPresent(cache -> cache.forget(namespace));
+            }
+        } else {
+            List<String> command = new ArrayList<>(List.of("kubectl", "delete", "namespace"));
+            command.addAll(deletable);
+            command.addAll(List.of("--wait=false", "--ignore-not-found"));
+            ProcessExecutor.run(command, "kubectl delete namespace: " + String.join(", ", deletable));
+        }
+    }
+
+    /**
+     * Checks if a namespace must never be deleted by HelmJUnit, even if releases were installed into it.
+     *
+     * @param namespace the namespace
+     * @return true for {@code default} and the {@code kube-*} system namespaces, false otherwise
+     */
+    public static boolean isProtectedNamespace(String namespace) {
+        return namespace == null || namespace.isBlank() || namespace.equals("default") || namespace.startsWith("kube-");
+    }
+
+    /**
+     * Records the current revision of a release as its baseline, to which {@link #rollbackToBaseline} restores it.
+     * This is usually the revision created by the install before all tests, which is not necessarily revision 1
+     * if the release was upgraded in place or reused from an earlier run.
+     *
+     * @param descriptor the descriptor containing chart details
+     * @throws Exception if the release does not exist or cannot be queried
+     */
+    public void recordBaseline(HelmChartDescriptor descriptor) throws Exception {
+        int revision = findRelease(descriptor).map(StoredRelease::revision)
+                .orElseThrow(() -> new RuntimeException("❌ Release '" + descriptor.releaseName() + "' not found in namespace "
+                        + descriptor.namespace() + ". Unable to record its baseline revision."));
+        baselineRevisions.put(descriptor.namespace() + "/" + descriptor.releaseName(), revision);
+        logger.info("📍 Recorded revision {} of release '{}' as baseline.", revision, descriptor.releaseName());
+    }
+
+    /**
+     * Rolls a release back to the baseline revision recorded with {@link #recordBaseline}, restoring the state
+     * it had right after installation.
+     * It waits for the pods in the namespace to become ready again.
+     *
+     * @param descriptor the descriptor containing chart details
+     * @throws Exception if no baseline was recorded, the rollback fails or the pods do not become ready
+     */
+    public void rollbackToBaseline(HelmChartDescriptor descriptor) throws Exception {
+        Integer baseline = baselineRevisions.get(descriptor.namespace() + "/" + descriptor.releaseName());
+        if (baseline == null) {
+            throw new IllegalStateException("No baseline revision recorded for release '" + descriptor.releaseName() + "'");
+        }
+        List<String> command = HelmCommandBuilder.buildRollbackCommand(descriptor, baseline);
+        ProcessExecutor.run(command, "Helm rollback: " + descriptor.releaseName());
+        // The rollback creates a new revision with the manifest of the baseline, which replaces the bound manifest.
+        Optional<String> restored = releaseStore.latest(descriptor.releaseName(), descriptor.namespace())
+                .map(StoredRelease::manifest);
+        if (restored.isPresent()) {
+            manifestCache.bindRelease(descriptor, RenderedManifest.parse(restored.get()));
+        }
+        waitForWorkloadsReady(descriptor, manifestCache.forRelease(descriptor.releaseName(), descriptor.namespace()).orElse(null));
+    }
+
+    /**
+     * Restarts a release by deleting its pods and the persistent volume claims its StatefulSets created from
+     * their {@code volumeClaimTemplates}, letting the release controllers recreate them from scratch.
+     * Claims rendered by the chart itself are kept, as nothing would recreate them.
+     * <p>
+     * A StatefulSet pod recreated while its old claim is still terminating binds to that claim and stays
+     * pending, so once the old claims are gone the StatefulSet pods are deleted again to get fresh claims.
+     * It waits for the recreated pods in the namespace to become ready.
+     *
+     * @param descriptor the descriptor containing chart details
+     * @throws Exception if the deletion fails or the pods do not become ready
+     */
+    public void restartRollout(HelmChartDescriptor descriptor) throws Exception {
+        RenderedManifest manifest = installedManifest(descriptor).orElse(null);
+        Set<String> claimPrefixes = manifest == null ? Set.of() : manifest.claimTemplatePrefixes();
+        Map<String, String> claims = new LinkedHashMap<>();
+        if (!claimPrefixes.isEmpty()) {
+            for (Map<String, Object> claim : waiter.listClaims(descriptor.namespace())) {
+                String name = Json.string(claim, "metadata", "name");
+                if (name != null && claimPrefixes.stream().anyMatch(prefix -> isOrdinalOf(name, prefix))) {
+                    claims.put(name, Json.string(claim, "metadata", "uid"));
+                }
+            }
+        }
+
+        String selector = "app.kubernetes.io/instance=" + descriptor.releaseName();
+        // Claims are only marked for deletion here; they are released once their pods are gone.
+        deleteClaims(descriptor, claims.keySet());
+        deletePods(descriptor, selector);
+        if (!claims.isEmpty()) {
+            waiter.waitForClaimsDeleted(descriptor.namespace(), Set.copyOf(claims.values()));
+            deletePods(descriptor, statefulSetPodNames(descriptor, manifest));
+        }
+        waitForWorkloadsReady(descriptor, manifest);
+    }
+
+    /**
+     * Checks if a claim name is a claim template prefix followed by a StatefulSet ordinal, e.g.
+     * {@code data-my-db-0} for {@code data-my-db-}.
+     */
+    private static boolean isOrdinalOf(String claimName, String prefix) {
+        return claimName.startsWith(prefix) && claimName.length() > prefix.length()
+                && claimName.substring(prefix.length()).chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Returns the names of the pods of the StatefulSets of a manifest, e.g. {@code my-db-0} for the
+     * StatefulSet {@code my-db}.
+     */
+    private List<String> statefulSetPodNames(HelmChartDescriptor descriptor, RenderedManifest manifest) throws Exception {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String workload : manifest.workloads()) {
+            if (workload.startsWith("StatefulSet/")) {
+                prefixes.add(workload.substring(workload.indexOf('/') + 1) + "-");
+            }
+        }
+        List<String> names = new ArrayList<>();
+        for (Map<String, Object> pod : waiter.listPods(descriptor.namespace(), prefixes)) {
+            String name = Json.string(pod, "metadata", "name");
+            if (prefixes.stream().anyMatch(prefix -> isOrdinalOf(name, prefix))) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Requests the deletion of persistent volume claims by name, without waiting for them to be removed.
+     */
+    private void deleteClaims(HelmChartDescriptor descriptor, Collection<String> names) throws Exception {
+        if (names.isEmpty()) return;
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            for (String name : names) {
+                client.get().delete(KubernetesClient.corePath(descriptor.namespace(), "persistentvolumeclaims") + "/" + name);
+            }
+        } else {
+            List<String> command = new ArrayList<>(List.of("kubectl", "delete", "pvc", "-n", descriptor.namespace()));
+            command.addAll(names);
+            command.addAll(List.of("--wait=false", "--ignore-not-found"));
+            ProcessExecutor.run(command, "kubectl delete pvc: " + descriptor.releaseName());
+        }
+    }
+
+    /**
+     * Deletes the pods of a release matching a label selector.
+     */
+    private void deletePods(HelmChartDescriptor descriptor, String selector) throws Exception {
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            // Terminating pods are never ready, so the readiness wait also covers the deletion.
+            client.get().delete(KubernetesClient.corePath(descriptor.namespace(), "pods"), selector);
+        } else {
+            ProcessExecutor.run(List.of("kubectl", "delete", "pods", "-n", descriptor.namespace(), "-l", selector, "--wait=true"),
+                    "kubectl delete pods: " + descriptor.releaseName());
+        }
+    }
+
+    /**
+     * Deletes pods by name.
+     */
+    private void deletePods(HelmChartDescriptor descriptor, List<String> names) throws Exception {
+        if (names.isEmpty()) return;
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            for (String name : names) {
+                client.get().delete(KubernetesClient.corePath(descriptor.namespace(), "pods") + "/" + name);
+            }
+        } else {
+            List<String> command = new ArrayList<>(List.of("kubectl", "delete", "pods", "-n", descriptor.namespace()));
+            command.addAll(names);
+            command.addAll(List.of("--wait=true", "--ignore-not-found"));
+            ProcessExecutor.run(command, "kubectl delete pods: " + descriptor.releaseName());
+        }
+    }
+
+    /**
+     * Waits for the pods of a release to become ready.
+     * If the rendered manifest of the release is known, only the pods of its workloads are waited for,
+     * and releases without workloads are not waited for at all. Otherwise, all pods in the namespace are waited for.
+     * Once the pods are ready, their scheduling, image pull and readiness phases are recorded.
+     *
+     * @param descriptor the descriptor of the release
+     * @param manifest   the rendered manifest of the release, or null if unknown
+     * @throws Exception if the pods do not become ready within the timeout
+     */
+    private void waitForWorkloadsReady(HelmChartDescriptor descriptor, RenderedManifest manifest) throws Exception {
+        if (manifest != null && manifest.workloads().isEmpty()) {
+            logger.info("ℹ️ Release '{}' renders no workloads. Skipping pod readiness check.", descriptor.releaseName());
+            return;
+        }
+        Set<String> podNamePrefixes = manifest == null ? Set.of() : podNamePrefixes(manifest);
+        waiter.waitForPodsReady(descriptor.namespace(), podNamePrefixes);
+        try {
+            timings.recordPods(descriptor, waiter.listPods(descriptor.namespace(), podNamePrefixes));
+        } catch (Exception e) {
+            logger.debug("Unable to record pod phases of release '{}'", descriptor.releaseName(), e);
+        }
+    }
+
+    /**
+     * Returns the name prefixes of the pods created by the workloads of a manifest, e.g. {@code my-app-} for
+     * the Deployment {@code my-app}.
+     */
+    private static Set<String> podNamePrefixes(RenderedManifest manifest) {
+        Set<String> podNamePrefixes = new LinkedHashSet<>();
+        for (String workload : manifest.workloads()) {
+            podNamePrefixes.add(workload.substring(workload.indexOf('/') + 1) + "-");
+        }
+        return podNamePrefixes;
+    }
+
+    /**
+     * Records a successfully installed or upgraded release: kept releases get their configuration fingerprint
+     * recorded for reuse, all others are tracked for teardown on shutdown.
+     *
+     * @param descriptor the descriptor of the release
+     * @throws Exception if the fingerprint cannot be recorded
+     */
+    private void onInstalled(HelmChartDescriptor descriptor) throws Exception {
+        if (releaseReuse.isKept(descriptor)) {
+            releaseReuse.recordFingerprint(descriptor, ManifestCache.fingerprint(descriptor));
+        } else {
+            releaseSweeper.track(descriptor);
+        }
+    }
+
+    /**
+     * Checks if a kept release installed by an earlier run can be used as is: it was installed with the same
+     * configuration fingerprint, it is deployed and all of its pods are ready.
+     *
+     * @param descriptor the descriptor of the release
+     * @return true if the release can be reused, false if it must be installed
+     * @throws Exception if the release state cannot be read
+     */
+    private boolean isReusable(HelmChartDescriptor descriptor) throws Exception {
+        String fingerprint = ManifestCache.fingerprint(descriptor);
+        if (!fingerprint.equals(releaseReuse.recordedFingerprint(descriptor).orElse(null))) {
+            logger.info("ℹ️ Release '{}' is not installed with the current configuration. Installing it.", descriptor.releaseName());
+            return false;
+        }
+        Optional<StoredRelease> installed = findRelease(descriptor);
+        if (installed.isEmpty() || !"deployed".equals(installed.get().status())) {
+            return false;
+        }
+        RenderedManifest manifest = installed.get().manifest() != null
+                ? RenderedManifest.parse(installed.get().manifest())
+                : manifestCache.render(descriptor);
+        if (!manifest.workloads().isEmpty() && !waiter.arePodsReady(descriptor.namespace(), podNamePrefixes(manifest))) {
+            logger.info("ℹ️ Pods of release '{}' are not healthy. Reinstalling it.", descriptor.releaseName());
+            return false;
+        }
+        manifestCache.bindRelease(descriptor, manifest);
+        return true;
+    }
+
     /**
      * Deletes a Kubernetes namespace.
      * It waits for the namespace to be fully deleted after the command is executed.
+     * Namespaces of the {@link NamespacePool} are scrubbed instead, so that they can be leased again.
      *
      * @param namespace the name of the namespace to delete
      * @throws Exception if the deletion fails or times out
      */
     private void deleteNamespace(String namespace) throws Exception {
-        List<String> command = List.of("kubectl", "delete", "namespace", namespace);
-        ProcessExecutor.run(command, "kubectl delete namespace: " + namespace);
-        waiter.waitForNamespaceDeleted(namespace);
+        Optional<NamespacePool> pool = NamespacePool.owning(namespace);
+        if (pool.isPresent()) {
+            pool.get().scrub(namespace);
+            return;
+        }
+        if (isProtectedNamespace(namespace)) {
+            logger.info("ℹ️ Keeping protected namespace '{}'.", namespace);
+            return;
+        }
+        try (PhaseTimings.Span ignored = timings.start(namespace, null, Phase.NAMESPACE_DELETION)) {
+            Optional<KubernetesClient> client = KubernetesClient.shared();
+            if (client.isPresent()) {
+                client.get().delete("/api/v1/namespaces/" + namespace);
+            } else {
+                List<String> command = List.of("kubectl", "delete", "namespace", namespace);
+                ProcessExecutor.run(command, "kubectl delete namespace: " + namespace);
+            }
+            waiter.waitForNamespaceDeleted(namespace);
+        }
+    }
+
+    /**
+     * Returns the manifest of the installed release: the manifest it was rendered from if it was installed
+     * by HelmJUnit, or the manifest recorded in its latest release Secret otherwise.
+     *
+     * @param descriptor the descriptor containing release details
+     * @return the installed manifest, or empty if it is not known without calling Helm
+     * @throws Exception if the release Secrets cannot be read
+     */
+    private Optional<RenderedManifest> installedManifest(HelmChartDescriptor descriptor) throws Exception {
+        Optional<RenderedManifest> bound = manifestCache.forRelease(descriptor.releaseName(), descriptor.namespace());
+        if (bound.isPresent()) {
+            return bound;
+        }
+        return releaseStore.latest(descriptor.releaseName(), descriptor.namespace())
+                .map(StoredRelease::manifest)
+                .map(RenderedManifest::parse);
+    }
+
+    /**
+     * Looks up the release of the descriptor in its namespace.
+     * The release Secrets are read directly when possible; {@code helm list} is only used for other storage drivers.
+     *
+     * @param descriptor the descriptor containing release details
+     * @return the latest revision of the release, or empty if it does not exist
+     * @throws Exception if the release cannot be queried
+     */
+    private Optional<StoredRelease> findRelease(HelmChartDescriptor descriptor) throws Exception {
+        if (releaseStore.isAvailable()) {
+            return releaseStore.latest(descriptor.releaseName(), descriptor.namespace());
+        }
+        ProcessExecutor.ProcessResult result = ProcessExecutor.execute(
+                HelmCommandBuilder.buildListCommand(descriptor), "Helm list: " + descriptor.releaseName());
+        if (result.exitCode() != 0 || result.stdout().isBlank()) {
+            return Optional.empty();
+        }
+        return Json.array(Json.parse(result.stdout())).stream()
+                .filter(release -> descriptor.releaseName().equals(Json.string(release, "name")))
+                .map(release -> new StoredRelease(
+                        Json.string(release, "name"),
+                        Json.string(release, "namespace"),
+                        Integer.parseInt(Json.string(release, "revision")),
+                        Json.string(release, "status"),
+                        Json.string(release, "chart"),
+                        null,
+                        Map.of()))
+                .findFirst();
+    }
+
+    /**
+     * Checks if an installed release was created from the chart of the descriptor.
+     * Helm reports installed charts as {@code <name>-<version>}.
+     *
+     * @param descriptor     the descriptor containing chart details
+     * @param installedChart the chart reported by Helm for the installed release
+     * @return true if the installed release uses the same chart, false otherwise
+     */
+    private static boolean isSameChart(HelmChartDescriptor descriptor, String installedChart) {
+        if (installedChart == null) return false;
+        String name = chartName(descriptor.chart());
+        if (installedChart.equals(name)) return true;
+        return installedChart.startsWith(name + "-")
+                && Character.isDigit(installedChart.charAt(name.length() + 1));
+    }
+
+    /**
+     * Derives the chart name from a chart reference: a local chart directory (read from its Chart.yaml),
+     * a packaged {@code .tgz} archive, or a repository/OCI reference such as {@code bitnami/redis}.
+     *
+     * @param chart the chart reference
+     * @return the chart name, or the archive name without extension for packaged charts
+     */
+    private static String chartName(String chart) {
+        Path chartYaml = Path.of(chart).resolve("Chart.yaml");
+        if (Files.isRegularFile(chartYaml)) {
+            try {
+                for (String line : Files.readAllLines(chartYaml)) {
+                    if (line.startsWith("name:")) {
+                        return line.substring("name:".length()).trim().replace("\"", "").replace("'", "");
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Unable to read chart name from {}", chartYaml, e);
+            }
+        }
+        String name = chart.substring(chart.lastIndexOf('/') + 1);
+        return name.endsWith(".tgz") ? name.substring(0, name.length() - ".tgz".length()) : name;
     }
 }
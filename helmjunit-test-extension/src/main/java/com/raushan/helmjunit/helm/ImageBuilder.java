@@ -0,0 +1,390 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.annotation.HelmImage;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * ImageBuilder builds the images of {@link HelmImage} annotations straight into the cluster's container runtime
+ * and provides the chart values that point the charts to them.
+ * <p>
+ * Every build is keyed by a SHA-256 hash of its build context (honoring simple {@code .dockerignore} patterns),
+ * Dockerfile and build arguments. The hash of the last build of every image is kept per kubectl context in the
+ * cache directory, so that unchanged images still present in the cluster are not built again. Builds of the
+ * same image by concurrent test classes are run once.
+ */
+public class ImageBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageBuilder.class);
+    private static final String INDEX_FILE = "image-builds.properties";
+    private static final String HASH_TAG_PREFIX = "helmjunit-";
+    private static ImageBuilder shared;
+
+    /**
+     * Where images are built.
+     */
+    enum Runtime {
+        MINIKUBE, KIND, DOCKER
+    }
+
+    /**
+     * A build of an image, as declared by a {@link HelmImage} annotation.
+     *
+     * @param context    the absolute build context directory
+     * @param dockerfile the Dockerfile, relative to the build context
+     * @param buildArgs  the build arguments
+     * @param tag        the image reference as declared, possibly without a tag part
+     */
+    record Build(Path context, String dockerfile, List<String> buildArgs, String tag) {
+
+        static Build of(HelmImage image) {
+            return new Build(Path.of(image.context()).toAbsolutePath().normalize(), image.dockerfile(),
+                    List.of(image.buildArgs()), image.tag());
+        }
+    }
+
+    private final Path cacheDir;
+    private final Map<Build, String> hashes = new ConcurrentHashMap<>();
+    private final Set<String> localImages = ConcurrentHashMap.newKeySet();
+    private final Map<String, CompletableFuture<Void>> builds = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the image builder shared by all HelmJUnit components.
+     *
+     * @return the shared image builder
+     */
+    public static synchronized ImageBuilder shared() {
+        if (shared == null) {
+            shared = new ImageBuilder(HelmJUnitSettings.cacheDir());
+        }
+        return shared;
+    }
+
+    ImageBuilder(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Returns the reference of the image built for the given annotation. Without a tag part in
+     * {@link HelmImage#tag()}, the image is tagged with the hash of its build content.
+     *
+     * @param image the image annotation
+     * @return the image reference, e.g. {@code my-app:helmjunit-0123456789ab}
+     */
+    public String reference(HelmImage image) {
+        Build build = Build.of(image);
+        String reference = reference(build.tag(), hash(build));
+        localImages.add(ImagePreloader.normalize(reference));
+        return reference;
+    }
+
+    /**
+     * Returns the chart values that point a chart to the image built for the given annotation, as
+     * {@code key=value} pairs.
+     *
+     * @param image the image annotation
+     * @return the values, empty if the annotation sets none
+     */
+    public List<String> values(HelmImage image) {
+        return values(image, reference(image));
+    }
+
+    /**
+     * Checks if an image is built by HelmJUnit instead of being pulled from a registry.
+     *
+     * @param image the image reference
+     * @return true if the image is built from a {@link HelmImage} annotation, false otherwise
+     */
+    public boolean isLocalImage(String image) {
+        return localImages.contains(ImagePreloader.normalize(image));
+    }
+
+    /**
+     * Builds the images of all {@link HelmImage} fields of a test class into the cluster.
+     *
+     * @param testClass the test class
+     * @throws Exception if a build fails
+     */
+    public void buildImages(Class<?> testClass) throws Exception {
+        for (Field field : testClass.getDeclaredFields()) {
+            HelmImage image = field.getAnnotation(HelmImage.class);
+            if (image != null) {
+                build(image);
+            }
+        }
+    }
+
+    /**
+     * Builds the image of the given annotation into the cluster, unless the same content was built before and
+     * the image is still present. Concurrent calls for the same image wait for a single build.
+     *
+     * @param image the image annotation
+     * @throws Exception if the build fails
+     */
+    public void build(HelmImage image) throws Exception {
+        Build build = Build.of(image);
+        String hash = hash(build);
+        String reference = reference(build.tag(), hash);
+        localImages.add(ImagePreloader.normalize(reference));
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> existing = builds.putIfAbsent(reference, created);
+        if (existing != null) {
+            try {
+                existing.join();
+                return;
+            } catch (CompletionException e) {
+                throw new RuntimeException("❌ Failed to build image " + reference, e.getCause());
+            }
+        }
+        try {
+            build(build, reference, hash);
+            created.complete(null);
+        } catch (Exception e) {
+            builds.remove(reference, created);
+            created.completeExceptionally(e);
+            MetricsRegistry.shared().counter("helmjunit_image_builds", "HelmImage builds", "outcome", "failed").increment();
+            throw new RuntimeException("❌ Failed to build image " + reference, e);
+        }
+    }
+
+    private void build(Build build, String reference, String hash) throws Exception {
+        String context = ImagePreloader.context();
+        Runtime runtime = runtime(context);
+        String key = context + "/" + reference;
+        boolean upToDate = hash.equals(loadIndex().getProperty(key)) && isPresent(runtime, reference);
+        if (upToDate) {
+            logger.info("♻️ Image {} is up to date, skipping the build", reference);
+        } else {
+            logger.info("🔨 Building image {} from {} with {}", reference, build.context(),
+                    runtime.name().toLowerCase(Locale.ROOT));
+            long start = System.nanoTime();
+            List<String> command = runtime == Runtime.MINIKUBE ? minikubeBuild(build, reference) : dockerBuild(build, reference);
+            ProcessExecutor.run(command, String.join(" ", command.subList(0, 3)) + ": " + reference);
+            logger.info("✅ Built image {} in {} ms", reference, (System.nanoTime() - start) / 1_000_000);
+        }
+        if (runtime == Runtime.KIND) {
+            ProcessExecutor.run(List.of("kind", "load", "docker-image", reference, "--name", ImagePreloader.kindCluster()),
+                    "kind load docker-image: " + reference);
+        }
+        if (!upToDate) {
+            store(key, hash);
+        }
+        MetricsRegistry.shared().counter("helmjunit_image_builds", "HelmImage builds",
+                "outcome", upToDate ? "cached" : "built").increment();
+    }
+
+    private boolean isPresent(Runtime runtime, String reference) {
+        try {
+            if (runtime == Runtime.MINIKUBE) {
+                ProcessExecutor.ProcessResult images = ProcessExecutor.execute(List.of("minikube", "image", "ls"), "minikube image ls");
+                String normalized = ImagePreloader.normalize(reference);
+                return images.exitCode() == 0 && images.stdout().lines().map(String::trim)
+                        .filter(line -> !line.isEmpty()).anyMatch(line -> ImagePreloader.normalize(line).equals(normalized));
+            }
+            return ProcessExecutor.execute(List.of("docker", "image", "inspect", reference), "docker image inspect")
+                    .exitCode() == 0;
+        } catch (Exception e) {
+            logger.debug("Unable to check if image {} is present", reference, e);
+            return false;
+        }
+    }
+
+    private String hash(Build build) {
+        return hashes.computeIfAbsent(build, key -> {
+            try {
+                return contextHash(key.context(), key.dockerfile(), key.buildArgs());
+            } catch (Exception e) {
+                throw new RuntimeException("❌ Unable to read the build context " + key.context(), e);
+            }
+        });
+    }
+
+    static Runtime runtime(String context) {
+        String configured = HelmJUnitSettings.getString(HelmJUnitSettings.IMAGE_BUILD, "auto").toLowerCase(Locale.ROOT);
+        return switch (configured) {
+            case "minikube" -> Runtime.MINIKUBE;
+            case "kind" -> Runtime.KIND;
+            case "docker" -> Runtime.DOCKER;
+            default -> context.equals("minikube") ? Runtime.MINIKUBE
+                    : context.startsWith("kind-") ? Runtime.KIND : Runtime.DOCKER;
+        };
+    }
+
+    static List<String> minikubeBuild(Build build, String reference) {
+        List<String> command = new ArrayList<>(List.of("minikube", "image", "build", "-t", reference,
+                "-f", build.dockerfile()));
+        build.buildArgs().forEach(arg -> command.add("--build-opt=build-arg=" + arg));
+        command.add(build.context().toString());
+        return command;
+    }
+
+    static List<String> dockerBuild(Build build, String reference) {
+        List<String> command = new ArrayList<>(List.of("docker", "build", "-t", reference,
+                "-f", build.context().resolve(build.dockerfile()).toString()));
+        build.buildArgs().forEach(arg -> {
+            command.add("--build-arg");
+            command.add(arg);
+        });
+        command.add(build.context().toString());
+        return command;
+    }
+
+    /**
+     * Returns the declared reference if it has a tag part, or the reference tagged with the start of the hash.
+     */
+    static String reference(String tag, String hash) {
+        if (tag.contains("@")) {
+            throw new IllegalArgumentException("❌ HelmImage tag must not be a digest: " + tag);
+        }
+        int lastSlash = tag.lastIndexOf('/');
+        if (tag.indexOf(':', lastSlash + 1) >= 0) {
+            return tag;
+        }
+        return tag + ":" + HASH_TAG_PREFIX + hash.substring(0, 12);
+    }
+
+    static List<String> values(HelmImage image, String reference) {
+        int colon = reference.lastIndexOf(':');
+        List<String> values = new ArrayList<>();
+        if (!image.repositoryValue().isBlank()) values.add(image.repositoryValue() + "=" + reference.substring(0, colon));
+        if (!image.tagValue().isBlank()) values.add(image.tagValue() + "=" + reference.substring(colon + 1));
+        if (!image.imageValue().isBlank()) values.add(image.imageValue() + "=" + reference);
+        if (!image.pullPolicyValue().isBlank()) values.add(image.pullPolicyValue() + "=IfNotPresent");
+        return values;
+    }
+
+    /**
+     * Hashes the files of a build context that are not excluded by its {@code .dockerignore}, along with the
+     * Dockerfile name and build arguments. The {@code .git} directory is always excluded.
+     */
+    static String contextHash(Path context, String dockerfile, List<String> buildArgs) throws Exception {
+        if (!Files.isDirectory(context)) {
+            throw new IllegalArgumentException("❌ Build context is not a directory: " + context);
+        }
+        List<PathMatcher> ignored = ignorePatterns(context);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        update(digest, dockerfile);
+        buildArgs.forEach(arg -> update(digest, arg));
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(context)) {
+            files = paths.filter(Files::isRegularFile).sorted().toList();
+        }
+        byte[] buffer = new byte[8192];
+        for (Path file : files) {
+            Path relative = context.relativize(file);
+            String name = relative.toString().replace('\\', '/');
+            if (!name.equals(dockerfile) && (name.startsWith(".git/") || ignored.stream().anyMatch(m -> m.matches(relative)))) {
+                continue;
+            }
+            update(digest, name);
+            try (InputStream in = Files.newInputStream(file)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Reads the patterns of a {@code .dockerignore} file as glob matchers for files and everything below
+     * directories. Exception patterns starting with {@code !} are not supported and ignored.
+     */
+    private static List<PathMatcher> ignorePatterns(Path context) throws IOException {
+        Path dockerignore = context.resolve(".dockerignore");
+        List<PathMatcher> matchers = new ArrayList<>();
+        if (!Files.isRegularFile(dockerignore)) {
+            return matchers;
+        }
+        for (String line : Files.readAllLines(dockerignore)) {
+            String pattern = line.trim();
+            if (pattern.isEmpty() || pattern.startsWith("#") || pattern.startsWith("!")) {
+                continue;
+            }
+            pattern = pattern.replaceAll("^/+", "").replaceAll("/+$", "");
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern + "/**"));
+        }
+        return matchers;
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Records the hash of a build in the on-disk index.
+     * The index is re-read before writing so that entries added by concurrent test JVMs are kept.
+     */
+    private void store(String key, String hash) throws IOException {
+        Files.createDirectories(cacheDir);
+        Properties index = loadIndex();
+        index.setProperty(key, hash);
+        Path temp = Files.createTempFile(cacheDir, "image-builds-", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            index.store(out, "HelmJUnit image builds");
+        }
+        try {
+            Files.move(temp, cacheDir.resolve(INDEX_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, cacheDir.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Properties loadIndex() throws IOException {
+        Properties index = new Properties();
+        Path file = cacheDir.resolve(INDEX_FILE);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                index.load(in);
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.annotation.HelmChartTest;
+import com.raushan.helmjunit.core.HelmAnnotationParser;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ImagePreloadListener starts the {@link ImagePreloader} for the charts of every {@link HelmChartTest} class of
+ * the test plan as soon as the plan starts executing, so that image pulls overlap with the first installs
+ * instead of happening inside them.
+ * <p>
+ * The listener is registered with the JUnit Platform launcher through {@code META-INF/services}.
+ */
+public class ImagePreloadListener implements TestExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImagePreloadListener.class);
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        Set<Class<?>> testClasses = new LinkedHashSet<>();
+        for (TestIdentifier root : testPlan.getRoots()) {
+            for (TestIdentifier identifier : testPlan.getDescendants(root)) {
+                identifier.getSource()
+                        .filter(ClassSource.class::isInstance)
+                        .map(ClassSource.class::cast)
+                        .ifPresent(source -> {
+                            try {
+                                Class<?> testClass = source.getJavaClass();
+                                if (testClass.isAnnotationPresent(HelmChartTest.class)) {
+                                    testClasses.add(testClass);
+                                }
+                            } catch (Exception e) {
+                                logger.debug("Unable to load test class {}", source.getClassName(), e);
+                            }
+                        });
+            }
+        }
+        List<HelmChartDescriptor> charts = new ArrayList<>();
+        HelmAnnotationParser parser = new HelmAnnotationParser();
+        for (Class<?> testClass : testClasses) {
+            try {
+                charts.addAll(parser.parseHelmAnnotations(testClass));
+            } catch (Exception e) {
+                logger.debug("Unable to parse the Helm annotations of {}", testClass.getName(), e);
+            }
+        }
+        if (!charts.isEmpty()) {
+            ImagePreloader.shared().preload(charts);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.annotation.HelmResource;
+import com.raushan.helmjunit.core.HelmSession;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * ImagePreloader loads the container images of Helm charts into the cluster before the charts are installed,
+ * so that pods do not wait for serial image pulls inside {@code helm install}.
+ * <p>
+ * The charts are rendered through the {@link ManifestCache}, which the installs of charts with a fixed namespace
+ * reuse later. Charts installed into pool namespaces are rendered in the {@code default} namespace only to collect
+ * their images, as the namespace they are installed into is leased later. The unique images of all charts are then
+ * loaded in parallel, depending on {@value HelmJUnitSettings#IMAGE_PRELOAD}:
+ * <ul>
+ *     <li>minikube: {@code minikube image pull}, skipping images the node already has</li>
+ *     <li>kind: {@code docker pull} followed by {@code kind load docker-image}</li>
+ *     <li>daemonset: a temporary DaemonSet with one container per image, deleted once every node pulled them</li>
+ * </ul>
+ * Preloading runs in the background and overlaps with the first installs. Failures only cost the time saved;
+ * the installs pull whatever is still missing themselves.
+ */
+public class ImagePreloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImagePreloader.class);
+    private static final Duration DAEMONSET_TIMEOUT = Duration.ofMinutes(10);
+    private static final String DAEMONSET_NAMESPACE = "default";
+    private static ImagePreloader shared;
+
+    /**
+     * How images are loaded into the cluster.
+     */
+    enum Mode {
+        MINIKUBE, KIND, DAEMONSET, OFF
+    }
+
+    private final Set<String> requested = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore parallelism = new Semaphore(
+            Math.max(1, HelmJUnitSettings.getInt(HelmJUnitSettings.IMAGE_PRELOAD_PARALLELISM, 4)));
+
+    /**
+     * Returns the preloader shared by all HelmJUnit components.
+     *
+     * @return the shared preloader
+     */
+    public static synchronized ImagePreloader shared() {
+        if (shared == null) {
+            shared = new ImagePreloader();
+        }
+        return shared;
+    }
+
+    /**
+     * Starts loading the images of the given charts into the cluster. Images requested by an earlier call are
+     * not loaded again.
+     *
+     * @param descriptors the charts
+     * @return a future completed when all images were loaded or failed to load
+     */
+    public CompletableFuture<Void> preload(Collection<HelmChartDescriptor> descriptors) {
+        List<HelmChartDescriptor> charts = List.copyOf(descriptors);
+        return CompletableFuture.runAsync(() -> {
+            Mode mode = mode();
+            if (mode == Mode.OFF || charts.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            Set<String> images = new LinkedHashSet<>();
+            for (String image : renderImages(charts)) {
+                if (!ImageBuilder.shared().isLocalImage(image) && requested.add(image)) {
+                    images.add(image);
+                }
+            }
+            if (images.isEmpty()) {
+                return;
+            }
+            logger.info("🚚 Preloading {} image(s) of {} chart(s) with {}: {}", images.size(), charts.size(),
+                    mode.name().toLowerCase(Locale.ROOT), images);
+            int loaded = switch (mode) {
+                case MINIKUBE -> loadIntoMinikube(images);
+                case KIND -> loadIntoKind(images, kindCluster());
+                case DAEMONSET -> pullWithDaemonSet(images);
+                case OFF -> 0;
+            };
+            logger.info("✅ Preloaded {}/{} image(s) in {} ms", loaded, images.size(), (System.nanoTime() - start) / 1_000_000);
+        }, executor);
+    }
+
+    /**
+     * Renders the charts in parallel and collects their images.
+     */
+    private Set<String> renderImages(List<HelmChartDescriptor> charts) {
+        List<CompletableFuture<Set<String>>> renders = new ArrayList<>();
+        for (HelmChartDescriptor chart : charts) {
+            renders.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    HelmChartDescriptor descriptor = HelmResource.POOLED_NAMESPACE.equals(chart.namespace())
+                            ? chart.withNamespace(DAEMONSET_NAMESPACE) : chart;
+                    return ManifestCache.shared().render(ChartCache.shared().resolve(descriptor)).images();
+                } catch (Exception e) {
+                    logger.debug("Unable to render chart '{}' for image preloading", chart.chart(), e);
+                    return Set.of();
+                }
+            }, executor));
+        }
+        Set<String> images = new LinkedHashSet<>();
+        renders.forEach(render -> images.addAll(render.join()));
+        return images;
+    }
+
+    private int loadIntoMinikube(Set<String> images) {
+        Set<String> present = new HashSet<>();
+        try {
+            ProcessExecutor.ProcessResult result = ProcessExecutor.execute(List.of("minikube", "image", "ls"), "minikube image ls");
+            result.stdout().lines().map(String::trim).filter(line -> !line.isEmpty())
+                    .forEach(line -> present.add(normalize(line)));
+        } catch (Exception e) {
+            logger.debug("Unable to list the images of minikube", e);
+        }
+        return loadAll(images, image -> {
+            if (present.contains(normalize(image))) {
+                return true;
+            }
+            return ProcessExecutor.execute(List.of("minikube", "image", "pull", image), "minikube image pull: " + image)
+                    .exitCode() == 0;
+        });
+    }
+
+    private int loadIntoKind(Set<String> images, String cluster) {
+        return loadAll(images, image -> {
+            if (ProcessExecutor.execute(List.of("docker", "pull", image), "docker pull: " + image).exitCode() != 0) {
+                return false;
+            }
+            return ProcessExecutor.execute(List.of("kind", "load", "docker-image", image, "--name", cluster),
+                    "kind load docker-image: " + image).exitCode() == 0;
+        });
+    }
+
+    /**
+     * Loads every image on its own virtual thread, at most {@value HelmJUnitSettings#IMAGE_PRELOAD_PARALLELISM}
+     * at a time.
+     *
+     * @return the number of images that were loaded
+     */
+    private int loadAll(Set<String> images, ImageLoad load) {
+        List<CompletableFuture<Boolean>> loads = new ArrayList<>();
+        for (String image : images) {
+            loads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    parallelism.acquire();
+                    try {
+                        boolean loaded = load.load(image);
+                        if (!loaded) {
+                            logger.warn("⚠️ Unable to preload image {}", image);
+                        }
+                        return loaded;
+                    } finally {
+                        parallelism.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } catch (Exception e) {
+                    logger.warn("⚠️ Unable to preload image {}: {}", image, e.getMessage());
+                    return false;
+                }
+            }, executor));
+        }
+        int loaded = 0;
+        for (CompletableFuture<Boolean> result : loads) {
+            boolean ok = result.join();
+            if (ok) loaded++;
+            MetricsRegistry.shared().counter("helmjunit_image_preloads", "Images preloaded into the cluster",
+                    "outcome", ok ? "loaded" : "failed").increment();
+        }
+        return loaded;
+    }
+
+    /**
+     * Pulls the images on every node with a DaemonSet that runs one container per image. The containers sleep if
+     * the image has a shell; in images without one they fail to start, which still counts as pulled.
+     */
+    private int pullWithDaemonSet(Set<String> images) {
+        String name = daemonSetName();
+        List<String> delete = List.of("kubectl", "delete", "daemonset", name, "-n", DAEMONSET_NAMESPACE,
+                "--ignore-not-found", "--wait=false");
+        HelmSession.current().onClose("image prepull DaemonSet " + name,
+                () -> ProcessExecutor.execute(delete, "kubectl delete prepull daemonset"));
+        try {
+            ProcessExecutor.run(List.of("kubectl", "apply", "-f", "-"), "kubectl apply prepull daemonset",
+                    daemonSet(name, List.copyOf(images)).getBytes(StandardCharsets.UTF_8));
+            long deadline = System.nanoTime() + DAEMONSET_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                ProcessExecutor.ProcessResult pods = ProcessExecutor.execute(
+                        List.of("kubectl", "get", "pods", "-n", DAEMONSET_NAMESPACE, "-l", "app=" + name, "-o", "json"),
+                        "kubectl get prepull pods");
+                if (pods.exitCode() == 0 && allPulled(Json.array(Json.parse(pods.stdout()), "items"))) {
+                    return images.size();
+                }
+                Thread.sleep(2000);
+            }
+            logger.warn("⚠️ Not all images were pulled within {}s", DAEMONSET_TIMEOUT.toSeconds());
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            logger.warn("⚠️ Unable to preload images with a DaemonSet: {}", e.getMessage());
+            return 0;
+        } finally {
+            try {
+                ProcessExecutor.execute(delete, "kubectl delete prepull daemonset");
+            } catch (Exception e) {
+                logger.debug("Unable to delete prepull DaemonSet {}", name, e);
+            }
+        }
+    }
+
+    /**
+     * Checks if every container of every pod got past its image pull: it has an image ID, or it failed for a
+     * reason other than pulling.
+     */
+    static boolean allPulled(List<Object> pods) {
+        if (pods.isEmpty()) {
+            return false;
+        }
+        for (Object pod : pods) {
+            List<Object> statuses = Json.array(pod, "status", "containerStatuses");
+            if (statuses.isEmpty()) {
+                return false;
+            }
+            for (Object status : statuses) {
+                String imageId = Json.string(status, "imageID");
+                String waiting = Json.string(status, "state", "waiting", "reason");
+                boolean pulled = (imageId != null && !imageId.isBlank())
+                        || "CrashLoopBackOff".equals(waiting) || "RunContainerError".equals(waiting)
+                        || "CreateContainerError".equals(waiting);
+                if (!pulled) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    static String daemonSet(String name, List<String> images) {
+        StringBuilder containers = new StringBuilder();
+        for (int i = 0; i < images.size(); i++) {
+            containers.append("      - name: image-").append(i).append('\n')
+                    .append("        image: \"").append(images.get(i)).append("\"\n")
+                    .append("        imagePullPolicy: IfNotPresent\n")
+                    .append("        command: [\"sh\", \"-c\", \"sleep 3600\"]\n")
+                    .append("        resources:\n")
+                    .append("          requests: {cpu: 1m, memory: 4Mi}\n");
+        }
+        return """
+                apiVersion: apps/v1
+                kind: DaemonSet
+                metadata:
+                  name: %1$s
+                  namespace: %2$s
+                  labels:
+                    %3$s: "%4$s"
+                spec:
+                  selector:
+                    matchLabels:
+                      app: %1$s
+                  template:
+                    metadata:
+                      labels:
+                        app: %1$s
+                    spec:
+                      terminationGracePeriodSeconds: 0
+                      tolerations:
+                      - operator: Exists
+                      containers:
+                """.formatted(name, DAEMONSET_NAMESPACE, RunIdentity.RUN_ID_LABEL, RunIdentity.current().runId())
+                + containers;
+    }
+
+    private static String daemonSetName() {
+        String runId = RunIdentity.current().runId().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9-]", "-");
+        String name = "helmjunit-prepull-" + runId;
+        return name.length() > 63 ? name.substring(0, 63).replaceAll("-+$", "") : name;
+    }
+
+    /**
+     * Expands an image reference to its fully qualified form, e.g. {@code redis} to
+     * {@code docker.io/library/redis:latest}, so that references can be compared with the image list of a node.
+     */
+    static String normalize(String image) {
+        String reference = image;
+        int slash = reference.indexOf('/');
+        String first = slash < 0 ? "" : reference.substring(0, slash);
+        if (slash < 0 || !(first.contains(".") || first.contains(":") || first.equals("localhost"))) {
+            reference = "docker.io/" + (slash < 0 ? "library/" : "") + reference;
+        }
+        int lastSlash = reference.lastIndexOf('/');
+        if (!reference.contains("@") && reference.indexOf(':', lastSlash) < 0) {
+            reference = reference + ":latest";
+        }
+        return reference;
+    }
+
+    static Mode mode() {
+        String configured = HelmJUnitSettings.getString(HelmJUnitSettings.IMAGE_PRELOAD, "auto").toLowerCase(Locale.ROOT);
+        return switch (configured) {
+            case "off", "false" -> Mode.OFF;
+            case "minikube" -> Mode.MINIKUBE;
+            case "kind" -> Mode.KIND;
+            case "daemonset" -> Mode.DAEMONSET;
+            default -> detectMode(context());
+        };
+    }
+
+    static Mode detectMode(String context) {
+        if (context.equals("minikube")) return Mode.MINIKUBE;
+        if (context.startsWith("kind-")) return Mode.KIND;
+        logger.debug("Not preloading images for kubectl context '{}'", context);
+        return Mode.OFF;
+    }
+
+    static String kindCluster() {
+        String context = context();
+        return context.startsWith("kind-") ? context.substring("kind-".length()) : "kind";
+    }
+
+    static String context() {
+        try {
+            ProcessExecutor.ProcessResult result = ProcessExecutor.execute(List.of("kubectl", "config", "current-context"),
+                    "kubectl config current-context");
+            return result.exitCode() == 0 ? result.stdout().trim() : "";
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    @FunctionalInterface
+    private interface ImageLoad {
+        boolean load(String image) throws Exception;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.HelmCommandBuilder;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import com.raushan.helmjunit.util.ValuesFileCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * ManifestCache caches the manifests rendered with {@code helm template}, so that every part of the
+ * lifecycle that needs the rendered manifest (upgrade diffing, readiness scoping, service resolution)
+ * shares a single Helm invocation per distinct chart configuration.
+ * <p>
+ * Renderings are keyed by the chart digest, release name, namespace, chart version, {@code --set} values and
+ * the content hash of the values file. They are kept in memory with LRU eviction
+ * ({@value HelmJUnitSettings#MANIFEST_CACHE_SIZE} entries) and, if {@value HelmJUnitSettings#MANIFEST_CACHE_DISK}
+ * is enabled, also on disk so that later runs can reuse them.
+ * <p>
+ * The cache also remembers which manifest each installed release was rendered from, so that consumers that
+ * only know the release name and namespace can look it up without calling {@code helm get manifest}.
+ */
+public class ManifestCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ManifestCache.class);
+    private static ManifestCache shared;
+
+    private final Map<String, RenderedManifest> renderings;
+    private final Map<String, RenderedManifest> releases = new ConcurrentHashMap<>();
+    private final Path diskDir;
+
+    /**
+     * Creates a manifest cache.
+     *
+     * @param maxEntries the maximum number of renderings kept in memory
+     * @param diskDir    the directory where renderings are persisted, or null to keep them in memory only
+     */
+    public ManifestCache(int maxEntries, Path diskDir) {
+        this.diskDir = diskDir;
+        this.renderings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RenderedManifest> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the manifest cache shared by all Helm clients and resolvers, configured from system properties.
+     *
+     * @return the shared manifest cache
+     */
+    public static synchronized ManifestCache shared() {
+        if (shared == null) {
+            shared = new ManifestCache(
+                    HelmJUnitSettings.getInt(HelmJUnitSettings.MANIFEST_CACHE_SIZE, 64),
+                    HelmJUnitSettings.getBoolean(HelmJUnitSettings.MANIFEST_CACHE_DISK, false)
+                            ? HelmJUnitSettings.cacheDir().resolve("manifests") : null);
+        }
+        return shared;
+    }
+
+    /**
+     * Discards the shared manifest cache, so that the next call to {@link #shared()} creates it from the current
+     * system properties, e.g. after a test fixture changed the cache directory.
+     */
+    public static synchronized void resetShared() {
+        shared = null;
+    }
+
+    /**
+     * Returns the rendered manifest of a descriptor, running {@code helm template} only on a cache miss.
+     *
+     * @param descriptor the descriptor to render
+     * @return the rendered manifest
+     * @throws Exception if the chart cannot be rendered
+     */
+    public RenderedManifest render(HelmChartDescriptor descriptor) throws Exception {
+        ChartDigest chartDigest = chartDigest(descriptor);
+        String key = cacheKey(descriptor, chartDigest.value());
+
+        synchronized (renderings) {
+            RenderedManifest cached = renderings.get(key);
+            if (cached != null) {
+                logger.debug("Manifest cache hit for release '{}'", descriptor.releaseName());
+                return cached;
+            }
+        }
+
+        RenderedManifest manifest = readFromDisk(key);
+        if (manifest == null) {
+            String text = ProcessExecutor.capture(HelmCommandBuilder.buildTemplateCommand(descriptor),
+                    "Helm template: " + descriptor.releaseName(), HelmCommandBuilder.buildValuesInput(descriptor));
+            manifest = RenderedManifest.parse(text);
+            // Unresolved repository references may point to a different chart on the next run.
+            if (chartDigest.isContentAddressed()) {
+                writeToDisk(key, manifest);
+            }
+        }
+
+        synchronized (renderings) {
+            renderings.put(key, manifest);
+        }
+        return manifest;
+    }
+
+    /**
+     * Remembers the manifest an installed release was rendered from.
+     *
+     * @param descriptor the descriptor of the installed release
+     * @param manifest   the manifest rendered for the descriptor
+     */
+    public void bindRelease(HelmChartDescriptor descriptor, RenderedManifest manifest) {
+        releases.put(releaseKey(descriptor.releaseName(), descriptor.namespace()), manifest);
+    }
+
+    /**
+     * Forgets the manifest of a release, e.g. after it has been uninstalled.
+     *
+     * @param descriptor the descriptor of the release
+     */
+    public void unbindRelease(HelmChartDescriptor descriptor) {
+        releases.remove(releaseKey(descriptor.releaseName(), descriptor.namespace()));
+    }
+
+    /**
+     * Returns the manifest an installed release was rendered from.
+     *
+     * @param releaseName the Helm release name
+     * @param namespace   the namespace of the release
+     * @return the rendered manifest, or empty if the release was not installed through this cache
+     */
+    public Optional<RenderedManifest> forRelease(String releaseName, String namespace) {
+        return Optional.ofNullable(releases.get(releaseKey(releaseName, namespace)));
+    }
+
+    /**
+     * Returns the fingerprint of a chart configuration: a hash of the chart content, release name, namespace,
+     * chart version, {@code --set} values and values file content. Two descriptors with the same fingerprint
+     * render the same manifest.
+     *
+     * @param descriptor the descriptor, with repository charts already resolved through the {@link ChartCache}
+     * @return the fingerprint as a hex string
+     * @throws Exception if the chart or values file cannot be read
+     */
+    public static String fingerprint(HelmChartDescriptor descriptor) throws Exception {
+        return cacheKey(descriptor, chartDigest(descriptor).value());
+    }
+
+    /**
+     * Returns the fingerprint of the chart and values of a descriptor, without its release name and namespace:
+     * a hash of the chart content, chart version, {@code --set} values and values file content. Installs with
+     * the same chart fingerprint run the same workloads, wherever they are installed.
+     *
+     * @param descriptor the descriptor, with repository charts already resolved through the {@link ChartCache}
+     * @return the fingerprint as a hex string
+     * @throws Exception if the chart or values file cannot be read
+     */
+    public static String chartFingerprint(HelmChartDescriptor descriptor) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        update(digest, chartDigest(descriptor).value());
+        update(digest, descriptor.version());
+        for (String value : descriptor.values()) {
+            update(digest, value);
+        }
+        update(digest, valuesFileHash(descriptor));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String releaseKey(String releaseName, String namespace) {
+        return namespace + "/" + releaseName;
+    }
+
+    private static String cacheKey(HelmChartDescriptor descriptor, String chartDigest) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        update(digest, chartDigest);
+        update(digest, descriptor.releaseName());
+        update(digest, descriptor.namespace());
+        update(digest, descriptor.version());
+        for (String value : descriptor.values()) {
+            update(digest, value);
+        }
+        update(digest, valuesFileHash(descriptor));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update((value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Computes the digest of the chart of a descriptor: the archive content for packaged charts, the content of
+     * all files for chart directories, or the reference itself for charts that were not resolved to a local path.
+     */
+    private static ChartDigest chartDigest(HelmChartDescriptor descriptor) throws Exception {
+        Path chart = ChartCache.toLocalPath(descriptor.chart());
+        if (chart == null) {
+            return new ChartDigest(descriptor.chart() + "@" + descriptor.version(), false);
+        }
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        if (Files.isDirectory(chart)) {
+            try (Stream<Path> files = Files.walk(chart)) {
+                for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                    update(digest, chart.relativize(file).toString().replace('\\', '/'));
+                    digest.update(Files.readAllBytes(file));
+                }
+            }
+        } else {
+            digest.update(Files.readAllBytes(chart));
+        }
+        return new ChartDigest(HexFormat.of().formatHex(digest.digest()), true);
+    }
+
+    private static String valuesFileHash(HelmChartDescriptor descriptor) throws Exception {
+        String path = descriptor.valuesFile();
+        if (path == null || path.isBlank()) return "";
+
+        if (descriptor.valuesFromClasspath()) {
+            return ValuesFileCache.shared().contentHash(path);
+        }
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(Path.of(path))));
+    }
+
+    private RenderedManifest readFromDisk(String key) {
+        if (diskDir == null) return null;
+        Path file = diskDir.resolve(key + ".yaml");
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            logger.debug("Manifest disk cache hit: {}", file);
+            return RenderedManifest.parse(Files.readString(file));
+        } catch (IOException e) {
+            logger.warn("Unable to read cached manifest {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, RenderedManifest manifest) {
+        if (diskDir == null) return;
+        try {
+            Files.createDirectories(diskDir);
+            Path temp = Files.createTempFile(diskDir, key, ".tmp");
+            Files.writeString(temp, manifest.text());
+            Files.move(temp, diskDir.resolve(key + ".yaml"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Unable to persist rendered manifest to {}", diskDir, e);
+        }
+    }
+
+    /**
+     * The digest of a chart.
+     *
+     * @param value              the digest value
+     * @param isContentAddressed whether the digest was computed from the chart content
+     */
+    private record ChartDigest(String value, boolean isContentAddressed) {
+    }
+}
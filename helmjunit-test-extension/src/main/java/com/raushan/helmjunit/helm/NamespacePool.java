@@ -0,0 +1,297 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.annotation.HelmResource;
+import com.raushan.helmjunit.core.HelmSession;
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.report.Phase;
+import com.raushan.helmjunit.report.PhaseTimings;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.KubernetesWaiter;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * NamespacePool hands out namespaces to charts declared with {@link HelmResource#POOLED_NAMESPACE}, so that test
+ * classes do not pay for creating a namespace and waiting 20–40 s for its finalization after the tests.
+ * <p>
+ * The first lease creates {@value HelmJUnitSettings#NAMESPACE_POOL_SIZE} namespaces in one batch; if all of them
+ * are leased, the pool creates another one. When the releases of a pooled namespace are torn down, the namespace
+ * is scrubbed of the objects Helm leaves behind (PersistentVolumeClaims, Secrets and ConfigMaps) instead of being
+ * deleted. A released namespace becomes available to the next test class right away: installing into it waits
+ * for its pending teardown like for any other namespace.
+ * <p>
+ * Pool namespaces are named after the {@link RunIdentity} of the run and carry its labels, so that parallel test
+ * JVMs never share a namespace. They are deleted when the {@link HelmSession} closes. If the JVM is killed
+ * instead, they stop receiving the heartbeat of the run, and the {@link ReleaseSweeper} of a later run deletes them.
+ */
+public class NamespacePool implements AutoCloseable {
+
+    public static final String POOL_LABEL = "helmjunit.io/pool";
+
+    private static final Logger logger = LoggerFactory.getLogger(NamespacePool.class);
+    private static final String NAME_PREFIX = "helmjunit-pool-";
+    // Created by Kubernetes in every namespace; deleting it only makes the control plane recreate it.
+    private static final String ROOT_CA_CONFIG_MAP = "kube-root-ca.crt";
+    private static final List<String> SCRUBBED_RESOURCES = List.of("persistentvolumeclaims", "secrets", "configmaps");
+    private static NamespacePool shared;
+
+    private final String runId;
+    private final int size;
+    private final KubernetesWaiter waiter;
+    private final Set<String> namespaces = new LinkedHashSet<>();
+    private final Deque<String> idle = new ArrayDeque<>();
+
+    /**
+     * Creates a namespace pool.
+     *
+     * @param runId  the run ID the pool namespaces are named after
+     * @param size   the number of namespaces created by the first lease
+     * @param waiter the waiter used to confirm that the pods of a scrubbed namespace are gone
+     */
+    public NamespacePool(String runId, int size, KubernetesWaiter waiter) {
+        this.runId = runId;
+        this.size = Math.max(1, size);
+        this.waiter = waiter;
+    }
+
+    /**
+     * Returns the pool shared by all HelmJUnit components. Its namespaces are deleted when the {@link HelmSession} closes.
+     *
+     * @return the shared pool
+     */
+    public static synchronized NamespacePool shared() {
+        if (shared == null) {
+            shared = new NamespacePool(RunIdentity.current().runId(),
+                    HelmJUnitSettings.getInt(HelmJUnitSettings.NAMESPACE_POOL_SIZE, 4), new KubernetesWaiter());
+            HelmSession.current().onClose("namespace pool", shared);
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the shared pool if it owns a namespace, without creating the pool.
+     *
+     * @param namespace the namespace
+     * @return the shared pool, or empty if the namespace is not a pool namespace of this run
+     */
+    public static synchronized Optional<NamespacePool> owning(String namespace) {
+        return shared != null && shared.owns(namespace) ? Optional.of(shared) : Optional.empty();
+    }
+
+    /**
+     * Returns the namespaces of the shared pool, without creating the pool.
+     *
+     * @return the pool namespaces of this run, leased or idle
+     */
+    public static List<String> currentNamespaces() {
+        NamespacePool pool;
+        synchronized (NamespacePool.class) {
+            pool = shared;
+        }
+        if (pool == null) return List.of();
+        synchronized (pool) {
+            return List.copyOf(pool.namespaces);
+        }
+    }
+
+    /**
+     * Checks if a chart asks for a namespace leased from the pool.
+     *
+     * @param descriptor the descriptor of the chart
+     * @return true if its namespace is {@link HelmResource#POOLED_NAMESPACE}
+     */
+    public static boolean isPooled(HelmChartDescriptor descriptor) {
+        return HelmResource.POOLED_NAMESPACE.equals(descriptor.namespace());
+    }
+
+    /**
+     * Leases a namespace. The first lease creates the initial pool namespaces; if none is idle, a new one is created.
+     *
+     * @return the leased namespace
+     * @throws Exception if the namespaces cannot be created
+     */
+    public synchronized String lease() throws Exception {
+        if (namespaces.isEmpty()) {
+            List<String> created = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                created.add(namespaceName(runId, i));
+            }
+            createNamespaces(created);
+            namespaces.addAll(created);
+            idle.addAll(created);
+            logger.info("🏊 Created namespace pool of {} namespace(s): {}", created.size(), created);
+        }
+        if (idle.isEmpty()) {
+            String namespace = namespaceName(runId, namespaces.size());
+            createNamespaces(List.of(namespace));
+            namespaces.add(namespace);
+            idle.add(namespace);
+            logger.info("🏊 All {} pool namespace(s) are leased. Added namespace '{}'.", namespaces.size() - 1, namespace);
+        }
+        String namespace = idle.poll();
+        logger.info("🎫 Leased namespace '{}' from the pool.", namespace);
+        return namespace;
+    }
+
+    /**
+     * Returns a leased namespace to the pool. Its releases must have been uninstalled or scheduled for teardown.
+     *
+     * @param namespace the leased namespace
+     */
+    public synchronized void release(String namespace) {
+        if (namespaces.contains(namespace) && !idle.contains(namespace)) {
+            idle.add(namespace);
+            logger.info("🎫 Returned namespace '{}' to the pool.", namespace);
+        }
+    }
+
+    /**
+     * Checks if a namespace belongs to this pool.
+     *
+     * @param namespace the namespace
+     * @return true if the namespace was created by this pool
+     */
+    public synchronized boolean owns(String namespace) {
+        return namespaces.contains(namespace);
+    }
+
+    /**
+     * Removes what the releases of a pool namespace left behind, so that the namespace can be leased again:
+     * waits for their pods to be gone, then deletes all PersistentVolumeClaims, Secrets and ConfigMaps and waits
+     * for the claims to be finalized.
+     *
+     * @param namespace the namespace whose releases have been uninstalled
+     * @throws Exception if the pods do not go away or the objects cannot be deleted
+     */
+    public void scrub(String namespace) throws Exception {
+        try (PhaseTimings.Span ignored = PhaseTimings.shared().start(namespace, null, Phase.NAMESPACE_DELETION)) {
+            waiter.confirmResourcesDeleted(namespace);
+            String fieldSelector = "metadata.name!=" + ROOT_CA_CONFIG_MAP;
+            Optional<KubernetesClient> client = KubernetesClient.shared();
+            if (client.isPresent()) {
+                for (String resource : SCRUBBED_RESOURCES) {
+                    client.get().delete(KubernetesClient.corePath(namespace, resource), null, fieldSelector);
+                }
+                // A collection delete returns at once; wait for the PVCs to be finalized, as kubectl does below.
+                waiter.waitForClaimsDeleted(namespace, Set.of());
+            } else {
+                // Waits for the PVCs to be finalized, so that a StatefulSet of the next lease does not bind a terminating claim.
+                ProcessExecutor.run(List.of("kubectl", "delete", String.join(",", SCRUBBED_RESOURCES), "-n", namespace,
+                        "--field-selector", fieldSelector, "--ignore-not-found"), "kubectl scrub namespace: " + namespace);
+            }
+        }
+        logger.info("🧽 Scrubbed pool namespace '{}'.", namespace);
+    }
+
+    /**
+     * Deletes all pool namespaces without waiting for their finalization, once their pending teardowns are done.
+     */
+    @Override
+    public void close() {
+        List<String> owned;
+        synchronized (this) {
+            owned = new ArrayList<>(namespaces);
+        }
+        if (!owned.isEmpty()) {
+            try {
+                for (String namespace : owned) {
+                    TeardownReaper.awaitPendingTeardown(namespace);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                namespaces.clear();
+                idle.clear();
+            }
+            try {
+                new HelmClient().deleteNamespaces(owned);
+                logger.info("🗑️ Deleted namespace pool: {}", owned);
+            } catch (Exception e) {
+                logger.warn("Failed to delete pool namespaces {}", owned, e);
+            }
+        }
+        synchronized (NamespacePool.class) {
+            if (shared == this) {
+                shared = null;
+            }
+        }
+    }
+
+    /**
+     * Builds the name of a pool namespace: a valid DNS label derived from the run ID and the index in the pool.
+     *
+     * @param runId the run ID
+     * @param index the index of the namespace in the pool
+     * @return the namespace name
+     */
+    static String namespaceName(String runId, int index) {
+        String suffix = "-" + index;
+        String id = runId.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9-]", "-");
+        id = id.substring(0, Math.min(id.length(), 63 - NAME_PREFIX.length() - suffix.length()));
+        return (NAME_PREFIX + id).replaceAll("-+$", "") + suffix;
+    }
+
+    /**
+     * Builds the Namespace objects of the pool, labelled with the run identity.
+     *
+     * @param names the namespace names
+     * @return the JSON of one Namespace per name
+     */
+    static List<String> namespaceObjects(List<String> names) {
+        Map<String, String> labels = new LinkedHashMap<>(RunIdentity.current().labels());
+        labels.put(POOL_LABEL, "true");
+        String labelFields = labels.entrySet().stream()
+                .map(entry -> "\"" + entry.getKey() + "\":\"" + entry.getValue() + "\"")
+                .collect(Collectors.joining(","));
+        return names.stream()
+                .map(name -> "{\"apiVersion\":\"v1\",\"kind\":\"Namespace\",\"metadata\":{\"name\":\"" + name
+                        + "\",\"labels\":{" + labelFields + "}}}")
+                .toList();
+    }
+
+    private static void createNamespaces(List<String> names) throws Exception {
+        List<String> objects = namespaceObjects(names);
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            for (String object : objects) {
+                client.get().create("/api/v1/namespaces", object);
+            }
+        } else {
+            String list = "{\"apiVersion\":\"v1\",\"kind\":\"List\",\"items\":[" + String.join(",", objects) + "]}";
+            ProcessExecutor.run(List.of("kubectl", "apply", "-f", "-"), "kubectl create pool namespaces",
+                    list.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ReleaseReuse implements the developer reuse mode: releases are left installed after the run, and the next
+ * run skips the installation entirely if the release configuration is unchanged and its pods are healthy.
+ * <p>
+ * The fingerprint of the configuration a release was installed with (see {@link ManifestCache#fingerprint})
+ * is recorded as an annotation {@value #FINGERPRINT_ANNOTATION_PREFIX}{@code <release>} on the release
+ * namespace. Kept releases are labelled {@value #KEEP_LABEL}, which excludes them from the
+ * {@link ReleaseSweeper}.
+ */
+public class ReleaseReuse {
+
+    public static final String FINGERPRINT_ANNOTATION_PREFIX = "reuse.helmjunit.io/";
+    public static final String KEEP_LABEL = "helmjunit.io/keep";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReleaseReuse.class);
+    private static final ReleaseReuse SHARED = new ReleaseReuse();
+
+    private final Set<String> kept = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns the reuse registry shared by all HelmJUnit components.
+     *
+     * @return the shared registry
+     */
+    public static ReleaseReuse shared() {
+        return SHARED;
+    }
+
+    /**
+     * Checks if reuse mode is enabled, either for all test classes through {@value HelmJUnitSettings#REUSE}
+     * or for one test class.
+     *
+     * @param enabledForClass whether the test class enables reuse mode
+     * @return true if releases must be kept and reused, false otherwise
+     */
+    public static boolean isEnabled(boolean enabledForClass) {
+        return enabledForClass || HelmJUnitSettings.getBoolean(HelmJUnitSettings.REUSE, false);
+    }
+
+    /**
+     * Marks a release to be kept after the run and reused by later runs.
+     *
+     * @param descriptor the descriptor of the release
+     */
+    public void keep(HelmChartDescriptor descriptor) {
+        kept.add(key(descriptor));
+    }
+
+    /**
+     * Checks if a release is kept after the run.
+     *
+     * @param descriptor the descriptor of the release
+     * @return true if the release is kept, false otherwise
+     */
+    public boolean isKept(HelmChartDescriptor descriptor) {
+        return kept.contains(key(descriptor));
+    }
+
+    /**
+     * Returns the fingerprint recorded for a release by an earlier run.
+     *
+     * @param descriptor the descriptor of the release
+     * @return the recorded fingerprint, or empty if none is recorded
+     * @throws Exception if the namespace cannot be read
+     */
+    public Optional<String> recordedFingerprint(HelmChartDescriptor descriptor) throws Exception {
+        String annotation = FINGERPRINT_ANNOTATION_PREFIX + descriptor.releaseName();
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            return client.get().get("/api/v1/namespaces/" + descriptor.namespace())
+                    .map(namespace -> Json.string(namespace, "metadata", "annotations", annotation));
+        }
+        ProcessExecutor.ProcessResult result = ProcessExecutor.execute(
+                List.of("kubectl", "get", "namespace", descriptor.namespace(), "-o", "json"),
+                "kubectl get namespace: " + descriptor.namespace());
+        if (result.exitCode() != 0 || result.stdout().isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(Json.string(Json.parse(result.stdout()), "metadata", "annotations", annotation));
+    }
+
+    /**
+     * Records the fingerprint a release was installed with on its namespace.
+     *
+     * @param descriptor  the descriptor of the release
+     * @param fingerprint the fingerprint of the release configuration
+     * @throws Exception if the namespace cannot be updated
+     */
+    public void recordFingerprint(HelmChartDescriptor descriptor, String fingerprint) throws Exception {
+        String patch = "{\"metadata\":{\"labels\":{\"" + KEEP_LABEL + "\":\"true\"},\"annotations\":{\""
+                + FINGERPRINT_ANNOTATION_PREFIX + descriptor.releaseName() + "\":\"" + fingerprint + "\"}}}";
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            client.get().patch("/api/v1/namespaces/" + descriptor.namespace(), patch);
+        } else {
+            ProcessExecutor.run(List.of("kubectl", "patch", "namespace", descriptor.namespace(), "--type", "merge", "-p", patch),
+                    "kubectl patch namespace: " + descriptor.namespace());
+        }
+        logger.info("📌 Keeping release '{}' installed for reuse (fingerprint {})", descriptor.releaseName(),
+                fingerprint.substring(0, 12));
+    }
+
+    /**
+     * Returns the labels added to kept releases.
+     *
+     * @return the labels
+     */
+    public static Map<String, String> keepLabels() {
+        return Map.of(KEEP_LABEL, "true");
+    }
+
+    private static String key(HelmChartDescriptor descriptor) {
+        return descriptor.namespace() + "/" + descriptor.releaseName();
+    }
+}
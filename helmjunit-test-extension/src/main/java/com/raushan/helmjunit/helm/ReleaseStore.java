@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.kube.ClusterStateCache;
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ReleaseStore reads Helm releases straight from the Secrets Helm stores them in
+ * ({@code sh.helm.release.v1.<name>.v<revision>}), instead of running {@code helm list} or {@code helm get manifest}.
+ * <p>
+ * Each Secret holds the release as gzipped JSON, base64 encoded by Helm and once more by the API server.
+ * The latest revision is decoded in-process, which makes the manifest, values, revision and status of a
+ * release available without starting the Helm binary. Secrets are read from the {@link ClusterStateCache}
+ * or listed through the shared {@link KubernetesClient}, or with a single {@code kubectl} call when the
+ * client is not available.
+ * <p>
+ * Only Helm's default {@code secret} storage driver is supported. If {@code HELM_DRIVER} selects another
+ * driver, {@link #isAvailable()} is false and callers keep using the Helm CLI.
+ */
+public class ReleaseStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReleaseStore.class);
+    private static final ReleaseStore SHARED = new ReleaseStore();
+
+    /**
+     * Returns the release store shared by all HelmJUnit components.
+     *
+     * @return the shared release store
+     */
+    public static ReleaseStore shared() {
+        return SHARED;
+    }
+
+    /**
+     * Checks if Helm stores releases in Secrets, so that they can be read by this store.
+     *
+     * @return true if the {@code secret} storage driver is in use, false otherwise
+     */
+    public boolean isAvailable() {
+        String driver = System.getenv("HELM_DRIVER");
+        return driver == null || driver.isBlank() || driver.equals("secret") || driver.equals("secrets");
+    }
+
+    /**
+     * Returns the latest revision of a release.
+     *
+     * @param releaseName the release name
+     * @param namespace   the release namespace
+     * @return the latest revision, or empty if the release does not exist or the store is not available
+     * @throws Exception if the release Secrets cannot be listed or decoded
+     */
+    public Optional<StoredRelease> latest(String releaseName, String namespace) throws Exception {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        String selector = "owner=helm,name=" + releaseName;
+        List<Object> secrets;
+        Optional<ClusterStateCache> cache = ClusterStateCache.shared();
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (cache.isPresent()) {
+            secrets = cache.get().list(namespace, ClusterStateCache.Resource.RELEASE_SECRETS).stream()
+                    .filter(secret -> releaseName.equals(Json.string(secret, "metadata", "labels", "name")))
+                    .collect(Collectors.toList());
+        } else if (client.isPresent()) {
+            secrets = List.copyOf(client.get().listItems(KubernetesClient.corePath(namespace, "secrets"), selector));
+        } else {
+            ProcessExecutor.ProcessResult result = ProcessExecutor.execute(
+                    List.of("kubectl", "get", "secrets", "-n", namespace, "-l", selector, "-o", "json"),
+                    "kubectl get release secrets: " + releaseName);
+            if (result.exitCode() != 0 || result.stdout().isBlank()) {
+                return Optional.empty();
+            }
+            secrets = Json.array(Json.parse(result.stdout()), "items");
+        }
+
+        Optional<StoredRelease> latest = secrets.stream()
+                .max(Comparator.comparingLong(secret -> revisionOf(secret)))
+                .map(secret -> decode(Json.string(secret, "data", "release")));
+        latest.ifPresent(release -> logger.debug("Read release '{}' revision {} ({}) from its release Secret",
+                release.name(), release.revision(), release.status()));
+        return latest;
+    }
+
+    /**
+     * Decodes the {@code release} entry of a Helm release Secret as returned by the API server.
+     *
+     * @param secretData the base64 encoded {@code data.release} field of the Secret
+     * @return the decoded release
+     * @throws IllegalArgumentException if the data is not a Helm release
+     */
+    public static StoredRelease decode(String secretData) {
+        if (secretData == null) {
+            throw new IllegalArgumentException("Secret has no release data");
+        }
+        byte[] helmEncoded = Base64.getDecoder().decode(secretData.trim());
+        byte[] compressed = Base64.getDecoder().decode(new String(helmEncoded, StandardCharsets.US_ASCII).trim());
+        Map<String, Object> release = Json.object(Json.parse(gunzip(compressed)));
+
+        String chartName = Json.string(release, "chart", "metadata", "name");
+        String chartVersion = Json.string(release, "chart", "metadata", "version");
+        return new StoredRelease(
+                Json.string(release, "name"),
+                Json.string(release, "namespace"),
+                (int) Json.number(release, 0, "version"),
+                Json.string(release, "info", "status"),
+                chartVersion == null ? chartName : chartName + "-" + chartVersion,
+                Json.string(release, "manifest"),
+                Json.object(release, "config"));
+    }
+
+    private static long revisionOf(Object secret) {
+        String version = Json.string(secret, "metadata", "labels", "version");
+        try {
+            return version == null ? 0 : Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Decompresses the release JSON. Helm always gzips releases, but uncompressed JSON is accepted as well.
+     */
+    private static String gunzip(byte[] data) {
+        if (data.length < 2 || (data[0] & 0xff) != 0x1f || (data[1] & 0xff) != 0x8b) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decompress Helm release", e);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.HelmCommandBuilder;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * ReleaseSweeper removes releases that test runs left behind, e.g. because the test JVM was killed.
+ * <p>
+ * Releases installed by HelmJUnit carry the labels of their {@link RunIdentity} on their release Secret, and
+ * their namespaces carry the same labels and annotations. While a run has releases installed, it renews a
+ * {@value RunIdentity#HEARTBEAT_ANNOTATION} annotation on their release Secrets every minute. When a run starts,
+ * the sweeper lists the labelled release Secrets of all namespaces once and hands releases of other runs whose
+ * last heartbeat is more than {@value HelmJUnitSettings#SWEEP_STALE_MINUTES} minutes old to the
+ * {@link TeardownReaper}, which uninstalls them in parallel. Releases of long runs that are still alive are kept.
+ * <p>
+ * The {@link NamespacePool} namespaces of a run carry the same heartbeat, as they may be idle without releases.
+ * Pool namespaces of other runs whose last heartbeat is stale are deleted by the same sweep, so that a killed JVM
+ * does not leak its pool.
+ * <p>
+ * The sweeper also tracks the releases of the current run that have not been scheduled for teardown yet.
+ * If the JVM shuts down while some are still installed, a shutdown hook uninstalls them without waiting.
+ */
+public class ReleaseSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReleaseSweeper.class);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofMinutes(1);
+    private static final ReleaseSweeper SHARED = new ReleaseSweeper();
+
+    private final Map<String, HelmChartDescriptor> installed = new ConcurrentHashMap<>();
+    private final Set<String> markedNamespaces = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean swept = new AtomicBoolean();
+    private final AtomicBoolean heartbeatStarted = new AtomicBoolean();
+
+    private ReleaseSweeper() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::tearDownCurrentRun, "helmjunit-run-shutdown"));
+    }
+
+    /**
+     * Returns the sweeper shared by all HelmJUnit components.
+     *
+     * @return the shared sweeper
+     */
+    public static ReleaseSweeper shared() {
+        return SHARED;
+    }
+
+    /**
+     * Records that a release of the current run is installed, and labels its namespace with the run identity.
+     *
+     * @param descriptor the descriptor of the installed release
+     */
+    public void track(HelmChartDescriptor descriptor) {
+        if (installed.put(key(descriptor.namespace(), descriptor.releaseName()), descriptor) == null) {
+            activeReleases().increment();
+        }
+        startHeartbeat();
+        String namespace = descriptor.namespace();
+        if (!HelmClient.isProtectedNamespace(namespace) && markedNamespaces.add(namespace)) {
+            try {
+                markNamespace(namespace);
+            } catch (Exception e) {
+                logger.warn("Unable to label namespace '{}' with the run ID", namespace, e);
+            }
+        }
+    }
+
+    /**
+     * Records that a release of the current run has been uninstalled or scheduled for teardown.
+     *
+     * @param descriptor the descriptor of the release
+     */
+    public void untrack(HelmChartDescriptor descriptor) {
+        if (installed.remove(key(descriptor.namespace(), descriptor.releaseName())) != null) {
+            activeReleases().decrement();
+        }
+    }
+
+    /**
+     * Uninstalls the stale releases and deletes the stale pool namespaces of earlier runs. Only the first call per JVM
+     * sweeps; later calls return immediately.
+     */
+    public void sweepOnce() {
+        if (!HelmJUnitSettings.getBoolean(HelmJUnitSettings.SWEEP_ENABLED, true) || !swept.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Duration staleAfter = Duration.ofMinutes(HelmJUnitSettings.getInt(HelmJUnitSettings.SWEEP_STALE_MINUTES, 10));
+            Instant now = Instant.now();
+            List<HelmChartDescriptor> stale = findStale(listLabelledReleaseSecrets(), RunIdentity.current(), now, staleAfter);
+            if (!stale.isEmpty()) {
+                logger.info("🧟 Found {} orphaned release(s) of earlier runs: {}", stale.size(),
+                        stale.stream().map(d -> d.namespace() + "/" + d.releaseName()).toList());
+                TeardownReaper reaper = TeardownReaper.shared();
+                stale.forEach(reaper::submit);
+            }
+            // Pool namespaces with stale releases are deleted by the reaper once their releases are uninstalled.
+            Set<String> reaped = stale.stream().map(HelmChartDescriptor::namespace).collect(Collectors.toSet());
+            List<String> namespaces = findStalePoolNamespaces(listPoolNamespaces(), RunIdentity.current(), now, staleAfter)
+                    .stream().filter(namespace -> !reaped.contains(namespace)).toList();
+            if (!namespaces.isEmpty()) {
+                logger.info("🧟 Deleting {} orphaned pool namespace(s) of earlier runs: {}", namespaces.size(), namespaces);
+                new HelmClient().deleteNamespaces(namespaces);
+            }
+        } catch (Exception e) {
+            logger.warn("Unable to sweep orphaned releases", e);
+        }
+    }
+
+    /**
+     * Selects the releases of other runs whose last sign of life is older than {@code staleAfter}.
+     * The last sign of life of a release is the latest {@value RunIdentity#HEARTBEAT_ANNOTATION} on any of its
+     * release Secrets, or the start of its run if it has no heartbeat yet.
+     *
+     * @param secrets    the release Secrets labelled with a run ID, as returned by the API server
+     * @param current    the identity of the current run
+     * @param now        the current time
+     * @param staleAfter the time since the last sign of life after which a release of another run is considered orphaned
+     * @return the descriptors of the stale releases, one per release
+     */
+    static List<HelmChartDescriptor> findStale(List<Object> secrets, RunIdentity current, Instant now, Duration staleAfter) {
+        Map<String, Instant> lastSeen = new LinkedHashMap<>();
+        Map<String, HelmChartDescriptor> releases = new LinkedHashMap<>();
+        for (Object secret : secrets) {
+            String name = Json.string(secret, "metadata", "labels", "name");
+            String namespace = Json.string(secret, "metadata", "namespace");
+            Instant seen = lastSignOfLife(secret, current);
+            if (seen == null || name == null || namespace == null) {
+                continue;
+            }
+            String key = key(namespace, name);
+            lastSeen.merge(key, seen, (a, b) -> a.isAfter(b) ? a : b);
+            releases.putIfAbsent(key, new HelmChartDescriptor(name, name, namespace, List.of()));
+        }
+        List<HelmChartDescriptor> stale = new ArrayList<>();
+        releases.forEach((key, descriptor) -> {
+            if (lastSeen.get(key).plus(staleAfter).isBefore(now)) {
+                stale.add(descriptor);
+            }
+        });
+        return stale;
+    }
+
+    /**
+     * Selects the pool namespaces of other runs whose last sign of life is older than {@code staleAfter}, in the same
+     * way as {@link #findStale(List, RunIdentity, Instant, Duration)} does for releases.
+     *
+     * @param namespaces the pool namespaces labelled with a run ID, as returned by the API server
+     * @param current    the identity of the current run
+     * @param now        the current time
+     * @param staleAfter the time since the last sign of life after which a namespace of another run is considered orphaned
+     * @return the names of the stale namespaces
+     */
+    static List<String> findStalePoolNamespaces(List<Object> namespaces, RunIdentity current, Instant now, Duration staleAfter) {
+        List<String> stale = new ArrayList<>();
+        for (Object namespace : namespaces) {
+            String name = Json.string(namespace, "metadata", "name");
+            Instant seen = lastSignOfLife(namespace, current);
+            if (seen != null && name != null && seen.plus(staleAfter).isBefore(now)) {
+                stale.add(name);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Returns the latest of the heartbeat and the run start of an object labelled by another run, or null if it
+     * belongs to the current run or carries no run labels.
+     */
+    private static Instant lastSignOfLife(Object object, RunIdentity current) {
+        Map<String, Object> labels = Json.object(object, "metadata", "labels");
+        String runId = Json.string(labels, RunIdentity.RUN_ID_LABEL);
+        Instant started = epochSeconds(Json.string(labels, RunIdentity.STARTED_AT_LABEL));
+        if (runId == null || runId.equals(current.runId()) || started == null) {
+            return null;
+        }
+        Instant heartbeat = epochSeconds(Json.string(object, "metadata", "annotations", RunIdentity.HEARTBEAT_ANNOTATION));
+        return heartbeat != null && heartbeat.isAfter(started) ? heartbeat : started;
+    }
+
+    /**
+     * Renews the heartbeat of a release by annotating all its release Secrets with the given time.
+     *
+     * @param descriptor the descriptor of the release
+     * @param now        the time of the heartbeat
+     * @throws Exception if the release Secrets cannot be annotated
+     */
+    static void renewHeartbeat(HelmChartDescriptor descriptor, Instant now) throws Exception {
+        String selector = "owner=helm,name=" + descriptor.releaseName();
+        String heartbeat = String.valueOf(now.getEpochSecond());
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            String secrets = KubernetesClient.corePath(descriptor.namespace(), "secrets");
+            String patch = "{\"metadata\":{\"annotations\":{\"" + RunIdentity.HEARTBEAT_ANNOTATION + "\":\"" + heartbeat + "\"}}}";
+            for (Map<String, Object> secret : client.get().listItems(secrets, selector)) {
+                client.get().patch(secrets + "/" + Json.string(secret, "metadata", "name"), patch);
+            }
+        } else {
+            ProcessExecutor.run(List.of("kubectl", "annotate", "secrets", "-n", descriptor.namespace(), "-l", selector,
+                            RunIdentity.HEARTBEAT_ANNOTATION + "=" + heartbeat, "--overwrite"),
+                    "kubectl annotate release secrets: " + descriptor.releaseName());
+        }
+    }
+
+    /**
+     * Renews the heartbeat of a pool namespace of the current run by annotating the namespace with the given time.
+     *
+     * @param namespace the pool namespace
+     * @param now       the time of the heartbeat
+     * @throws Exception if the namespace cannot be annotated
+     */
+    static void renewNamespaceHeartbeat(String namespace, Instant now) throws Exception {
+        String heartbeat = String.valueOf(now.getEpochSecond());
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            client.get().patch("/api/v1/namespaces/" + namespace,
+                    "{\"metadata\":{\"annotations\":{\"" + RunIdentity.HEARTBEAT_ANNOTATION + "\":\"" + heartbeat + "\"}}}");
+        } else {
+            ProcessExecutor.run(List.of("kubectl", "annotate", "namespace", namespace,
+                            RunIdentity.HEARTBEAT_ANNOTATION + "=" + heartbeat, "--overwrite"),
+                    "kubectl annotate pool namespace: " + namespace);
+        }
+    }
+
+    /**
+     * Starts renewing the heartbeat of the releases and pool namespaces of the current run every minute, once per JVM.
+     * The first renewal happens a minute after the first install, as the start of the run covers that time.
+     */
+    private void startHeartbeat() {
+        if (!heartbeatStarted.compareAndSet(false, true)) return;
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "helmjunit-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::renewHeartbeats, HEARTBEAT_INTERVAL.toSeconds(),
+                HEARTBEAT_INTERVAL.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    private void renewHeartbeats() {
+        Instant now = Instant.now();
+        for (HelmChartDescriptor descriptor : List.copyOf(installed.values())) {
+            try {
+                renewHeartbeat(descriptor, now);
+            } catch (Exception e) {
+                logger.debug("Unable to renew the heartbeat of release '{}'", descriptor.releaseName(), e);
+            }
+        }
+        for (String namespace : NamespacePool.currentNamespaces()) {
+            try {
+                renewNamespaceHeartbeat(namespace, now);
+            } catch (Exception e) {
+                logger.debug("Unable to renew the heartbeat of pool namespace '{}'", namespace, e);
+            }
+        }
+    }
+
+    private static Instant epochSeconds(String value) {
+        if (value == null) return null;
+        try {
+            return Instant.ofEpochSecond(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private List<Object> listLabelledReleaseSecrets() throws Exception {
+        String selector = "owner=helm," + RunIdentity.RUN_ID_LABEL + ",!" + ReleaseReuse.KEEP_LABEL;
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            return List.copyOf(client.get().listItems("/api/v1/secrets", selector));
+        }
+        ProcessExecutor.ProcessResult result = ProcessExecutor.execute(
+                List.of("kubectl", "get", "secrets", "--all-namespaces", "-l", selector, "-o", "json"),
+                "kubectl get labelled release secrets");
+        if (result.exitCode() != 0 || result.stdout().isBlank()) {
+            return List.of();
+        }
+        return Json.array(Json.parse(result.stdout()), "items");
+    }
+
+    private List<Object> listPoolNamespaces() throws Exception {
+        String selector = NamespacePool.POOL_LABEL + "=true," + RunIdentity.RUN_ID_LABEL;
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            return List.copyOf(client.get().listItems("/api/v1/namespaces", selector));
+        }
+        ProcessExecutor.ProcessResult result = ProcessExecutor.execute(
+                List.of("kubectl", "get", "namespaces", "-l", selector, "-o", "json"),
+                "kubectl get pool namespaces");
+        if (result.exitCode() != 0 || result.stdout().isBlank()) {
+            return List.of();
+        }
+        return Json.array(Json.parse(result.stdout()), "items");
+    }
+
+    private static void markNamespace(String namespace) throws Exception {
+        Map<String, String> labels = RunIdentity.current().labels();
+        String fields = labels.entrySet().stream()
+                .map(entry -> "\"" + entry.getKey() + "\":\"" + entry.getValue() + "\"")
+                .collect(Collectors.joining(","));
+        String patch = "{\"metadata\":{\"labels\":{" + fields + "},\"annotations\":{" + fields + "}}}";
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            client.get().patch("/api/v1/namespaces/" + namespace, patch);
+        } else {
+            ProcessExecutor.run(List.of("kubectl", "patch", "namespace", namespace, "--type", "merge", "-p", patch),
+                    "kubectl patch namespace: " + namespace);
+        }
+    }
+
+    /**
+     * Uninstalls the releases of the current run that are still installed, in parallel and without waiting for
+     * their resources to be deleted. Runs as a JVM shutdown hook.
+     */
+    private void tearDownCurrentRun() {
+        List<HelmChartDescriptor> releases = new ArrayList<>(installed.values());
+        if (releases.isEmpty()) return;
+        logger.warn("🛑 JVM shutting down with {} release(s) of run {} still installed. Uninstalling...",
+                releases.size(), RunIdentity.current().runId());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (HelmChartDescriptor descriptor : releases) {
+            executor.execute(() -> {
+                try {
+                    ProcessExecutor.run(HelmCommandBuilder.buildUninstallCommand(descriptor), "Helm uninstall: " + descriptor.releaseName());
+                } catch (Exception e) {
+                    logger.warn("Failed to uninstall release '{}' on shutdown", descriptor.releaseName(), e);
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(SHUTDOWN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                new HelmClient().deleteNamespaces(releases.stream().map(HelmChartDescriptor::namespace).distinct().toList());
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to delete namespaces on shutdown", e);
+        }
+    }
+
+    private static MetricsRegistry.Gauge activeReleases() {
+        return MetricsRegistry.shared().gauge("helmjunit_active_releases",
+                "Releases of the current run that are installed and not scheduled for teardown");
+    }
+
+    private static String key(String namespace, String releaseName) {
+        return namespace + "/" + releaseName;
+    }
+}
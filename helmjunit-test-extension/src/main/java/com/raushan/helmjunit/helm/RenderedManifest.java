@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RenderedManifest represents a multi-document Kubernetes manifest as rendered by Helm
+ * ({@code helm template} or {@code helm get manifest}).
+ * <p>
+ * The manifest is split into its individual resources, keyed by {@code Kind/name}, so that two
+ * renderings of the same release can be compared resource by resource.
+ */
+public final class RenderedManifest {
+
+    private static final Pattern DOCUMENT_SEPARATOR = Pattern.compile("(?m)^---\\s*$");
+    private static final Pattern KIND = Pattern.compile("(?m)^kind:\\s*[\"']?([^\\s\"']+)");
+    private static final Pattern IMAGE = Pattern.compile("(?m)^[ \\t]*(?:-[ \\t]+)?image:[ \\t]*[\"']?([^\\s\"'#]+)");
+    private static final Pattern METADATA_NAME = Pattern.compile("(?m)^metadata:\\s*\\n(?:[ \\t]+.*\\n)*?[ \\t]{2}name:\\s*[\"']?([^\\s\"']+)");
+    private static final Pattern CLAIM_TEMPLATES = Pattern.compile("(?m)^([ \\t]*)volumeClaimTemplates:[ \\t]*\\n((?:\\1[ \\t]+.*\\n|\\1-.*\\n)*)");
+    private static final Pattern TEMPLATE_NAME = Pattern.compile("(?m)metadata:[ \\t]*\\n(?:[ \\t]+.*\\n)*?[ \\t]+name:[ \\t]*[\"']?([^\\s\"']+)");
+
+    private static final Set<String> WORKLOAD_KINDS = Set.of("Deployment", "StatefulSet", "DaemonSet");
+
+    private final String text;
+    private final Map<String, String> resources;
+
+    private RenderedManifest(String text, Map<String, String> resources) {
+        this.text = text;
+        this.resources = Collections.unmodifiableMap(resources);
+    }
+
+    /**
+     * Parses a rendered manifest into its resources.
+     * Comment lines (such as Helm's {@code # Source:} markers) and empty documents are ignored.
+     *
+     * @param manifest the rendered manifest text
+     * @return the parsed manifest
+     */
+    public static RenderedManifest parse(String manifest) {
+        String text = manifest == null ? "" : manifest;
+        Map<String, String> resources = new LinkedHashMap<>();
+        for (String document : DOCUMENT_SEPARATOR.split(text)) {
+            String normalized = normalize(document);
+            if (normalized.isEmpty()) continue;
+
+            Matcher kind = KIND.matcher(normalized);
+            Matcher name = METADATA_NAME.matcher(normalized + "\n");
+            if (!kind.find() || !name.find()) continue;
+
+            resources.put(kind.group(1) + "/" + name.group(1), normalized);
+        }
+        return new RenderedManifest(text, resources);
+    }
+
+    /**
+     * Returns the manifest text as rendered by Helm.
+     *
+     * @return the original manifest text
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Returns the resources of this manifest, keyed by {@code Kind/name}, with their normalized YAML documents.
+     *
+     * @return an unmodifiable map of resource keys to documents
+     */
+    public Map<String, String> resources() {
+        return resources;
+    }
+
+    /**
+     * Returns the keys of the workloads (Deployments, StatefulSets and DaemonSets) in this manifest.
+     *
+     * @return the {@code Kind/name} keys of the workloads, in manifest order
+     */
+    public Set<String> workloads() {
+        Set<String> workloads = new LinkedHashSet<>();
+        for (String key : resources.keySet()) {
+            if (isWorkload(key)) workloads.add(key);
+        }
+        return workloads;
+    }
+
+    /**
+     * Returns the container images referenced by the resources of this manifest, e.g. in the containers and
+     * init containers of workloads.
+     *
+     * @return the image references, in manifest order
+     */
+    public Set<String> images() {
+        Set<String> images = new LinkedHashSet<>();
+        for (String document : resources.values()) {
+            Matcher image = IMAGE.matcher(document);
+            while (image.find()) {
+                images.add(image.group(1));
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Returns the name prefixes of the persistent volume claims that StatefulSets create from their
+     * {@code volumeClaimTemplates}, e.g. {@code data-my-db-} for the template {@code data} of the StatefulSet
+     * {@code my-db}, whose claims are named {@code data-my-db-0}, {@code data-my-db-1} and so on.
+     * Claims rendered as resources of the manifest itself are not included.
+     *
+     * @return the claim name prefixes, in manifest order
+     */
+    public Set<String> claimTemplatePrefixes() {
+        Set<String> prefixes = new LinkedHashSet<>();
+        resources.forEach((key, document) -> {
+            if (!key.startsWith("StatefulSet/")) return;
+            Matcher templates = CLAIM_TEMPLATES.matcher(document + "\n");
+            while (templates.find()) {
+                Matcher name = TEMPLATE_NAME.matcher(templates.group(2));
+                while (name.find()) {
+                    prefixes.add(name.group(1) + "-" + key.substring(key.indexOf('/') + 1) + "-");
+                }
+            }
+        });
+        return prefixes;
+    }
+
+    /**
+     * Checks if a resource key refers to a workload whose rollout can be awaited
+     * (Deployment, StatefulSet or DaemonSet).
+     *
+     * @param key the resource key as {@code Kind/name}
+     * @return true if the resource is a workload, false otherwise
+     */
+    public static boolean isWorkload(String key) {
+        int separator = key.indexOf('/');
+        return separator > 0 && WORKLOAD_KINDS.contains(key.substring(0, separator));
+    }
+
+    /**
+     * Checks if this manifest contains no resources.
+     *
+     * @return true if the manifest is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return resources.isEmpty();
+    }
+
+    /**
+     * Returns the keys of the resources that are new in this manifest or whose document differs
+     * from the one in the previous manifest.
+     *
+     * @param previous the manifest to compare against
+     * @return the keys of added or modified resources, in manifest order
+     */
+    public Set<String> changedResources(RenderedManifest previous) {
+        Set<String> changed = new LinkedHashSet<>();
+        resources.forEach((key, document) -> {
+            if (!document.equals(previous.resources.get(key))) {
+                changed.add(key);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Checks if this manifest renders exactly the same resources as another one.
+     *
+     * @param other the manifest to compare against
+     * @return true if both manifests contain the same resources with identical documents
+     */
+    public boolean isEquivalentTo(RenderedManifest other) {
+        return resources.equals(other.resources);
+    }
+
+    private static String normalize(String document) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : document.split("\n")) {
+            String stripped = line.stripTrailing();
+            if (stripped.isEmpty() || stripped.startsWith("#")) continue;
+            sb.append(stripped).append('\n');
+        }
+        return sb.toString().trim();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.resources.Quantities;
+import com.raushan.helmjunit.util.Json;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * CPU and memory requested by pods, as used by the {@link AdmissionScheduler}.
+ * <p>
+ * Containers without requests count with their limits, as Kubernetes defaults requests to limits. The init
+ * containers of a pod run one after another before the other containers, so a pod requests the larger of its
+ * biggest init container and the sum of its other containers.
+ *
+ * @param cpuMillis   the requested CPU in millicores
+ * @param memoryBytes the requested memory in bytes
+ */
+public record ResourceRequests(long cpuMillis, long memoryBytes) {
+
+    /**
+     * No requests.
+     */
+    public static final ResourceRequests NONE = new ResourceRequests(0, 0);
+
+    private static final Set<String> REPLICATED_KINDS = Set.of("Deployment", "StatefulSet", "ReplicaSet");
+    private static final Set<String> POD_KINDS = Set.of("Deployment", "StatefulSet", "ReplicaSet", "DaemonSet", "Job", "Pod");
+    private static final Pattern REPLICAS = Pattern.compile("(?m)^  replicas:[ \\t]*[\"']?(\\d+)");
+    private static final Pattern PARALLELISM = Pattern.compile("(?m)^  parallelism:[ \\t]*[\"']?(\\d+)");
+    private static final Pattern KEY = Pattern.compile("^(- )?([A-Za-z]+):[ \\t]*(.*)$");
+
+    /**
+     * Estimates the requests of all pods created by the workloads of a rendered manifest, with their replicas.
+     * DaemonSets are counted once. CronJobs are not counted, as they do not run right after the install.
+     *
+     * @param manifest the rendered manifest
+     * @return the estimated requests
+     */
+    public static ResourceRequests of(RenderedManifest manifest) {
+        ResourceRequests total = NONE;
+        for (Map.Entry<String, String> resource : manifest.resources().entrySet()) {
+            String kind = resource.getKey().substring(0, Math.max(0, resource.getKey().indexOf('/')));
+            if (!POD_KINDS.contains(kind)) {
+                continue;
+            }
+            String document = resource.getValue();
+            Matcher count = (kind.equals("Job") ? PARALLELISM : REPLICAS).matcher(document);
+            int pods = REPLICATED_KINDS.contains(kind) || kind.equals("Job") ? (count.find() ? Integer.parseInt(count.group(1)) : 1) : 1;
+            total = total.plus(ofPodTemplate(document).times(pods));
+        }
+        return total;
+    }
+
+    /**
+     * Reads the requests of a pod from the {@code resources} blocks of its containers in a YAML document.
+     */
+    static ResourceRequests ofPodTemplate(String document) {
+        ResourceRequests containers = NONE;
+        ResourceRequests init = NONE;
+        boolean inInit = false;
+        int sectionIndent = -1;
+        List<String> lines = document.lines().toList();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int indent = indent(line);
+            Matcher key = KEY.matcher(line.trim());
+            if (!key.matches()) {
+                continue;
+            }
+            if (sectionIndent >= 0 && indent <= sectionIndent && key.group(1) == null) {
+                inInit = false;
+                sectionIndent = -1;
+            }
+            switch (key.group(2)) {
+                case "initContainers" -> {
+                    inInit = true;
+                    sectionIndent = indent;
+                }
+                case "resources" -> {
+                    int blockIndent = indent + (key.group(1) == null ? 0 : 2);
+                    ResourceRequests container = container(lines, i + 1, blockIndent);
+                    if (inInit) {
+                        init = init.max(container);
+                    } else {
+                        containers = containers.plus(container);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return containers.max(init);
+    }
+
+    /**
+     * Reads the requests of a pod of the Kubernetes API.
+     *
+     * @param pod the pod, as parsed JSON
+     * @return the requests of the pod
+     */
+    public static ResourceRequests ofPod(Object pod) {
+        ResourceRequests containers = NONE;
+        for (Object container : Json.array(pod, "spec", "containers")) {
+            containers = containers.plus(ofContainer(container));
+        }
+        ResourceRequests init = NONE;
+        for (Object container : Json.array(pod, "spec", "initContainers")) {
+            init = init.max(ofContainer(container));
+        }
+        return containers.max(init);
+    }
+
+    private static ResourceRequests ofContainer(Object container) {
+        String cpu = Json.string(container, "resources", "requests", "cpu");
+        String memory = Json.string(container, "resources", "requests", "memory");
+        return parse(cpu != null ? cpu : Json.string(container, "resources", "limits", "cpu"),
+                memory != null ? memory : Json.string(container, "resources", "limits", "memory"));
+    }
+
+    /**
+     * Reads the {@code requests} and {@code limits} of a {@code resources} block starting at the given line.
+     */
+    private static ResourceRequests container(List<String> lines, int start, int blockIndent) {
+        String requestsCpu = null, requestsMemory = null, limitsCpu = null, limitsMemory = null;
+        String section = "";
+        for (int i = start; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            if (indent(line) <= blockIndent) {
+                break;
+            }
+            Matcher key = KEY.matcher(line.trim());
+            if (!key.matches() || key.group(1) != null) {
+                continue;
+            }
+            String value = unquote(key.group(3));
+            switch (key.group(2)) {
+                case "requests", "limits" -> section = key.group(2);
+                case "cpu" -> {
+                    if (section.equals("requests")) requestsCpu = value;
+                    else if (section.equals("limits")) limitsCpu = value;
+                }
+                case "memory" -> {
+                    if (section.equals("requests")) requestsMemory = value;
+                    else if (section.equals("limits")) limitsMemory = value;
+                }
+                default -> {
+                }
+            }
+        }
+        return parse(requestsCpu != null ? requestsCpu : limitsCpu, requestsMemory != null ? requestsMemory : limitsMemory);
+    }
+
+    static ResourceRequests parse(String cpu, String memory) {
+        return new ResourceRequests((long) Math.ceil(Math.max(0, Quantities.cpuMillis(cpu))), Math.max(0, Quantities.bytes(memory)));
+    }
+
+    private static int indent(String line) {
+        int indent = 0;
+        while (indent < line.length() && line.charAt(indent) == ' ') indent++;
+        return indent;
+    }
+
+    private static String unquote(String value) {
+        String text = value.trim();
+        if (text.length() >= 2 && (text.startsWith("\"") || text.startsWith("'")) && text.endsWith(text.substring(0, 1))) {
+            return text.substring(1, text.length() - 1);
+        }
+        return text;
+    }
+
+    /**
+     * Returns the sum of these and the given requests.
+     *
+     * @param other the requests to add
+     * @return the sum
+     */
+    public ResourceRequests plus(ResourceRequests other) {
+        return new ResourceRequests(cpuMillis + other.cpuMillis, memoryBytes + other.memoryBytes);
+    }
+
+    /**
+     * Returns these requests without the given requests.
+     *
+     * @param other the requests to subtract
+     * @return the difference, which may be negative
+     */
+    public ResourceRequests minus(ResourceRequests other) {
+        return new ResourceRequests(cpuMillis - other.cpuMillis, memoryBytes - other.memoryBytes);
+    }
+
+    private ResourceRequests times(int factor) {
+        return new ResourceRequests(cpuMillis * factor, memoryBytes * factor);
+    }
+
+    private ResourceRequests max(ResourceRequests other) {
+        return new ResourceRequests(Math.max(cpuMillis, other.cpuMillis), Math.max(memoryBytes, other.memoryBytes));
+    }
+
+    /**
+     * Checks if these requests fit into the given capacity.
+     *
+     * @param capacity the free capacity
+     * @return true if both CPU and memory fit, false otherwise
+     */
+    public boolean fitsIn(ResourceRequests capacity) {
+        return cpuMillis <= capacity.cpuMillis && memoryBytes <= capacity.memoryBytes;
+    }
+
+    /**
+     * Checks if nothing is requested.
+     *
+     * @return true if neither CPU nor memory is requested, false otherwise
+     */
+    public boolean isZero() {
+        return cpuMillis <= 0 && memoryBytes <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%dm CPU / %dMi", cpuMillis, memoryBytes / (1024 * 1024));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RunIdentity identifies the current test run. Every release and namespace created by HelmJUnit is labelled
+ * with it, so that releases orphaned by a killed test JVM can be found and removed by later runs
+ * (see {@link ReleaseSweeper}).
+ *
+ * @param runId     the run ID, from {@value HelmJUnitSettings#RUN_ID} or random
+ * @param owner     the host the run executes on
+ * @param startedAt the time the run started
+ */
+public record RunIdentity(String runId, String owner, Instant startedAt) {
+
+    public static final String RUN_ID_LABEL = "helmjunit.io/run-id";
+    public static final String OWNER_LABEL = "helmjunit.io/owner";
+    public static final String STARTED_AT_LABEL = "helmjunit.io/started-at";
+    public static final String HEARTBEAT_ANNOTATION = "helmjunit.io/heartbeat";
+
+    private static final Logger logger = LoggerFactory.getLogger(RunIdentity.class);
+    private static final Pattern HELM_VERSION = Pattern.compile("v(\\d+)\\.(\\d+)");
+    private static final RunIdentity CURRENT = create();
+    private static Boolean releaseLabelsSupported;
+
+    /**
+     * Returns the identity of the current run.
+     *
+     * @return the current run identity
+     */
+    public static RunIdentity current() {
+        return CURRENT;
+    }
+
+    /**
+     * Returns the run labels: run ID, owner and start time in epoch seconds.
+     * The values are valid Kubernetes label values.
+     *
+     * @return the labels
+     */
+    public Map<String, String> labels() {
+        Map<String, String> labels = new LinkedHashMap<>();
+        labels.put(RUN_ID_LABEL, runId);
+        labels.put(OWNER_LABEL, owner);
+        labels.put(STARTED_AT_LABEL, String.valueOf(startedAt.getEpochSecond()));
+        return labels;
+    }
+
+    /**
+     * Checks if the installed Helm CLI supports {@code --labels} on install and upgrade (Helm 3.13 and later).
+     * The Helm version is only queried once per JVM.
+     *
+     * @return true if release labels are supported, false otherwise
+     */
+    public static synchronized boolean isReleaseLabelsSupported() {
+        if (releaseLabelsSupported == null) {
+            releaseLabelsSupported = false;
+            try {
+                String version = ProcessExecutor.capture(List.of("helm", "version", "--short"), "Helm version");
+                Matcher matcher = HELM_VERSION.matcher(version);
+                if (matcher.find()) {
+                    int major = Integer.parseInt(matcher.group(1));
+                    int minor = Integer.parseInt(matcher.group(2));
+                    releaseLabelsSupported = major > 3 || (major == 3 && minor >= 13);
+                }
+            } catch (Exception e) {
+                logger.debug("Unable to determine Helm version", e);
+            }
+            if (!releaseLabelsSupported) {
+                logger.warn("Helm 3.13+ is required to label releases with the run ID. Orphaned releases of this run will not be swept.");
+            }
+        }
+        return releaseLabelsSupported;
+    }
+
+    /**
+     * Converts a value into a valid Kubernetes label value: at most 63 alphanumeric, {@code -}, {@code _}
+     * or {@code .} characters, starting and ending with an alphanumeric character.
+     *
+     * @param value the value to convert
+     * @return the label value
+     */
+    static String toLabelValue(String value) {
+        String sanitized = value.replaceAll("[^A-Za-z0-9._-]", "-");
+        if (sanitized.length() > 63) {
+            sanitized = sanitized.substring(0, 63);
+        }
+        return sanitized.replaceAll("^[^A-Za-z0-9]+", "").replaceAll("[^A-Za-z0-9]+$", "");
+    }
+
+    private static RunIdentity create() {
+        String runId = System.getProperty(HelmJUnitSettings.RUN_ID);
+        if (runId == null || runId.isBlank()) {
+            runId = UUID.randomUUID().toString().substring(0, 8);
+        }
+        String owner;
+        try {
+            owner = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            owner = "unknown";
+        }
+        String ownerLabel = toLabelValue(owner);
+        return new RunIdentity(toLabelValue(runId), ownerLabel.isEmpty() ? "unknown" : ownerLabel, Instant.now());
+    }
+}
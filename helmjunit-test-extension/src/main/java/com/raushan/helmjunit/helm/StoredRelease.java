@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import java.util.Map;
+
+/**
+ * StoredRelease is a revision of a Helm release as recorded by Helm itself in the cluster.
+ *
+ * @param name      the release name
+ * @param namespace the release namespace
+ * @param revision  the release revision
+ * @param status    the release status, e.g. {@code deployed}, {@code failed} or {@code pending-install}
+ * @param chart     the chart of the release as reported by {@code helm list}, i.e. {@code <name>-<version>}
+ * @param manifest  the manifest Helm applied for this revision, or null if it is not known
+ * @param values    the user-supplied values of this revision
+ */
+public record StoredRelease(String name, String namespace, int revision, String status, String chart,
+                            String manifest, Map<String, Object> values) {
+
+    /**
+     * Checks if the revision can be upgraded in place, i.e. its last operation has finished.
+     *
+     * @return true if the release is deployed or failed, false otherwise
+     */
+    public boolean isUpgradable() {
+        return "deployed".equals(status) || "failed".equals(status);
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.core.HelmSession;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.report.Phase;
+import com.raushan.helmjunit.report.PhaseTimings;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.KubernetesWaiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TeardownReaper uninstalls releases in the background, so that {@code afterAll} and {@code afterEach}
+ * return as soon as the teardown is scheduled instead of waiting for Kubernetes garbage collection.
+ * <p>
+ * Releases are uninstalled in parallel ({@value HelmJUnitSettings#TEARDOWN_PARALLELISM} at a time). Once all
+ * releases of a namespace are gone, the namespace is queued for deletion; queued namespaces are deleted in
+ * one batch without waiting for their finalization. Protected namespaces such as {@code default} are never
+ * deleted, and namespaces of the {@link NamespacePool} are scrubbed instead.
+ * <p>
+ * Only two things block on the reaper: installing into a namespace whose teardown is still pending (see
+ * {@link #awaitTeardown(String)}), and the end of the {@link HelmSession}, which waits at most
+ * {@value HelmJUnitSettings#TEARDOWN_DEADLINE_SECONDS} seconds for all teardowns to finish.
+ */
+public class TeardownReaper implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeardownReaper.class);
+    private static TeardownReaper shared;
+
+    private final HelmClient helmClient;
+    private final KubernetesWaiter waiter;
+    private final ExecutorService executor;
+    private final long deadlineSeconds;
+    private final Map<String, NamespaceTeardown> teardowns = new HashMap<>();
+    private final Set<String> queuedNamespaces = new LinkedHashSet<>();
+    private boolean flushScheduled;
+
+    /**
+     * Creates a teardown reaper.
+     *
+     * @param helmClient      the client used to uninstall releases and delete namespaces
+     * @param waiter          the waiter used to confirm namespace deletion
+     * @param parallelism     the number of releases uninstalled in parallel
+     * @param deadlineSeconds the maximum number of seconds {@link #close()} waits for pending teardowns
+     */
+    public TeardownReaper(HelmClient helmClient, KubernetesWaiter waiter, int parallelism, long deadlineSeconds) {
+        this.helmClient = helmClient;
+        this.waiter = waiter;
+        this.deadlineSeconds = deadlineSeconds;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "helmjunit-teardown-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the reaper shared by all HelmJUnit components. It is drained when the {@link HelmSession} closes.
+     *
+     * @return the shared reaper
+     */
+    public static synchronized TeardownReaper shared() {
+        if (shared == null) {
+            shared = new TeardownReaper(new HelmClient(), new KubernetesWaiter(),
+                    HelmJUnitSettings.getInt(HelmJUnitSettings.TEARDOWN_PARALLELISM, 4),
+                    HelmJUnitSettings.getInt(HelmJUnitSettings.TEARDOWN_DEADLINE_SECONDS, 180));
+            HelmSession.current().onClose("background teardown", shared);
+        }
+        return shared;
+    }
+
+    /**
+     * Blocks until a pending teardown of the given namespace on the shared reaper has finished.
+     * Returns immediately if nothing has been torn down in the background yet.
+     *
+     * @param namespace the namespace about to be used
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public static void awaitPendingTeardown(String namespace) throws InterruptedException {
+        TeardownReaper reaper;
+        synchronized (TeardownReaper.class) {
+            reaper = shared;
+        }
+        if (reaper != null) {
+            reaper.awaitTeardown(namespace);
+        }
+    }
+
+    /**
+     * Checks if the shared reaper still has releases or namespaces to tear down, whose pods are about to free
+     * cluster capacity.
+     *
+     * @return true if a teardown is pending on the shared reaper, false otherwise
+     */
+    public static boolean hasPendingTeardowns() {
+        TeardownReaper reaper;
+        synchronized (TeardownReaper.class) {
+            reaper = shared;
+        }
+        if (reaper == null) return false;
+        synchronized (reaper) {
+            return !reaper.teardowns.isEmpty();
+        }
+    }
+
+    /**
+     * Checks if releases are torn down in the background.
+     *
+     * @return true unless {@value HelmJUnitSettings#TEARDOWN_ASYNC} is false
+     */
+    public static boolean isEnabled() {
+        return HelmJUnitSettings.getBoolean(HelmJUnitSettings.TEARDOWN_ASYNC, true);
+    }
+
+    /**
+     * Schedules the uninstallation of a release. Its namespace is deleted once no other release of the
+     * namespace is pending teardown.
+     *
+     * @param descriptor the descriptor of the release
+     */
+    public void submit(HelmChartDescriptor descriptor) {
+        String namespace = descriptor.namespace();
+        synchronized (this) {
+            teardowns.computeIfAbsent(namespace, key -> new NamespaceTeardown()).pendingReleases++;
+        }
+        logger.info("🗑️ Scheduled teardown of release '{}' in namespace '{}'", descriptor.releaseName(), namespace);
+        executor.execute(() -> {
+            try {
+                helmClient.uninstallRelease(descriptor);
+            } catch (Exception e) {
+                logger.error("❌ Background uninstall of release '{}' failed", descriptor.releaseName(), e);
+            } finally {
+                releaseRemoved(namespace);
+            }
+        });
+    }
+
+    /**
+     * Blocks until a pending teardown of the given namespace has finished, i.e. its releases are uninstalled
+     * and the namespace is deleted. Returns immediately if no teardown of the namespace is pending.
+     *
+     * @param namespace the namespace about to be used
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void awaitTeardown(String namespace) throws InterruptedException {
+        CompletableFuture<Void> done;
+        synchronized (this) {
+            NamespaceTeardown teardown = teardowns.get(namespace);
+            if (teardown == null) return;
+            done = teardown.done;
+        }
+        logger.info("⏳ Waiting for pending teardown of namespace '{}'...", namespace);
+        try {
+            done.get(deadlineSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("⏱️ Teardown of namespace '{}' did not finish within {} s", namespace, deadlineSeconds);
+        } catch (Exception e) {
+            logger.warn("Teardown of namespace '{}' failed", namespace, e);
+        }
+    }
+
+    /**
+     * Waits for all pending teardowns to finish, at most until the configured deadline, and stops the reaper.
+     */
+    @Override
+    public void close() {
+        List<CompletableFuture<Void>> pending;
+        synchronized (this) {
+            pending = teardowns.values().stream().map(teardown -> teardown.done).toList();
+        }
+        if (!pending.isEmpty()) {
+            logger.info("⏳ Waiting up to {} s for teardown of {} namespace(s)...", deadlineSeconds, pending.size());
+            try {
+                CompletableFuture.allOf(pending.toArray(CompletableFuture<?>[]::new)).get(deadlineSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                synchronized (this) {
+                    logger.warn("⏱️ Teardown deadline reached. Namespaces still pending: {}", teardowns.keySet());
+                }
+            }
+        }
+        executor.shutdownNow();
+        synchronized (TeardownReaper.class) {
+            if (shared == this) {
+                shared = null;
+            }
+        }
+    }
+
+    private synchronized void releaseRemoved(String namespace) {
+        NamespaceTeardown teardown = teardowns.get(namespace);
+        // A release submitted while its namespace is already being deleted goes away with the namespace.
+        if (teardown == null || --teardown.pendingReleases > 0 || teardown.deleting) return;
+        Optional<NamespacePool> pool = NamespacePool.owning(namespace);
+        if (pool.isPresent()) {
+            teardown.deleting = true;
+            executor.execute(() -> scrub(pool.get(), namespace, teardown));
+            return;
+        }
+        if (HelmClient.isProtectedNamespace(namespace)) {
+            finish(namespace, teardown);
+            return;
+        }
+        teardown.deleting = true;
+        queuedNamespaces.add(namespace);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            executor.execute(this::flushNamespaces);
+        }
+    }
+
+    /**
+     * Deletes all queued namespaces in one batch and confirms their deletion in the background.
+     */
+    private void flushNamespaces() {
+        List<String> namespaces;
+        synchronized (this) {
+            namespaces = new ArrayList<>(queuedNamespaces);
+            queuedNamespaces.clear();
+            flushScheduled = false;
+        }
+        Instant requested = Instant.now();
+        try {
+            helmClient.deleteNamespaces(namespaces);
+        } catch (Exception e) {
+            logger.error("❌ Failed to delete namespaces {}", namespaces, e);
+        }
+        for (String namespace : namespaces) {
+            NamespaceTeardown teardown;
+            synchronized (this) {
+                teardown = teardowns.get(namespace);
+            }
+            executor.execute(() -> {
+                try {
+                    waiter.waitForNamespaceDeleted(namespace);
+                    PhaseTimings.shared().record(namespace, null, Phase.NAMESPACE_DELETION, requested, Instant.now());
+                } catch (Exception e) {
+                    logger.warn("Namespace '{}' was not deleted in time", namespace, e);
+                } finally {
+                    synchronized (this) {
+                        finish(namespace, teardown);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Scrubs a pool namespace instead of deleting it.
+     */
+    private void scrub(NamespacePool pool, String namespace, NamespaceTeardown teardown) {
+        try {
+            pool.scrub(namespace);
+        } catch (Exception e) {
+            logger.error("❌ Failed to scrub pool namespace '{}'", namespace, e);
+        } finally {
+            synchronized (this) {
+                finish(namespace, teardown);
+            }
+        }
+    }
+
+    private void finish(String namespace, NamespaceTeardown teardown) {
+        teardowns.remove(namespace, teardown);
+        teardown.done.complete(null);
+        logger.info("✅ Teardown of namespace '{}' finished.", namespace);
+    }
+
+    private static final class NamespaceTeardown {
+        private int pendingReleases;
+        private boolean deleting;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * Flight Recorder event for a callback of {@code HelmChartTestExtension}, e.g. the {@code beforeAll} that
+ * installs the charts of a test class.
+ */
+@Name("com.raushan.helmjunit.Lifecycle")
+@Label("Extension Callback")
+@Category({"HelmJUnit", "Lifecycle"})
+@Description("A callback of the HelmJUnit extension")
+public class LifecycleEvent extends jdk.jfr.Event {
+
+    @Label("Callback")
+    String callback;
+
+    @Label("Test Class")
+    String testClass;
+
+    @Label("Test Method")
+    String testMethod;
+
+    /**
+     * Starts an event.
+     *
+     * @return the started event
+     */
+    public static LifecycleEvent start() {
+        LifecycleEvent event = new LifecycleEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param callback         the callback, e.g. {@code beforeAll}
+     * @param extensionContext the extension context of the callback
+     */
+    public void complete(String callback, ExtensionContext extensionContext) {
+        end();
+        if (shouldCommit()) {
+            this.callback = callback;
+            this.testClass = extensionContext.getTestClass().map(Class::getName).orElse(null);
+            this.testMethod = extensionContext.getTestMethod().map(Method::getName).orElse(null);
+            commit();
+        }
+    }
+}
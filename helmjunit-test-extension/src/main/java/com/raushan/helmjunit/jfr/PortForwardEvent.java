@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for starting or stopping a {@code kubectl port-forward}.
+ */
+@Name("com.raushan.helmjunit.PortForward")
+@Label("Port Forward")
+@Category({"HelmJUnit", "Kubernetes"})
+@Description("Starting or stopping a port-forward to a Kubernetes resource")
+public class PortForwardEvent extends jdk.jfr.Event {
+
+    @Label("Action")
+    String action;
+
+    @Label("Target")
+    String target;
+
+    @Label("Namespace")
+    String namespace;
+
+    @Label("Local Port")
+    int localPort;
+
+    @Label("Success")
+    boolean success;
+
+    /**
+     * Starts an event.
+     *
+     * @return the started event
+     */
+    public static PortForwardEvent start() {
+        PortForwardEvent event = new PortForwardEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param action    {@code start} or {@code stop}
+     * @param target    the forwarded resource, e.g. {@code svc/my-app}
+     * @param namespace the namespace of the resource
+     * @param localPort the local port
+     * @param success   whether the action succeeded
+     */
+    public void complete(String action, String target, String namespace, int localPort, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            this.target = target;
+            this.namespace = namespace;
+            this.localPort = localPort;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.List;
+
+/**
+ * Flight Recorder event for a helm or kubectl process started by {@code ProcessExecutor}. Its duration is the
+ * time from starting the process until it exited and its output was read.
+ */
+@Name("com.raushan.helmjunit.Process")
+@Label("Process")
+@Category({"HelmJUnit", "Processes"})
+@Description("A helm or kubectl process run by HelmJUnit")
+public class ProcessEvent extends jdk.jfr.Event {
+
+    @Label("Command")
+    String command;
+
+    @Label("Context")
+    String context;
+
+    @Label("Exit Code")
+    int exitCode;
+
+    @Label("Bytes In")
+    @DataAmount
+    long bytesIn;
+
+    @Label("Bytes Out")
+    @Description("Bytes written to standard output and standard error")
+    @DataAmount
+    long bytesOut;
+
+    /**
+     * Starts an event.
+     *
+     * @return the started event
+     */
+    public static ProcessEvent start() {
+        ProcessEvent event = new ProcessEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded. Its fields are only filled in for recorded events.
+     *
+     * @param command  the command that was run
+     * @param context  the context description of the command
+     * @param exitCode the exit code of the process
+     * @param bytesIn  the number of bytes written to the standard input of the process
+     * @param bytesOut the number of bytes read from the standard output and standard error of the process
+     */
+    public void complete(List<String> command, String context, int exitCode, long bytesIn, long bytesOut) {
+        end();
+        if (shouldCommit()) {
+            this.command = String.join(" ", command);
+            this.context = context;
+            this.exitCode = exitCode;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            commit();
+        }
+    }
+}
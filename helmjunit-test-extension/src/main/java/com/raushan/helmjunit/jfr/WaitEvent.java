@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a {@code KubernetesWaiter} wait, e.g. for pods to become ready. It tells how often the
+ * condition was checked, and how many of the checks were triggered by a watch event rather than a poll interval.
+ */
+@Name("com.raushan.helmjunit.Wait")
+@Label("Kubernetes Wait")
+@Category({"HelmJUnit", "Kubernetes"})
+@Description("A wait for a condition on Kubernetes resources")
+public class WaitEvent extends jdk.jfr.Event {
+
+    @Label("Condition")
+    String condition;
+
+    @Label("Namespace")
+    String namespace;
+
+    @Label("Checks")
+    int checks;
+
+    @Label("Watch Wake-ups")
+    @Description("Checks triggered by a change of the watched cluster state")
+    int watchWakeups;
+
+    @Label("Satisfied")
+    boolean satisfied;
+
+    /**
+     * Starts an event.
+     *
+     * @return the started event
+     */
+    public static WaitEvent start() {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param condition    the condition waited for
+     * @param namespace    the namespace of the resources
+     * @param checks       the number of times the condition was checked
+     * @param watchWakeups the number of checks triggered by a watch event
+     * @param satisfied    whether the condition held before the timeout
+     */
+    public void complete(String condition, String namespace, int checks, int watchWakeups, boolean satisfied) {
+        end();
+        if (shouldCommit()) {
+            this.condition = condition;
+            this.namespace = namespace;
+            this.checks = checks;
+            this.watchWakeups = watchWakeups;
+            this.satisfied = satisfied;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one watch stream of the shared cluster state cache, from its start until the server
+ * ended it or it failed.
+ */
+@Name("com.raushan.helmjunit.WatchStream")
+@Label("Watch Stream")
+@Category({"HelmJUnit", "Kubernetes"})
+@Description("A watch stream on a Kubernetes collection")
+public class WatchStreamEvent extends jdk.jfr.Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Label Selector")
+    String labelSelector;
+
+    @Label("Events")
+    long events;
+
+    @Label("Failure")
+    String failure;
+
+    /**
+     * Starts an event.
+     *
+     * @return the started event
+     */
+    public static WatchStreamEvent start() {
+        WatchStreamEvent event = new WatchStreamEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Counts an event received on the stream.
+     */
+    public void received() {
+        events++;
+    }
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param path          the API path of the watched collection
+     * @param labelSelector the label selector of the watch, or null
+     * @param failure       the failure that ended the stream, or null if the server ended it normally
+     */
+    public void complete(String path, String labelSelector, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.labelSelector = labelSelector;
+            this.failure = failure == null ? null : failure.toString();
+            commit();
+        }
+    }
+}
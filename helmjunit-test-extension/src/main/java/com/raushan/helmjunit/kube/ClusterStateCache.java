@@ -0,0 +1,243 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import com.raushan.helmjunit.core.HelmSession;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClusterStateCache is a session-scoped, watch-fed view of the cluster state the HelmJUnit lifecycle
+ * depends on: Pods, Services, Endpoints and Helm release Secrets of each namespace in use, plus the
+ * Namespaces themselves and, for install admission, the Nodes and the Pods of all namespaces.
+ * <p>
+ * The first access to a namespace lists its resources once and starts one watch per resource type; every
+ * later read is served from memory. Instead of re-listing on a timer, waiters block in
+ * {@link #awaitChange(long, Duration)} until a watch event arrives, so the readiness, service resolution and
+ * cleanup checks of many concurrent releases share a handful of watches.
+ * <p>
+ * The cache is only available together with the {@link KubernetesClient}, and can be disabled with
+ * {@value HelmJUnitSettings#INFORMER_ENABLED}. Its watches are stopped when the {@link HelmSession} closes.
+ */
+public class ClusterStateCache implements AutoCloseable {
+
+    /**
+     * The namespaced resource types held by the cache.
+     */
+    public enum Resource {
+        PODS("pods", null),
+        SERVICES("services", null),
+        ENDPOINTS("endpoints", null),
+        RELEASE_SECRETS("secrets", "owner=helm");
+
+        private final String plural;
+        private final String labelSelector;
+
+        Resource(String plural, String labelSelector) {
+            this.plural = plural;
+            this.labelSelector = labelSelector;
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterStateCache.class);
+    private static Optional<ClusterStateCache> shared;
+
+    private final KubernetesClient client;
+    private final Map<String, Informer> informers = new ConcurrentHashMap<>();
+    private final Object changeMonitor = new Object();
+    private long generation;
+
+    /**
+     * Creates a cluster state cache fed by the given client.
+     *
+     * @param client the API client used to list and watch resources
+     */
+    public ClusterStateCache(KubernetesClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Returns the cache shared by all HelmJUnit components for the current session.
+     *
+     * @return the shared cache, or empty if the Kubernetes API client is not available or the cache is disabled
+     */
+    public static synchronized Optional<ClusterStateCache> shared() {
+        if (shared == null) {
+            shared = KubernetesClient.shared()
+                    .filter(client -> HelmJUnitSettings.getBoolean(HelmJUnitSettings.INFORMER_ENABLED, true))
+                    .map(ClusterStateCache::new);
+            shared.ifPresent(cache -> HelmSession.current().onClose("cluster state watches", cache));
+        }
+        return shared;
+    }
+
+    /**
+     * Stops the watches of the shared cache and discards it, so that the next call to {@link #shared()} creates
+     * it for the current {@link KubernetesClient#shared() client}.
+     */
+    public static synchronized void resetShared() {
+        if (shared != null) {
+            shared.ifPresent(ClusterStateCache::close);
+            shared = null;
+        }
+    }
+
+    /**
+     * Returns the objects of a resource type in a namespace.
+     *
+     * @param namespace the namespace
+     * @param resource  the resource type
+     * @return the objects
+     */
+    public List<Map<String, Object>> list(String namespace, Resource resource) {
+        return informer(namespace, resource).list();
+    }
+
+    /**
+     * Returns the objects of a resource type in a namespace that belong to a release, i.e. whose
+     * {@code app.kubernetes.io/instance} label is the release name.
+     *
+     * @param namespace   the namespace
+     * @param resource    the resource type
+     * @param releaseName the release name
+     * @return the objects of the release
+     */
+    public List<Map<String, Object>> byInstance(String namespace, Resource resource, String releaseName) {
+        return informer(namespace, resource).byInstance(releaseName);
+    }
+
+    /**
+     * Returns an object of a resource type by name.
+     *
+     * @param namespace the namespace
+     * @param resource  the resource type
+     * @param name      the object name
+     * @return the object, or empty if it does not exist
+     */
+    public Optional<Map<String, Object>> get(String namespace, Resource resource, String name) {
+        return Optional.ofNullable(informer(namespace, resource).get(namespace, name));
+    }
+
+    /**
+     * Returns the objects of a core resource across the cluster, e.g. the Nodes or the Pods of all namespaces.
+     *
+     * @param resource the resource, e.g. {@code nodes} or {@code pods}
+     * @return the objects
+     */
+    public List<Map<String, Object>> listAll(String resource) {
+        return informerFor("/api/v1/" + resource, null).list();
+    }
+
+    /**
+     * Checks if a namespace exists.
+     *
+     * @param namespace the namespace
+     * @return true if the namespace exists, false otherwise
+     */
+    public boolean namespaceExists(String namespace) {
+        return informerFor("/api/v1/namespaces", null).get(null, namespace) != null;
+    }
+
+    /**
+     * Returns the change generation, which is incremented with every watch event applied to the cache.
+     * Read it before checking a condition and pass it to {@link #awaitChange(long, Duration)} to wait for
+     * the next change without missing events that arrive in between.
+     *
+     * @return the current change generation
+     */
+    public long generation() {
+        synchronized (changeMonitor) {
+            return generation;
+        }
+    }
+
+    /**
+     * Blocks until the cache changes after the given generation, or the timeout elapses.
+     *
+     * @param seenGeneration the generation the caller last observed
+     * @param timeout        the maximum time to wait
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void awaitChange(long seenGeneration, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (changeMonitor) {
+            while (generation == seenGeneration) {
+                long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+                if (remainingMillis <= 0) return;
+                changeMonitor.wait(remainingMillis);
+            }
+        }
+    }
+
+    /**
+     * Stops the watches of a namespace and drops its cached objects, e.g. once the namespace has been deleted.
+     * If the namespace is used again later, its resources are listed again.
+     *
+     * @param namespace the namespace
+     */
+    public void forget(String namespace) {
+        String prefix = KubernetesClient.corePath(namespace, "");
+        informers.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) return false;
+            entry.getValue().close();
+            logger.debug("Stopped informer for {}", entry.getKey());
+            return true;
+        });
+    }
+
+    /**
+     * Stops all watches.
+     */
+    @Override
+    public void close() {
+        informers.values().forEach(Informer::close);
+        informers.clear();
+    }
+
+    private Informer informer(String namespace, Resource resource) {
+        return informerFor(KubernetesClient.corePath(namespace, resource.plural), resource.labelSelector);
+    }
+
+    private Informer informerFor(String path, String labelSelector) {
+        Informer informer = informers.computeIfAbsent(path, key -> new Informer(client, key, labelSelector, this::changed));
+        synchronized (informer) {
+            if (!informer.isStarted()) {
+                try {
+                    informer.start();
+                    logger.debug("Started informer for {}", path);
+                } catch (Exception e) {
+                    throw new RuntimeException("Unable to list " + path, e);
+                }
+            }
+        }
+        return informer;
+    }
+
+    private void changed() {
+        synchronized (changeMonitor) {
+            generation++;
+            changeMonitor.notifyAll();
+        }
+    }
+}
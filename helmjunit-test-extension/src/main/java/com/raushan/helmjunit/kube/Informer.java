@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import com.raushan.helmjunit.jfr.WatchStreamEvent;
+import com.raushan.helmjunit.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Informer keeps an in-memory copy of one resource collection: it lists the collection once and then
+ * applies the events of a watch started from the listed resource version. If the watch ends it is resumed
+ * from the last seen resource version, and the collection is listed again if that version has expired.
+ * <p>
+ * Objects are indexed by namespace and name, so that cluster-wide collections can hold objects of the same name
+ * in different namespaces, and by their {@value #INSTANCE_LABEL} label. A relist builds a new index
+ * and swaps it in at once, so that readers never see a partially listed collection.
+ */
+class Informer implements AutoCloseable {
+
+    static final String INSTANCE_LABEL = "app.kubernetes.io/instance";
+
+    private static final Logger logger = LoggerFactory.getLogger(Informer.class);
+
+    private final KubernetesClient client;
+    private final String path;
+    private final String labelSelector;
+    private final Runnable onChange;
+    private volatile Index index = new Index();
+    private volatile boolean started;
+    private volatile String resourceVersion;
+    private volatile boolean expired;
+    private volatile boolean closed;
+    private volatile KubernetesClient.Watch watch;
+    private volatile WatchStreamEvent stream;
+
+    /**
+     * Creates an informer.
+     *
+     * @param client        the API client
+     * @param path          the API path of the collection
+     * @param labelSelector the label selector, or null for all objects
+     * @param onChange      invoked after every change applied to the copy
+     */
+    Informer(KubernetesClient client, String path, String labelSelector, Runnable onChange) {
+        this.client = client;
+        this.path = path;
+        this.labelSelector = labelSelector;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Lists the collection and starts watching it. When this method returns, the copy reflects the
+     * state of the collection at the time of the list.
+     *
+     * @throws Exception if the collection cannot be listed
+     */
+    synchronized void start() throws Exception {
+        Map<String, Object> list = client.list(path, labelSelector);
+        Index listed = new Index();
+        for (Object item : Json.array(list, "items")) {
+            listed.put(Json.object(item));
+        }
+        index = listed;
+        resourceVersion = Json.string(list, "metadata", "resourceVersion");
+        expired = false;
+        started = true;
+        onChange.run();
+        watch();
+    }
+
+    /**
+     * Checks if the collection has been listed at least once.
+     *
+     * @return true if the informer has been started, false otherwise
+     */
+    boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Returns all objects of the collection.
+     *
+     * @return the objects
+     */
+    List<Map<String, Object>> list() {
+        return List.copyOf(index.objects.values());
+    }
+
+    /**
+     * Returns the objects of the collection whose {@value #INSTANCE_LABEL} label has the given value.
+     *
+     * @param instance the instance label value, usually the Helm release name
+     * @return the objects of the instance
+     */
+    List<Map<String, Object>> byInstance(String instance) {
+        Index current = index;
+        return current.byInstance.getOrDefault(instance, Set.of()).stream()
+                .map(current.objects::get)
+                .filter(object -> object != null)
+                .toList();
+    }
+
+    /**
+     * Returns an object by namespace and name.
+     *
+     * @param namespace the object namespace, or null for cluster-scoped objects
+     * @param name      the object name
+     * @return the object, or null if it does not exist
+     */
+    Map<String, Object> get(String namespace, String name) {
+        return index.objects.get(key(namespace, name));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        KubernetesClient.Watch current = watch;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void watch() {
+        stream = WatchStreamEvent.start();
+        watch = client.watch(path, labelSelector, resourceVersion, this::apply, this::resume);
+    }
+
+    private void apply(WatchEvent event) {
+        stream.received();
+        String version = Json.string(event.object(), "metadata", "resourceVersion");
+        switch (event.type()) {
+            case "ADDED", "MODIFIED" -> index.put(event.object());
+            case "DELETED" -> index.remove(event.object());
+            case "ERROR" -> {
+                // 410 Gone: the resource version is too old to resume from.
+                expired = Json.number(event.object(), 0, "code") == 410;
+                return;
+            }
+            default -> {
+                // BOOKMARK events only advance the resource version.
+            }
+        }
+        if (version != null) {
+            resourceVersion = version;
+        }
+        onChange.run();
+    }
+
+    private void resume(Throwable failure) {
+        stream.complete(path, labelSelector, failure);
+        if (closed) return;
+        Thread thread = new Thread(() -> {
+            try {
+                if (failure != null) {
+                    logger.debug("Watch of {} failed ({}). Listing again.", path, failure.getMessage());
+                    Thread.sleep(1000);
+                    start();
+                } else if (expired) {
+                    start();
+                } else {
+                    watch();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.warn("Unable to resume watch of {}", path, e);
+                resume(e);
+            }
+        }, "helmjunit-informer-resume");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static String key(String namespace, String name) {
+        return namespace == null ? name : namespace + "/" + name;
+    }
+
+    private static String key(Map<String, Object> object) {
+        return key(Json.string(object, "metadata", "namespace"), Json.string(object, "metadata", "name"));
+    }
+
+    /**
+     * The objects of the collection, indexed by namespace and name and by instance label.
+     */
+    private static final class Index {
+        private final Map<String, Map<String, Object>> objects = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> byInstance = new ConcurrentHashMap<>();
+
+        void put(Map<String, Object> object) {
+            String key = key(object);
+            Map<String, Object> previous = objects.put(key, object);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            String instance = Json.string(object, "metadata", "labels", INSTANCE_LABEL);
+            if (instance != null) {
+                byInstance.computeIfAbsent(instance, ignored -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+
+        void remove(Map<String, Object> object) {
+            String key = key(object);
+            Map<String, Object> previous = objects.remove(key);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+        }
+
+        private void unindex(String key, Map<String, Object> object) {
+            String instance = Json.string(object, "metadata", "labels", INSTANCE_LABEL);
+            if (instance != null) {
+                Set<String> keys = byInstance.get(instance);
+                if (keys != null) {
+                    keys.remove(key);
+                }
+            }
+        }
+    }
+}
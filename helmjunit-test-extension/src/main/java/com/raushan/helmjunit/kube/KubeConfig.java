@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import com.raushan.helmjunit.util.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * KubeConfig holds the connection settings of the current kubeconfig context: the API server URL,
+ * the TLS material and the credentials used by {@link KubernetesClient}.
+ * <p>
+ * Only static credentials are supported (client certificates and bearer tokens). Contexts that rely on
+ * {@code exec} or {@code auth-provider} plugins are reported as unsupported, in which case HelmJUnit
+ * keeps using {@code kubectl}.
+ *
+ * @param server                the API server URL
+ * @param namespace             the default namespace of the context
+ * @param certificateAuthority  the PEM encoded CA certificates, or null to use the JDK trust store
+ * @param clientCertificate     the PEM encoded client certificate, or null
+ * @param clientKey             the PEM encoded client private key, or null
+ * @param token                 the bearer token, or null
+ * @param insecureSkipTlsVerify whether the server certificate is not verified
+ */
+public record KubeConfig(String server, String namespace, byte[] certificateAuthority, byte[] clientCertificate,
+                         byte[] clientKey, String token, boolean insecureSkipTlsVerify) {
+
+    /**
+     * Loads the current context from the kubeconfig file used by kubectl: the first file listed in
+     * {@code KUBECONFIG}, or {@code ~/.kube/config}.
+     *
+     * @return the configuration, or empty if there is no kubeconfig file
+     * @throws IOException if the kubeconfig file or a file it references cannot be read
+     */
+    public static Optional<KubeConfig> load() throws IOException {
+        String env = System.getenv("KUBECONFIG");
+        Path file = env != null && !env.isBlank()
+                ? Path.of(env.split(File.pathSeparator)[0])
+                : Path.of(System.getProperty("user.home"), ".kube", "config");
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(parse(Files.readString(file), file.toAbsolutePath().getParent()));
+    }
+
+    /**
+     * Parses the current context of a kubeconfig document.
+     *
+     * @param yaml    the kubeconfig content
+     * @param baseDir the directory relative file references are resolved against
+     * @return the configuration of the current context
+     * @throws IOException if a referenced file cannot be read
+     * @throws IllegalArgumentException if the current context cannot be resolved or uses unsupported credentials
+     */
+    public static KubeConfig parse(String yaml, Path baseDir) throws IOException {
+        Object config = SimpleYaml.parse(yaml);
+        String contextName = Json.string(config, "current-context");
+        if (contextName == null || contextName.isBlank()) {
+            throw new IllegalArgumentException("kubeconfig has no current-context");
+        }
+        Map<String, Object> context = named(config, "contexts", contextName, "context");
+        Map<String, Object> cluster = named(config, "clusters", Json.string(context, "cluster"), "cluster");
+        Map<String, Object> user = named(config, "users", Json.string(context, "user"), "user");
+
+        if (user.containsKey("exec") || user.containsKey("auth-provider")) {
+            throw new IllegalArgumentException("kubeconfig user '" + Json.string(context, "user")
+                    + "' uses an exec or auth-provider plugin, which is not supported");
+        }
+
+        String token = Json.string(user, "token");
+        String tokenFile = Json.string(user, "tokenFile");
+        if (token == null && tokenFile != null) {
+            token = Files.readString(baseDir.resolve(tokenFile)).trim();
+        }
+
+        String namespace = Json.string(context, "namespace");
+        return new KubeConfig(
+                stripTrailingSlash(Json.string(cluster, "server")),
+                namespace == null ? "default" : namespace,
+                material(cluster, "certificate-authority", baseDir),
+                material(user, "client-certificate", baseDir),
+                material(user, "client-key", baseDir),
+                token,
+                "true".equals(Json.string(cluster, "insecure-skip-tls-verify")));
+    }
+
+    private static Map<String, Object> named(Object config, String section, String name, String field) {
+        return Json.array(config, section).stream()
+                .filter(entry -> name != null && name.equals(Json.string(entry, "name")))
+                .map(entry -> Json.object(entry, field))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("kubeconfig has no " + section + " entry named '" + name + "'"));
+    }
+
+    /**
+     * Reads TLS material given either inline ({@code <key>-data}, base64 encoded) or as a file reference ({@code <key>}).
+     */
+    private static byte[] material(Map<String, Object> section, String key, Path baseDir) throws IOException {
+        String data = Json.string(section, key + "-data");
+        if (data != null && !data.isBlank()) {
+            return Base64.getMimeDecoder().decode(data);
+        }
+        String file = Json.string(section, key);
+        if (file != null && !file.isBlank()) {
+            return Files.readAllBytes(baseDir.resolve(file));
+        }
+        return null;
+    }
+
+    private static String stripTrailingSlash(String server) {
+        if (server == null || server.isBlank()) {
+            throw new IllegalArgumentException("kubeconfig cluster has no server");
+        }
+        return server.endsWith("/") ? server.substring(0, server.length() - 1) : server;
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * KubernetesClient is a small Kubernetes API client built on {@link HttpClient}, used instead of forking
+ * {@code kubectl} for every cluster query.
+ * <p>
+ * A single client keeps one pooled HTTP/2 connection to the API server (HTTP/1.1 for plain {@code http}
+ * servers), so list, get, patch, delete and watch calls share the TLS session instead of paying process startup
+ * and a new handshake each time. Responses are parsed with {@link Json} into maps and lists.
+ * <p>
+ * The shared client is created from the current kubeconfig context. If no kubeconfig is available, the
+ * context uses unsupported credentials, or {@value HelmJUnitSettings#KUBE_CLIENT_ENABLED} is false,
+ * {@link #shared()} is empty and callers fall back to {@code kubectl}.
+ */
+public class KubernetesClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(KubernetesClient.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static Optional<KubernetesClient> shared;
+
+    private final KubeConfig config;
+    private final HttpClient httpClient;
+
+    /**
+     * Creates a client for the given connection settings.
+     *
+     * @param config the connection settings
+     * @throws GeneralSecurityException if the TLS material cannot be loaded
+     * @throws IOException              if the TLS material cannot be read
+     */
+    public KubernetesClient(KubeConfig config) throws GeneralSecurityException, IOException {
+        this.config = config;
+        boolean isTls = config.server().startsWith("https://");
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .version(isTls ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        if (isTls) {
+            builder.sslContext(sslContext(config));
+        }
+        this.httpClient = builder.build();
+    }
+
+    /**
+     * Returns the client shared by all HelmJUnit components, created from the current kubeconfig context.
+     *
+     * @return the shared client, or empty if the API cannot be used directly
+     */
+    public static synchronized Optional<KubernetesClient> shared() {
+        if (shared == null) {
+            shared = createShared();
+        }
+        return shared;
+    }
+
+    /**
+     * Discards the shared client, so that the next call to {@link #shared()} creates it from the current
+     * kubeconfig and system properties, e.g. after a test fixture disabled the client.
+     */
+    public static synchronized void resetShared() {
+        shared = null;
+    }
+
+    private static Optional<KubernetesClient> createShared() {
+        if (!HelmJUnitSettings.getBoolean(HelmJUnitSettings.KUBE_CLIENT_ENABLED, true)) {
+            logger.info("ℹ️ Kubernetes API client disabled. Using kubectl for cluster queries.");
+            return Optional.empty();
+        }
+        try {
+            Optional<KubeConfig> config = KubeConfig.load();
+            if (config.isEmpty()) {
+                logger.info("ℹ️ No kubeconfig found. Using kubectl for cluster queries.");
+                return Optional.empty();
+            }
+            KubernetesClient client = new KubernetesClient(config.get());
+            logger.info("🔌 Using Kubernetes API client for {}", config.get().server());
+            return Optional.of(client);
+        } catch (Exception e) {
+            logger.warn("Unable to create Kubernetes API client ({}). Using kubectl for cluster queries.", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the path of a namespaced resource collection in the core API group, e.g. {@code /api/v1/namespaces/ns/pods}.
+     *
+     * @param namespace the namespace
+     * @param resource  the plural resource name
+     * @return the API path
+     */
+    public static String corePath(String namespace, String resource) {
+        return "/api/v1/namespaces/" + namespace + "/" + resource;
+    }
+
+    /**
+     * Returns the path of a namespaced resource collection in the apps API group, e.g. {@code /apis/apps/v1/namespaces/ns/deployments}.
+     *
+     * @param namespace the namespace
+     * @param resource  the plural resource name
+     * @return the API path
+     */
+    public static String appsPath(String namespace, String resource) {
+        return "/apis/apps/v1/namespaces/" + namespace + "/" + resource;
+    }
+
+    /**
+     * Returns the connection settings of this client.
+     *
+     * @return the connection settings
+     */
+    public KubeConfig config() {
+        return config;
+    }
+
+    /**
+     * Gets a single object.
+     *
+     * @param path the API path of the object, e.g. {@code /api/v1/namespaces/default}
+     * @return the object, or empty if it does not exist
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public Optional<Map<String, Object>> get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("GET", path, null);
+        if (response.statusCode() == 404) return Optional.empty();
+        return Optional.of(Json.object(Json.parse(checked(response, path).body())));
+    }
+
+    /**
+     * Lists a collection and returns the list object, including {@code metadata.resourceVersion}.
+     *
+     * @param path          the API path of the collection, e.g. {@code /api/v1/namespaces/default/pods}
+     * @param labelSelector the label selector, or null to list all objects
+     * @return the list object
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public Map<String, Object> list(String path, String labelSelector) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("GET", path + query("labelSelector", labelSelector), null);
+        if (response.statusCode() == 404) return Map.of();
+        return Json.object(Json.parse(checked(response, path).body()));
+    }
+
+    /**
+     * Lists a collection and returns its items.
+     *
+     * @param path          the API path of the collection
+     * @param labelSelector the label selector, or null to list all objects
+     * @return the items of the collection, or an empty list if the collection does not exist
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> listItems(String path, String labelSelector) throws IOException, InterruptedException {
+        return (List<Map<String, Object>>) (List<?>) Json.array(list(path, labelSelector), "items");
+    }
+
+    /**
+     * Deletes an object or a collection of objects.
+     *
+     * @param path the API path of the object or collection
+     * @return true if the deletion was accepted, false if the object does not exist
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public boolean delete(String path) throws IOException, InterruptedException {
+        return delete(path, null);
+    }
+
+    /**
+     * Deletes the objects of a collection matching a label selector.
+     *
+     * @param path          the API path of the collection
+     * @param labelSelector the label selector, or null to delete all objects
+     * @return true if the deletion was accepted, false if the collection does not exist
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public boolean delete(String path, String labelSelector) throws IOException, InterruptedException {
+        return delete(path, labelSelector, null);
+    }
+
+    /**
+     * Deletes the objects of a collection matching a label selector and a field selector.
+     *
+     * @param path          the API path of the collection
+     * @param labelSelector the label selector, or null to match all labels
+     * @param fieldSelector the field selector, e.g. {@code metadata.name!=kube-root-ca.crt}, or null to match all fields
+     * @return true if the deletion was accepted, false if the collection does not exist
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public boolean delete(String path, String labelSelector, String fieldSelector) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("DELETE", path + query("labelSelector", labelSelector, "fieldSelector", fieldSelector), null);
+        if (response.statusCode() == 404) return false;
+        checked(response, path);
+        return true;
+    }
+
+    /**
+     * Creates an object.
+     *
+     * @param path the API path of the collection the object is created in
+     * @param body the JSON representation of the object
+     * @return true if the object was created, false if it already exists
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public boolean create(String path, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", path, body);
+        if (response.statusCode() == 409) return false;
+        checked(response, path);
+        return true;
+    }
+
+    /**
+     * Applies a JSON merge patch to an object.
+     *
+     * @param path       the API path of the object
+     * @param mergePatch the JSON merge patch
+     * @return true if the object was patched, false if it does not exist
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public boolean patch(String path, String mergePatch) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("PATCH", path, mergePatch, "application/merge-patch+json");
+        if (response.statusCode() == 404) return false;
+        checked(response, path);
+        return true;
+    }
+
+    /**
+     * Starts watching a collection. Events are delivered on a dedicated daemon thread until the watch is closed
+     * or the server ends it, after which {@code onClosed} is called with the failure, or null if it ended normally.
+     *
+     * @param path            the API path of the collection
+     * @param labelSelector   the label selector, or null to watch all objects
+     * @param resourceVersion the resource version to start watching from, or null to start from the current state
+     * @param onEvent         the callback receiving the events
+     * @param onClosed        the callback invoked once the watch ends
+     * @return the running watch
+     */
+    public Watch watch(String path, String labelSelector, String resourceVersion,
+                       Consumer<WatchEvent> onEvent, Consumer<Throwable> onClosed) {
+        String query = query("watch", "true", "allowWatchBookmarks", "true",
+                "labelSelector", labelSelector, "resourceVersion", resourceVersion);
+        HttpRequest request = authorize(HttpRequest.newBuilder(URI.create(config.server() + path + query))).GET().build();
+        Watch watch = new Watch();
+        Thread thread = new Thread(() -> {
+            Throwable failure = null;
+            try {
+                HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+                try (Stream<String> lines = response.body()) {
+                    if (response.statusCode() >= 400) {
+                        throw new KubernetesClientException("Watch of " + path + " failed with status " + response.statusCode(),
+                                response.statusCode());
+                    }
+                    watch.lines.set(lines);
+                    lines.takeWhile(line -> !watch.isClosed())
+                            .filter(line -> !line.isBlank())
+                            .map(line -> Json.object(Json.parse(line)))
+                            .forEach(event -> onEvent.accept(new WatchEvent(Json.string(event, "type"), Json.object(event, "object"))));
+                }
+            } catch (Exception e) {
+                if (!watch.isClosed()) failure = e;
+            } finally {
+                watch.closed = true;
+                onClosed.accept(failure);
+            }
+        }, "helmjunit-watch" + path.replace('/', '-'));
+        thread.setDaemon(true);
+        thread.start();
+        return watch;
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        return send(method, path, body, "application/json");
+    }
+
+    private HttpResponse<String> send(String method, String path, String body, String contentType)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.server() + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (body != null) {
+            builder.header("Content-Type", contentType);
+        }
+        builder.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return httpClient.send(authorize(builder).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder authorize(HttpRequest.Builder builder) {
+        if (config.token() != null) {
+            builder.header("Authorization", "Bearer " + config.token());
+        }
+        return builder;
+    }
+
+    private static HttpResponse<String> checked(HttpResponse<String> response, String path) {
+        if (response.statusCode() >= 400) {
+            String message = Json.string(parseQuietly(response.body()), "message");
+            throw new KubernetesClientException(response.request().method() + " " + path + " failed with status "
+                    + response.statusCode() + (message == null ? "" : ": " + message), response.statusCode());
+        }
+        return response;
+    }
+
+    private static Object parseQuietly(String body) {
+        try {
+            return Json.parse(body);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds a query string from name/value pairs, skipping pairs whose value is null.
+     */
+    private static String query(String... nameValuePairs) {
+        StringJoiner joiner = new StringJoiner("&", "?", "").setEmptyValue("");
+        for (int i = 0; i < nameValuePairs.length; i += 2) {
+            String value = nameValuePairs[i + 1];
+            if (value != null && !value.isBlank()) {
+                joiner.add(nameValuePairs[i] + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return joiner.toString();
+    }
+
+    private static SSLContext sslContext(KubeConfig config) throws GeneralSecurityException, IOException {
+        KeyManager[] keyManagers = null;
+        if (config.clientCertificate() != null && config.clientKey() != null) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(null, null);
+            List<Certificate> chain = Pem.readCertificates(config.clientCertificate());
+            keyStore.setKeyEntry("client", Pem.readPrivateKey(config.clientKey()), new char[0], chain.toArray(new Certificate[0]));
+            KeyManagerFactory factory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            factory.init(keyStore, new char[0]);
+            keyManagers = factory.getKeyManagers();
+        }
+
+        TrustManager[] trustManagers = null;
+        if (config.insecureSkipTlsVerify()) {
+            trustManagers = new TrustManager[]{new TrustAllManager()};
+        } else if (config.certificateAuthority() != null) {
+            KeyStore trustStore = KeyStore.getInstance("PKCS12");
+            trustStore.load(null, null);
+            int i = 0;
+            for (Certificate certificate : Pem.readCertificates(config.certificateAuthority())) {
+                trustStore.setCertificateEntry("ca-" + i++, certificate);
+            }
+            TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            factory.init(trustStore);
+            trustManagers = factory.getTrustManagers();
+        }
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers, trustManagers, null);
+        return context;
+    }
+
+    /**
+     * A running watch started with {@link #watch}.
+     */
+    public static final class Watch implements AutoCloseable {
+
+        private final AtomicReference<Stream<String>> lines = new AtomicReference<>();
+        private volatile boolean closed;
+
+        /**
+         * Checks if the watch has ended, either because it was closed or because the server ended it.
+         *
+         * @return true if the watch has ended, false otherwise
+         */
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Stops the watch.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            Stream<String> stream = lines.getAndSet(null);
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+
+    /**
+     * Trust manager used for clusters configured with {@code insecure-skip-tls-verify}.
+     */
+    private static final class TrustAllManager implements X509TrustManager {
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
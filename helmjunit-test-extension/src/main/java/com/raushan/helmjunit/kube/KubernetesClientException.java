@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+/**
+ * Thrown when the Kubernetes API server rejects a request made by {@link KubernetesClient}.
+ */
+public class KubernetesClientException extends RuntimeException {
+
+    private final int statusCode;
+
+    /**
+     * Creates an exception for a failed API request.
+     *
+     * @param message    the error message
+     * @param statusCode the HTTP status code returned by the API server
+     */
+    public KubernetesClientException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Returns the HTTP status code returned by the API server.
+     *
+     * @return the HTTP status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
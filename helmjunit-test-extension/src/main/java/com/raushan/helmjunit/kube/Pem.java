@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pem reads the PEM encoded certificates and private keys referenced by kubeconfig files.
+ * <p>
+ * Private keys are accepted in PKCS#8 ({@code BEGIN PRIVATE KEY}), PKCS#1 ({@code BEGIN RSA PRIVATE KEY})
+ * and SEC1 ({@code BEGIN EC PRIVATE KEY}) formats, the latter two being wrapped into PKCS#8 so that they
+ * can be loaded with the JDK key factories.
+ */
+final class Pem {
+
+    private static final Pattern BLOCK = Pattern.compile(
+            "-----BEGIN ([A-Z ]+)-----([A-Za-z0-9+/=\\s]+)-----END \\1-----");
+    private static final byte[] RSA_ALGORITHM_IDENTIFIER = {
+            0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x01, 0x05, 0x00
+    };
+    private static final byte[] EC_PUBLIC_KEY_OID = {
+            0x06, 0x07, 0x2a, (byte) 0x86, 0x48, (byte) 0xce, 0x3d, 0x02, 0x01
+    };
+
+    private Pem() {
+    }
+
+    /**
+     * Reads all certificates from PEM data.
+     *
+     * @param pem the PEM data
+     * @return the certificates, in order
+     * @throws GeneralSecurityException if a certificate cannot be decoded
+     */
+    static List<Certificate> readCertificates(byte[] pem) throws GeneralSecurityException {
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        List<Certificate> certificates = new ArrayList<>();
+        Matcher matcher = BLOCK.matcher(new String(pem, StandardCharsets.US_ASCII));
+        while (matcher.find()) {
+            if (matcher.group(1).equals("CERTIFICATE")) {
+                certificates.add(factory.generateCertificate(new ByteArrayInputStream(decode(matcher.group(2)))));
+            }
+        }
+        if (certificates.isEmpty()) {
+            throw new GeneralSecurityException("No PEM certificate found");
+        }
+        return certificates;
+    }
+
+    /**
+     * Reads the first private key from PEM data.
+     *
+     * @param pem the PEM data
+     * @return the private key
+     * @throws GeneralSecurityException if no supported private key can be decoded
+     */
+    static PrivateKey readPrivateKey(byte[] pem) throws GeneralSecurityException {
+        Matcher matcher = BLOCK.matcher(new String(pem, StandardCharsets.US_ASCII));
+        while (matcher.find()) {
+            byte[] der = decode(matcher.group(2));
+            switch (matcher.group(1)) {
+                case "PRIVATE KEY" -> {
+                    return generate(der, "RSA", "EC");
+                }
+                case "RSA PRIVATE KEY" -> {
+                    return generate(pkcs8(RSA_ALGORITHM_IDENTIFIER, der), "RSA");
+                }
+                case "EC PRIVATE KEY" -> {
+                    byte[] algorithm = sequence(concat(EC_PUBLIC_KEY_OID, namedCurve(der)));
+                    return generate(pkcs8(algorithm, der), "EC");
+                }
+                default -> {
+                    // not a private key block, e.g. EC PARAMETERS
+                }
+            }
+        }
+        throw new GeneralSecurityException("No supported PEM private key found");
+    }
+
+    private static PrivateKey generate(byte[] pkcs8, String... algorithms) throws GeneralSecurityException {
+        GeneralSecurityException failure = null;
+        for (String algorithm : algorithms) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+            } catch (GeneralSecurityException e) {
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Wraps a raw private key structure into a PKCS#8 PrivateKeyInfo.
+     */
+    private static byte[] pkcs8(byte[] algorithmIdentifier, byte[] privateKey) {
+        byte[] version = {0x02, 0x01, 0x00};
+        return sequence(concat(version, algorithmIdentifier, tlv(0x04, privateKey)));
+    }
+
+    /**
+     * Extracts the named curve OID from the {@code [0] parameters} field of a SEC1 ECPrivateKey.
+     */
+    private static byte[] namedCurve(byte[] sec1) throws GeneralSecurityException {
+        int[] position = {0};
+        readHeader(sec1, position, 0x30);
+        int end = sec1.length;
+        while (position[0] < end) {
+            int tag = sec1[position[0]] & 0xff;
+            int start = position[0];
+            int length = readHeader(sec1, position, tag);
+            if (tag == 0xa0) {
+                return Arrays.copyOfRange(sec1, position[0], position[0] + length);
+            }
+            position[0] += length;
+            if (position[0] <= start) break;
+        }
+        throw new GeneralSecurityException("EC private key does not declare a named curve");
+    }
+
+    private static int readHeader(byte[] der, int[] position, int expectedTag) throws GeneralSecurityException {
+        if ((der[position[0]++] & 0xff) != expectedTag) {
+            throw new GeneralSecurityException("Unexpected DER tag");
+        }
+        int length = der[position[0]++] & 0xff;
+        if (length > 0x80) {
+            int bytes = length - 0x80;
+            length = 0;
+            for (int i = 0; i < bytes; i++) {
+                length = (length << 8) | (der[position[0]++] & 0xff);
+            }
+        }
+        return length;
+    }
+
+    private static byte[] sequence(byte[] content) {
+        return tlv(0x30, content);
+    }
+
+    private static byte[] tlv(int tag, byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(tag);
+        int length = content.length;
+        if (length < 0x80) {
+            out.write(length);
+        } else {
+            int bytes = length > 0xffffff ? 4 : length > 0xffff ? 3 : length > 0xff ? 2 : 1;
+            out.write(0x80 | bytes);
+            for (int i = bytes - 1; i >= 0; i--) {
+                out.write((length >>> (8 * i)) & 0xff);
+            }
+        }
+        out.writeBytes(content);
+        return out.toByteArray();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decode(String base64) {
+        return Base64.getMimeDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import com.raushan.helmjunit.util.Json;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PodState is the readiness summary of a pod, as shown in the {@code STATUS} and {@code READY} columns
+ * of {@code kubectl get pods}.
+ *
+ * @param name            the pod name
+ * @param status          the pod status, e.g. {@code Running}, {@code Pending} or {@code CrashLoopBackOff}
+ * @param readyContainers the number of ready containers
+ * @param totalContainers the number of containers
+ */
+public record PodState(String name, String status, int readyContainers, int totalContainers) {
+
+    /**
+     * Checks if the pod is running with all of its containers ready.
+     *
+     * @return true if the pod is ready, false otherwise
+     */
+    public boolean isReady() {
+        return "Running".equals(status) && totalContainers > 0 && readyContainers == totalContainers;
+    }
+
+    /**
+     * Creates the state of a pod from its API object. Like kubectl, the status is the reason of the first
+     * waiting or terminated container if there is one, {@code Terminating} for pods being deleted, and the
+     * pod phase otherwise.
+     *
+     * @param pod the pod object returned by the API server
+     * @return the pod state
+     */
+    public static PodState fromObject(Map<String, Object> pod) {
+        String status = Json.string(pod, "status", "phase");
+        int ready = 0;
+        List<Object> containerStatuses = Json.array(pod, "status", "containerStatuses");
+        for (Object container : containerStatuses) {
+            if (Boolean.TRUE.equals(Json.path(container, "ready"))) {
+                ready++;
+            }
+            String reason = Json.string(container, "state", "waiting", "reason");
+            if (reason == null) {
+                reason = Json.string(container, "state", "terminated", "reason");
+            }
+            if (reason != null && "Running".equals(status)) {
+                status = reason;
+            }
+        }
+        if (Json.path(pod, "metadata", "deletionTimestamp") != null) {
+            status = "Terminating";
+        }
+        int total = Math.max(Json.array(pod, "spec", "containers").size(), containerStatuses.size());
+        return new PodState(Json.string(pod, "metadata", "name"), status == null ? "Unknown" : status, ready, total);
+    }
+
+    /**
+     * Creates the state of a pod from a line of {@code kubectl get pods --no-headers}.
+     *
+     * @param line the output line, e.g. {@code my-app-5d8f 1/1 Running 0 2m}
+     * @return the pod state
+     */
+    public static PodState fromKubectlLine(String line) {
+        String[] columns = line.trim().split("\\s+");
+        int ready = 0;
+        int total = 0;
+        if (columns.length > 1) {
+            String[] counts = columns[1].split("/");
+            if (counts.length == 2) {
+                ready = Integer.parseInt(counts[0]);
+                total = Integer.parseInt(counts[1]);
+            }
+        }
+        return new PodState(columns[0], columns.length > 2 ? columns[2] : "Unknown", ready, total);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SimpleYaml is a minimal reader for the block-style YAML written by {@code kubectl config},
+ * used to read kubeconfig files.
+ * <p>
+ * It supports nested block mappings and sequences (including sequences indented at the level of their
+ * parent key), plain and quoted scalars, comments and empty flow collections ({@code {}} and {@code []}).
+ * Anchors, multi-document streams and block scalars are not supported.
+ */
+final class SimpleYaml {
+
+    private final List<Line> lines = new ArrayList<>();
+    private int index;
+
+    private SimpleYaml(String text) {
+        for (String raw : text.split("\\R")) {
+            String content = stripComment(raw).stripTrailing();
+            if (content.isBlank() || content.equals("---")) continue;
+            int indent = 0;
+            while (indent < content.length() && content.charAt(indent) == ' ') indent++;
+            lines.add(new Line(indent, content.substring(indent)));
+        }
+    }
+
+    /**
+     * Parses a YAML document into maps, lists and strings.
+     *
+     * @param text the YAML text
+     * @return the parsed document, or an empty map for an empty document
+     */
+    static Object parse(String text) {
+        SimpleYaml yaml = new SimpleYaml(text);
+        if (yaml.lines.isEmpty()) return new LinkedHashMap<String, Object>();
+        return yaml.parseBlock(yaml.lines.get(0).indent());
+    }
+
+    private Object parseBlock(int indent) {
+        Line line = lines.get(index);
+        return isSequenceItem(line.content()) ? parseSequence(indent) : parseMapping(indent);
+    }
+
+    private Map<String, Object> parseMapping(int indent) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        while (index < lines.size()) {
+            Line line = lines.get(index);
+            if (line.indent() != indent || isSequenceItem(line.content())) break;
+
+            int colon = findMappingColon(line.content());
+            if (colon < 0) throw new IllegalArgumentException("Expected a mapping entry: " + line.content());
+            String key = unquote(line.content().substring(0, colon).trim());
+            String rest = line.content().substring(colon + 1).trim();
+            index++;
+
+            if (!rest.isEmpty()) {
+                result.put(key, scalar(rest));
+            } else if (index < lines.size() && lines.get(index).indent() > indent) {
+                result.put(key, parseBlock(lines.get(index).indent()));
+            } else if (index < lines.size() && lines.get(index).indent() == indent && isSequenceItem(lines.get(index).content())) {
+                result.put(key, parseSequence(indent));
+            } else {
+                result.put(key, null);
+            }
+        }
+        return result;
+    }
+
+    private List<Object> parseSequence(int indent) {
+        List<Object> result = new ArrayList<>();
+        while (index < lines.size()) {
+            Line line = lines.get(index);
+            if (line.indent() != indent || !isSequenceItem(line.content())) break;
+
+            String item = line.content().substring(1).trim();
+            if (item.isEmpty()) {
+                index++;
+                result.add(index < lines.size() && lines.get(index).indent() > indent
+                        ? parseBlock(lines.get(index).indent()) : null);
+            } else if (findMappingColon(item) >= 0) {
+                // "- key: value" starts a mapping whose entries are aligned with "key"
+                int itemIndent = indent + line.content().indexOf(item);
+                lines.set(index, new Line(itemIndent, item));
+                result.add(parseMapping(itemIndent));
+            } else {
+                index++;
+                result.add(scalar(item));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isSequenceItem(String content) {
+        return content.equals("-") || content.startsWith("- ");
+    }
+
+    private static int findMappingColon(String content) {
+        char quote = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '"' || c == '\'') {
+                if (i == 0) quote = c;
+            } else if (c == ':' && (i + 1 == content.length() || content.charAt(i + 1) == ' ')) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object scalar(String value) {
+        if (value.equals("{}")) return new LinkedHashMap<String, Object>();
+        if (value.equals("[]")) return new ArrayList<>();
+        if (value.equals("~") || value.equals("null")) return null;
+        return unquote(value);
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+        }
+        if (value.length() >= 2 && value.startsWith("'") && value.endsWith("'")) {
+            return value.substring(1, value.length() - 1).replace("''", "'");
+        }
+        return value;
+    }
+
+    private static String stripComment(String line) {
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '#' && (i == 0 || Character.isWhitespace(line.charAt(i - 1)))) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    private record Line(int indent, String content) {
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.load;
+
+import com.raushan.helmjunit.annotation.LoadModel;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generates HTTP load according to a {@link LoadProfile} and measures latencies and errors.
+ * <p>
+ * Every request runs on its own virtual thread, so thousands of requests can be in flight without a thread
+ * pool to size. Requests started during the warmup are sent but not measured.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    static final String DROPPED = "dropped";
+
+    private final LoadProfile profile;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final MetricsRegistry.Counter succeeded = MetricsRegistry.shared().counter(
+            "helmjunit_load_requests", "Measured load test requests", "outcome", "ok");
+    private final MetricsRegistry.Counter failed = MetricsRegistry.shared().counter(
+            "helmjunit_load_requests", "Measured load test requests", "outcome", "error");
+
+    /**
+     * Creates a generator for the given profile.
+     *
+     * @param profile the load to generate
+     */
+    public LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Generates the load and blocks until it is finished and all requests have completed or timed out.
+     * Closing the executor waits for the outstanding requests before the client is closed.
+     *
+     * @return the measured result
+     * @throws InterruptedException if interrupted while generating load
+     */
+    public LoadTestResult run() throws InterruptedException {
+        logger.info("🔥 Generating {} load against {} {} for {}s after {}s warmup",
+                profile.model(), profile.method(), profile.uri(),
+                profile.duration().toSeconds(), profile.warmup().toSeconds());
+        long start = System.nanoTime();
+        long measureFrom = start + profile.warmup().toNanos();
+        long end = measureFrom + profile.duration().toNanos();
+
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(profile.timeout()).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (profile.model() == LoadModel.OPEN) {
+                runOpen(client, executor, start, measureFrom, end);
+            } else {
+                runClosed(client, executor, measureFrom, end);
+            }
+        }
+
+        Map<String, Long> errorsByCause = new TreeMap<>();
+        errors.forEach((cause, count) -> errorsByCause.put(cause, count.sum()));
+        long errorCount = errorsByCause.values().stream().mapToLong(Long::longValue).sum();
+        return new LoadTestResult(profile, Duration.ofNanos(end - measureFrom), requests.sum(), errorCount,
+                errorsByCause, histogram.percentile(50), histogram.percentile(99), histogram.percentile(99.9),
+                histogram.max());
+    }
+
+    /**
+     * Sends requests on a fixed schedule. Latency is taken from the time a request was due rather than from when
+     * it was actually sent, so that a stalled service shows up in the latencies instead of as fewer requests.
+     */
+    private void runOpen(HttpClient client, ExecutorService executor, long start, long measureFrom, long end) {
+        long interval = Math.max(1, 1_000_000_000L / profile.rps());
+        Semaphore inFlight = new Semaphore(profile.concurrency());
+        for (long due = start; due < end; due += interval) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = due >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    requests.increment();
+                    error(DROPPED);
+                }
+                continue;
+            }
+            long scheduled = due;
+            executor.execute(() -> {
+                try {
+                    send(client, scheduled, measured);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void runClosed(HttpClient client, ExecutorService executor, long measureFrom, long end) {
+        for (int worker = 0; worker < profile.concurrency(); worker++) {
+            executor.execute(() -> {
+                long sent;
+                while ((sent = System.nanoTime()) < end) {
+                    send(client, sent, sent >= measureFrom);
+                }
+            });
+        }
+    }
+
+    private void send(HttpClient client, long startNanos, boolean measured) {
+        HttpRequest request = HttpRequest.newBuilder(profile.uri())
+                .timeout(profile.timeout())
+                .method(profile.method(), HttpRequest.BodyPublishers.noBody())
+                .build();
+        String outcome;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            outcome = response.statusCode() >= 400 ? "HTTP " + response.statusCode() : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            outcome = e.getClass().getSimpleName();
+        }
+        if (!measured) {
+            return;
+        }
+        histogram.recordNanos(System.nanoTime() - startNanos);
+        requests.increment();
+        if (outcome == null) {
+            succeeded.increment();
+        } else {
+            error(outcome);
+        }
+    }
+
+    private void error(String cause) {
+        failed.increment();
+        errors.computeIfAbsent(cause, c -> new LongAdder()).increment();
+    }
+}
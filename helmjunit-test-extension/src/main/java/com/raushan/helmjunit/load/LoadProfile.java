@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.load;
+
+import com.raushan.helmjunit.annotation.HelmLoadTest;
+import com.raushan.helmjunit.annotation.LoadModel;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * What load a {@link LoadGenerator} generates and against which URI.
+ *
+ * @param uri         the requested URI
+ * @param method      the HTTP method
+ * @param model       the load model
+ * @param rps         the target requests per second of the open model
+ * @param concurrency the workers of the closed model, or the maximum requests in flight of the open model
+ * @param warmup      how long load is generated before measuring
+ * @param duration    how long load is measured
+ * @param timeout     the timeout of a single request
+ */
+public record LoadProfile(URI uri, String method, LoadModel model, int rps, int concurrency,
+                          Duration warmup, Duration duration, Duration timeout) {
+
+    public LoadProfile {
+        if (model == LoadModel.OPEN && rps <= 0) {
+            throw new IllegalArgumentException("rps must be positive for an open load model, was " + rps);
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive, was " + concurrency);
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive, was " + duration);
+        }
+    }
+
+    /**
+     * Creates the profile of a {@link HelmLoadTest} against a base URL.
+     *
+     * @param loadTest the annotation
+     * @param baseUrl  the URL of the service, e.g. {@code http://localhost:41234}
+     * @return the profile
+     */
+    public static LoadProfile of(HelmLoadTest loadTest, String baseUrl) {
+        String path = loadTest.path().startsWith("/") ? loadTest.path() : "/" + loadTest.path();
+        return new LoadProfile(URI.create(baseUrl + path), loadTest.method(), loadTest.model(), loadTest.rps(),
+                loadTest.concurrency(), Duration.ofSeconds(loadTest.warmupSeconds()),
+                Duration.ofSeconds(loadTest.durationSeconds()), Duration.ofMillis(loadTest.timeoutMillis()));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.load;
+
+import com.raushan.helmjunit.annotation.HelmLoadTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The measured outcome of a load test. Only requests started after the warmup are included.
+ *
+ * @param profile       the generated load
+ * @param measured      the measured time window
+ * @param requests      the number of measured requests, including failed ones
+ * @param errors        the number of failed requests
+ * @param errorsByCause the failed requests by cause, e.g. {@code HTTP 503} or {@code HttpTimeoutException}
+ * @param p50           the median latency
+ * @param p99           the 99th percentile latency
+ * @param p999          the 99.9th percentile latency
+ * @param max           the highest latency
+ */
+public record LoadTestResult(LoadProfile profile, Duration measured, long requests, long errors,
+                             Map<String, Long> errorsByCause, Duration p50, Duration p99, Duration p999,
+                             Duration max) {
+
+    /**
+     * Returns the measured requests per second.
+     *
+     * @return the throughput
+     */
+    public double throughput() {
+        double seconds = measured.toNanos() / 1e9;
+        return seconds > 0 ? requests / seconds : 0;
+    }
+
+    /**
+     * Returns the share of failed requests.
+     *
+     * @return the error rate from 0 to 1
+     */
+    public double errorRate() {
+        return requests > 0 ? (double) errors / requests : 0;
+    }
+
+    /**
+     * Checks the result against the service level objectives of a {@link HelmLoadTest}.
+     *
+     * @param loadTest the annotation
+     * @return a description of every breached objective, empty if all were met
+     */
+    public List<String> violations(HelmLoadTest loadTest) {
+        List<String> violations = new ArrayList<>();
+        checkLatency(violations, "p50", p50, loadTest.maxP50Millis());
+        checkLatency(violations, "p99", p99, loadTest.maxP99Millis());
+        checkLatency(violations, "p999", p999, loadTest.maxP999Millis());
+        if (loadTest.maxErrorRate() >= 0 && errorRate() > loadTest.maxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "error rate %.4f exceeds %.4f %s",
+                    errorRate(), loadTest.maxErrorRate(), errorsByCause));
+        }
+        if (requests == 0) {
+            violations.add("no requests were measured");
+        }
+        return violations;
+    }
+
+    /**
+     * Returns a one-line summary of the result.
+     *
+     * @return the summary
+     */
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "%s %s [%s] %d requests in %.1fs (%.1f/s), errors %d (%.2f%%), p50 %.2fms p99 %.2fms p999 %.2fms max %.2fms",
+                profile.method(), profile.uri(), profile.model(), requests, measured.toNanos() / 1e9, throughput(),
+                errors, errorRate() * 100, millis(p50), millis(p99), millis(p999), millis(max));
+    }
+
+    private static void checkLatency(List<String> violations, String name, Duration latency, double limitMillis) {
+        if (limitMillis >= 0 && millis(latency) > limitMillis) {
+            violations.add(String.format(Locale.ROOT, "%s latency %.2fms exceeds %.2fms",
+                    name, millis(latency), limitMillis));
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.metrics;
+
+import com.raushan.helmjunit.core.HelmSession;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * MetricsRegistry collects counters, histograms and gauges about the test infrastructure, e.g. install latency
+ * per chart, retries and readiness timeouts, and exports them in the OpenMetrics text format.
+ * <p>
+ * Metrics are identified by name and label values; asking for the same metric twice returns the same series.
+ * The shared registry writes {@value #FILE_NAME} into {@value HelmJUnitSettings#REPORT_DIR} when the
+ * {@link HelmSession} closes, so that CI can pick it up and track regressions across runs.
+ */
+public final class MetricsRegistry {
+
+    /**
+     * The file name of the OpenMetrics export.
+     */
+    public static final String FILE_NAME = "helmjunit-metrics.txt";
+
+    /**
+     * The default histogram buckets, in seconds, sized for Helm and Kubernetes operations.
+     */
+    static final double[] DEFAULT_BUCKETS = {0.1, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300};
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static MetricsRegistry shared;
+    private static boolean exportScheduled;
+
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+    MetricsRegistry() {
+    }
+
+    /**
+     * Returns the registry shared by all HelmJUnit components. It is exported, with the metrics of all sessions so
+     * far, when each {@link HelmSession} that used it closes.
+     *
+     * @return the shared registry
+     */
+    public static synchronized MetricsRegistry shared() {
+        if (shared == null) {
+            shared = new MetricsRegistry();
+        }
+        if (!exportScheduled) {
+            // The session drains its hooks on close, so the export is registered again for each session.
+            exportScheduled = true;
+            MetricsRegistry registry = shared;
+            HelmSession.current().onClose("metrics export", () -> {
+                synchronized (MetricsRegistry.class) {
+                    exportScheduled = false;
+                }
+                registry.writeTo(HelmJUnitSettings.reportDir().resolve(FILE_NAME));
+            });
+        }
+        return shared;
+    }
+
+    /**
+     * Returns a counter.
+     *
+     * @param name   the metric name, without the {@code _total} suffix
+     * @param help   the description of the metric
+     * @param labels label names and values, alternating
+     * @return the counter of the given label values
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return family(name, "counter", help).series(labels, Counter::new);
+    }
+
+    /**
+     * Returns a histogram of durations with the {@linkplain #DEFAULT_BUCKETS default buckets}.
+     *
+     * @param name   the metric name, by convention ending in {@code _seconds}
+     * @param help   the description of the metric
+     * @param labels label names and values, alternating
+     * @return the histogram of the given label values
+     */
+    public Histogram histogram(String name, String help, String... labels) {
+        return family(name, "histogram", help).series(labels, () -> new Histogram(DEFAULT_BUCKETS));
+    }
+
+    /**
+     * Returns a gauge.
+     *
+     * @param name   the metric name
+     * @param help   the description of the metric
+     * @param labels label names and values, alternating
+     * @return the gauge of the given label values
+     */
+    public Gauge gauge(String name, String help, String... labels) {
+        return family(name, "gauge", help).series(labels, Gauge::new);
+    }
+
+    /**
+     * Renders all metrics in the OpenMetrics text format. Gauges additionally export their peak value as
+     * {@code <name>_peak}, as the current value at the end of a run is usually zero.
+     *
+     * @return the OpenMetrics exposition, terminated by {@code # EOF}
+     */
+    public String toOpenMetrics() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Family> entry : new TreeMap<>(families).entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            text.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            text.append("# HELP ").append(name).append(' ').append(escapeHelp(family.help)).append('\n');
+            for (Map.Entry<String, Object> series : new TreeMap<>(family.series).entrySet()) {
+                String labels = series.getKey();
+                switch (series.getValue()) {
+                    case Counter counter -> sample(text, name + "_total", labels, counter.value());
+                    case Gauge gauge -> sample(text, name, labels, gauge.value());
+                    case Histogram histogram -> {
+                        long cumulative = 0;
+                        for (int i = 0; i < histogram.bounds.length; i++) {
+                            cumulative += histogram.counts[i].sum();
+                            sample(text, name + "_bucket", withLabel(labels, "le", format(histogram.bounds[i])), cumulative);
+                        }
+                        sample(text, name + "_bucket", withLabel(labels, "le", "+Inf"), histogram.count());
+                        sample(text, name + "_count", labels, histogram.count());
+                        sample(text, name + "_sum", labels, histogram.sum());
+                    }
+                    default -> throw new IllegalStateException("Unknown metric " + series.getValue());
+                }
+            }
+            if (family.type.equals("gauge")) {
+                text.append("# TYPE ").append(name).append("_peak gauge\n");
+                text.append("# HELP ").append(name).append("_peak Peak value of ").append(name).append('\n');
+                for (Map.Entry<String, Object> series : new TreeMap<>(family.series).entrySet()) {
+                    sample(text, name + "_peak", series.getKey(), ((Gauge) series.getValue()).peak());
+                }
+            }
+        }
+        return text.append("# EOF\n").toString();
+    }
+
+    /**
+     * Writes the OpenMetrics exposition to a file, unless no metric has been recorded.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        if (families.isEmpty()) return;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, toOpenMetrics());
+        logger.info("📈 Wrote HelmJUnit metrics to {}", file.toAbsolutePath());
+    }
+
+    private Family family(String name, String type, String help) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type, help));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type);
+        }
+        return family;
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, double value) {
+        text.append(name).append(labels).append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%s", value);
+    }
+
+    private static String withLabel(String labels, String name, String value) {
+        String label = name + "=\"" + value + "\"";
+        return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+
+    /**
+     * Renders label names and values, alternating, as an OpenMetrics label set such as {@code {chart="redis"}}.
+     */
+    static String labelSet(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be given as name/value pairs");
+        }
+        if (labels.length == 0) return "";
+        StringJoiner joiner = new StringJoiner(",", "{", "}");
+        for (int i = 0; i < labels.length; i += 2) {
+            String value = labels[i + 1] == null ? "" : labels[i + 1];
+            joiner.add(labels[i] + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"");
+        }
+        return joiner.toString();
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static final class Family {
+        private final String type;
+        private final String help;
+        private final Map<String, Object> series = new ConcurrentHashMap<>();
+
+        private Family(String type, String help) {
+            this.type = type;
+            this.help = help;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T series(String[] labels, Supplier<T> factory) {
+            return (T) series.computeIfAbsent(labelSet(labels), key -> factory.get());
+        }
+    }
+
+    /**
+     * A monotonically increasing count, e.g. of retries.
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        /**
+         * Increments the counter by one.
+         */
+        public void increment() {
+            value.increment();
+        }
+
+        /**
+         * Returns the current count.
+         *
+         * @return the count
+         */
+        public long value() {
+            return value.sum();
+        }
+    }
+
+    /**
+     * A value that goes up and down, e.g. the number of installed releases. Its peak value is tracked as well.
+     */
+    public static final class Gauge {
+        private final AtomicLong value = new AtomicLong();
+        private final AtomicLong peak = new AtomicLong();
+
+        /**
+         * Increments the gauge by one.
+         */
+        public void increment() {
+            long current = value.incrementAndGet();
+            peak.accumulateAndGet(current, Math::max);
+        }
+
+        /**
+         * Decrements the gauge by one.
+         */
+        public void decrement() {
+            value.decrementAndGet();
+        }
+
+        /**
+         * Returns the current value.
+         *
+         * @return the value
+         */
+        public long value() {
+            return value.get();
+        }
+
+        /**
+         * Returns the highest value the gauge has had.
+         *
+         * @return the peak value
+         */
+        public long peak() {
+            return peak.get();
+        }
+    }
+
+    /**
+     * A distribution of durations over fixed buckets.
+     */
+    public static final class Histogram {
+        private final double[] bounds;
+        private final LongAdder[] counts;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Histogram(double[] bounds) {
+            this.bounds = bounds;
+            this.counts = new LongAdder[bounds.length];
+            for (int i = 0; i < bounds.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records a duration.
+         *
+         * @param duration the observed duration
+         */
+        public void observe(Duration duration) {
+            double seconds = duration.toNanos() / 1e9;
+            for (int i = 0; i < bounds.length; i++) {
+                if (seconds <= bounds[i]) {
+                    counts[i].increment();
+                    break;
+                }
+            }
+            count.increment();
+            sum.add(seconds);
+        }
+
+        /**
+         * Records the time elapsed since a {@link System#nanoTime()} value.
+         *
+         * @param startNanos the {@link System#nanoTime()} value taken at the start
+         */
+        public void observeSince(long startNanos) {
+            observe(Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+
+        /**
+         * Returns the number of observations.
+         *
+         * @return the observation count
+         */
+        public long count() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the sum of all observations, in seconds.
+         *
+         * @return the sum in seconds
+         */
+        public double sum() {
+            return sum.sum();
+        }
+    }
+}
@@ -20,12 +20,44 @@ import java.util.List;
 
 /**
  * Represents a Helm chart descriptor that contains information about a Helm chart,
- * including its name, release name, namespace, and values.
+ * including its name, version, release name, namespace, and values.
  * <p>
  * This class is used to encapsulate the details of a Helm chart for testing purposes.
+ * {@code maxReadySeconds} is the time an install may take until the release's pods are ready, or -1 for no limit.
  */
 public record HelmChartDescriptor(String chart, String releaseName, String namespace, List<String> values,
-                                  String valuesFile, boolean valuesFromClasspath) {
+                                  String valuesFile, boolean valuesFromClasspath, String version, int maxReadySeconds) {
+
+    /**
+     * Constructs a HelmChartDescriptor without a ready time budget.
+     *
+     * @param chart               the name of the Helm chart
+     * @param releaseName         the name of the Helm release
+     * @param namespace           the namespace in which the Helm chart will be deployed
+     * @param values              the values to be passed to the Helm chart
+     * @param valuesFile          the path to a values file, or null
+     * @param valuesFromClasspath whether the values file is resolved from the classpath
+     * @param version             the chart version or version constraint, or null for the latest version
+     */
+    public HelmChartDescriptor(String chart, String releaseName, String namespace, List<String> values,
+                               String valuesFile, boolean valuesFromClasspath, String version) {
+        this(chart, releaseName, namespace, values, valuesFile, valuesFromClasspath, version, -1);
+    }
+
+    /**
+     * Constructs a HelmChartDescriptor without a chart version, so that the latest version of the chart is used.
+     *
+     * @param chart               the name of the Helm chart
+     * @param releaseName         the name of the Helm release
+     * @param namespace           the namespace in which the Helm chart will be deployed
+     * @param values              the values to be passed to the Helm chart
+     * @param valuesFile          the path to a values file, or null
+     * @param valuesFromClasspath whether the values file is resolved from the classpath
+     */
+    public HelmChartDescriptor(String chart, String releaseName, String namespace, List<String> values,
+                               String valuesFile, boolean valuesFromClasspath) {
+        this(chart, releaseName, namespace, values, valuesFile, valuesFromClasspath, null);
+    }
 
     /**
      * Constructs a HelmChartDescriptor with the specified chart name, release name, namespace, and values.
@@ -39,4 +71,27 @@ public record HelmChartDescriptor(String chart, String releaseName, String names
     public HelmChartDescriptor(String chart, String releaseName, String namespace, List<String> values) {
         this(chart, releaseName, namespace, values, null, false);
     }
+
+    /**
+     * Returns a copy of this descriptor that points to another chart reference, e.g. a locally cached chart archive.
+     * The chart version is cleared, as it is only meaningful for repository references.
+     *
+     * @param chart the new chart reference
+     * @return a new descriptor with the given chart
+     */
+    public HelmChartDescriptor withChart(String chart) {
+        return new HelmChartDescriptor(chart, releaseName, namespace, values, valuesFile, valuesFromClasspath, null,
+                maxReadySeconds);
+    }
+
+    /**
+     * Returns a copy of this descriptor that deploys into another namespace, e.g. one leased from the namespace pool.
+     *
+     * @param namespace the new namespace
+     * @return a new descriptor with the given namespace
+     */
+    public HelmChartDescriptor withNamespace(String namespace) {
+        return new HelmChartDescriptor(chart, releaseName, namespace, values, valuesFile, valuesFromClasspath, version,
+                maxReadySeconds);
+    }
 }
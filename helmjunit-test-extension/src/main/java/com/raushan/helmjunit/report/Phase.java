@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+/**
+ * Phase of the lifecycle of a Helm release, as recorded by {@link PhaseTimings}.
+ */
+public enum Phase {
+
+    /**
+     * Resolving the chart reference, e.g. pulling a repository chart into the chart cache.
+     */
+    CHART_RESOLVE("chart resolve"),
+
+    /**
+     * Waiting for the admission scheduler to admit the install, until the cluster has capacity for it.
+     */
+    ADMISSION("admission"),
+
+    /**
+     * Running {@code helm install} or {@code helm upgrade}.
+     */
+    HELM_INSTALL("helm install"),
+
+    /**
+     * From the creation of the release's pods until they were scheduled onto a node.
+     */
+    POD_SCHEDULING("pod scheduling"),
+
+    /**
+     * From scheduling until the containers of the release's pods started, which is mostly pulling their images.
+     */
+    IMAGE_PULL("image pull"),
+
+    /**
+     * From the start of the containers until the release's pods became ready.
+     */
+    READINESS("readiness"),
+
+    /**
+     * Resolving the service name and port injected into the test.
+     */
+    SERVICE_RESOLUTION("service resolution"),
+
+    /**
+     * Starting a port-forward to the release.
+     */
+    PORT_FORWARD("port-forward"),
+
+    /**
+     * Running {@code helm uninstall}.
+     */
+    UNINSTALL("uninstall"),
+
+    /**
+     * Deleting the namespace of the release, or scrubbing it if it is a pooled namespace.
+     */
+    NAMESPACE_DELETION("namespace deletion");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the human-readable name of the phase, as shown in the reports.
+     *
+     * @return the phase label
+     */
+    public String label() {
+        return label;
+    }
+}
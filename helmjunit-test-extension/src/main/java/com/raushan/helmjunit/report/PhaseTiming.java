@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * One recorded lifecycle phase of a Helm release.
+ *
+ * @param testClass the fully qualified name of the test class that owns the release, or {@code (dsl)}
+ * @param namespace the namespace of the release
+ * @param release   the release name, or null for phases of the namespace itself
+ * @param phase     the lifecycle phase
+ * @param start     when the phase started
+ * @param end       when the phase ended
+ */
+public record PhaseTiming(String testClass, String namespace, String release, Phase phase, Instant start, Instant end) {
+
+    /**
+     * Returns how long the phase took.
+     *
+     * @return the duration of the phase
+     */
+    public Duration duration() {
+        return Duration.between(start, end);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.Json;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * PhaseTimings collects the duration of every lifecycle phase of every release during a test run, for the
+ * report written by {@link TimingReportListener}.
+ * <p>
+ * Most phases are measured around the corresponding Helm or Kubernetes call with {@link #start}. Pod scheduling,
+ * image pull and readiness happen inside the cluster, so they are derived from the timestamps of the release's
+ * pods once the pods are ready (see {@link #recordPods}). Phases are attributed to the test class that
+ * {@linkplain #bind bound} the release, including phases that run on background threads.
+ */
+public final class PhaseTimings {
+
+    static final String UNBOUND_CLASS = "(dsl)";
+
+    private static final PhaseTimings SHARED = new PhaseTimings();
+
+    private final Queue<PhaseTiming> timings = new ConcurrentLinkedQueue<>();
+    private final Map<String, String> releaseOwners = new ConcurrentHashMap<>();
+    private final Map<String, String> namespaceOwners = new ConcurrentHashMap<>();
+
+    PhaseTimings() {
+    }
+
+    /**
+     * Returns the collector shared by all HelmJUnit components.
+     *
+     * @return the shared collector
+     */
+    public static PhaseTimings shared() {
+        return SHARED;
+    }
+
+    /**
+     * Attributes the phases of a release, and of its namespace, to a test class.
+     *
+     * @param descriptor the descriptor of the release
+     * @param testClass  the fully qualified name of the test class
+     */
+    public void bind(HelmChartDescriptor descriptor, String testClass) {
+        releaseOwners.put(key(descriptor.namespace(), descriptor.releaseName()), testClass);
+        namespaceOwners.put(descriptor.namespace(), testClass);
+    }
+
+    /**
+     * Starts measuring a phase of a release. The phase is recorded when the returned span is closed.
+     *
+     * @param descriptor the descriptor of the release
+     * @param phase      the phase
+     * @return the running span
+     */
+    public Span start(HelmChartDescriptor descriptor, Phase phase) {
+        return start(descriptor.namespace(), descriptor.releaseName(), phase);
+    }
+
+    /**
+     * Starts measuring a phase. The phase is recorded when the returned span is closed.
+     *
+     * @param namespace the namespace
+     * @param release   the release name, or null for phases of the namespace itself
+     * @param phase     the phase
+     * @return the running span
+     */
+    public Span start(String namespace, String release, Phase phase) {
+        return new Span(namespace, release, phase, Instant.now());
+    }
+
+    /**
+     * Records a phase that has already ended.
+     *
+     * @param namespace the namespace
+     * @param release   the release name, or null for phases of the namespace itself
+     * @param phase     the phase
+     * @param start     when the phase started
+     * @param end       when the phase ended
+     */
+    public void record(String namespace, String release, Phase phase, Instant start, Instant end) {
+        timings.add(new PhaseTiming(ownerOf(namespace, release), namespace, release, phase, start, end.isBefore(start) ? start : end));
+    }
+
+    /**
+     * Records the pod scheduling, image pull and readiness phases of a release from the timestamps of its ready pods.
+     *
+     * @param descriptor the descriptor of the release
+     * @param pods       the pod objects of the release, as returned by the API server
+     */
+    public void recordPods(HelmChartDescriptor descriptor, List<Map<String, Object>> pods) {
+        podPhases(pods).forEach((phase, span) ->
+                record(descriptor.namespace(), descriptor.releaseName(), phase, span[0], span[1]));
+    }
+
+    /**
+     * Returns all phases recorded so far, in recording order.
+     *
+     * @return the recorded phases
+     */
+    public List<PhaseTiming> timings() {
+        return new ArrayList<>(timings);
+    }
+
+    /**
+     * Derives the in-cluster phases of a set of pods. Each phase spans from its earliest start to its latest end
+     * over all pods: scheduling from creation to the {@code PodScheduled} condition, image pull from scheduling
+     * to the start of the last container, and readiness from there to the {@code Ready} condition.
+     * Pods that are missing a timestamp are skipped for the phases that need it.
+     *
+     * @param pods the pod objects
+     * @return the start and end of every phase that could be derived
+     */
+    static Map<Phase, Instant[]> podPhases(List<Map<String, Object>> pods) {
+        Map<Phase, Instant[]> phases = new EnumMap<>(Phase.class);
+        for (Map<String, Object> pod : pods) {
+            Instant created = timestamp(Json.string(pod, "metadata", "creationTimestamp"));
+            Instant scheduled = conditionTime(pod, "PodScheduled");
+            Instant started = null;
+            for (Object container : Json.array(pod, "status", "containerStatuses")) {
+                Instant containerStarted = timestamp(Json.string(container, "state", "running", "startedAt"));
+                if (containerStarted != null && (started == null || containerStarted.isAfter(started))) {
+                    started = containerStarted;
+                }
+            }
+            Instant ready = conditionTime(pod, "Ready");
+            merge(phases, Phase.POD_SCHEDULING, created, scheduled);
+            merge(phases, Phase.IMAGE_PULL, scheduled, started);
+            merge(phases, Phase.READINESS, started, ready);
+        }
+        return phases;
+    }
+
+    private static void merge(Map<Phase, Instant[]> phases, Phase phase, Instant start, Instant end) {
+        if (start == null || end == null) return;
+        Instant[] span = phases.computeIfAbsent(phase, key -> new Instant[]{start, end});
+        if (start.isBefore(span[0])) span[0] = start;
+        if (end.isAfter(span[1])) span[1] = end;
+    }
+
+    private static Instant conditionTime(Map<String, Object> pod, String type) {
+        for (Object condition : Json.array(pod, "status", "conditions")) {
+            if (type.equals(Json.string(condition, "type")) && "True".equals(Json.string(condition, "status"))) {
+                return timestamp(Json.string(condition, "lastTransitionTime"));
+            }
+        }
+        return null;
+    }
+
+    private static Instant timestamp(String value) {
+        if (value == null) return null;
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private String ownerOf(String namespace, String release) {
+        String owner = release == null ? null : releaseOwners.get(key(namespace, release));
+        if (owner == null) {
+            owner = namespaceOwners.get(namespace);
+        }
+        return owner == null ? UNBOUND_CLASS : owner;
+    }
+
+    private static String key(String namespace, String release) {
+        return namespace + "/" + release;
+    }
+
+    /**
+     * A phase being measured. Closing the span records the phase.
+     */
+    public final class Span implements AutoCloseable {
+
+        private final String namespace;
+        private final String release;
+        private final Phase phase;
+        private final Instant start;
+
+        private Span(String namespace, String release, Phase phase, Instant start) {
+            this.namespace = namespace;
+            this.release = release;
+            this.phase = phase;
+            this.start = start;
+        }
+
+        @Override
+        public void close() {
+            record(namespace, release, phase, start, Instant.now());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import java.time.Duration;
+
+/**
+ * How long an install took until the pods of the release were ready.
+ *
+ * @param chart       the chart reference as declared by the test
+ * @param release     the release name
+ * @param namespace   the namespace of the release
+ * @param fingerprint the fingerprint of the chart and its values, see
+ *                    {@link com.raushan.helmjunit.helm.ManifestCache#chartFingerprint}
+ * @param duration    the time from the start of the install until the pods were ready
+ */
+public record ReadyTime(String chart, String release, String namespace, String fingerprint, Duration duration) {
+
+    /**
+     * Returns the ready time in seconds.
+     *
+     * @return the ready time
+     */
+    public double seconds() {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ReadyTimes collects the {@link ReadyTime} of every fresh install of the run, for the comparison with the
+ * {@link StartupBaseline} by {@link StartupBaselineListener}.
+ */
+public final class ReadyTimes {
+
+    private static final ReadyTimes SHARED = new ReadyTimes();
+
+    private final Queue<ReadyTime> readyTimes = new ConcurrentLinkedQueue<>();
+
+    ReadyTimes() {
+    }
+
+    /**
+     * Returns the collector shared by all HelmJUnit components.
+     *
+     * @return the shared collector
+     */
+    public static ReadyTimes shared() {
+        return SHARED;
+    }
+
+    /**
+     * Records the ready time of an install.
+     *
+     * @param readyTime the ready time
+     */
+    public void record(ReadyTime readyTime) {
+        readyTimes.add(readyTime);
+    }
+
+    /**
+     * Returns all ready times recorded so far, in recording order.
+     *
+     * @return the recorded ready times
+     */
+    public List<ReadyTime> all() {
+        return new ArrayList<>(readyTimes);
+    }
+}
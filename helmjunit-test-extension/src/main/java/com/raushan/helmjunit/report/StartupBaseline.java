@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import com.raushan.helmjunit.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * StartupBaseline is the history of ready times per chart fingerprint, persisted across runs in
+ * {@value com.raushan.helmjunit.util.HelmJUnitSettings#BASELINE_FILE}.
+ * <p>
+ * Only the last {@value #MAX_SAMPLES} ready times of a fingerprint are kept, so the baseline follows deliberate
+ * changes to a chart after a while. An install is a regression if it took longer than the median of its
+ * baseline by more than the threshold and also longer than the 90th percentile, so that a single slow install
+ * in the history does not make the check flaky.
+ */
+public final class StartupBaseline {
+
+    static final int MAX_SAMPLES = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBaseline.class);
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * The ready times of one chart fingerprint, oldest first.
+     *
+     * @param chart   the chart reference of the last recorded install
+     * @param seconds the ready times in seconds
+     */
+    public record Entry(String chart, List<Double> seconds) {
+    }
+
+    /**
+     * An install that became ready slower than its baseline.
+     *
+     * @param readyTime     the install
+     * @param medianSeconds the median ready time of the baseline
+     * @param p90Seconds    the 90th percentile ready time of the baseline
+     * @param samples       the number of ready times in the baseline
+     */
+    public record Regression(ReadyTime readyTime, double medianSeconds, double p90Seconds, int samples) {
+
+        /**
+         * Returns how much slower the install was than the median, in percent.
+         *
+         * @return the slowdown
+         */
+        public double slowdownPercent() {
+            return medianSeconds > 0 ? (readyTime.seconds() / medianSeconds - 1) * 100 : 0;
+        }
+
+        /**
+         * Returns a one-line description of the regression.
+         *
+         * @return the description
+         */
+        public String describe() {
+            return String.format(Locale.ROOT, "%s (%s/%s) became ready in %.1fs, %.0f%% slower than its median of %.1fs (p90 %.1fs, %d runs)",
+                    readyTime.chart(), readyTime.namespace(), readyTime.release(), readyTime.seconds(),
+                    slowdownPercent(), medianSeconds, p90Seconds, samples);
+        }
+    }
+
+    /**
+     * Loads a baseline file. A missing or unreadable file results in an empty baseline.
+     *
+     * @param file the baseline file
+     * @return the baseline
+     */
+    public static StartupBaseline load(Path file) {
+        StartupBaseline baseline = new StartupBaseline();
+        if (!Files.isRegularFile(file)) {
+            return baseline;
+        }
+        try {
+            Map<String, Object> charts = Json.object(Json.parse(Files.readString(file)), "charts");
+            charts.forEach((fingerprint, entry) -> {
+                List<Double> seconds = new ArrayList<>();
+                for (Object value : Json.array(entry, "seconds")) {
+                    if (value instanceof Number number) {
+                        seconds.add(number.doubleValue());
+                    }
+                }
+                baseline.entries.put(fingerprint, new Entry(Json.string(entry, "chart"), seconds));
+            });
+        } catch (Exception e) {
+            logger.warn("⚠️ Ignoring unreadable startup baseline {}: {}", file, e.getMessage());
+            baseline.entries.clear();
+        }
+        return baseline;
+    }
+
+    /**
+     * Returns the baseline of a chart fingerprint.
+     *
+     * @param fingerprint the chart fingerprint
+     * @return the recorded ready times, or empty if the fingerprint has none
+     */
+    public Optional<Entry> entry(String fingerprint) {
+        return Optional.ofNullable(entries.get(fingerprint));
+    }
+
+    /**
+     * Compares an install with its baseline.
+     *
+     * @param readyTime        the install
+     * @param thresholdPercent how many percent slower than the median the install may be
+     * @param minSamples       the number of ready times the baseline needs for a comparison
+     * @return the regression, or empty if the install was not slower or there is not enough history
+     */
+    public Optional<Regression> check(ReadyTime readyTime, int thresholdPercent, int minSamples) {
+        Entry entry = entries.get(readyTime.fingerprint());
+        if (entry == null || entry.seconds().size() < Math.max(1, minSamples)) {
+            return Optional.empty();
+        }
+        double median = percentile(entry.seconds(), 50);
+        double p90 = percentile(entry.seconds(), 90);
+        double seconds = readyTime.seconds();
+        if (seconds > median * (1 + thresholdPercent / 100.0) && seconds > p90) {
+            return Optional.of(new Regression(readyTime, median, p90, entry.seconds().size()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Adds the ready time of an install to the baseline of its fingerprint, dropping the oldest ready time once
+     * the baseline holds {@value #MAX_SAMPLES}.
+     *
+     * @param readyTime the install
+     */
+    public void add(ReadyTime readyTime) {
+        Entry previous = entries.remove(readyTime.fingerprint());
+        List<Double> seconds = previous == null ? new ArrayList<>() : new ArrayList<>(previous.seconds());
+        seconds.add(readyTime.seconds());
+        if (seconds.size() > MAX_SAMPLES) {
+            seconds = new ArrayList<>(seconds.subList(seconds.size() - MAX_SAMPLES, seconds.size()));
+        }
+        entries.put(readyTime.fingerprint(), new Entry(readyTime.chart(), seconds));
+    }
+
+    /**
+     * Renders the baseline as JSON.
+     *
+     * @return the JSON document
+     */
+    public String toJson() {
+        StringJoiner charts = new StringJoiner(",");
+        entries.forEach((fingerprint, entry) -> {
+            StringJoiner seconds = new StringJoiner(", ");
+            entry.seconds().forEach(value -> seconds.add(String.format(Locale.ROOT, "%.3f", value)));
+            charts.add("\n    " + TimingReport.quote(fingerprint) + ": {\"chart\": " + TimingReport.quote(entry.chart())
+                    + ", \"seconds\": [" + seconds + "]}");
+        });
+        return "{\n  \"charts\": {" + charts + "\n  }\n}\n";
+    }
+
+    /**
+     * Writes the baseline to a file, replacing it atomically.
+     *
+     * @param file the baseline file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        Files.writeString(temp, toJson());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static double percentile(List<Double> values, double percentile) {
+        List<Double> sorted = values.stream().sorted().toList();
+        int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(Math.min(sorted.size() - 1, Math.max(0, rank - 1)));
+    }
+}
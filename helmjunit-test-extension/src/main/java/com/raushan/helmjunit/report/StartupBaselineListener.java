@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * StartupBaselineListener compares the {@link ReadyTimes} of the run with the {@link StartupBaseline} when the
+ * test plan has finished. Regressions are logged and written to {@value #REPORT_FILE} in
+ * {@value HelmJUnitSettings#REPORT_DIR}; afterwards the ready times of the run are added to the baseline.
+ * <p>
+ * Like {@link TimingReportListener}, the listener is registered through {@code META-INF/services}.
+ */
+public class StartupBaselineListener implements TestExecutionListener {
+
+    /**
+     * The file name of the regression report.
+     */
+    public static final String REPORT_FILE = "helmjunit-startup-regressions.json";
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBaselineListener.class);
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        List<ReadyTime> readyTimes = ReadyTimes.shared().all();
+        if (readyTimes.isEmpty()) return;
+        Path baselineFile = HelmJUnitSettings.baselineFile();
+        StartupBaseline baseline = StartupBaseline.load(baselineFile);
+        int threshold = HelmJUnitSettings.getInt(HelmJUnitSettings.BASELINE_THRESHOLD_PERCENT, 50);
+        int minSamples = HelmJUnitSettings.getInt(HelmJUnitSettings.BASELINE_MIN_SAMPLES, 5);
+
+        List<StartupBaseline.Regression> regressions = readyTimes.stream()
+                .flatMap(readyTime -> baseline.check(readyTime, threshold, minSamples).stream())
+                .toList();
+        regressions.forEach(regression -> logger.warn("🐢 Startup regression: {}", regression.describe()));
+
+        Path directory = HelmJUnitSettings.reportDir();
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(REPORT_FILE), toJson(regressions));
+        } catch (Exception e) {
+            logger.warn("Unable to write HelmJUnit startup regression report to {}", directory, e);
+        }
+
+        if (HelmJUnitSettings.getBoolean(HelmJUnitSettings.BASELINE_UPDATE, true)) {
+            readyTimes.forEach(baseline::add);
+            try {
+                baseline.writeTo(baselineFile);
+            } catch (Exception e) {
+                logger.warn("Unable to update HelmJUnit startup baseline {}", baselineFile, e);
+            }
+        }
+    }
+
+    static String toJson(List<StartupBaseline.Regression> regressions) {
+        StringJoiner entries = new StringJoiner(",");
+        for (StartupBaseline.Regression regression : regressions) {
+            ReadyTime readyTime = regression.readyTime();
+            entries.add(String.format(Locale.ROOT,
+                    "\n    {\"chart\": %s, \"release\": %s, \"namespace\": %s, \"fingerprint\": %s, \"seconds\": %.3f, "
+                            + "\"baselineMedianSeconds\": %.3f, \"baselineP90Seconds\": %.3f, \"baselineSamples\": %d}",
+                    TimingReport.quote(readyTime.chart()), TimingReport.quote(readyTime.release()),
+                    TimingReport.quote(readyTime.namespace()), TimingReport.quote(readyTime.fingerprint()),
+                    readyTime.seconds(), regression.medianSeconds(), regression.p90Seconds(), regression.samples()));
+        }
+        return "{\n  \"regressions\": [" + entries + (regressions.isEmpty() ? "]" : "\n  ]") + "\n}\n";
+    }
+}
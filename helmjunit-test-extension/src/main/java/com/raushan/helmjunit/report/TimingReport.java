@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * TimingReport renders recorded {@link PhaseTiming}s as a JSON report and as a self-contained HTML timeline,
+ * grouped by test class and release.
+ */
+public final class TimingReport {
+
+    /**
+     * The file name of the JSON report.
+     */
+    public static final String JSON_FILE = "helmjunit-timings.json";
+
+    /**
+     * The file name of the HTML timeline.
+     */
+    public static final String HTML_FILE = "helmjunit-timings.html";
+
+    private static final Map<Phase, String> COLORS = new EnumMap<>(Map.of(
+            Phase.CHART_RESOLVE, "#9e9e9e",
+            Phase.ADMISSION, "#fdd835",
+            Phase.HELM_INSTALL, "#1e88e5",
+            Phase.POD_SCHEDULING, "#8e24aa",
+            Phase.IMAGE_PULL, "#fb8c00",
+            Phase.READINESS, "#43a047",
+            Phase.SERVICE_RESOLUTION, "#00acc1",
+            Phase.PORT_FORWARD, "#6d4c41",
+            Phase.UNINSTALL, "#e53935",
+            Phase.NAMESPACE_DELETION, "#3949ab"));
+
+    private final String runId;
+    private final List<PhaseTiming> timings;
+
+    /**
+     * Creates a report.
+     *
+     * @param runId   the ID of the run the timings were recorded in
+     * @param timings the recorded phases
+     */
+    public TimingReport(String runId, List<PhaseTiming> timings) {
+        this.runId = runId;
+        this.timings = timings.stream().sorted(Comparator.comparing(PhaseTiming::start)).toList();
+    }
+
+    /**
+     * Writes the JSON report and the HTML timeline into a directory, creating it if needed.
+     *
+     * @param directory the report directory
+     * @throws IOException if the files cannot be written
+     */
+    public void writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(JSON_FILE), toJson());
+        Files.writeString(directory.resolve(HTML_FILE), toHtml());
+    }
+
+    /**
+     * Renders the report as JSON: the total time per phase, and the phases of every release of every test class.
+     *
+     * @return the JSON report
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"runId\": ").append(quote(runId)).append(",\n  \"totals\": {");
+        StringJoiner totals = new StringJoiner(",");
+        totalsByPhase().forEach((phase, total) -> totals.add("\n    " + quote(phase.name()) + ": " + total.toMillis()));
+        json.append(totals).append("\n  },\n  \"classes\": [");
+        StringJoiner classes = new StringJoiner(",");
+        grouped().forEach((testClass, releases) -> {
+            StringJoiner releaseJson = new StringJoiner(",");
+            releases.values().forEach(phases -> {
+                PhaseTiming first = phases.get(0);
+                StringJoiner phaseJson = new StringJoiner(",");
+                for (PhaseTiming timing : phases) {
+                    phaseJson.add("\n          {\"phase\": " + quote(timing.phase().name())
+                            + ", \"start\": " + quote(timing.start().toString())
+                            + ", \"end\": " + quote(timing.end().toString())
+                            + ", \"durationMs\": " + timing.duration().toMillis() + "}");
+                }
+                releaseJson.add("\n      {\"release\": " + quote(first.release()) + ", \"namespace\": " + quote(first.namespace())
+                        + ", \"phases\": [" + phaseJson + "\n      ]}");
+            });
+            classes.add("\n    {\"name\": " + quote(testClass) + ", \"releases\": [" + releaseJson + "\n    ]}");
+        });
+        return json.append(classes).append("\n  ]\n}\n").toString();
+    }
+
+    /**
+     * Renders the report as an HTML page with one timeline row per release, relative to the start of the run.
+     *
+     * @return the HTML timeline
+     */
+    public String toHtml() {
+        Instant origin = timings.isEmpty() ? Instant.EPOCH : timings.get(0).start();
+        Instant last = timings.stream().map(PhaseTiming::end).max(Comparator.naturalOrder()).orElse(origin);
+        double total = Math.max(1, Duration.between(origin, last).toMillis());
+
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>HelmJUnit timings ")
+                .append(escape(runId)).append("</title>\n<style>")
+                .append("body{font-family:sans-serif;margin:24px}h2{font-size:16px;margin-top:24px}")
+                .append(".row{display:flex;align-items:center;margin:2px 0}.name{width:280px;font-size:12px;overflow:hidden}")
+                .append(".track{position:relative;flex:1;height:16px;background:#f5f5f5}")
+                .append(".bar{position:absolute;top:2px;height:12px;min-width:2px;opacity:.85}")
+                .append(".legend span{display:inline-block;margin-right:12px;font-size:12px}")
+                .append(".legend i{display:inline-block;width:12px;height:12px;margin-right:4px;vertical-align:middle}")
+                .append("</style></head><body>\n<h1>HelmJUnit lifecycle timings</h1>\n<p>Run ")
+                .append(escape(runId)).append(", ").append((long) total).append(" ms</p>\n<div class=\"legend\">");
+        totalsByPhase().forEach((phase, phaseTotal) -> html.append("<span><i style=\"background:").append(COLORS.get(phase))
+                .append("\"></i>").append(escape(phase.label())).append(" (").append(phaseTotal.toMillis()).append(" ms)</span>"));
+        html.append("</div>\n");
+        grouped().forEach((testClass, releases) -> {
+            html.append("<h2>").append(escape(testClass)).append("</h2>\n");
+            releases.values().forEach(phases -> {
+                PhaseTiming first = phases.get(0);
+                String name = first.namespace() + (first.release() == null ? "" : "/" + first.release());
+                html.append("<div class=\"row\"><div class=\"name\">").append(escape(name)).append("</div><div class=\"track\">");
+                for (PhaseTiming timing : phases) {
+                    double left = Duration.between(origin, timing.start()).toMillis() / total * 100;
+                    double width = timing.duration().toMillis() / total * 100;
+                    html.append(String.format(Locale.ROOT,
+                            "<div class=\"bar\" style=\"left:%.3f%%;width:%.3f%%;background:%s\" title=\"%s: %d ms\"></div>",
+                            left, width, COLORS.get(timing.phase()), escape(timing.phase().label()), timing.duration().toMillis()));
+                }
+                html.append("</div></div>\n");
+            });
+        });
+        return html.append("</body></html>\n").toString();
+    }
+
+    private Map<Phase, Duration> totalsByPhase() {
+        Map<Phase, Duration> totals = new EnumMap<>(Phase.class);
+        for (PhaseTiming timing : timings) {
+            totals.merge(timing.phase(), timing.duration(), Duration::plus);
+        }
+        return totals;
+    }
+
+    /**
+     * Groups the phases by test class, then by release, both in order of first appearance.
+     */
+    private Map<String, Map<String, List<PhaseTiming>>> grouped() {
+        Map<String, Map<String, List<PhaseTiming>>> grouped = new LinkedHashMap<>();
+        for (PhaseTiming timing : timings) {
+            grouped.computeIfAbsent(timing.testClass(), key -> new LinkedHashMap<>())
+                    .computeIfAbsent(timing.namespace() + "/" + timing.release(), key -> new ArrayList<>())
+                    .add(timing);
+        }
+        return grouped;
+    }
+
+    static String quote(String value) {
+        if (value == null) return "null";
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
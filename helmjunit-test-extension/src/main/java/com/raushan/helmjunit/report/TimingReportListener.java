@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import com.raushan.helmjunit.helm.RunIdentity;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * TimingReportListener writes the lifecycle phases recorded by {@link PhaseTimings} as a JSON report and an HTML
+ * timeline into {@value HelmJUnitSettings#REPORT_DIR} when the test plan has finished.
+ * <p>
+ * The listener is registered with the JUnit Platform launcher through {@code META-INF/services}, so it runs for
+ * every test run that has HelmJUnit on its class path. Runs that did not install any release write no report.
+ */
+public class TimingReportListener implements TestExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingReportListener.class);
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        List<PhaseTiming> timings = PhaseTimings.shared().timings();
+        if (timings.isEmpty()) return;
+        Path directory = HelmJUnitSettings.reportDir();
+        try {
+            new TimingReport(RunIdentity.current().runId(), timings).writeTo(directory);
+            logger.info("📊 Wrote HelmJUnit timing report to {}", directory.resolve(TimingReport.HTML_FILE).toAbsolutePath());
+        } catch (Exception e) {
+            logger.warn("Unable to write HelmJUnit timing report to {}", directory, e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.resources;
+
+/**
+ * The sampled resource usage of one container of a Helm release, over all pods of the release.
+ *
+ * @param container          the container name
+ * @param samples            the number of samples taken, one per pod and poll
+ * @param peakCpuMillis      the highest CPU usage of the container in a single pod, in millicores
+ * @param averageCpuMillis   the average CPU usage over all samples, in millicores
+ * @param peakMemoryBytes    the highest memory working set of the container in a single pod
+ * @param averageMemoryBytes the average memory working set over all samples
+ */
+public record ContainerUsage(String container, int samples, double peakCpuMillis, double averageCpuMillis,
+                             long peakMemoryBytes, long averageMemoryBytes) {
+
+    private static final double MEBIBYTE = 1024 * 1024;
+
+    /**
+     * Returns the peak memory working set in mebibytes.
+     *
+     * @return the peak memory
+     */
+    public double peakMemoryMi() {
+        return peakMemoryBytes / MEBIBYTE;
+    }
+
+    /**
+     * Returns the average memory working set in mebibytes.
+     *
+     * @return the average memory
+     */
+    public double averageMemoryMi() {
+        return averageMemoryBytes / MEBIBYTE;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.resources;
+
+import java.math.BigDecimal;
+
+/**
+ * Parses Kubernetes resource quantities such as {@code 250m}, {@code 1203412n} or {@code 512Mi}.
+ */
+public final class Quantities {
+
+    private static final String[] BINARY_SUFFIXES = {"Ki", "Mi", "Gi", "Ti", "Pi", "Ei"};
+    private static final String[] DECIMAL_SUFFIXES = {"k", "M", "G", "T", "P", "E"};
+
+    private Quantities() {
+    }
+
+    /**
+     * Converts a CPU quantity to millicores.
+     *
+     * @param quantity the quantity, e.g. {@code 2}, {@code 250m} or {@code 1203412n}
+     * @return the millicores, or -1 if the quantity is missing or malformed
+     */
+    public static double cpuMillis(String quantity) {
+        BigDecimal value = parse(quantity);
+        return value == null ? -1 : value.movePointRight(3).doubleValue();
+    }
+
+    /**
+     * Converts a memory quantity to bytes.
+     *
+     * @param quantity the quantity, e.g. {@code 512Mi}, {@code 1G} or {@code 1048576}
+     * @return the bytes, or -1 if the quantity is missing or malformed
+     */
+    public static long bytes(String quantity) {
+        BigDecimal value = parse(quantity);
+        return value == null ? -1 : value.longValue();
+    }
+
+    private static BigDecimal parse(String quantity) {
+        if (quantity == null || quantity.isBlank()) {
+            return null;
+        }
+        String text = quantity.trim();
+        try {
+            for (int i = 0; i < BINARY_SUFFIXES.length; i++) {
+                if (text.endsWith(BINARY_SUFFIXES[i])) {
+                    return number(text, 2).multiply(BigDecimal.valueOf(1024).pow(i + 1));
+                }
+            }
+            for (int i = 0; i < DECIMAL_SUFFIXES.length; i++) {
+                if (text.endsWith(DECIMAL_SUFFIXES[i])) {
+                    return number(text, 1).movePointRight(3 * (i + 1));
+                }
+            }
+            return switch (text.charAt(text.length() - 1)) {
+                case 'n' -> number(text, 1).movePointLeft(9);
+                case 'u' -> number(text, 1).movePointLeft(6);
+                case 'm' -> number(text, 1).movePointLeft(3);
+                default -> new BigDecimal(text);
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal number(String text, int suffixLength) {
+        return new BigDecimal(text.substring(0, text.length() - suffixLength));
+    }
+}
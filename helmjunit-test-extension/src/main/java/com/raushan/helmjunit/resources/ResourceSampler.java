@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.resources;
+
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Samples the CPU and memory usage of the pods of one Helm release from the Kubernetes metrics API
+ * ({@code metrics.k8s.io}, served by metrics-server).
+ * <p>
+ * A single virtual thread polls the API at a fixed interval, over the shared API client if it is available
+ * and with {@code kubectl get --raw} otherwise. A poll lists the metrics of all pods of the release in one
+ * request, so the overhead is one small API call per interval and release.
+ */
+public class ResourceSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceSampler.class);
+
+    /**
+     * Reads the pod metrics of a namespace.
+     */
+    interface MetricsSource {
+
+        /**
+         * Lists the {@code PodMetrics} objects matching a label selector.
+         *
+         * @param namespace     the namespace
+         * @param labelSelector the label selector
+         * @return the items of the {@code PodMetricsList}
+         * @throws Exception if the metrics API cannot be read
+         */
+        List<Object> podMetrics(String namespace, String labelSelector) throws Exception;
+    }
+
+    private final String releaseName;
+    private final String namespace;
+    private final Duration interval;
+    private final MetricsSource source;
+    private final Map<String, Accumulator> containers = new TreeMap<>();
+    private int polls;
+    private boolean warned;
+    private Thread poller;
+
+    /**
+     * Creates a sampler for the pods labelled {@code app.kubernetes.io/instance=<releaseName>}.
+     *
+     * @param releaseName the release name
+     * @param namespace   the namespace of the release
+     * @param interval    the time between two polls
+     */
+    public ResourceSampler(String releaseName, String namespace, Duration interval) {
+        this(releaseName, namespace, interval, defaultSource());
+    }
+
+    ResourceSampler(String releaseName, String namespace, Duration interval, MetricsSource source) {
+        this.releaseName = releaseName;
+        this.namespace = namespace;
+        this.interval = interval;
+        this.source = source;
+    }
+
+    /**
+     * Takes a first sample and starts polling in the background.
+     */
+    public synchronized void start() {
+        if (poller != null) {
+            return;
+        }
+        sample();
+        poller = Thread.ofVirtual().name("helmjunit-resource-sampler-" + releaseName).start(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.sleep(interval);
+                    sample();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Stops polling and takes a last sample.
+     *
+     * @return the usage sampled since {@link #start()}
+     */
+    public ResourceUsage stop() {
+        Thread running;
+        synchronized (this) {
+            running = poller;
+            poller = null;
+        }
+        if (running != null) {
+            running.interrupt();
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sample();
+        return usage();
+    }
+
+    /**
+     * Returns the usage sampled so far.
+     *
+     * @return the usage by container
+     */
+    public synchronized ResourceUsage usage() {
+        Map<String, ContainerUsage> snapshot = new TreeMap<>();
+        containers.forEach((name, accumulator) -> snapshot.put(name, accumulator.toUsage(name)));
+        return new ResourceUsage(releaseName, namespace, polls, snapshot);
+    }
+
+    /**
+     * Polls the metrics API once. Failures are logged once and otherwise ignored, so that a cluster without
+     * metrics-server only results in missing samples.
+     */
+    void sample() {
+        List<Object> pods;
+        try {
+            pods = source.podMetrics(namespace, "app.kubernetes.io/instance=" + releaseName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            synchronized (this) {
+                if (!warned) {
+                    warned = true;
+                    logger.warn("⚠️ Unable to read pod metrics of release {} in namespace {}: {}. Is metrics-server installed?",
+                            releaseName, namespace, e.getMessage());
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            polls++;
+            for (Object pod : pods) {
+                for (Object container : Json.array(pod, "containers")) {
+                    double cpu = Quantities.cpuMillis(Json.string(container, "usage", "cpu"));
+                    long memory = Quantities.bytes(Json.string(container, "usage", "memory"));
+                    if (cpu >= 0 && memory >= 0) {
+                        containers.computeIfAbsent(Json.string(container, "name"), name -> new Accumulator())
+                                .add(cpu, memory);
+                    }
+                }
+            }
+        }
+    }
+
+    private static MetricsSource defaultSource() {
+        Optional<KubernetesClient> client = KubernetesClient.shared();
+        if (client.isPresent()) {
+            return (namespace, selector) -> {
+                Map<String, Object> list = client.get().list(metricsPath(namespace), selector);
+                if (list.isEmpty()) {
+                    throw new RuntimeException("the metrics.k8s.io API is not available");
+                }
+                return Json.array(list, "items");
+            };
+        }
+        return (namespace, selector) -> {
+            ProcessExecutor.ProcessResult result = ProcessExecutor.execute(
+                    List.of("kubectl", "get", "--raw", metricsPath(namespace)
+                            + "?labelSelector=" + URLEncoder.encode(selector, StandardCharsets.UTF_8)),
+                    "kubectl get pod metrics: " + namespace);
+            if (result.exitCode() != 0) {
+                throw new RuntimeException(result.stderr().trim());
+            }
+            return Json.array(Json.parse(result.stdout()), "items");
+        };
+    }
+
+    private static String metricsPath(String namespace) {
+        return "/apis/metrics.k8s.io/v1beta1/namespaces/" + namespace + "/pods";
+    }
+
+    private static final class Accumulator {
+        private int samples;
+        private double peakCpu;
+        private double totalCpu;
+        private long peakMemory;
+        private double totalMemory;
+
+        void add(double cpuMillis, long memoryBytes) {
+            samples++;
+            peakCpu = Math.max(peakCpu, cpuMillis);
+            totalCpu += cpuMillis;
+            peakMemory = Math.max(peakMemory, memoryBytes);
+            totalMemory += memoryBytes;
+        }
+
+        ContainerUsage toUsage(String name) {
+            return new ContainerUsage(name, samples, peakCpu, totalCpu / samples, peakMemory,
+                    Math.round(totalMemory / samples));
+        }
+    }
+}
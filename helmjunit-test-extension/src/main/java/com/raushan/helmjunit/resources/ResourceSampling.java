@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.resources;
+
+import com.raushan.helmjunit.model.HelmRelease;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the {@link ResourceSampler}s of the Helm releases of the running tests, so that tests can read
+ * the usage of an injected {@link HelmRelease} while they run.
+ */
+public final class ResourceSampling {
+
+    private static final ResourceSampling shared = new ResourceSampling();
+
+    private final Map<String, ResourceSampler> samplers = new ConcurrentHashMap<>();
+
+    ResourceSampling() {
+    }
+
+    /**
+     * Returns the registry shared by all HelmJUnit components.
+     *
+     * @return the shared registry
+     */
+    public static ResourceSampling shared() {
+        return shared;
+    }
+
+    /**
+     * Starts sampling a release, unless it is sampled already.
+     *
+     * @param releaseName the release name
+     * @param namespace   the namespace of the release
+     * @param interval    the time between two polls
+     */
+    public void start(String releaseName, String namespace, Duration interval) {
+        samplers.computeIfAbsent(key(releaseName, namespace), key -> new ResourceSampler(releaseName, namespace, interval))
+                .start();
+    }
+
+    /**
+     * Stops sampling a release.
+     *
+     * @param releaseName the release name
+     * @param namespace   the namespace of the release
+     * @return the usage sampled since the start, or empty if the release was not sampled
+     */
+    public Optional<ResourceUsage> stop(String releaseName, String namespace) {
+        return Optional.ofNullable(samplers.remove(key(releaseName, namespace))).map(ResourceSampler::stop);
+    }
+
+    /**
+     * Returns the usage of a release sampled so far by the running test.
+     *
+     * @param release the injected release
+     * @return the usage, or empty if the release is not sampled, e.g. because the test has no {@code @ResourceBudget}
+     */
+    public Optional<ResourceUsage> usage(HelmRelease release) {
+        return Optional.ofNullable(samplers.get(key(release.releaseName(), release.namespace())))
+                .map(ResourceSampler::usage);
+    }
+
+    private static String key(String releaseName, String namespace) {
+        return namespace + "/" + releaseName;
+    }
+}
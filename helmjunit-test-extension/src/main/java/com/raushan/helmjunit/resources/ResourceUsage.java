@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.resources;
+
+import com.raushan.helmjunit.annotation.ResourceBudget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The resource usage of the containers of a Helm release, sampled while a test ran.
+ *
+ * @param releaseName the release name
+ * @param namespace   the namespace of the release
+ * @param polls       how often the metrics API answered
+ * @param containers  the usage by container name
+ */
+public record ResourceUsage(String releaseName, String namespace, int polls, Map<String, ContainerUsage> containers) {
+
+    /**
+     * Returns the usage of a container.
+     *
+     * @param container the container name
+     * @return the usage, or empty if the container was not sampled
+     */
+    public Optional<ContainerUsage> container(String container) {
+        return Optional.ofNullable(containers.get(container));
+    }
+
+    /**
+     * Checks the usage against a budget.
+     *
+     * @param budget the budget
+     * @return a description of every exceeded limit, empty if the usage is within the budget
+     */
+    public List<String> violations(ResourceBudget budget) {
+        List<String> violations = new ArrayList<>();
+        for (ContainerUsage usage : containers.values()) {
+            if (!budget.container().isBlank() && !budget.container().equals(usage.container())) {
+                continue;
+            }
+            String name = releaseName + "/" + usage.container();
+            check(violations, name, "peak memory", usage.peakMemoryMi(), budget.maxMemoryMi(), "Mi");
+            check(violations, name, "average memory", usage.averageMemoryMi(), budget.maxAverageMemoryMi(), "Mi");
+            check(violations, name, "peak CPU", usage.peakCpuMillis(), budget.maxCpuMillis(), "m");
+            check(violations, name, "average CPU", usage.averageCpuMillis(), budget.maxAverageCpuMillis(), "m");
+        }
+        return violations;
+    }
+
+    /**
+     * Returns a one-line summary of the usage of every container.
+     *
+     * @return the summary
+     */
+    public String summary() {
+        if (containers.isEmpty()) {
+            return releaseName + ": no samples";
+        }
+        return containers.values().stream()
+                .map(usage -> String.format(Locale.ROOT, "%s/%s cpu %.0fm (avg %.0fm) memory %.1fMi (avg %.1fMi)",
+                        releaseName, usage.container(), usage.peakCpuMillis(), usage.averageCpuMillis(),
+                        usage.peakMemoryMi(), usage.averageMemoryMi()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void check(List<String> violations, String container, String what, double value, long limit,
+                              String unit) {
+        if (limit >= 0 && value > limit) {
+            violations.add(String.format(Locale.ROOT, "%s %s %.1f%s exceeds %d%s", container, what, value, unit, limit, unit));
+        }
+    }
+}
@@ -16,13 +16,13 @@
 
 package com.raushan.helmjunit.util;
 
+import com.raushan.helmjunit.helm.ReleaseReuse;
+import com.raushan.helmjunit.helm.RunIdentity;
 import com.raushan.helmjunit.model.HelmChartDescriptor;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
 
 
 /**
@@ -45,36 +45,96 @@ public class HelmCommandBuilder {
         cmd.add("install");
         cmd.add(descriptor.releaseName());
         cmd.add(descriptor.chart());
+        appendVersion(cmd, descriptor);
         cmd.add("--namespace");
         cmd.add(descriptor.namespace());
         cmd.add("--create-namespace");
+        appendRunLabels(cmd, descriptor);
         cmd.add("--wait");
         cmd.add("--timeout");
         cmd.add("120s");
 
-        for (String val : descriptor.values()) {
-            cmd.add("--set");
-            cmd.add(val);
-        }
+        appendValues(cmd, descriptor);
+        return cmd;
+    }
 
-        if (descriptor.valuesFile() != null && !descriptor.valuesFile().isBlank()) {
-            String path = descriptor.valuesFile();
-            if (descriptor.valuesFromClasspath()) {
-                InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
-                if (is == null) throw new IllegalArgumentException("Values file not found in classpath: " + path);
-                File temp = File.createTempFile("helm-values", ".yaml");
-                try (FileOutputStream out = new FileOutputStream(temp)) {
-                    out.write(is.readAllBytes());
-                }
-                path = temp.getAbsolutePath();
-            }
-            cmd.add("-f");
-            cmd.add(path);
-        }
+    /**
+     * Builds the Helm upgrade command that upgrades an existing release in place, or installs it if it does not exist.
+     * The command does not wait for the release to become ready; callers wait only for the resources that changed.
+     *
+     * @param descriptor the Helm chart descriptor containing chart details
+     * @return a list of command-line arguments for the Helm upgrade command
+     * @throws Exception if an error occurs while processing values files
+     */
+    public static List<String> buildUpgradeCommand(HelmChartDescriptor descriptor) throws Exception {
+        List<String> cmd = new ArrayList<>();
+        cmd.add("helm");
+        cmd.add("upgrade");
+        cmd.add("--install");
+        cmd.add(descriptor.releaseName());
+        cmd.add(descriptor.chart());
+        appendVersion(cmd, descriptor);
+        cmd.add("--namespace");
+        cmd.add(descriptor.namespace());
+        cmd.add("--create-namespace");
+        appendRunLabels(cmd, descriptor);
+        cmd.add("--reset-values");
+
+        appendValues(cmd, descriptor);
+        return cmd;
+    }
+
+    /**
+     * Builds the Helm template command that renders the manifest of a chart locally, without installing it.
+     *
+     * @param descriptor the Helm chart descriptor containing chart details
+     * @return a list of command-line arguments for the Helm template command
+     * @throws Exception if an error occurs while processing values files
+     */
+    public static List<String> buildTemplateCommand(HelmChartDescriptor descriptor) throws Exception {
+        List<String> cmd = new ArrayList<>();
+        cmd.add("helm");
+        cmd.add("template");
+        cmd.add(descriptor.releaseName());
+        cmd.add(descriptor.chart());
+        appendVersion(cmd, descriptor);
+        cmd.add("--namespace");
+        cmd.add(descriptor.namespace());
 
+        appendValues(cmd, descriptor);
         return cmd;
     }
 
+    /**
+     * Builds the Helm command that prints the manifest of an installed release.
+     *
+     * @param descriptor the Helm chart descriptor containing release details
+     * @return a list of command-line arguments for the Helm get manifest command
+     */
+    public static List<String> buildGetManifestCommand(HelmChartDescriptor descriptor) {
+        return List.of(
+                "helm", "get", "manifest",
+                descriptor.releaseName(),
+                "--namespace", descriptor.namespace()
+        );
+    }
+
+    /**
+     * Builds the Helm command that lists the release of the descriptor, in any state, as JSON.
+     *
+     * @param descriptor the Helm chart descriptor containing release details
+     * @return a list of command-line arguments for the Helm list command
+     */
+    public static List<String> buildListCommand(HelmChartDescriptor descriptor) {
+        return List.of(
+                "helm", "list",
+                "--namespace", descriptor.namespace(),
+                "--filter", "^" + descriptor.releaseName() + "$",
+                "--all",
+                "--output", "json"
+        );
+    }
+
     /**
      * Builds the Helm uninstall command based on the provided HelmChartDescriptor.
      *
@@ -88,4 +148,96 @@ public class HelmCommandBuilder {
                 "--namespace", descriptor.namespace()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the Helm rollback command that restores a release to the given revision.
+     *
+     * @param descriptor the Helm chart descriptor containing release details
+     * @param revision   the revision to roll back to
+     * @return a list of command-line arguments for the Helm rollback command
+     */
+    public static List<String> buildRollbackCommand(HelmChartDescriptor descriptor, int revision) {
+        return List.of(
+                "helm", "rollback",
+                descriptor.releaseName(),
+                String.valueOf(revision),
+                "--namespace", descriptor.namespace(),
+                "--wait",
+                "--timeout", "120s"
+        );
+    }
+
+    /**
+     * Appends the {@code --version} flag to a Helm command if the descriptor pins a chart version.
+     *
+     * @param cmd        the command to append to
+     * @param descriptor the Helm chart descriptor containing the chart version
+     */
+    private static void appendVersion(List<String> cmd, HelmChartDescriptor descriptor) {
+        if (descriptor.version() != null && !descriptor.version().isBlank()) {
+            cmd.add("--version");
+            cmd.add(descriptor.version());
+        }
+    }
+
+    /**
+     * Appends the {@code --labels} flag with the labels of the current {@link RunIdentity}, if the Helm CLI supports it.
+     * The labels are stored on the release Secret, where the {@link com.raushan.helmjunit.helm.ReleaseSweeper} looks for them.
+     * Releases kept by {@link ReleaseReuse} are also labelled as kept.
+     *
+     * @param cmd        the command to append to
+     * @param descriptor the Helm chart descriptor of the release
+     */
+    private static void appendRunLabels(List<String> cmd, HelmChartDescriptor descriptor) {
+        if (RunIdentity.isReleaseLabelsSupported()) {
+            StringJoiner labels = new StringJoiner(",");
+            RunIdentity.current().labels().forEach((key, value) -> labels.add(key + "=" + value));
+            if (ReleaseReuse.shared().isKept(descriptor)) {
+                ReleaseReuse.keepLabels().forEach((key, value) -> labels.add(key + "=" + value));
+            }
+            cmd.add("--labels");
+            cmd.add(labels.toString());
+        }
+    }
+
+    /**
+     * Appends the {@code --set} values and the values file of the descriptor to a Helm command.
+     * Classpath values files are materialized once through the {@link ValuesFileCache}, or read from stdin.
+     *
+     * @param cmd        the command to append to
+     * @param descriptor the Helm chart descriptor containing the values
+     * @throws Exception if an error occurs while processing values files
+     */
+    private static void appendValues(List<String> cmd, HelmChartDescriptor descriptor) throws Exception {
+        for (String val : descriptor.values()) {
+            cmd.add("--set");
+            cmd.add(val);
+        }
+
+        if (descriptor.valuesFile() != null && !descriptor.valuesFile().isBlank()) {
+            String path = descriptor.valuesFile();
+            if (descriptor.valuesFromClasspath()) {
+                path = ValuesFileCache.isStdinEnabled()
+                        ? "-"
+                        : ValuesFileCache.shared().materialize(path).toString();
+            }
+            cmd.add("-f");
+            cmd.add(path);
+        }
+    }
+
+    /**
+     * Returns the content to stream to the standard input of a Helm command built for the descriptor.
+     * This is the classpath values file when values are streamed over stdin (see {@link ValuesFileCache}).
+     *
+     * @param descriptor the Helm chart descriptor containing the values
+     * @return the standard input content, or null if the command reads nothing from stdin
+     */
+    public static byte[] buildValuesInput(HelmChartDescriptor descriptor) {
+        if (descriptor.valuesFromClasspath() && ValuesFileCache.isStdinEnabled()
+                && descriptor.valuesFile() != null && !descriptor.valuesFile().isBlank()) {
+            return ValuesFileCache.shared().read(descriptor.valuesFile());
+        }
+        return null;
+    }
+}
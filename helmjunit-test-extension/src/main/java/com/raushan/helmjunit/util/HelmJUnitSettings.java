@@ -0,0 +1,254 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.util;
+
+import java.nio.file.Path;
+
+/**
+ * HelmJUnitSettings centralizes the system properties that tune HelmJUnit's behavior.
+ * <p>
+ * Properties can be passed to the test JVM, e.g. {@code -Dhelmjunit.offline=true}
+ * or via {@code systemProperty} in the Gradle {@code test} task.
+ */
+public final class HelmJUnitSettings {
+
+    /**
+     * Directory used by HelmJUnit to cache artifacts across runs. Defaults to {@code ~/.cache/helmjunit}.
+     */
+    public static final String CACHE_DIR = "helmjunit.cache.dir";
+
+    /**
+     * Whether repository charts are downloaded once and installed from the local chart cache. Defaults to true.
+     */
+    public static final String CHART_CACHE_ENABLED = "helmjunit.chart.cache.enabled";
+
+    /**
+     * Whether HelmJUnit must never access chart repositories over the network. Defaults to false.
+     * In offline mode, repository charts must already be present in the chart cache.
+     */
+    public static final String OFFLINE = "helmjunit.offline";
+
+    /**
+     * Maximum number of rendered manifests kept in memory by the manifest cache. Defaults to 64.
+     */
+    public static final String MANIFEST_CACHE_SIZE = "helmjunit.manifest.cache.size";
+
+    /**
+     * Whether rendered manifests of local or cached charts are also persisted on disk. Defaults to false.
+     */
+    public static final String MANIFEST_CACHE_DISK = "helmjunit.manifest.cache.disk";
+
+    /**
+     * Whether classpath values files are streamed to Helm over standard input ({@code -f -})
+     * instead of being materialized as files. Defaults to false.
+     */
+    public static final String VALUES_STDIN = "helmjunit.values.stdin";
+
+    /**
+     * Whether cluster queries use the built-in Kubernetes API client instead of forking {@code kubectl}
+     * when a kubeconfig with supported credentials is available. Defaults to true.
+     */
+    public static final String KUBE_CLIENT_ENABLED = "helmjunit.kube.client.enabled";
+
+    /**
+     * Whether cluster state is served from watch-fed caches shared by all releases instead of repeated
+     * list calls. Only used together with the Kubernetes API client. Defaults to true.
+     */
+    public static final String INFORMER_ENABLED = "helmjunit.kube.informer.enabled";
+
+    /**
+     * Whether releases are torn down in the background instead of blocking the test lifecycle. Defaults to true.
+     */
+    public static final String TEARDOWN_ASYNC = "helmjunit.teardown.async";
+
+    /**
+     * The number of releases uninstalled in parallel by the background teardown. Defaults to 4.
+     */
+    public static final String TEARDOWN_PARALLELISM = "helmjunit.teardown.parallelism";
+
+    /**
+     * The number of seconds the end of the session waits for background teardown to finish. Defaults to 180.
+     */
+    public static final String TEARDOWN_DEADLINE_SECONDS = "helmjunit.teardown.deadline.seconds";
+
+    /**
+     * The ID of the current test run, recorded on every release and namespace HelmJUnit creates.
+     * Defaults to a random ID per JVM.
+     */
+    public static final String RUN_ID = "helmjunit.run.id";
+
+    /**
+     * Whether releases left behind by earlier runs are uninstalled when a run starts. Defaults to true.
+     */
+    public static final String SWEEP_ENABLED = "helmjunit.sweep.enabled";
+
+    /**
+     * The time in minutes after the last heartbeat of another run after which its releases are considered
+     * orphaned. Runs renew the heartbeat of their releases every minute. Defaults to 10.
+     */
+    public static final String SWEEP_STALE_MINUTES = "helmjunit.sweep.stale.minutes";
+
+    /**
+     * Whether releases are kept installed after the run and reused by the next run if their configuration is
+     * unchanged, for all test classes. Defaults to false; can also be enabled per class with
+     * {@code @HelmChartTest(reuse = true)}.
+     */
+    public static final String REUSE = "helmjunit.reuse";
+
+    /**
+     * The number of namespaces the namespace pool creates up front for charts installed into
+     * {@code HelmResource.POOLED_NAMESPACE}. Defaults to 4; the pool grows on demand beyond that.
+     */
+    public static final String NAMESPACE_POOL_SIZE = "helmjunit.namespace.pool.size";
+
+    /**
+     * The directory the lifecycle timing report is written to at the end of the test run.
+     * Defaults to {@code build/helmjunit}.
+     */
+    public static final String REPORT_DIR = "helmjunit.report.dir";
+
+    /**
+     * How the images of all charts of the test plan are loaded into the cluster before the first install:
+     * {@code auto} (default) uses {@code minikube} or {@code kind} when the current kubectl context is one of
+     * them and skips preloading otherwise, {@code daemonset} pulls the images on every node with a temporary
+     * DaemonSet, and {@code off} disables preloading.
+     */
+    public static final String IMAGE_PRELOAD = "helmjunit.image.preload";
+
+    /**
+     * The number of images preloaded in parallel. Defaults to 4.
+     */
+    public static final String IMAGE_PRELOAD_PARALLELISM = "helmjunit.image.preload.parallelism";
+
+    /**
+     * How {@code HelmImage} images are built into the cluster: {@code auto} (default) uses {@code minikube}
+     * or {@code kind} when the current kubectl context is one of them and a plain {@code docker} build otherwise.
+     */
+    public static final String IMAGE_BUILD = "helmjunit.image.build";
+
+    /**
+     * Whether installs are admitted only when the CPU and memory requests of their rendered manifest fit into
+     * the free allocatable capacity of the cluster's nodes, and queued otherwise. Defaults to true.
+     */
+    public static final String ADMISSION = "helmjunit.admission";
+
+    /**
+     * The file recording the historical ready times of every chart configuration, used to flag installs that
+     * became slower. Defaults to {@code startup-baseline.json} in the cache directory.
+     */
+    public static final String BASELINE_FILE = "helmjunit.baseline.file";
+
+    /**
+     * Whether the ready times of the run are added to the baseline file at the end of the run. Defaults to true.
+     */
+    public static final String BASELINE_UPDATE = "helmjunit.baseline.update";
+
+    /**
+     * How many percent an install may be slower than the median of its baseline before it is flagged as a
+     * regression. Defaults to 50.
+     */
+    public static final String BASELINE_THRESHOLD_PERCENT = "helmjunit.baseline.threshold.percent";
+
+    /**
+     * The number of recorded ready times a chart configuration needs before its installs are compared with
+     * the baseline. Defaults to 5.
+     */
+    public static final String BASELINE_MIN_SAMPLES = "helmjunit.baseline.min.samples";
+
+    private HelmJUnitSettings() {
+    }
+
+    /**
+     * Returns the directory used to cache artifacts across runs.
+     *
+     * @return the cache directory
+     */
+    public static Path cacheDir() {
+        String configured = System.getProperty(CACHE_DIR);
+        if (configured != null && !configured.isBlank()) {
+            return Path.of(configured);
+        }
+        return Path.of(System.getProperty("user.home"), ".cache", "helmjunit");
+    }
+
+    /**
+     * Returns the startup baseline file.
+     *
+     * @return the baseline file
+     */
+    public static Path baselineFile() {
+        String configured = System.getProperty(BASELINE_FILE);
+        if (configured != null && !configured.isBlank()) {
+            return Path.of(configured);
+        }
+        return cacheDir().resolve("startup-baseline.json");
+    }
+
+    /**
+     * Returns the directory reports are written to.
+     *
+     * @return the report directory
+     */
+    public static Path reportDir() {
+        String configured = System.getProperty(REPORT_DIR);
+        if (configured != null && !configured.isBlank()) {
+            return Path.of(configured);
+        }
+        return Path.of("build", "helmjunit");
+    }
+
+    /**
+     * Reads a string system property, trimmed.
+     *
+     * @param key          the property name
+     * @param defaultValue the value used when the property is not set
+     * @return the property value
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Reads a boolean system property.
+     *
+     * @param key          the property name
+     * @param defaultValue the value used when the property is not set
+     * @return the property value
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Reads an integer system property.
+     *
+     * @param key          the property name
+     * @param defaultValue the value used when the property is not set or invalid
+     * @return the property value
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Json is a minimal JSON reader used to parse the machine-readable output of
+ * {@code helm} and {@code kubectl} (e.g. {@code -o json}) without pulling in a JSON library.
+ * <p>
+ * Objects are parsed into {@link Map}s (preserving key order), arrays into {@link List}s,
+ * numbers into {@link Long} or {@link Double}, and {@code true}/{@code false}/{@code null}
+ * into their Java counterparts.
+ */
+public final class Json {
+
+    private final String text;
+    private int pos;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses a JSON document.
+     *
+     * @param text the JSON text
+     * @return the parsed value
+     * @throws IllegalArgumentException if the text is not valid JSON
+     */
+    public static Object parse(String text) {
+        Json parser = new Json(text);
+        parser.skipWhitespace();
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    /**
+     * Navigates a parsed JSON value along the given path of object keys and array indexes.
+     *
+     * @param node the parsed JSON value to start from
+     * @param path the object keys ({@link String}) and array indexes ({@link Integer}) to follow
+     * @return the value at the end of the path, or null if any element of the path is missing
+     */
+    public static Object path(Object node, Object... path) {
+        Object current = node;
+        for (Object key : path) {
+            if (current instanceof Map<?, ?> map && key instanceof String name) {
+                current = map.get(name);
+            } else if (current instanceof List<?> list && key instanceof Integer index) {
+                current = index < list.size() ? list.get(index) : null;
+            } else {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Navigates a parsed JSON value and returns the string found at the end of the path.
+     *
+     * @param node the parsed JSON value to start from
+     * @param path the object keys and array indexes to follow
+     * @return the string value, or null if it is missing or not a string
+     */
+    public static String string(Object node, Object... path) {
+        return path(node, path) instanceof String value ? value : null;
+    }
+
+    /**
+     * Navigates a parsed JSON value and returns the number found at the end of the path.
+     *
+     * @param node         the parsed JSON value to start from
+     * @param defaultValue the value returned when the number is missing
+     * @param path         the object keys and array indexes to follow
+     * @return the number as a long, or the default value if it is missing or not a number
+     */
+    public static long number(Object node, long defaultValue, Object... path) {
+        return path(node, path) instanceof Number value ? value.longValue() : defaultValue;
+    }
+
+    /**
+     * Navigates a parsed JSON value and returns the array found at the end of the path.
+     *
+     * @param node the parsed JSON value to start from
+     * @param path the object keys and array indexes to follow
+     * @return the array elements, or an empty list if it is missing or not an array
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Object> array(Object node, Object... path) {
+        return path(node, path) instanceof List<?> list ? (List<Object>) list : List.of();
+    }
+
+    /**
+     * Navigates a parsed JSON value and returns the object found at the end of the path.
+     *
+     * @param node the parsed JSON value to start from
+     * @param path the object keys and array indexes to follow
+     * @return the object members, or an empty map if it is missing or not an object
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> object(Object node, Object... path) {
+        return path(node, path) instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+    }
+
+    private Object readValue() {
+        if (pos >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        char c = text.charAt(pos);
+        return switch (c) {
+            case '{' -> readObject();
+            case '[' -> readArray();
+            case '"' -> readString();
+            case 't' -> readLiteral("true", Boolean.TRUE);
+            case 'f' -> readLiteral("false", Boolean.FALSE);
+            case 'n' -> readLiteral("null", null);
+            default -> readNumber();
+        };
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return result;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected object key");
+            }
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            result.put(key, readValue());
+            skipWhitespace();
+            char c = next();
+            if (c == '}') return result;
+            if (c != ',') throw error("Expected ',' or '}'");
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> result = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return result;
+        }
+        while (true) {
+            skipWhitespace();
+            result.add(readValue());
+            skipWhitespace();
+            char c = next();
+            if (c == ']') return result;
+            if (c != ',') throw error("Expected ',' or ']'");
+        }
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case '"', '\\', '/' -> sb.append(escaped);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > text.length()) throw error("Invalid unicode escape");
+                    sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    pos += 4;
+                }
+                default -> throw error("Invalid escape character '" + escaped + "'");
+            }
+        }
+    }
+
+    private Number readNumber() {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+            pos++;
+        }
+        String number = text.substring(start, pos);
+        if (number.isEmpty()) {
+            throw error("Unexpected character '" + text.charAt(start) + "'");
+        }
+        try {
+            if (number.contains(".") || number.contains("e") || number.contains("E")) {
+                return Double.parseDouble(number);
+            }
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + number + "'");
+        }
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, pos)) {
+            throw error("Unexpected token");
+        }
+        pos += literal.length();
+        return value;
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private char peek() {
+        if (pos >= text.length()) throw error("Unexpected end of input");
+        return text.charAt(pos);
+    }
+
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos);
+    }
+}
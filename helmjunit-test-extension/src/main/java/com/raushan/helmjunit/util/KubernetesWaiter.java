@@ -16,18 +16,34 @@
 
 package com.raushan.helmjunit.util;
 
+import com.raushan.helmjunit.jfr.WaitEvent;
+import com.raushan.helmjunit.kube.ClusterStateCache;
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.kube.PodState;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * KubernetesWaiter is a utility class that provides methods to wait for Kubernetes resources
  * to become ready or to confirm their deletion.
- * It uses `kubectl` commands to check the status of pods and namespaces.
+ * It reads the watch-fed {@link ClusterStateCache} and blocks on its change events when available,
+ * queries the API server through the shared {@link KubernetesClient} otherwise, and falls back to a
+ * shared {@link NamespaceSnapshot} fetched with `kubectl` when the client is not available.
  */
 public class KubernetesWaiter {
 
     private static final Logger logger = LoggerFactory.getLogger(KubernetesWaiter.class);
 
+    private final Optional<KubernetesClient> client = KubernetesClient.shared();
+    private final Optional<ClusterStateCache> cache = ClusterStateCache.shared();
+
     /**
      * Waits for all pods in the specified namespace to be ready.
      * It checks the status of the pods and waits until all are running and have no restarts.
@@ -36,41 +52,69 @@ public class KubernetesWaiter {
      * @throws Exception if the pods do not become ready within the timeout
      */
     public void waitForPodsReady(String namespace) throws Exception {
-        logger.info("Waiting for pods in namespace '{}' to be Ready...", namespace);
-        int maxWaitSeconds = 60;
-        int waited = 0;
-
-        while (waited < maxWaitSeconds) {
-            ProcessBuilder pb = new ProcessBuilder("kubectl", "get", "pods", "-n", namespace, "--no-headers");
-            Process process = pb.start();
-            process.waitFor();
-
-            String output = new String(process.getInputStream().readAllBytes());
-            if (output.trim().isEmpty()) {
-                Thread.sleep(2000);
-                waited += 2;
-                continue;
-            }
-
-            boolean allReady = output.lines().allMatch(line ->
-                    line.contains("Running") &&
-                            !line.contains("0/") &&
-                            !line.contains("CrashLoopBackOff") &&
-                            !line.contains("Error")
-            );
+        waitForPodsReady(namespace, Set.of());
+    }
 
-            if (allReady) {
-                logger.info("✅ All pods in namespace [{}] are Ready.", namespace);
-                return;
-            }
+    /**
+     * Waits for the pods in the specified namespace whose name starts with one of the given prefixes to be ready.
+     * This scopes the readiness check to the pods of a single release, e.g. {@code my-app-} for the pods of
+     * the Deployment {@code my-app}.
+     *
+     * @param namespace       the Kubernetes namespace to check
+     * @param podNamePrefixes the pod name prefixes to wait for, or an empty set to wait for all pods
+     * @throws Exception if the pods do not become ready within the timeout
+     */
+    public void waitForPodsReady(String namespace, Set<String> podNamePrefixes) throws Exception {
+        logger.info("Waiting for pods in namespace '{}' to be Ready...", namespace);
+        // The caller has just changed the namespace, so a snapshot from before the change must not be used.
+        NamespaceSnapshot.invalidate(namespace);
+        boolean ready = awaitCondition("pods ready", namespace, 60, () -> {
+            List<PodState> pods = listPods(namespace).stream()
+                    .filter(pod -> podNamePrefixes.isEmpty() || podNamePrefixes.stream().anyMatch(pod.name()::startsWith))
+                    .toList();
+            return !pods.isEmpty() && pods.stream().allMatch(PodState::isReady);
+        });
 
-            Thread.sleep(2000);
-            waited += 2;
+        if (ready) {
+            logger.info("✅ All pods in namespace [{}] are Ready.", namespace);
+            return;
         }
 
         throw new RuntimeException("⏱️ Timeout waiting for pods to be ready in namespace: " + namespace);
     }
 
+    /**
+     * Checks, without waiting, if the pods in the specified namespace whose name starts with one of the given
+     * prefixes exist and are all ready.
+     *
+     * @param namespace       the Kubernetes namespace to check
+     * @param podNamePrefixes the pod name prefixes to check, or an empty set to check all pods
+     * @return true if the pods exist and are all ready, false otherwise
+     * @throws Exception if the pods cannot be listed
+     */
+    public boolean arePodsReady(String namespace, Set<String> podNamePrefixes) throws Exception {
+        NamespaceSnapshot.invalidate(namespace);
+        List<PodState> pods = listPods(namespace).stream()
+                .filter(pod -> podNamePrefixes.isEmpty() || podNamePrefixes.stream().anyMatch(pod.name()::startsWith))
+                .toList();
+        return !pods.isEmpty() && pods.stream().allMatch(PodState::isReady);
+    }
+
+    /**
+     * Returns the pods in the specified namespace whose name starts with one of the given prefixes.
+     *
+     * @param namespace       the Kubernetes namespace to list
+     * @param podNamePrefixes the pod name prefixes to match, or an empty set to return all pods
+     * @return the matching pod objects
+     * @throws Exception if the pods cannot be listed
+     */
+    public List<Map<String, Object>> listPods(String namespace, Set<String> podNamePrefixes) throws Exception {
+        return listPodObjects(namespace).stream()
+                .filter(pod -> podNamePrefixes.isEmpty()
+                        || podNamePrefixes.stream().anyMatch(String.valueOf(Json.string(pod, "metadata", "name"))::startsWith))
+                .toList();
+    }
+
     /**
      * Confirms that all resources in the specified namespace have been deleted.
      * It checks for any remaining pods and throws an exception if any are found.
@@ -80,20 +124,9 @@ public class KubernetesWaiter {
      */
     public void confirmResourcesDeleted(String namespace) throws Exception {
         logger.info("Checking if all pods are deleted in namespace '{}'", namespace);
-        ProcessBuilder builder = new ProcessBuilder("kubectl", "get", "pods", "-n", namespace, "--no-headers");
-
-        int maxWaitSeconds = 60;
-        int waited = 0;
-        while (waited < maxWaitSeconds) {
-            Process process = builder.start();
-            process.waitFor();
-
-            String output = new String(process.getInputStream().readAllBytes()).trim();
-            if (output.isEmpty()) return;
+        NamespaceSnapshot.invalidate(namespace);
 
-            Thread.sleep(2000);
-            waited += 2;
-        }
+        if (awaitCondition("pods deleted", namespace, 60, () -> listPods(namespace).isEmpty())) return;
 
         throw new RuntimeException("⏱ Timeout: some pods still exist in namespace: " + namespace);
     }
@@ -101,26 +134,197 @@ public class KubernetesWaiter {
     /**
      * Waits for a Kubernetes namespace to be fully deleted.
      * It checks the status of the namespace and waits until it is no longer present.
+     * Once it is gone, the watches of the {@link ClusterStateCache} on the namespace are stopped.
      *
      * @param namespace the name of the namespace to wait for deletion
      * @throws Exception if the namespace does not get deleted within the timeout
      */
     public void waitForNamespaceDeleted(String namespace) throws Exception {
         logger.info("Waiting for namespace '{}' to be deleted...", namespace);
-        ProcessBuilder builder = new ProcessBuilder("kubectl", "get", "namespace", namespace);
 
-        int maxWaitSeconds = 60;
+        if (awaitCondition("namespace deleted", namespace, 60, () -> !namespaceExists(namespace))) {
+            cache.ifPresent(stateCache -> stateCache.forget(namespace));
+            return;
+        }
+
+        logger.warn("⏱ Namespace deletion timeout: {}", namespace);
+        throw new RuntimeException("Namespace deletion timeout: " + namespace);
+    }
+
+    /**
+     * Returns the persistent volume claims in the specified namespace, including claims that are being deleted.
+     *
+     * @param namespace the Kubernetes namespace to list
+     * @return the claim objects
+     * @throws Exception if the claims cannot be listed
+     */
+    public List<Map<String, Object>> listClaims(String namespace) throws Exception {
+        if (client.isPresent()) {
+            return client.get().listItems(KubernetesClient.corePath(namespace, "persistentvolumeclaims"), null);
+        }
+        String json = ProcessExecutor.capture(List.of("kubectl", "get", "pvc", "-n", namespace, "-o", "json"),
+                "kubectl get pvc: " + namespace);
+        return Json.array(Json.parse(json), "items").stream().map(Json::object).toList();
+    }
+
+    /**
+     * Waits for persistent volume claims to be deleted. A deleted claim is only removed once no pod uses it
+     * any more, so this also waits for the pods that mounted it to be gone.
+     *
+     * @param namespace the Kubernetes namespace of the claims
+     * @param claimUids the UIDs of the claims to wait for, or an empty set to wait for all claims in the namespace
+     * @throws Exception if the claims are not deleted within the timeout
+     */
+    public void waitForClaimsDeleted(String namespace, Set<String> claimUids) throws Exception {
+        logger.info("Waiting for persistent volume claims in namespace '{}' to be deleted...", namespace);
+        // Claims are not watched by the cluster state cache, so they are always polled.
+        boolean deleted = awaitCondition("claims deleted", namespace, 60, false, () -> listClaims(namespace).stream()
+                .noneMatch(claim -> claimUids.isEmpty() || claimUids.contains(Json.string(claim, "metadata", "uid"))));
+
+        if (deleted) return;
+
+        throw new RuntimeException("⏱ Timeout waiting for persistent volume claims to be deleted in namespace: " + namespace);
+    }
+
+    /**
+     * Waits for the rollout of a workload (Deployment, StatefulSet or DaemonSet) to complete.
+     *
+     * @param namespace the Kubernetes namespace of the workload
+     * @param resource  the workload as {@code Kind/name}, e.g. {@code Deployment/my-app}
+     * @throws Exception if the rollout does not complete within the timeout
+     */
+    public void waitForRollout(String namespace, String resource) throws Exception {
+        logger.info("Waiting for rollout of '{}' in namespace '{}'...", resource, namespace);
+        int separator = resource.indexOf('/');
+        String kind = resource.substring(0, separator);
+        String name = resource.substring(separator + 1);
+        if (client.isEmpty()) {
+            ProcessExecutor.run(List.of("kubectl", "rollout", "status", kind.toLowerCase() + "/" + name, "-n", namespace, "--timeout=120s"),
+                    "kubectl rollout status: " + resource);
+            return;
+        }
+
+        String path = KubernetesClient.appsPath(namespace, kind.toLowerCase() + "s") + "/" + name;
+        int maxWaitSeconds = 120;
         int waited = 0;
         while (waited < maxWaitSeconds) {
-            Process process = builder.start();
-            int exit = process.waitFor();
-            if (exit != 0) return; // Deleted
-
+            Optional<Map<String, Object>> workload = client.get().get(path);
+            if (workload.isEmpty() || isRolledOut(kind, workload.get())) {
+                logger.info("✅ Rollout of '{}' complete.", resource);
+                return;
+            }
             Thread.sleep(2000);
             waited += 2;
         }
 
-        logger.warn("⏱ Namespace deletion timeout: {}", namespace);
-        throw new RuntimeException("Namespace deletion timeout: " + namespace);
+        MetricsRegistry.shared().counter("helmjunit_wait_timeouts", "Waits that timed out", "condition", "rollout").increment();
+        throw new RuntimeException("⏱️ Timeout waiting for rollout of " + resource + " in namespace: " + namespace);
+    }
+
+    /**
+     * Checks if a workload has finished rolling out, using the same conditions as {@code kubectl rollout status}:
+     * the controller has observed the latest spec and all replicas are updated and available.
+     */
+    private static boolean isRolledOut(String kind, Map<String, Object> workload) {
+        long generation = Json.number(workload, 0, "metadata", "generation");
+        long observedGeneration = Json.number(workload, -1, "status", "observedGeneration");
+        if (observedGeneration < generation) {
+            return false;
+        }
+        if ("DaemonSet".equals(kind)) {
+            long desired = Json.number(workload, 0, "status", "desiredNumberScheduled");
+            return Json.number(workload, 0, "status", "updatedNumberScheduled") >= desired
+                    && Json.number(workload, 0, "status", "numberAvailable") >= desired;
+        }
+        long replicas = Json.number(workload, 1, "spec", "replicas");
+        String readyField = "StatefulSet".equals(kind) ? "readyReplicas" : "availableReplicas";
+        return Json.number(workload, 0, "status", "updatedReplicas") >= replicas
+                && Json.number(workload, 0, "status", readyField) >= replicas
+                && Json.number(workload, 0, "status", "replicas") <= replicas;
+    }
+
+    /**
+     * Waits until a condition holds. With the {@link ClusterStateCache}, the condition is re-evaluated on
+     * every change of the cached cluster state; otherwise it is polled every two seconds.
+     * Each wait is recorded as a {@link WaitEvent}.
+     *
+     * @param description    what is waited for, e.g. {@code pods ready}
+     * @param namespace      the namespace of the resources
+     * @param maxWaitSeconds the maximum time to wait
+     * @param condition      the condition to wait for
+     * @return true if the condition holds, false if the timeout elapsed first
+     */
+    private boolean awaitCondition(String description, String namespace, int maxWaitSeconds, Condition condition)
+            throws Exception {
+        return awaitCondition(description, namespace, maxWaitSeconds, true, condition);
+    }
+
+    /**
+     * Waits until a condition holds, polling it every two seconds unless it depends on resources watched by
+     * the {@link ClusterStateCache}.
+     */
+    private boolean awaitCondition(String description, String namespace, int maxWaitSeconds, boolean watched,
+                                   Condition condition) throws Exception {
+        WaitEvent event = WaitEvent.start();
+        long deadline = System.nanoTime() + Duration.ofSeconds(maxWaitSeconds).toNanos();
+        int checks = 0;
+        int watchWakeups = 0;
+        boolean satisfied = false;
+        try {
+            while (true) {
+                long seen = cache.map(ClusterStateCache::generation).orElse(0L);
+                checks++;
+                if (condition.holds()) {
+                    satisfied = true;
+                    return true;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    MetricsRegistry.shared().counter("helmjunit_wait_timeouts", "Waits that timed out",
+                            "condition", description).increment();
+                    return false;
+                }
+                if (watched && cache.isPresent()) {
+                    cache.get().awaitChange(seen, Duration.ofNanos(remaining));
+                    if (cache.get().generation() != seen) {
+                        watchWakeups++;
+                    }
+                } else {
+                    Thread.sleep(Math.min(2000, Duration.ofNanos(remaining).toMillis() + 1));
+                }
+            }
+        } finally {
+            event.complete(description, namespace, checks, watchWakeups, satisfied);
+        }
+    }
+
+    private List<PodState> listPods(String namespace) throws Exception {
+        return listPodObjects(namespace).stream().map(PodState::fromObject).toList();
+    }
+
+    private List<Map<String, Object>> listPodObjects(String namespace) throws Exception {
+        if (cache.isPresent()) {
+            return cache.get().list(namespace, ClusterStateCache.Resource.PODS);
+        }
+        if (client.isPresent()) {
+            return client.get().listItems(KubernetesClient.corePath(namespace, "pods"), null);
+        }
+        return NamespaceSnapshot.of(namespace).podObjects();
+    }
+
+    private boolean namespaceExists(String namespace) throws Exception {
+        if (cache.isPresent()) {
+            return cache.get().namespaceExists(namespace);
+        }
+        if (client.isPresent()) {
+            return client.get().get("/api/v1/namespaces/" + namespace).isPresent();
+        }
+        return ProcessExecutor.execute(List.of("kubectl", "get", "namespace", namespace),
+                "kubectl get namespace: " + namespace).exitCode() == 0;
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean holds() throws Exception;
     }
-}
\ No newline at end of file
+}
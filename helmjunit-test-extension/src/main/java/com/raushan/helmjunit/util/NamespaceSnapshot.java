@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.util;
+
+import com.raushan.helmjunit.kube.PodState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * NamespaceSnapshot is the state of the Pods, Services and Endpoints of a namespace, fetched with a single
+ * {@code kubectl get pods,svc,endpoints -o json} call and parsed once.
+ * <p>
+ * It is used when the Kubernetes API client is not available: instead of one {@code kubectl get} per
+ * readiness, service name, service port and deletion check, all checks made within the same tick
+ * ({@value #TICK_MILLIS} ms) share one snapshot per namespace.
+ */
+public final class NamespaceSnapshot {
+
+    static final long TICK_MILLIS = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(NamespaceSnapshot.class);
+    private static final Map<String, CompletableFuture<NamespaceSnapshot>> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private final String namespace;
+    private final long takenAtNanos;
+    private final List<Map<String, Object>> pods;
+    private final List<Map<String, Object>> services;
+    private final List<Map<String, Object>> endpoints;
+
+    private NamespaceSnapshot(String namespace, long takenAtNanos, List<Object> items) {
+        this.namespace = namespace;
+        this.takenAtNanos = takenAtNanos;
+        this.pods = ofKind(items, "Pod");
+        this.services = ofKind(items, "Service");
+        this.endpoints = ofKind(items, "Endpoints");
+    }
+
+    /**
+     * Returns the snapshot of a namespace for the current tick, fetching a new one if the last snapshot
+     * is older than a tick. Concurrent callers for the same namespace share a single fetch, which runs
+     * outside of the snapshot map so that callers for other namespaces are never held up by it.
+     *
+     * @param namespace the namespace
+     * @return the snapshot
+     */
+    public static NamespaceSnapshot of(String namespace) {
+        while (true) {
+            CompletableFuture<NamespaceSnapshot> current = SNAPSHOTS.get(namespace);
+            if (current != null && !isStale(current)) {
+                return await(current);
+            }
+            CompletableFuture<NamespaceSnapshot> fetch = new CompletableFuture<>();
+            boolean isOwner = current == null
+                    ? SNAPSHOTS.putIfAbsent(namespace, fetch) == null
+                    : SNAPSHOTS.replace(namespace, current, fetch);
+            if (!isOwner) continue; // another caller started a fetch first
+
+            try {
+                fetch.complete(take(namespace));
+            } catch (RuntimeException e) {
+                SNAPSHOTS.remove(namespace, fetch);
+                fetch.completeExceptionally(e);
+                throw e;
+            }
+            return fetch.join();
+        }
+    }
+
+    /**
+     * Parses the output of {@code kubectl get pods,svc,endpoints -o json}.
+     *
+     * @param namespace the namespace the output belongs to
+     * @param json      the kubectl output
+     * @return the snapshot
+     */
+    public static NamespaceSnapshot parse(String namespace, String json) {
+        return new NamespaceSnapshot(namespace, System.nanoTime(), Json.array(Json.parse(json), "items"));
+    }
+
+    /**
+     * Discards the current snapshot of a namespace, e.g. after the caller changed it.
+     *
+     * @param namespace the namespace
+     */
+    public static void invalidate(String namespace) {
+        SNAPSHOTS.remove(namespace);
+    }
+
+    /**
+     * Returns the namespace of this snapshot.
+     *
+     * @return the namespace
+     */
+    public String namespace() {
+        return namespace;
+    }
+
+    /**
+     * Returns the readiness state of the pods in the namespace.
+     *
+     * @return the pod states
+     */
+    public List<PodState> pods() {
+        return pods.stream().map(PodState::fromObject).toList();
+    }
+
+    /**
+     * Returns the pods in the namespace.
+     *
+     * @return the pod objects
+     */
+    public List<Map<String, Object>> podObjects() {
+        return pods;
+    }
+
+    /**
+     * Returns the services in the namespace.
+     *
+     * @return the service objects
+     */
+    public List<Map<String, Object>> services() {
+        return services;
+    }
+
+    /**
+     * Returns a service by name.
+     *
+     * @param name the service name
+     * @return the service object, or empty if it does not exist
+     */
+    public Optional<Map<String, Object>> service(String name) {
+        return services.stream().filter(service -> name.equals(Json.string(service, "metadata", "name"))).findFirst();
+    }
+
+    /**
+     * Returns the endpoints in the namespace.
+     *
+     * @return the endpoints objects
+     */
+    public List<Map<String, Object>> endpoints() {
+        return endpoints;
+    }
+
+    private boolean isStale() {
+        return System.nanoTime() - takenAtNanos > TICK_MILLIS * 1_000_000;
+    }
+
+    /**
+     * Checks if a fetched snapshot is older than a tick. Fetches still in progress are never stale.
+     */
+    private static boolean isStale(CompletableFuture<NamespaceSnapshot> snapshot) {
+        return snapshot.isDone() && (snapshot.isCompletedExceptionally() || snapshot.join().isStale());
+    }
+
+    private static NamespaceSnapshot await(CompletableFuture<NamespaceSnapshot> snapshot) {
+        try {
+            return snapshot.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static NamespaceSnapshot take(String namespace) {
+        try {
+            ProcessExecutor.ProcessResult result = ProcessExecutor.execute(
+                    List.of("kubectl", "get", "pods,svc,endpoints", "-n", namespace, "-o", "json"),
+                    "kubectl get pods,svc,endpoints: " + namespace);
+            if (result.exitCode() != 0 || result.stdout().isBlank()) {
+                logger.debug("kubectl get in namespace '{}' failed: {}", namespace, result.stderr());
+                return new NamespaceSnapshot(namespace, System.nanoTime(), List.of());
+            }
+            return parse(namespace, result.stdout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading namespace " + namespace, e);
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to read namespace " + namespace, e);
+        }
+    }
+
+    private static List<Map<String, Object>> ofKind(List<Object> items, String kind) {
+        return items.stream()
+                .filter(item -> kind.equals(Json.string(item, "kind")))
+                .map(Json::object)
+                .toList();
+    }
+}
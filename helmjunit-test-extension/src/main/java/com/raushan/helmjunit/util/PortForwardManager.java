@@ -16,6 +16,11 @@
 
 package com.raushan.helmjunit.util;
 
+import com.raushan.helmjunit.jfr.PortForwardEvent;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
+import com.raushan.helmjunit.report.Phase;
+import com.raushan.helmjunit.report.PhaseTimings;
+
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.ServerSocket;
@@ -27,9 +32,15 @@ import java.net.ServerSocket;
 public class PortForwardManager implements AutoCloseable {
     private final Process portForwardProcess;
     private final int localPort;
+    private final String target;
+    private final String namespace;
 
     public PortForwardManager(String target, int targetPort, String namespace) throws Exception {
         this.localPort = findAvailablePort();
+        this.target = target;
+        this.namespace = namespace;
+        PhaseTimings.Span span = PhaseTimings.shared().start(namespace, target, Phase.PORT_FORWARD);
+        PortForwardEvent event = PortForwardEvent.start();
 
         ProcessBuilder pb = new ProcessBuilder(
                 "kubectl", "port-forward", target,
@@ -55,10 +66,15 @@ public class PortForwardManager implements AutoCloseable {
             Thread.sleep(200);
         }
 
+        span.close();
+        event.complete("start", target, namespace, localPort, started);
+        MetricsRegistry.shared().counter("helmjunit_port_forward_starts", "Port-forward start attempts",
+                "outcome", started ? "started" : "timeout").increment();
         if (!started) {
             portForwardProcess.destroy();
             throw new RuntimeException("Port-forward did not start within timeout");
         }
+        activeForwards().increment();
     }
 
     private int findAvailablePort() throws Exception {
@@ -79,6 +95,13 @@ public class PortForwardManager implements AutoCloseable {
 
     @Override
     public void close() {
+        PortForwardEvent event = PortForwardEvent.start();
         portForwardProcess.destroy();
+        event.complete("stop", target, namespace, localPort, true);
+        activeForwards().decrement();
+    }
+
+    private static MetricsRegistry.Gauge activeForwards() {
+        return MetricsRegistry.shared().gauge("helmjunit_active_port_forwards", "Running port-forwards");
     }
 }
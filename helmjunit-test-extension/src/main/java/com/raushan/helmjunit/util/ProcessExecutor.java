@@ -16,20 +16,44 @@
 
 package com.raushan.helmjunit.util;
 
+import com.raushan.helmjunit.jfr.ProcessEvent;
+import com.raushan.helmjunit.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Utility class to execute system processes and log their output.
  * This class provides a method to run a command with a context description,
  * capturing both standard output and error streams.
+ * <p>
+ * Commands are executed by a {@link Backend}, which starts operating system processes by default. Tests can
+ * replace it with {@link #useBackend(Backend)}, e.g. with a simulated cluster that answers {@code helm} and
+ * {@code kubectl} commands in process.
  */
 public class ProcessExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessExecutor.class);
+    private static final Backend PROCESS_BACKEND = ProcessExecutor::startProcess;
+    private static volatile Backend backend = PROCESS_BACKEND;
+
+    /**
+     * Replaces the backend that executes commands.
+     *
+     * @param replacement the new backend, or null to start operating system processes again
+     * @return the previous backend
+     */
+    public static Backend useBackend(Backend replacement) {
+        Backend previous = backend;
+        backend = replacement == null ? PROCESS_BACKEND : replacement;
+        return previous;
+    }
 
     /**
      * Runs a command in a new process and logs the output.
@@ -39,27 +63,205 @@ public class ProcessExecutor {
      * @throws Exception if the process fails or if there is an error reading the output
      */
     public static void run(List<String> command, String contextDescription) throws Exception {
-        ProcessBuilder builder = new ProcessBuilder(command);
+        run(command, contextDescription, null);
+    }
+
+    /**
+     * Runs a command in a new process, streams the given content to its standard input and logs the output.
+     *
+     * @param command            the command to run, as a list of strings
+     * @param contextDescription a description of the context in which the command is run
+     * @param stdin              the content written to the standard input of the process, or null for none
+     * @throws Exception if the process fails or if there is an error reading the output
+     */
+    public static void run(List<String> command, String contextDescription, byte[] stdin) throws Exception {
+        ProcessResult result = execute(command, contextDescription, stdin);
+
+        if (!result.stdout().isBlank()) {
+            logger.info("[{}] STDOUT:\n{}", contextDescription, result.stdout());
+        }
+        if (!result.stderr().isBlank()) {
+            logger.error("[{}] STDERR:\n{}", contextDescription, result.stderr());
+        }
+
+        if (result.exitCode() != 0) {
+            throw new RuntimeException("[" + contextDescription + "] failed with exit code " + result.exitCode());
+        }
+    }
+
+    /**
+     * Runs a command in a new process and returns its standard output instead of logging it.
+     * This is used for commands whose output is parsed, such as {@code helm template} or {@code -o json} queries.
+     *
+     * @param command            the command to run, as a list of strings
+     * @param contextDescription a description of the context in which the command is run
+     * @return the standard output of the process
+     * @throws Exception if the process fails or if there is an error reading the output
+     */
+    public static String capture(List<String> command, String contextDescription) throws Exception {
+        return capture(command, contextDescription, null);
+    }
+
+    /**
+     * Runs a command in a new process, streams the given content to its standard input and returns its standard output.
+     *
+     * @param command            the command to run, as a list of strings
+     * @param contextDescription a description of the context in which the command is run
+     * @param stdin              the content written to the standard input of the process, or null for none
+     * @return the standard output of the process
+     * @throws Exception if the process fails or if there is an error reading the output
+     */
+    public static String capture(List<String> command, String contextDescription, byte[] stdin) throws Exception {
+        ProcessResult result = execute(command, contextDescription, stdin);
+        if (result.exitCode() != 0) {
+            logger.error("[{}] STDERR:\n{}", contextDescription, result.stderr());
+            throw new RuntimeException("[" + contextDescription + "] failed with exit code " + result.exitCode());
+        }
+        return result.stdout();
+    }
+
+    /**
+     * Runs a command in a new process and returns its exit code and output without failing on a non-zero exit code.
+     *
+     * @param command            the command to run, as a list of strings
+     * @param contextDescription a description of the context in which the command is run
+     * @return the result of the process
+     * @throws Exception if the process cannot be started or if there is an error reading the output
+     */
+    public static ProcessResult execute(List<String> command, String contextDescription) throws Exception {
+        return execute(command, contextDescription, null);
+    }
+
+    /**
+     * Runs a command in a new process, streams the given content to its standard input and returns its exit code
+     * and output without failing on a non-zero exit code.
+     *
+     * @param command            the command to run, as a list of strings
+     * @param contextDescription a description of the context in which the command is run
+     * @param stdin              the content written to the standard input of the process, or null for none
+     * @return the result of the process
+     * @throws Exception if the process cannot be started or if there is an error reading the output
+     */
+    public static ProcessResult execute(List<String> command, String contextDescription, byte[] stdin) throws Exception {
         logger.debug("[{}] Running: {}", contextDescription, String.join(" ", command));
 
-        Process process = builder.start();
+        ProcessEvent event = ProcessEvent.start();
+        long start = System.nanoTime();
+        ProcessResult result = backend.execute(command, stdin);
+        event.complete(command, contextDescription, result.exitCode(), stdin == null ? 0 : stdin.length,
+                event.isEnabled() ? utf8Length(result.stdout()) + utf8Length(result.stderr()) : 0);
+        recordMetrics(command, result.exitCode(), start);
+        return result;
+    }
+
+    private static ProcessResult startProcess(List<String> command, byte[] stdin) throws Exception {
+        Process process = new ProcessBuilder(command).start();
+        writeStdin(process, stdin);
         InputStream stdout = process.getInputStream();
         InputStream stderr = process.getErrorStream();
 
+        // Drain stderr concurrently so a chatty process cannot block on a full pipe while stdout is read.
+        CompletableFuture<String> error = CompletableFuture.supplyAsync(() -> readFully(stderr));
         String output = new String(stdout.readAllBytes());
-        String error = new String(stderr.readAllBytes());
 
         int exitCode = process.waitFor();
+        return new ProcessResult(exitCode, output, error.join());
+    }
 
-        if (!output.isBlank()) {
-            logger.info("[{}] STDOUT:\n{}", contextDescription, output);
-        }
-        if (!error.isBlank()) {
-            logger.error("[{}] STDERR:\n{}", contextDescription, error);
+    /**
+     * Counts the bytes of a string in UTF-8, the encoding its process output was decoded from, without encoding it.
+     *
+     * @param text the decoded output
+     * @return the number of bytes of the output
+     */
+    static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
         }
+        return bytes;
+    }
 
+    /**
+     * Records the duration and outcome of a process, labelled with the tool and its subcommand, e.g. {@code helm install}.
+     */
+    private static void recordMetrics(List<String> command, int exitCode, long startNanos) {
+        String name = String.join(" ", command.subList(0, Math.min(2, command.size())));
+        MetricsRegistry metrics = MetricsRegistry.shared();
+        metrics.histogram("helmjunit_process_duration_seconds", "Duration of helm and kubectl processes", "command", name)
+                .observeSince(startNanos);
         if (exitCode != 0) {
-            throw new RuntimeException("[" + contextDescription + "] failed with exit code " + exitCode);
+            metrics.counter("helmjunit_process_failures", "Processes that exited with a non-zero code", "command", name)
+                    .increment();
         }
     }
-}
\ No newline at end of file
+
+    private static void writeStdin(Process process, byte[] stdin) {
+        OutputStream input = process.getOutputStream();
+        if (stdin == null) {
+            closeQuietly(input);
+            return;
+        }
+        // Written asynchronously so that a process producing output before consuming all input cannot deadlock.
+        CompletableFuture.runAsync(() -> {
+            try (input) {
+                input.write(stdin);
+            } catch (IOException e) {
+                logger.debug("Failed to write process stdin", e);
+            }
+        });
+    }
+
+    private static void closeQuietly(OutputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // the process may already have exited
+        }
+    }
+
+    private static String readFully(InputStream stream) {
+        try {
+            return new String(stream.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Executes commands on behalf of the {@link ProcessExecutor}.
+     */
+    @FunctionalInterface
+    public interface Backend {
+
+        /**
+         * Executes a command and waits for it to finish.
+         *
+         * @param command the command to run, as a list of strings
+         * @param stdin   the content written to the standard input of the command, or null for none
+         * @return the result of the command
+         * @throws Exception if the command cannot be executed
+         */
+        ProcessResult execute(List<String> command, byte[] stdin) throws Exception;
+    }
+
+    /**
+     * The outcome of a finished process.
+     *
+     * @param exitCode the exit code of the process
+     * @param stdout   the standard output of the process
+     * @param stderr   the standard error of the process
+     */
+    public record ProcessResult(int exitCode, String stdout, String stderr) {
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.util;
+
+import com.raushan.helmjunit.core.HelmSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * ValuesFileCache materializes classpath values files for Helm, which can only read values from the file
+ * system or standard input.
+ * <p>
+ * Each classpath resource is read once per session and written once per content hash into a managed
+ * temporary directory, so retries and per-test installs reuse the same file. The directory is deleted
+ * when the {@link HelmSession} closes.
+ * <p>
+ * With {@value HelmJUnitSettings#VALUES_STDIN} enabled, classpath values are streamed to Helm over
+ * standard input ({@code -f -}) instead and never touch the disk.
+ */
+public final class ValuesFileCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValuesFileCache.class);
+    private static final ValuesFileCache SHARED = new ValuesFileCache();
+
+    private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+    private final Map<String, Path> files = new ConcurrentHashMap<>();
+    private Path directory;
+
+    private ValuesFileCache() {
+    }
+
+    /**
+     * Returns the values file cache shared by all Helm commands.
+     *
+     * @return the shared values file cache
+     */
+    public static ValuesFileCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Checks if classpath values are streamed to Helm over standard input instead of a file.
+     *
+     * @return true if stdin streaming is enabled, false otherwise
+     */
+    public static boolean isStdinEnabled() {
+        return HelmJUnitSettings.getBoolean(HelmJUnitSettings.VALUES_STDIN, false);
+    }
+
+    /**
+     * Returns the content of a classpath values file.
+     *
+     * @param resourcePath the classpath resource path
+     * @return the content of the resource
+     * @throws IllegalArgumentException if the resource does not exist
+     */
+    public byte[] read(String resourcePath) {
+        return resource(resourcePath).content();
+    }
+
+    /**
+     * Returns the SHA-256 hash of the content of a classpath values file.
+     *
+     * @param resourcePath the classpath resource path
+     * @return the hex-encoded content hash
+     * @throws IllegalArgumentException if the resource does not exist
+     */
+    public String contentHash(String resourcePath) {
+        return resource(resourcePath).hash();
+    }
+
+    /**
+     * Returns a file holding the content of a classpath values file, writing it on first use.
+     * Resources with identical content share the same file.
+     *
+     * @param resourcePath the classpath resource path
+     * @return the materialized values file
+     * @throws IOException if the file cannot be written
+     */
+    public Path materialize(String resourcePath) throws IOException {
+        Resource resource = resource(resourcePath);
+        Path file = files.get(resource.hash());
+        if (file != null) return file;
+
+        synchronized (this) {
+            file = files.get(resource.hash());
+            if (file == null) {
+                file = directory().resolve(resource.hash() + ".yaml");
+                Files.write(file, resource.content());
+                files.put(resource.hash(), file);
+                logger.debug("Materialized classpath values file '{}' to {}", resourcePath, file);
+            }
+            return file;
+        }
+    }
+
+    private Resource resource(String resourcePath) {
+        return resources.computeIfAbsent(resourcePath, path -> {
+            try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(path)) {
+                if (is == null) throw new IllegalArgumentException("Values file not found in classpath: " + path);
+                byte[] content = is.readAllBytes();
+                return new Resource(content, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+            } catch (IOException | NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Unable to read values file from classpath: " + path, e);
+            }
+        });
+    }
+
+    private Path directory() throws IOException {
+        if (directory == null) {
+            directory = Files.createTempDirectory("helmjunit-values-");
+            HelmSession.current().onClose("classpath values files", this::clear);
+        }
+        return directory;
+    }
+
+    /**
+     * Deletes all materialized values files and their directory.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    private synchronized void clear() throws IOException {
+        files.clear();
+        resources.clear();
+        if (directory == null) return;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        directory = null;
+    }
+
+    private record Resource(byte[] content, String hash) {
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.fake;
+
+import com.raushan.helmjunit.helm.ChartCache;
+import com.raushan.helmjunit.helm.HelmClient;
+import com.raushan.helmjunit.helm.ManifestCache;
+import com.raushan.helmjunit.helm.ReleaseStore;
+import com.raushan.helmjunit.helm.StoredRelease;
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.report.ReadyTime;
+import com.raushan.helmjunit.report.ReadyTimes;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FakeClusterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeCluster cluster;
+    private String chart;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty(HelmJUnitSettings.CACHE_DIR, tempDir.resolve("cache").toString());
+        Path chartDir = Files.createDirectories(tempDir.resolve("demo"));
+        Files.writeString(chartDir.resolve("Chart.yaml"), "apiVersion: v2\nname: demo\nversion: 0.1.0\n");
+        chart = chartDir.toString();
+        cluster = new FakeCluster()
+                .podTimeline(Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(300))
+                .install();
+        assertTrue(KubernetesClient.shared().isEmpty(), "the fake cluster must disable the Kubernetes API client");
+    }
+
+    @AfterEach
+    void tearDown() {
+        cluster.close();
+        System.clearProperty(HelmJUnitSettings.CACHE_DIR);
+    }
+
+    @Test
+    void shouldRecreateSharedCachesForEachInstall() {
+        ChartCache chartCache = ChartCache.shared();
+        ManifestCache manifestCache = ManifestCache.shared();
+        cluster.close();
+
+        cluster = new FakeCluster().install();
+
+        assertNotSame(chartCache, ChartCache.shared(), "the chart cache must pick up the cache directory of the test");
+        assertNotSame(manifestCache, ManifestCache.shared());
+        assertTrue(KubernetesClient.shared().isEmpty());
+    }
+
+    @Test
+    void shouldInstallReleaseOncePodsAreReady() throws Exception {
+        HelmChartDescriptor descriptor = new HelmChartDescriptor(chart, "demo", "fake-install", List.of("replicas=2"));
+
+        new HelmClient().installChart(descriptor);
+
+        assertEquals(1, cluster.invocations("helm install demo"));
+        assertTrue(cluster.releases("fake-install").contains("demo"));
+        Optional<StoredRelease> stored = ReleaseStore.shared().latest("demo", "fake-install");
+        assertTrue(stored.isPresent());
+        assertEquals("deployed", stored.get().status());
+        assertEquals("demo-0.1.0", stored.get().chart());
+        assertEquals("2", stored.get().values().get("replicas"));
+    }
+
+    @Test
+    void shouldRetryInjectedInstallFailure() throws Exception {
+        cluster.failNext("helm install", 1);
+        HelmChartDescriptor descriptor = new HelmChartDescriptor(chart, "demo", "fake-retry", List.of());
+
+        new HelmClient().installChart(descriptor);
+
+        assertEquals(2, cluster.invocations("helm install"));
+        assertTrue(cluster.releases("fake-retry").contains("demo"));
+    }
+
+    @Test
+    void shouldFailInstallOverItsReadyBudget() {
+        cluster.latency("helm install", Duration.ofMillis(1100));
+        HelmChartDescriptor descriptor = new HelmChartDescriptor(chart, "demo", "fake-budget", List.of(), null, false,
+                null, 1);
+
+        AssertionError error = assertThrows(AssertionError.class, () -> new HelmClient().installChart(descriptor));
+
+        assertTrue(error.getMessage().contains("over its budget of 1s"), error.getMessage());
+        assertEquals(1, cluster.invocations("helm install"));
+        ReadyTime readyTime = ReadyTimes.shared().all().stream()
+                .filter(recorded -> recorded.namespace().equals("fake-budget"))
+                .findFirst().orElseThrow();
+        assertTrue(readyTime.duration().compareTo(Duration.ofSeconds(1)) > 0);
+        assertEquals(64, readyTime.fingerprint().length());
+    }
+
+    @Test
+    void shouldWaitForNamespaceFinalizationOnUninstall() throws Exception {
+        cluster.namespaceFinalization(Duration.ofMillis(500));
+        HelmChartDescriptor descriptor = new HelmChartDescriptor(chart, "demo", "fake-uninstall", List.of());
+        HelmClient helmClient = new HelmClient();
+        helmClient.installChart(descriptor);
+
+        helmClient.uninstallChart(descriptor);
+
+        assertEquals(1, cluster.invocations("helm uninstall demo"));
+        assertEquals(1, cluster.invocations("kubectl delete namespace fake-uninstall"));
+        assertFalse(cluster.namespaceExists("fake-uninstall"));
+    }
+}
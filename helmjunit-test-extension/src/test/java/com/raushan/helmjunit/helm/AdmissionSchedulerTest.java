@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.Json;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionSchedulerTest {
+
+    private static final String MANIFEST = """
+            ---
+            # Source: app/templates/configmap.yaml
+            apiVersion: v1
+            kind: ConfigMap
+            metadata:
+              name: app
+            data:
+              resources: |
+                requests:
+                  cpu: 8
+            ---
+            # Source: app/templates/deployment.yaml
+            apiVersion: apps/v1
+            kind: Deployment
+            metadata:
+              name: app
+            spec:
+              replicas: 2
+              template:
+                spec:
+                  initContainers:
+                  - name: migrate
+                    image: app:1
+                    resources:
+                      requests:
+                        cpu: 500m
+                        memory: 128Mi
+                  containers:
+                  - name: app
+                    image: app:1
+                    resources:
+                      limits:
+                        cpu: "1"
+                        memory: 512Mi
+                      requests:
+                        cpu: 250m
+                        memory: 256Mi
+                  - name: sidecar
+                    image: proxy:1
+                    resources:
+                      limits:
+                        cpu: 100m
+                        memory: 64Mi
+            ---
+            # Source: app/templates/statefulset.yaml
+            apiVersion: apps/v1
+            kind: StatefulSet
+            metadata:
+              name: db
+            spec:
+              template:
+                spec:
+                  containers:
+                  - name: db
+                    resources:
+                      requests:
+                        cpu: 100m
+                        memory: 1Gi
+              volumeClaimTemplates:
+              - metadata:
+                  name: data
+                spec:
+                  resources:
+                    requests:
+                      storage: 8Gi
+            """;
+
+    @Test
+    void shouldEstimateRequestsOfRenderedWorkloads() {
+        ResourceRequests requests = ResourceRequests.of(RenderedManifest.parse(MANIFEST));
+        // 2 x max(init 500m/128Mi, containers 350m/320Mi) + 100m/1Gi
+        assertEquals(new ResourceRequests(1100, (640L + 1024) * 1024 * 1024), requests);
+    }
+
+    @Test
+    void shouldReadRequestsOfRunningPods() {
+        Object pod = Json.parse("""
+                {"spec": {"containers": [
+                  {"resources": {"requests": {"cpu": "250m", "memory": "256Mi"}}},
+                  {"resources": {"limits": {"cpu": "1", "memory": "1Gi"}}},
+                  {}]}}
+                """);
+        assertEquals(new ResourceRequests(1250, 1280L * 1024 * 1024), ResourceRequests.ofPod(pod));
+    }
+
+    @Test
+    void shouldQueueInstallsUntilCapacityIsReleased() throws Exception {
+        AdmissionScheduler scheduler = new AdmissionScheduler(resource -> resource.equals("nodes")
+                ? Json.array(Json.parse("[{\"status\": {\"allocatable\": {\"cpu\": \"4\", \"memory\": \"8Gi\"}}}]"))
+                : Json.array(Json.parse("[{\"status\": {\"phase\": \"Running\"}, \"spec\": {\"containers\": "
+                + "[{\"resources\": {\"requests\": {\"cpu\": \"1\"}}}]}}]")), () -> false);
+
+        AdmissionScheduler.Admission first = scheduler.admit(descriptor("first"), workload("2", "1Gi"));
+        CompletableFuture<AdmissionScheduler.Admission> second = CompletableFuture.supplyAsync(() -> admit(scheduler, "second"));
+        assertThrows(TimeoutException.class, () -> second.get(500, TimeUnit.MILLISECONDS),
+                "the second install must wait, as only 1 CPU is free");
+
+        first.close();
+        second.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void shouldAdmitInstallThatNeverFitsWhenNothingElseIsInFlight() throws Exception {
+        AdmissionScheduler scheduler = new AdmissionScheduler(resource -> resource.equals("nodes")
+                ? Json.array(Json.parse("[{\"status\": {\"allocatable\": {\"cpu\": \"2\", \"memory\": \"4Gi\"}}}]"))
+                : List.of(), () -> false);
+        CompletableFuture<AdmissionScheduler.Admission> admission = CompletableFuture.supplyAsync(() -> admit(scheduler, "huge"));
+        admission.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void shouldNotReadClusterWhenNothingIsInFlightOrTornDown() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        AdmissionScheduler scheduler = new AdmissionScheduler(resource -> {
+            reads.incrementAndGet();
+            return List.of();
+        }, () -> false);
+
+        scheduler.admit(descriptor("first"), workload("2", "1Gi")).close();
+        scheduler.admit(descriptor("second"), workload("2", "1Gi")).close();
+
+        assertEquals(0, reads.get());
+    }
+
+    @Test
+    void shouldStopReadingClusterAfterFailedRead() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        AdmissionScheduler scheduler = new AdmissionScheduler(resource -> {
+            reads.incrementAndGet();
+            throw new RuntimeException("error: the server doesn't have a resource type \"" + resource + "\"");
+        }, () -> false);
+
+        AdmissionScheduler.Admission first = scheduler.admit(descriptor("first"), workload("2", "1Gi"));
+        AdmissionScheduler.Admission second = scheduler.admit(descriptor("second"), workload("2", "1Gi"));
+        AdmissionScheduler.Admission third = scheduler.admit(descriptor("third"), workload("2", "1Gi"));
+
+        assertEquals(1, reads.get());
+        first.close();
+        second.close();
+        third.close();
+    }
+
+    @Test
+    void shouldQueueInstallsUntilPendingTeardownFreesCapacity() throws Exception {
+        AtomicBoolean tearingDown = new AtomicBoolean(true);
+        AdmissionScheduler scheduler = new AdmissionScheduler(resource -> resource.equals("nodes")
+                ? Json.array(Json.parse("[{\"status\": {\"allocatable\": {\"cpu\": \"4\", \"memory\": \"8Gi\"}}}]"))
+                : tearingDown.get()
+                ? Json.array(Json.parse("[{\"status\": {\"phase\": \"Running\"}, \"spec\": {\"containers\": "
+                + "[{\"resources\": {\"requests\": {\"cpu\": \"3\"}}}]}}]"))
+                : List.of(), tearingDown::get);
+
+        CompletableFuture<AdmissionScheduler.Admission> admission = CompletableFuture.supplyAsync(() -> admit(scheduler, "next"));
+        assertThrows(TimeoutException.class, () -> admission.get(500, TimeUnit.MILLISECONDS),
+                "the install must wait for the pods of the previous class to be torn down");
+
+        tearingDown.set(false);
+        admission.get(5, TimeUnit.SECONDS).close();
+    }
+
+    private static AdmissionScheduler.Admission admit(AdmissionScheduler scheduler, String release) {
+        try {
+            return scheduler.admit(descriptor(release), workload("2", "1Gi"));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static HelmChartDescriptor descriptor(String release) {
+        return new HelmChartDescriptor("app", release, "default", List.of());
+    }
+
+    private static RenderedManifest workload(String cpu, String memory) {
+        return RenderedManifest.parse("""
+                ---
+                apiVersion: apps/v1
+                kind: Deployment
+                metadata:
+                  name: app
+                spec:
+                  template:
+                    spec:
+                      containers:
+                      - name: app
+                        resources:
+                          requests:
+                            cpu: "%s"
+                            memory: %s
+                """.formatted(cpu, memory));
+    }
+}
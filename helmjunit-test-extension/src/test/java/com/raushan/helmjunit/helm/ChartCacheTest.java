@@ -0,0 +1,223 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.fake.FakeCluster;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChartCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeCluster cluster;
+
+    @BeforeEach
+    void setUp() {
+        cluster = new FakeCluster().install();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    void shouldPullRepositoryChartOnce() throws Exception {
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), true, false);
+
+        HelmChartDescriptor first = cache.resolve(descriptor("bitnami/redis", "17.0.0"));
+        HelmChartDescriptor second = cache.resolve(descriptor("bitnami/redis", "17.0.0"));
+
+        assertEquals(first.chart(), second.chart());
+        assertTrue(first.chart().endsWith("redis-17.0.0.tgz"), first.chart());
+        assertTrue(Files.isRegularFile(Path.of(first.chart())));
+        assertEquals(1, cluster.invocations("helm pull bitnami/redis"));
+        assertEquals(0, cluster.invocations("helm search"), "pinned versions must not be looked up");
+    }
+
+    @Test
+    void shouldReuseArchiveFromDiskIndexAcrossRuns() throws Exception {
+        Path cacheDir = tempDir.resolve("charts");
+        String cached = new ChartCache(cacheDir, true, false).resolve(descriptor("bitnami/redis", "17.0.0")).chart();
+
+        String reused = new ChartCache(cacheDir, true, false).resolve(descriptor("bitnami/redis", "17.0.0")).chart();
+
+        assertEquals(cached, reused);
+        assertEquals(1, cluster.invocations("helm pull"));
+    }
+
+    @Test
+    void shouldStoreArchiveUnderItsContentDigest() throws Exception {
+        Path archive = Path.of(new ChartCache(tempDir.resolve("a"), true, false)
+                .resolve(descriptor("bitnami/redis", "17.0.0")).chart());
+        Path other = Path.of(new ChartCache(tempDir.resolve("b"), true, false)
+                .resolve(descriptor("bitnami/redis", "17.0.0")).chart());
+
+        String digest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(archive)));
+        assertEquals(digest, archive.getParent().getFileName().toString());
+        assertEquals("sha256", archive.getParent().getParent().getFileName().toString());
+        assertEquals(archive.getParent().getFileName(), other.getParent().getFileName());
+    }
+
+    @Test
+    void shouldCacheEachVersionSeparately() throws Exception {
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), true, false);
+
+        String v17 = cache.resolve(descriptor("bitnami/redis", "17.0.0")).chart();
+        String v18 = cache.resolve(descriptor("bitnami/redis", "18.0.0")).chart();
+
+        assertNotEquals(v17, v18);
+        assertEquals(2, cluster.invocations("helm pull"));
+    }
+
+    @Test
+    void shouldResolveUnpinnedVersionFromRepositoryIndex() throws Exception {
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), true, false);
+
+        HelmChartDescriptor resolved = cache.resolve(descriptor("bitnami/redis", null));
+
+        assertTrue(resolved.chart().endsWith("redis-1.0.0.tgz"), resolved.chart());
+        assertEquals(1, cluster.invocations("helm search repo bitnami/redis"));
+    }
+
+    @Test
+    void shouldSearchUnpinnedVersionOnce() throws Exception {
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), true, false);
+
+        String first = cache.resolve(descriptor("bitnami/redis", null)).chart();
+        String second = cache.resolve(descriptor("bitnami/redis", null)).chart();
+        cache.resolve(descriptor("bitnami/redis", "^1.0.0"));
+
+        assertEquals(first, second);
+        assertEquals(2, cluster.invocations("helm search repo bitnami/redis"),
+                "each chart and constraint must be searched once");
+    }
+
+    @Test
+    void shouldFailOfflineForChartMissingFromCache() {
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), true, true);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> cache.resolve(descriptor("bitnami/redis", "17.0.0")));
+
+        assertTrue(error.getMessage().contains("offline mode"), error.getMessage());
+        assertEquals(0, cluster.invocations("helm pull"));
+    }
+
+    @Test
+    void shouldResolveOfflineFromCache() throws Exception {
+        Path cacheDir = tempDir.resolve("charts");
+        String cached = new ChartCache(cacheDir, true, false).resolve(descriptor("bitnami/redis", "17.0.0")).chart();
+
+        String offline = new ChartCache(cacheDir, true, true).resolve(descriptor("bitnami/redis", "17.0.0")).chart();
+
+        assertEquals(cached, offline);
+        assertEquals(1, cluster.invocations("helm pull"));
+    }
+
+    @Test
+    void shouldPullConcurrentlyResolvedChartOnce() throws Exception {
+        cluster.latency("helm pull", Duration.ofMillis(300));
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), true, false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<HelmChartDescriptor>> resolved = List.of(
+                    executor.submit(() -> cache.resolve(descriptor("bitnami/redis", "17.0.0"))),
+                    executor.submit(() -> cache.resolve(descriptor("bitnami/redis", "17.0.0"))),
+                    executor.submit(() -> cache.resolve(descriptor("bitnami/redis", "17.0.0"))));
+
+            for (Future<HelmChartDescriptor> descriptor : resolved) {
+                assertEquals(resolved.get(0).get().chart(), descriptor.get().chart());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, cluster.invocations("helm pull"));
+    }
+
+    @Test
+    void shouldPullDifferentChartsInParallel() throws Exception {
+        cluster.latency("helm pull", Duration.ofMillis(800));
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), true, false);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        long start = System.nanoTime();
+        try {
+            Future<HelmChartDescriptor> redis = executor.submit(() -> cache.resolve(descriptor("bitnami/redis", "17.0.0")));
+            Future<HelmChartDescriptor> nginx = executor.submit(() -> cache.resolve(descriptor("bitnami/nginx", "15.0.0")));
+            redis.get();
+            nginx.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(1500)) < 0,
+                "pulling one chart must not hold up another");
+        assertEquals(2, cluster.invocations("helm pull"));
+    }
+
+    @Test
+    void shouldBuildLocalChartDependenciesOnce() throws Exception {
+        Path chartDir = Files.createDirectories(tempDir.resolve("umbrella"));
+        Files.writeString(chartDir.resolve("Chart.yaml"), """
+                apiVersion: v2
+                name: umbrella
+                version: 0.1.0
+                dependencies:
+                  - name: redis
+                    version: 17.0.0
+                    repository: https://charts.bitnami.com/bitnami
+                """);
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), true, false);
+        HelmChartDescriptor descriptor = descriptor(chartDir.toString(), null);
+
+        assertSame(descriptor, cache.resolve(descriptor));
+        cache.resolve(descriptor);
+
+        assertEquals(1, cluster.invocations("helm dependency build"));
+        assertEquals(0, cluster.invocations("helm pull"));
+    }
+
+    @Test
+    void shouldLeaveRepositoryChartsAloneWhenDisabled() throws Exception {
+        ChartCache cache = new ChartCache(tempDir.resolve("charts"), false, false);
+        HelmChartDescriptor descriptor = descriptor("bitnami/redis", "17.0.0");
+
+        assertSame(descriptor, cache.resolve(descriptor));
+        assertTrue(cluster.commands().isEmpty());
+    }
+
+    private static HelmChartDescriptor descriptor(String chart, String version) {
+        return new HelmChartDescriptor(chart, "cache", "cache-test", List.of(), null, false, version);
+    }
+}
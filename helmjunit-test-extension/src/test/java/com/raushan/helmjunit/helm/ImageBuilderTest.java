@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.annotation.HelmImage;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageBuilderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @HelmImage(context = "app", tag = "my-app", buildArgs = "VERSION=1.0", imageValue = "app.image")
+    private Object app;
+
+    private final List<List<String>> commands = new ArrayList<>();
+    private final List<String> minikubeImages = new ArrayList<>();
+
+    @AfterEach
+    void restoreBackend() {
+        ProcessExecutor.useBackend(null);
+    }
+
+    @Test
+    void shouldTagWithHashOnlyWithoutTagPart() {
+        String hash = "0123456789abcdef";
+        assertEquals("my-app:helmjunit-0123456789ab", ImageBuilder.reference("my-app", hash));
+        assertEquals("localhost:5000/my-app:helmjunit-0123456789ab", ImageBuilder.reference("localhost:5000/my-app", hash));
+        assertEquals("my-app:dev", ImageBuilder.reference("my-app:dev", hash));
+    }
+
+    @Test
+    void shouldPointChartValuesToTheImage() throws Exception {
+        HelmImage image = ImageBuilderTest.class.getDeclaredField("app").getAnnotation(HelmImage.class);
+        assertEquals(List.of("image.repository=my-app", "image.tag=helmjunit-0123456789ab",
+                        "app.image=my-app:helmjunit-0123456789ab", "image.pullPolicy=IfNotPresent"),
+                ImageBuilder.values(image, "my-app:helmjunit-0123456789ab"));
+    }
+
+    @Test
+    void shouldHashOnlyFilesThatAreSentToTheBuild() throws Exception {
+        Path context = createContext();
+        String hash = ImageBuilder.contextHash(context, "Dockerfile", List.of());
+
+        Files.writeString(context.resolve("build.log"), "ignored");
+        Files.createDirectories(context.resolve("target"));
+        Files.writeString(context.resolve("target/app.jar"), "ignored");
+        assertEquals(hash, ImageBuilder.contextHash(context, "Dockerfile", List.of()));
+
+        assertNotEquals(hash, ImageBuilder.contextHash(context, "Dockerfile", List.of("VERSION=2")));
+        Files.writeString(context.resolve("src/main.py"), "print('changed')");
+        assertNotEquals(hash, ImageBuilder.contextHash(context, "Dockerfile", List.of()));
+    }
+
+    @Test
+    void shouldBuildIntoMinikubeOnlyWhenContentChanged() throws Exception {
+        createContext();
+        HelmImage image = annotation();
+        ProcessExecutor.useBackend(this::minikube);
+
+        new ImageBuilder(tempDir.resolve("cache")).build(image);
+        assertEquals(1, builds());
+
+        new ImageBuilder(tempDir.resolve("cache")).build(image);
+        assertEquals(1, builds(), "an unchanged image present in the cluster must not be built again");
+
+        minikubeImages.clear();
+        new ImageBuilder(tempDir.resolve("cache")).build(image);
+        assertEquals(2, builds(), "an image missing from the cluster must be built again");
+    }
+
+    @Test
+    void shouldPassBuildArgumentsToTheBuild() {
+        ImageBuilder.Build build = new ImageBuilder.Build(Path.of("/src/app"), "docker/Dockerfile", List.of("VERSION=1.0"), "my-app");
+        assertEquals(List.of("minikube", "image", "build", "-t", "my-app:1", "-f", "docker/Dockerfile",
+                "--build-opt=build-arg=VERSION=1.0", "/src/app"), ImageBuilder.minikubeBuild(build, "my-app:1"));
+        assertEquals(List.of("docker", "build", "-t", "my-app:1", "-f", Path.of("/src/app/docker/Dockerfile").toString(),
+                "--build-arg", "VERSION=1.0", "/src/app"), ImageBuilder.dockerBuild(build, "my-app:1"));
+    }
+
+    private HelmImage annotation() throws Exception {
+        HelmImage declared = ImageBuilderTest.class.getDeclaredField("app").getAnnotation(HelmImage.class);
+        String context = tempDir.resolve("app").toString();
+        return (HelmImage) Proxy.newProxyInstance(HelmImage.class.getClassLoader(),
+                new Class<?>[]{HelmImage.class},
+                (proxy, method, args) -> method.getName().equals("context") ? context : method.invoke(declared, args));
+    }
+
+    private Path createContext() throws Exception {
+        Path context = tempDir.resolve("app");
+        Files.createDirectories(context.resolve("src"));
+        Files.writeString(context.resolve("Dockerfile"), "FROM python:3.12-slim\nCOPY src /app\n");
+        Files.writeString(context.resolve(".dockerignore"), "# build output\n*.log\ntarget/\n");
+        Files.writeString(context.resolve("src/main.py"), "print('hello')");
+        return context;
+    }
+
+    private long builds() {
+        return commands.stream().filter(command -> command.size() > 2 && command.get(2).equals("build")).count();
+    }
+
+    private ProcessExecutor.ProcessResult minikube(List<String> command, byte[] stdin) {
+        commands.add(command);
+        String joined = String.join(" ", command);
+        if (joined.equals("kubectl config current-context")) {
+            return new ProcessExecutor.ProcessResult(0, "minikube\n", "");
+        }
+        if (joined.equals("minikube image ls")) {
+            return new ProcessExecutor.ProcessResult(0, String.join("\n", minikubeImages), "");
+        }
+        if (joined.startsWith("minikube image build")) {
+            minikubeImages.add("docker.io/library/" + command.get(4));
+            return new ProcessExecutor.ProcessResult(0, "", "");
+        }
+        return new ProcessExecutor.ProcessResult(1, "", "unexpected command " + joined);
+    }
+}
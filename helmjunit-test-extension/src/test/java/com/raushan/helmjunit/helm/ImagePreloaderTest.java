@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.util.Json;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagePreloaderTest {
+
+    @Test
+    void shouldNormalizeImageReferences() {
+        assertEquals("docker.io/library/redis:latest", ImagePreloader.normalize("redis"));
+        assertEquals("docker.io/bitnami/redis:7.2", ImagePreloader.normalize("bitnami/redis:7.2"));
+        assertEquals("quay.io/org/app:1", ImagePreloader.normalize("quay.io/org/app:1"));
+        assertEquals("localhost:5000/app:latest", ImagePreloader.normalize("localhost:5000/app"));
+        assertEquals("docker.io/library/redis@sha256:abc", ImagePreloader.normalize("redis@sha256:abc"));
+    }
+
+    @Test
+    void shouldDetectModeFromContext() {
+        assertEquals(ImagePreloader.Mode.MINIKUBE, ImagePreloader.detectMode("minikube"));
+        assertEquals(ImagePreloader.Mode.KIND, ImagePreloader.detectMode("kind-helmjunit"));
+        assertEquals(ImagePreloader.Mode.OFF, ImagePreloader.detectMode("gke_project_zone_cluster"));
+    }
+
+    @Test
+    void shouldWaitUntilEveryContainerPulledItsImage() {
+        assertFalse(ImagePreloader.allPulled(pods("[]")));
+        assertFalse(ImagePreloader.allPulled(pods("""
+                [{"status": {"containerStatuses": [
+                  {"imageID": "docker.io/library/redis@sha256:1"},
+                  {"imageID": "", "state": {"waiting": {"reason": "ContainerCreating"}}}]}}]
+                """)));
+        assertTrue(ImagePreloader.allPulled(pods("""
+                [{"status": {"containerStatuses": [
+                  {"imageID": "docker.io/library/redis@sha256:1"},
+                  {"imageID": "", "state": {"waiting": {"reason": "CreateContainerError"}}}]}}]
+                """)));
+    }
+
+    @Test
+    void shouldRenderDaemonSetWithOneContainerPerImage() {
+        String daemonSet = ImagePreloader.daemonSet("helmjunit-prepull", List.of("redis:7", "busybox:1.36"));
+        assertTrue(daemonSet.contains("kind: DaemonSet"));
+        assertTrue(daemonSet.contains("name: helmjunit-prepull"));
+        assertTrue(daemonSet.contains("image: \"redis:7\""));
+        assertTrue(daemonSet.contains("- name: image-1"));
+        assertTrue(daemonSet.contains("operator: Exists"));
+    }
+
+    private static List<Object> pods(String json) {
+        return Json.array(Json.parse(json));
+    }
+}
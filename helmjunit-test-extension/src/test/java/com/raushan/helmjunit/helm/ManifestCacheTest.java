@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.fake.FakeCluster;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManifestCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeCluster cluster;
+    private String chart;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path chartDir = Files.createDirectories(tempDir.resolve("demo"));
+        Files.writeString(chartDir.resolve("Chart.yaml"), "apiVersion: v2\nname: demo\nversion: 0.1.0\n");
+        chart = chartDir.toString();
+        cluster = new FakeCluster().install();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    void shouldRenderOncePerConfiguration() throws Exception {
+        ManifestCache cache = new ManifestCache(8, null);
+
+        RenderedManifest first = cache.render(descriptor("manifest-test", "replicas=1"));
+        RenderedManifest second = cache.render(descriptor("manifest-test", "replicas=1"));
+        cache.render(descriptor("manifest-test", "replicas=2"));
+
+        assertSame(first, second);
+        assertTrue(first.resources().containsKey("Deployment/demo"));
+        assertEquals(2, cluster.invocations("helm template"));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedRendering() throws Exception {
+        ManifestCache cache = new ManifestCache(2, null);
+        cache.render(descriptor("manifest-a", "replicas=1"));
+        cache.render(descriptor("manifest-b", "replicas=1"));
+        cache.render(descriptor("manifest-a", "replicas=1"));
+
+        cache.render(descriptor("manifest-c", "replicas=1"));
+        cache.render(descriptor("manifest-a", "replicas=1"));
+        assertEquals(3, cluster.invocations("helm template"), "the recently used rendering must be kept");
+
+        cache.render(descriptor("manifest-b", "replicas=1"));
+        assertEquals(4, cluster.invocations("helm template"), "the least recently used rendering must be evicted");
+    }
+
+    @Test
+    void shouldReuseRenderingsFromDiskAcrossRuns() throws Exception {
+        Path diskDir = tempDir.resolve("manifests");
+        RenderedManifest rendered = new ManifestCache(8, diskDir).render(descriptor("manifest-disk", "replicas=1"));
+
+        RenderedManifest reused = new ManifestCache(8, diskDir).render(descriptor("manifest-disk", "replicas=1"));
+
+        assertTrue(reused.isEquivalentTo(rendered));
+        assertEquals(1, cluster.invocations("helm template"));
+        assertEquals(1, yamlFiles(diskDir));
+    }
+
+    @Test
+    void shouldRenderAgainAfterChartIsEdited() throws Exception {
+        Path diskDir = tempDir.resolve("manifests");
+        new ManifestCache(8, diskDir).render(descriptor("manifest-edit", "replicas=1"));
+
+        Files.writeString(Path.of(chart).resolve("values.yaml"), "replicaCount: 2\n");
+        new ManifestCache(8, diskDir).render(descriptor("manifest-edit", "replicas=1"));
+
+        assertEquals(2, cluster.invocations("helm template"));
+        assertEquals(2, yamlFiles(diskDir));
+    }
+
+    @Test
+    void shouldNotPersistRenderingsOfUnresolvedRepositoryCharts() throws Exception {
+        Path diskDir = tempDir.resolve("manifests");
+        HelmChartDescriptor descriptor = new HelmChartDescriptor("bitnami/redis", "redis", "manifest-repo", List.of());
+
+        new ManifestCache(8, diskDir).render(descriptor);
+        new ManifestCache(8, diskDir).render(descriptor);
+
+        assertEquals(2, cluster.invocations("helm template"));
+        assertEquals(0, yamlFiles(diskDir));
+    }
+
+    @Test
+    void shouldKeepKeysStableAcrossNamespaces() throws Exception {
+        HelmChartDescriptor dev = descriptor("dev", "replicas=1");
+        HelmChartDescriptor staging = descriptor("staging", "replicas=1");
+
+        assertEquals(ManifestCache.fingerprint(dev), ManifestCache.fingerprint(descriptor("dev", "replicas=1")));
+        assertNotEquals(ManifestCache.fingerprint(dev), ManifestCache.fingerprint(staging));
+        assertEquals(ManifestCache.chartFingerprint(dev), ManifestCache.chartFingerprint(staging));
+        assertNotEquals(ManifestCache.chartFingerprint(dev), ManifestCache.chartFingerprint(descriptor("dev", "replicas=2")));
+    }
+
+    @Test
+    void shouldRememberManifestOfInstalledRelease() throws Exception {
+        ManifestCache cache = new ManifestCache(8, null);
+        HelmChartDescriptor descriptor = descriptor("manifest-bound", "replicas=1");
+        RenderedManifest manifest = cache.render(descriptor);
+
+        cache.bindRelease(descriptor, manifest);
+        assertSame(manifest, cache.forRelease("demo", "manifest-bound").orElseThrow());
+
+        cache.unbindRelease(descriptor);
+        assertTrue(cache.forRelease("demo", "manifest-bound").isEmpty());
+    }
+
+    private HelmChartDescriptor descriptor(String namespace, String value) {
+        return new HelmChartDescriptor(chart, "demo", namespace, List.of(value));
+    }
+
+    private static long yamlFiles(Path dir) throws Exception {
+        if (!Files.isDirectory(dir)) return 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".yaml")).count();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.annotation.HelmResource;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamespacePoolTest {
+
+    @Test
+    void shouldDeriveValidNamespaceNamesFromRunId() {
+        assertEquals("helmjunit-pool-ci-4711-0", NamespacePool.namespaceName("CI_4711", 0));
+
+        String name = NamespacePool.namespaceName("a".repeat(63), 12);
+        assertTrue(name.length() <= 63);
+        assertTrue(name.matches("[a-z0-9]([-a-z0-9]*[a-z0-9])?"), name);
+        assertTrue(name.endsWith("-12"));
+    }
+
+    @Test
+    void shouldLabelPoolNamespacesWithRunIdentity() {
+        List<String> objects = NamespacePool.namespaceObjects(List.of("helmjunit-pool-x-0", "helmjunit-pool-x-1"));
+
+        assertEquals(2, objects.size());
+        assertTrue(objects.get(1).contains("\"name\":\"helmjunit-pool-x-1\""));
+        assertTrue(objects.get(0).contains("\"" + NamespacePool.POOL_LABEL + "\":\"true\""));
+        assertTrue(objects.get(0).contains("\"" + RunIdentity.RUN_ID_LABEL + "\":\"" + RunIdentity.current().runId() + "\""));
+    }
+
+    @Test
+    void shouldOnlyPoolDescriptorsAskingForPooledNamespace() {
+        HelmChartDescriptor pooled = new HelmChartDescriptor("bitnami/redis", "redis", HelmResource.POOLED_NAMESPACE, List.of());
+
+        assertTrue(NamespacePool.isPooled(pooled));
+        assertFalse(NamespacePool.isPooled(pooled.withNamespace("helmjunit-pool-x-0")));
+        assertTrue(NamespacePool.owning("helmjunit-pool-x-0").isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReleaseReuseTest {
+
+    @TempDir
+    Path chartDir;
+
+    @Test
+    void shouldKeepFingerprintForUnchangedConfiguration() throws Exception {
+        writeChart("replicaCount: 1");
+        HelmChartDescriptor descriptor = descriptor(List.of("replicaCount=2"));
+
+        assertEquals(ManifestCache.fingerprint(descriptor), ManifestCache.fingerprint(descriptor(List.of("replicaCount=2"))));
+        assertNotEquals(ManifestCache.fingerprint(descriptor), ManifestCache.fingerprint(descriptor(List.of("replicaCount=3"))));
+    }
+
+    @Test
+    void shouldChangeFingerprintWhenChartIsEdited() throws Exception {
+        writeChart("replicaCount: 1");
+        String before = ManifestCache.fingerprint(descriptor(List.of()));
+
+        writeChart("replicaCount: 2");
+
+        assertNotEquals(before, ManifestCache.fingerprint(descriptor(List.of())));
+    }
+
+    @Test
+    void shouldOnlyKeepMarkedReleases() {
+        ReleaseReuse reuse = ReleaseReuse.shared();
+        HelmChartDescriptor kept = new HelmChartDescriptor("bitnami/redis", "reuse-redis", "reuse-test", List.of());
+
+        reuse.keep(kept);
+
+        assertTrue(reuse.isKept(kept));
+        assertFalse(reuse.isKept(new HelmChartDescriptor("bitnami/redis", "reuse-redis", "other", List.of())));
+        assertTrue(ReleaseReuse.isEnabled(true));
+    }
+
+    private HelmChartDescriptor descriptor(List<String> values) {
+        return new HelmChartDescriptor(chartDir.toString(), "echo", "dev", values);
+    }
+
+    private void writeChart(String values) throws Exception {
+        Files.writeString(chartDir.resolve("Chart.yaml"), "apiVersion: v2\nname: echo\nversion: 0.1.0\n");
+        Files.writeString(chartDir.resolve("values.yaml"), values + "\n");
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReleaseStoreTest {
+
+    private static final String RELEASE = """
+            {"name":"echo","namespace":"test","version":3,
+             "info":{"status":"deployed","description":"Upgrade complete"},
+             "chart":{"metadata":{"name":"echo-server","version":"0.5.0"}},
+             "config":{"replicaCount":2},
+             "manifest":"---\\napiVersion: v1\\nkind: Service\\nmetadata:\\n  name: echo\\n"}""";
+
+    @Test
+    void shouldDecodeReleaseSecretData() throws IOException {
+        StoredRelease release = ReleaseStore.decode(secretData(gzip(RELEASE)));
+
+        assertEquals("echo", release.name());
+        assertEquals("test", release.namespace());
+        assertEquals(3, release.revision());
+        assertEquals("deployed", release.status());
+        assertEquals("echo-server-0.5.0", release.chart());
+        assertEquals(Map.of("replicaCount", 2L), release.values());
+        assertTrue(release.isUpgradable());
+        assertEquals("Service/echo", RenderedManifest.parse(release.manifest()).resources().keySet().iterator().next());
+    }
+
+    @Test
+    void shouldAcceptUncompressedReleases() {
+        StoredRelease release = ReleaseStore.decode(secretData(RELEASE.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, release.revision());
+    }
+
+    @Test
+    void shouldRejectSecretsWithoutReleaseData() {
+        assertThrows(IllegalArgumentException.class, () -> ReleaseStore.decode(null));
+    }
+
+    /**
+     * Encodes a release the way it is returned by the API server: base64 encoded by Helm, then by the API server.
+     */
+    private static String secretData(byte[] release) {
+        byte[] helmEncoded = Base64.getEncoder().encode(release);
+        return Base64.getEncoder().encodeToString(helmEncoded);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
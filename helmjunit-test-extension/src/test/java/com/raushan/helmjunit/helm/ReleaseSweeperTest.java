@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.Json;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReleaseSweeperTest {
+
+    private static final Instant NOW = Instant.ofEpochSecond(1_700_000_000L);
+    private static final RunIdentity CURRENT = new RunIdentity("current", "ci-runner-1", NOW);
+
+    @Test
+    void shouldSelectStaleReleasesOfOtherRuns() {
+        List<Object> secrets = Json.array(Json.parse("[" + String.join(",",
+                secret("redis", "team-a", "1", "crashed", NOW.minus(Duration.ofHours(3))),
+                secret("redis", "team-a", "2", "crashed", NOW.minus(Duration.ofHours(3))),
+                secret("kafka", "team-b", "1", "running", NOW.minus(Duration.ofMinutes(5))),
+                secret("echo", "team-c", "1", "current", NOW.minus(Duration.ofHours(3)))) + "]"));
+
+        List<HelmChartDescriptor> stale = ReleaseSweeper.findStale(secrets, CURRENT, NOW, Duration.ofMinutes(60));
+
+        assertEquals(1, stale.size());
+        assertEquals("redis", stale.get(0).releaseName());
+        assertEquals("team-a", stale.get(0).namespace());
+    }
+
+    @Test
+    void shouldKeepLongRunningReleasesWithRecentHeartbeat() {
+        List<Object> secrets = Json.array(Json.parse("[" + String.join(",",
+                secret("redis", "team-a", "1", "long-running", NOW.minus(Duration.ofHours(3)),
+                        NOW.minus(Duration.ofMinutes(1))),
+                secret("kafka", "team-b", "1", "crashed", NOW.minus(Duration.ofHours(3)),
+                        NOW.minus(Duration.ofMinutes(30)))) + "]"));
+
+        List<HelmChartDescriptor> stale = ReleaseSweeper.findStale(secrets, CURRENT, NOW, Duration.ofMinutes(10));
+
+        assertEquals(1, stale.size());
+        assertEquals("kafka", stale.get(0).releaseName());
+    }
+
+    @Test
+    void shouldSelectStalePoolNamespacesOfOtherRuns() {
+        List<Object> namespaces = Json.array(Json.parse("[" + String.join(",",
+                poolNamespace("helmjunit-pool-killed-0", "killed", NOW.minus(Duration.ofHours(3)), null),
+                poolNamespace("helmjunit-pool-alive-0", "alive", NOW.minus(Duration.ofHours(3)), NOW.minus(Duration.ofMinutes(1))),
+                poolNamespace("helmjunit-pool-current-0", "current", NOW.minus(Duration.ofHours(3)), null)) + "]"));
+
+        List<String> stale = ReleaseSweeper.findStalePoolNamespaces(namespaces, CURRENT, NOW, Duration.ofMinutes(10));
+
+        assertEquals(List.of("helmjunit-pool-killed-0"), stale);
+    }
+
+    @Test
+    void shouldProduceValidLabelValues() {
+        assertEquals("ci-runner-1.example.com", RunIdentity.toLabelValue("ci-runner-1.example.com"));
+        assertEquals("my-laptop", RunIdentity.toLabelValue("-my laptop_"));
+        assertEquals(63, RunIdentity.toLabelValue("x".repeat(100)).length());
+    }
+
+    private static String secret(String name, String namespace, String revision, String runId, Instant startedAt) {
+        return """
+                {"metadata":{"name":"sh.helm.release.v1.%s.v%s","namespace":"%s",
+                 "labels":{"owner":"helm","name":"%s","version":"%s",
+                  "helmjunit.io/run-id":"%s","helmjunit.io/started-at":"%d"}}}"""
+                .formatted(name, revision, namespace, name, revision, runId, startedAt.getEpochSecond());
+    }
+
+    private static String secret(String name, String namespace, String revision, String runId, Instant startedAt,
+                                 Instant heartbeat) {
+        return """
+                {"metadata":{"name":"sh.helm.release.v1.%s.v%s","namespace":"%s",
+                 "labels":{"owner":"helm","name":"%s","version":"%s",
+                  "helmjunit.io/run-id":"%s","helmjunit.io/started-at":"%d"},
+                 "annotations":{"helmjunit.io/heartbeat":"%d"}}}"""
+                .formatted(name, revision, namespace, name, revision, runId, startedAt.getEpochSecond(),
+                        heartbeat.getEpochSecond());
+    }
+
+    private static String poolNamespace(String name, String runId, Instant startedAt, Instant heartbeat) {
+        return """
+                {"metadata":{"name":"%s",
+                 "labels":{"helmjunit.io/pool":"true","helmjunit.io/run-id":"%s","helmjunit.io/started-at":"%d"},
+                 "annotations":{%s}}}"""
+                .formatted(name, runId, startedAt.getEpochSecond(),
+                        heartbeat == null ? "" : "\"helmjunit.io/heartbeat\":\"" + heartbeat.getEpochSecond() + "\"");
+    }
+}
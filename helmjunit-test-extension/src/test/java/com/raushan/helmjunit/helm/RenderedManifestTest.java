@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderedManifestTest {
+
+    private static final String MANIFEST = """
+            ---
+            # Source: echo/templates/service.yaml
+            apiVersion: v1
+            kind: Service
+            metadata:
+              name: echo
+              labels:
+                app.kubernetes.io/name: echo
+            spec:
+              type: ClusterIP
+            ---
+            # Source: echo/templates/deployment.yaml
+            apiVersion: apps/v1
+            kind: Deployment
+            metadata:
+              labels:
+                app.kubernetes.io/name: echo
+              name: echo
+            spec:
+              replicas: 1
+            """;
+
+    @Test
+    void shouldSplitManifestIntoResources() {
+        RenderedManifest manifest = RenderedManifest.parse(MANIFEST);
+        assertEquals(Set.of("Service/echo", "Deployment/echo"), manifest.resources().keySet());
+        assertFalse(manifest.resources().get("Service/echo").contains("# Source"));
+    }
+
+    @Test
+    void shouldTreatIdenticalRenderingsAsEquivalent() {
+        RenderedManifest installed = RenderedManifest.parse(MANIFEST);
+        RenderedManifest desired = RenderedManifest.parse(MANIFEST.replace("# Source: echo/templates/service.yaml", ""));
+        assertTrue(desired.isEquivalentTo(installed));
+        assertTrue(desired.changedResources(installed).isEmpty());
+    }
+
+    @Test
+    void shouldReportOnlyChangedResources() {
+        RenderedManifest installed = RenderedManifest.parse(MANIFEST);
+        RenderedManifest desired = RenderedManifest.parse(MANIFEST.replace("replicas: 1", "replicas: 2"));
+        assertFalse(desired.isEquivalentTo(installed));
+        assertEquals(Set.of("Deployment/echo"), desired.changedResources(installed));
+    }
+
+    @Test
+    void shouldIgnoreEmptyDocuments() {
+        RenderedManifest manifest = RenderedManifest.parse("---\n# Source: empty.yaml\n---\n");
+        assertTrue(manifest.isEmpty());
+    }
+
+    @Test
+    void shouldCollectContainerImages() {
+        RenderedManifest manifest = RenderedManifest.parse(MANIFEST.replace("  replicas: 1", """
+                  replicas: 1
+                  template:
+                    spec:
+                      initContainers:
+                      - image: "busybox:1.36"
+                        name: init
+                      containers:
+                      - name: echo
+                        image: 'ealen/echo-server:0.9.2' # pinned
+                      - name: sidecar
+                        image: busybox:1.36
+                """));
+        assertEquals(Set.of("busybox:1.36", "ealen/echo-server:0.9.2"), manifest.images());
+    }
+
+    @Test
+    void shouldCollectClaimTemplatesOfStatefulSets() {
+        RenderedManifest manifest = RenderedManifest.parse(MANIFEST + """
+                ---
+                apiVersion: v1
+                kind: PersistentVolumeClaim
+                metadata:
+                  name: echo-cache
+                ---
+                apiVersion: apps/v1
+                kind: StatefulSet
+                metadata:
+                  name: echo-db
+                spec:
+                  template:
+                    metadata:
+                      name: ignored
+                  volumeClaimTemplates:
+                  - metadata:
+                      labels:
+                        app.kubernetes.io/name: echo
+                      name: data
+                    spec:
+                      accessModes: ["ReadWriteOnce"]
+                  - metadata:
+                      name: logs
+                """);
+        assertEquals(Set.of("data-echo-db-", "logs-echo-db-"), manifest.claimTemplatePrefixes());
+        assertTrue(RenderedManifest.parse(MANIFEST).claimTemplatePrefixes().isEmpty());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.fake.FakeCluster;
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResetStrategyTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FakeCluster cluster;
+    private String chart;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty(HelmJUnitSettings.CACHE_DIR, tempDir.resolve("cache").toString());
+        Path chartDir = Files.createDirectories(tempDir.resolve("demo"));
+        Files.writeString(chartDir.resolve("Chart.yaml"), "apiVersion: v2\nname: demo\nversion: 0.1.0\n");
+        chart = chartDir.toString();
+        cluster = new FakeCluster().install();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cluster.close();
+        System.clearProperty(HelmJUnitSettings.CACHE_DIR);
+    }
+
+    @Test
+    void shouldReinstallWithFreshClaims() throws Exception {
+        HelmChartDescriptor descriptor = descriptor("reset-reinstall", FakeCluster.PERSISTENCE);
+        HelmClient helmClient = new HelmClient();
+        helmClient.installChart(descriptor);
+        Map<String, String> before = cluster.claims("reset-reinstall");
+
+        helmClient.uninstallChart(descriptor);
+        helmClient.installChart(descriptor);
+
+        Map<String, String> after = cluster.claims("reset-reinstall");
+        assertEquals(before.keySet(), after.keySet());
+        before.forEach((name, uid) -> assertNotEquals(uid, after.get(name), name));
+        assertEquals(2, cluster.invocations("helm install demo"));
+        assertEquals(2, cluster.readyPods("reset-reinstall").size());
+    }
+
+    @Test
+    void shouldRollBackToBaselineValues() throws Exception {
+        HelmClient helmClient = new HelmClient();
+        helmClient.installChart(descriptor("reset-rollback", "replicas=1"));
+        helmClient.recordBaseline(descriptor("reset-rollback", "replicas=1"));
+        helmClient.upgradeChart(descriptor("reset-rollback", FakeCluster.PERSISTENCE));
+
+        helmClient.rollbackToBaseline(descriptor("reset-rollback", "replicas=1"));
+
+        StoredRelease restored = ReleaseStore.shared().latest("demo", "reset-rollback").orElseThrow();
+        assertEquals(3, restored.revision());
+        assertEquals("1", restored.values().get("replicas"));
+        assertFalse(restored.manifest().contains("StatefulSet"));
+        assertEquals(1, cluster.invocations("helm rollback demo 1"));
+    }
+
+    @Test
+    void shouldRollBackToBaselineOfUpgradedRelease() throws Exception {
+        HelmClient helmClient = new HelmClient();
+        helmClient.installChart(descriptor("reset-upgraded", "replicas=1"));
+        // The release already existed before the tests, so the install before all tests upgrades it in place.
+        helmClient.installChart(descriptor("reset-upgraded", FakeCluster.PERSISTENCE));
+        helmClient.recordBaseline(descriptor("reset-upgraded", FakeCluster.PERSISTENCE));
+        helmClient.upgradeChart(descriptor("reset-upgraded", "replicas=1"));
+
+        helmClient.rollbackToBaseline(descriptor("reset-upgraded", FakeCluster.PERSISTENCE));
+
+        StoredRelease restored = ReleaseStore.shared().latest("demo", "reset-upgraded").orElseThrow();
+        assertEquals(1, cluster.invocations("helm rollback demo 2"));
+        assertEquals(0, cluster.invocations("helm rollback demo 1"));
+        assertEquals(4, restored.revision());
+        assertEquals("true", restored.values().get("persistence.enabled"));
+        assertTrue(restored.manifest().contains("StatefulSet"));
+    }
+
+    @Test
+    void shouldRequireRecordedBaselineForRollback() throws Exception {
+        HelmClient helmClient = new HelmClient();
+        helmClient.installChart(descriptor("reset-unrecorded", "replicas=1"));
+
+        assertThrows(IllegalStateException.class, () -> helmClient.rollbackToBaseline(descriptor("reset-unrecorded", "replicas=1")));
+        assertEquals(0, cluster.invocations("helm rollback"));
+    }
+
+    @Test
+    void shouldRestartRolloutWithFreshStatefulSetClaims() throws Exception {
+        // Deleted claims linger long enough for the first recreated StatefulSet pod to bind to them.
+        cluster.claimFinalization(Duration.ofMillis(300));
+        HelmChartDescriptor descriptor = descriptor("reset-restart", FakeCluster.PERSISTENCE);
+        HelmClient helmClient = new HelmClient();
+        helmClient.installChart(descriptor);
+        Map<String, String> before = cluster.claims("reset-restart");
+
+        helmClient.restartRollout(descriptor);
+
+        Map<String, String> after = cluster.claims("reset-restart");
+        assertEquals(before.get("demo-cache"), after.get("demo-cache"), "claims rendered by the chart must be kept");
+        assertNotNull(after.get("data-demo-db-0"));
+        assertNotEquals(before.get("data-demo-db-0"), after.get("data-demo-db-0"));
+        assertEquals(1, cluster.invocations("kubectl delete pvc -n reset-restart data-demo-db-0"));
+        assertTrue(cluster.readyPods("reset-restart").contains("demo-db-0"));
+        assertEquals(2, cluster.readyPods("reset-restart").size());
+    }
+
+    @Test
+    void shouldRestartRolloutWithoutTouchingClaimsOfStatelessReleases() throws Exception {
+        HelmChartDescriptor descriptor = descriptor("reset-stateless", "replicas=1");
+        HelmClient helmClient = new HelmClient();
+        helmClient.installChart(descriptor);
+        String pod = cluster.readyPods("reset-stateless").iterator().next();
+
+        helmClient.restartRollout(descriptor);
+
+        assertEquals(0, cluster.invocations("kubectl delete pvc"));
+        assertEquals(1, cluster.invocations("kubectl delete pods -n reset-stateless"));
+        assertEquals(1, cluster.readyPods("reset-stateless").size());
+        assertFalse(cluster.readyPods("reset-stateless").contains(pod));
+    }
+
+    private HelmChartDescriptor descriptor(String namespace, String value) {
+        return new HelmChartDescriptor(chart, "demo", namespace, List.of(value));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.helm;
+
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.KubernetesWaiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeardownReaperTest {
+
+    private final List<String> uninstalled = new CopyOnWriteArrayList<>();
+    private final Set<String> deletedNamespaces = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch uninstallGate = new CountDownLatch(1);
+
+    private final HelmClient helmClient = new HelmClient() {
+        @Override
+        public void uninstallRelease(HelmChartDescriptor descriptor) throws Exception {
+            assertTrue(uninstallGate.await(10, TimeUnit.SECONDS));
+            uninstalled.add(descriptor.releaseName());
+        }
+
+        @Override
+        public void deleteNamespaces(Collection<String> namespaces) {
+            namespaces.forEach(namespace -> assertFalse(HelmClient.isProtectedNamespace(namespace)));
+            deletedNamespaces.addAll(namespaces);
+        }
+    };
+
+    private final KubernetesWaiter waiter = new KubernetesWaiter() {
+        @Override
+        public void waitForNamespaceDeleted(String namespace) {
+            assertTrue(deletedNamespaces.contains(namespace));
+        }
+    };
+
+    @Test
+    void shouldReturnBeforeReleasesAreUninstalled() throws Exception {
+        TeardownReaper reaper = new TeardownReaper(helmClient, waiter, 2, 10);
+
+        reaper.submit(descriptor("redis", "team-a"));
+        reaper.submit(descriptor("postgres", "team-a"));
+        assertTrue(uninstalled.isEmpty());
+
+        uninstallGate.countDown();
+        reaper.awaitTeardown("team-a");
+
+        assertEquals(Set.of("redis", "postgres"), Set.copyOf(uninstalled));
+        assertEquals(Set.of("team-a"), deletedNamespaces);
+        reaper.close();
+    }
+
+    @Test
+    void shouldNeverDeleteProtectedNamespaces() {
+        TeardownReaper reaper = new TeardownReaper(helmClient, waiter, 2, 10);
+        uninstallGate.countDown();
+
+        reaper.submit(descriptor("echo", "default"));
+        reaper.submit(descriptor("metrics", "kube-system"));
+        reaper.submit(descriptor("redis", "team-b"));
+        reaper.close();
+
+        assertEquals(3, uninstalled.size());
+        assertEquals(Set.of("team-b"), deletedNamespaces);
+    }
+
+    private static HelmChartDescriptor descriptor(String releaseName, String namespace) {
+        return new HelmChartDescriptor("bitnami/" + releaseName, releaseName, namespace, List.of());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.jfr;
+
+import com.raushan.helmjunit.util.ProcessExecutor;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessEventTest {
+
+    @TempDir
+    Path recordingDir;
+
+    @Test
+    void shouldRecordProcessesRunByExecutor() throws Exception {
+        Path file = recordingDir.resolve("helmjunit.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ProcessEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            ProcessExecutor.execute(List.of("cat"), "jfr test", "hello".getBytes(StandardCharsets.UTF_8));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.raushan.helmjunit.Process"))
+                .toList();
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("cat", event.getString("command"));
+        assertEquals("jfr test", event.getString("context"));
+        assertEquals(0, event.getInt("exitCode"));
+        assertEquals(5, event.getLong("bytesIn"));
+        assertEquals(5, event.getLong("bytesOut"));
+    }
+
+    @Test
+    void shouldCountOutputInBytesRatherThanCharacters() throws Exception {
+        Path file = recordingDir.resolve("helmjunit-utf8.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ProcessEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            ProcessExecutor.execute(List.of("cat"), "jfr test", "héllo ✓ \uD83D\uDE80".getBytes(StandardCharsets.UTF_8));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        RecordedEvent event = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.raushan.helmjunit.Process"))
+                .findFirst().orElseThrow();
+        assertEquals(15, event.getLong("bytesIn"));
+        assertEquals(15, event.getLong("bytesOut"));
+    }
+
+    @Test
+    void shouldNotFillEventsWhenNotRecording() {
+        ProcessEvent event = ProcessEvent.start();
+
+        event.complete(List.of("helm", "version"), "not recorded", 0, 0, 42);
+
+        assertNull(event.command);
+        assertEquals(0, event.bytesOut);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import com.raushan.helmjunit.util.Json;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterStateCacheTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ClusterStateCache cache;
+    private final AtomicInteger podLists = new AtomicInteger();
+    private final AtomicInteger podWatches = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            String uri = exchange.getRequestURI().toString();
+            if (uri.startsWith("/api/v1/namespaces/test/pods?watch=true")) {
+                if (podWatches.incrementAndGet() == 1) {
+                    respond(exchange, "{\"type\":\"ADDED\",\"object\":" + pod("worker-0", "worker", "6") + "}\n"
+                            + "{\"type\":\"DELETED\",\"object\":" + pod("echo-1", "echo", "7") + "}\n");
+                } else {
+                    sleepQuietly();
+                    respond(exchange, "");
+                }
+            } else if (uri.startsWith("/api/v1/namespaces/test/pods")) {
+                podLists.incrementAndGet();
+                respond(exchange, "{\"metadata\":{\"resourceVersion\":\"5\"},\"items\":["
+                        + pod("echo-0", "echo", "4") + "," + pod("echo-1", "echo", "5") + "]}");
+            } else if (uri.startsWith("/api/v1/pods?watch=true")) {
+                sleepQuietly();
+                respond(exchange, "");
+            } else if (uri.startsWith("/api/v1/pods")) {
+                respond(exchange, "{\"metadata\":{\"resourceVersion\":\"8\"},\"items\":["
+                        + pod("demo-db-0", "pool-1", "demo", "6") + "," + pod("demo-db-0", "pool-2", "demo", "7") + "]}");
+            } else if (uri.startsWith("/api/v1/namespaces?watch=true")) {
+                sleepQuietly();
+                respond(exchange, "");
+            } else if (uri.startsWith("/api/v1/namespaces")) {
+                respond(exchange, "{\"metadata\":{\"resourceVersion\":\"3\"},\"items\":[{\"metadata\":{\"name\":\"test\"}}]}");
+            } else {
+                respond(exchange, "{\"metadata\":{\"resourceVersion\":\"1\"},\"items\":[]}");
+            }
+        });
+        server.start();
+        KubeConfig config = new KubeConfig("http://127.0.0.1:" + server.getAddress().getPort(), "test",
+                null, null, null, null, false);
+        cache = new ClusterStateCache(new KubernetesClient(config));
+    }
+
+    @AfterEach
+    void stopServer() {
+        cache.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldApplyWatchEventsToListedState() throws Exception {
+        long seen = cache.generation();
+        assertEquals(2, cache.byInstance("test", ClusterStateCache.Resource.PODS, "echo").size());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        // Both events arrive in one stream, but are applied one after the other.
+        while ((cache.get("test", ClusterStateCache.Resource.PODS, "worker-0").isEmpty()
+                || cache.get("test", ClusterStateCache.Resource.PODS, "echo-1").isPresent()) && System.nanoTime() < deadline) {
+            cache.awaitChange(seen, Duration.ofSeconds(1));
+            seen = cache.generation();
+        }
+
+        assertTrue(cache.get("test", ClusterStateCache.Resource.PODS, "worker-0").isPresent());
+        assertEquals(List.of("echo-0"), cache.byInstance("test", ClusterStateCache.Resource.PODS, "echo").stream()
+                .map(pod -> PodState.fromObject(pod).name())
+                .toList());
+        assertEquals(1, podLists.get());
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromMemory() {
+        for (int i = 0; i < 5; i++) {
+            cache.list("test", ClusterStateCache.Resource.PODS);
+            cache.list("test", ClusterStateCache.Resource.SERVICES);
+        }
+        assertEquals(1, podLists.get());
+        assertTrue(cache.namespaceExists("test"));
+        assertFalse(cache.namespaceExists("other"));
+    }
+
+    @Test
+    void shouldListNamespaceAgainAfterItIsForgotten() {
+        cache.list("test", ClusterStateCache.Resource.PODS);
+        cache.forget("tes");
+        cache.list("test", ClusterStateCache.Resource.PODS);
+        assertEquals(1, podLists.get());
+
+        cache.forget("test");
+
+        assertEquals(2, cache.list("test", ClusterStateCache.Resource.PODS).size());
+        assertEquals(2, podLists.get());
+    }
+
+    @Test
+    void shouldKeepSameNamedPodsOfDifferentNamespaces() {
+        List<String> namespaces = cache.listAll("pods").stream()
+                .map(pod -> Json.string(pod, "metadata", "namespace"))
+                .sorted()
+                .toList();
+
+        assertEquals(List.of("pool-1", "pool-2"), namespaces);
+    }
+
+    private static String pod(String name, String instance, String resourceVersion) {
+        return pod(name, "test", instance, resourceVersion);
+    }
+
+    private static String pod(String name, String namespace, String instance, String resourceVersion) {
+        return """
+                {"metadata":{"name":"%s","namespace":"%s","resourceVersion":"%s",\
+                "labels":{"app.kubernetes.io/instance":"%s"}},\
+                "spec":{"containers":[{"name":"app"}]},"status":{"phase":"Running"}}"""
+                .formatted(name, namespace, resourceVersion, instance);
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(30_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
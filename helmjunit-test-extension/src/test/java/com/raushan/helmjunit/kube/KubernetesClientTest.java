@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.kube;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KubernetesClientTest {
+
+    private static final String POD = """
+            {"metadata":{"name":"echo-7d9c"},"spec":{"containers":[{"name":"echo"}]},
+             "status":{"phase":"Running","containerStatuses":[{"ready":true,"state":{"running":{}}}]}}""";
+
+    private HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private KubernetesClient client;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String uri = exchange.getRequestURI().toString();
+            requests.add(exchange.getRequestMethod() + " " + uri + " " + exchange.getRequestHeaders().getFirst("Authorization"));
+            if (uri.startsWith("/api/v1/namespaces/test/pods?watch=true")) {
+                respond(exchange, 200, "{\"type\":\"ADDED\",\"object\":" + POD.replace("\n", "") + "}\n"
+                        + "{\"type\":\"DELETED\",\"object\":{\"metadata\":{\"name\":\"echo-7d9c\"}}}\n");
+            } else if (uri.startsWith("/api/v1/namespaces/test/pods")) {
+                respond(exchange, 200, "{\"kind\":\"PodList\",\"metadata\":{\"resourceVersion\":\"42\"},\"items\":[" + POD + "]}");
+            } else if (uri.equals("/api/v1/namespaces/test")) {
+                respond(exchange, 200, "{\"metadata\":{\"name\":\"test\"}}");
+            } else if (uri.equals("/api/v1/namespaces/forbidden")) {
+                respond(exchange, 403, "{\"kind\":\"Status\",\"message\":\"namespaces is forbidden\"}");
+            } else {
+                respond(exchange, 404, "{\"kind\":\"Status\",\"reason\":\"NotFound\"}");
+            }
+        });
+        server.start();
+
+        String kubeconfig = """
+                apiVersion: v1
+                kind: Config
+                current-context: test
+                clusters:
+                  - name: stand-in
+                    cluster:
+                      server: http://127.0.0.1:%d/
+                contexts:
+                  - name: test
+                    context:
+                      cluster: stand-in
+                      user: tester
+                      namespace: test
+                users:
+                  - name: tester
+                    user:
+                      token: secret-token
+                """.formatted(server.getAddress().getPort());
+        client = new KubernetesClient(KubeConfig.parse(kubeconfig, Path.of(".")));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldParseCurrentContextOfKubeconfig() {
+        KubeConfig config = client.config();
+        assertEquals("http://127.0.0.1:" + server.getAddress().getPort(), config.server());
+        assertEquals("test", config.namespace());
+        assertEquals("secret-token", config.token());
+        assertNull(config.certificateAuthority());
+    }
+
+    @Test
+    void shouldRejectExecCredentialPlugins() {
+        String kubeconfig = """
+                current-context: cloud
+                clusters:
+                  - name: cloud
+                    cluster:
+                      server: https://example.com
+                contexts:
+                  - name: cloud
+                    context:
+                      cluster: cloud
+                      user: cloud-user
+                users:
+                  - name: cloud-user
+                    user:
+                      exec:
+                        command: gke-gcloud-auth-plugin
+                """;
+        assertThrows(IllegalArgumentException.class, () -> KubeConfig.parse(kubeconfig, Path.of(".")));
+    }
+
+    @Test
+    void shouldListItemsWithLabelSelectorAndToken() throws Exception {
+        List<Map<String, Object>> pods = client.listItems(KubernetesClient.corePath("test", "pods"), "app.kubernetes.io/instance=echo");
+
+        assertEquals(1, pods.size());
+        assertEquals("GET /api/v1/namespaces/test/pods?labelSelector=app.kubernetes.io%2Finstance%3Decho Bearer secret-token",
+                requests.get(0));
+        PodState state = PodState.fromObject(pods.get(0));
+        assertEquals(new PodState("echo-7d9c", "Running", 1, 1), state);
+        assertTrue(state.isReady());
+    }
+
+    @Test
+    void shouldReportMissingObjects() throws Exception {
+        assertTrue(client.get("/api/v1/namespaces/test").isPresent());
+        assertEquals(Optional.empty(), client.get("/api/v1/namespaces/gone"));
+        assertFalse(client.delete("/api/v1/namespaces/gone"));
+    }
+
+    @Test
+    void shouldSurfaceApiErrors() {
+        KubernetesClientException e = assertThrows(KubernetesClientException.class,
+                () -> client.get("/api/v1/namespaces/forbidden"));
+        assertEquals(403, e.getStatusCode());
+        assertTrue(e.getMessage().contains("namespaces is forbidden"));
+    }
+
+    @Test
+    void shouldDeliverWatchEvents() throws Exception {
+        List<WatchEvent> events = new CopyOnWriteArrayList<>();
+        CountDownLatch closed = new CountDownLatch(1);
+
+        try (KubernetesClient.Watch ignored = client.watch(KubernetesClient.corePath("test", "pods"), null, "42",
+                events::add, failure -> closed.countDown())) {
+            assertTrue(closed.await(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of("ADDED", "DELETED"), events.stream().map(WatchEvent::type).toList());
+        assertTrue(requests.get(0).contains("resourceVersion=42"));
+    }
+
+    @Test
+    void shouldParseKubectlPodLines() {
+        assertFalse(PodState.fromKubectlLine("echo-7d9c   0/1   Running   0   10s").isReady());
+        assertFalse(PodState.fromKubectlLine("echo-7d9c   1/1   CrashLoopBackOff   3   1m").isReady());
+        assertTrue(PodState.fromKubectlLine("echo-7d9c   10/10   Running   0   1m").isReady());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
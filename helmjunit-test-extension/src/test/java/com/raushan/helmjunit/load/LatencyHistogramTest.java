@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinOnePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(Duration.ofMillis(millis));
+        }
+
+        assertEquals(1000, histogram.count());
+        assertWithinOnePercent(500_000_000L, histogram.percentile(50));
+        assertWithinOnePercent(990_000_000L, histogram.percentile(99));
+        assertWithinOnePercent(999_000_000L, histogram.percentile(99.9));
+        assertEquals(Duration.ofSeconds(1), histogram.percentile(100));
+        assertEquals(Duration.ofSeconds(1), histogram.max());
+    }
+
+    @Test
+    void shouldCountSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(-5);
+        histogram.recordNanos(7);
+        histogram.recordNanos(200);
+
+        assertEquals(Duration.ZERO, histogram.percentile(0));
+        assertEquals(Duration.ofNanos(7), histogram.percentile(50));
+        assertEquals(Duration.ofNanos(200), histogram.percentile(100));
+    }
+
+    @Test
+    void shouldMapEveryValueToABucketThatContainsIt() {
+        for (long value : new long[]{0, 255, 256, 257, 511, 512, 1_000_003, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value, "upper bound of " + value);
+            assertTrue(index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < value, "lower bound of " + value);
+        }
+    }
+
+    @Test
+    void shouldReportZeroWhenEmpty() {
+        assertEquals(Duration.ZERO, new LatencyHistogram().percentile(99));
+    }
+
+    private static void assertWithinOnePercent(long expectedNanos, Duration actual) {
+        assertEquals(expectedNanos, actual.toNanos(), expectedNanos * 0.01, "percentile was " + actual);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.load;
+
+import com.raushan.helmjunit.annotation.LoadModel;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private HttpServer server;
+    private final AtomicInteger served = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ok", exchange -> {
+            served.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/flaky", exchange -> {
+            exchange.sendResponseHeaders(served.incrementAndGet() % 2 == 0 ? 503 : 200, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldSendRequestsAtTheTargetRate() throws Exception {
+        LoadTestResult result = new LoadGenerator(profile("/ok", LoadModel.OPEN, 100, 200, Duration.ofSeconds(1))).run();
+
+        assertEquals(100, result.requests(), 15);
+        assertEquals(0, result.errors(), result.summary() + " " + result.errorsByCause());
+        assertTrue(served.get() > result.requests(), "warmup requests are sent but not measured");
+        assertTrue(result.p50().compareTo(result.p99()) <= 0);
+        assertTrue(result.p99().compareTo(result.max()) <= 0);
+    }
+
+    @Test
+    void shouldCountErrorsByCause() throws Exception {
+        LoadTestResult result = new LoadGenerator(profile("/flaky", LoadModel.CLOSED, 0, 2, Duration.ZERO)).run();
+
+        assertTrue(result.requests() > 10);
+        assertEquals(result.errors(), (long) result.errorsByCause().get("HTTP 503"));
+        assertEquals(0.5, result.errorRate(), 0.1);
+    }
+
+    @Test
+    void shouldDropRequestsBeyondTheConcurrencyLimit() throws Exception {
+        LoadTestResult result = new LoadGenerator(profile("/slow", LoadModel.OPEN, 50, 2, Duration.ZERO)).run();
+
+        assertTrue(result.errorsByCause().getOrDefault(LoadGenerator.DROPPED, 0L) > 20, result.summary());
+        assertTrue(result.p99().compareTo(Duration.ofMillis(300)) >= 0, result.summary());
+    }
+
+    private LoadProfile profile(String path, LoadModel model, int rps, int concurrency, Duration warmup) {
+        return new LoadProfile(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path), "GET", model,
+                rps, concurrency, warmup, Duration.ofSeconds(1), Duration.ofSeconds(2));
+    }
+}
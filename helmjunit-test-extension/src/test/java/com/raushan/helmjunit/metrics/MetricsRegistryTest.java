@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.metrics;
+
+import com.raushan.helmjunit.core.HelmSession;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    @TempDir
+    Path reportDir;
+
+    @Test
+    void shouldExportCountersAndGaugesAsOpenMetrics() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("helmjunit_install_retries", "Retried installs", "chart", "bitnami/redis").increment();
+        registry.counter("helmjunit_install_retries", "Retried installs", "chart", "bitnami/redis").increment();
+        MetricsRegistry.Gauge releases = registry.gauge("helmjunit_active_releases", "Installed releases");
+        releases.increment();
+        releases.increment();
+        releases.decrement();
+
+        String text = registry.toOpenMetrics();
+
+        assertTrue(text.contains("# TYPE helmjunit_install_retries counter\n"));
+        assertTrue(text.contains("helmjunit_install_retries_total{chart=\"bitnami/redis\"} 2\n"));
+        assertTrue(text.contains("helmjunit_active_releases 1\n"));
+        assertTrue(text.contains("helmjunit_active_releases_peak 2\n"));
+        assertTrue(text.endsWith("# EOF\n"));
+    }
+
+    @Test
+    void shouldExportCumulativeHistogramBuckets() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Histogram histogram = registry.histogram("helmjunit_install_duration_seconds", "Install time",
+                "chart", "redis");
+        histogram.observe(Duration.ofMillis(300));
+        histogram.observe(Duration.ofSeconds(4));
+        histogram.observe(Duration.ofMinutes(10));
+
+        String text = registry.toOpenMetrics();
+
+        assertTrue(text.contains("helmjunit_install_duration_seconds_bucket{chart=\"redis\",le=\"0.1\"} 0\n"));
+        assertTrue(text.contains("helmjunit_install_duration_seconds_bucket{chart=\"redis\",le=\"0.5\"} 1\n"));
+        assertTrue(text.contains("helmjunit_install_duration_seconds_bucket{chart=\"redis\",le=\"5\"} 2\n"));
+        assertTrue(text.contains("helmjunit_install_duration_seconds_bucket{chart=\"redis\",le=\"300\"} 2\n"));
+        assertTrue(text.contains("helmjunit_install_duration_seconds_bucket{chart=\"redis\",le=\"+Inf\"} 3\n"));
+        assertTrue(text.contains("helmjunit_install_duration_seconds_count{chart=\"redis\"} 3\n"));
+        assertTrue(text.contains("helmjunit_install_duration_seconds_sum{chart=\"redis\"} 604.3\n"), text);
+    }
+
+    @Test
+    void shouldRejectConflictingTypesAndOddLabels() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("helmjunit_waits", "Waits");
+
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("helmjunit_waits", "Waits"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("helmjunit_other", "Other", "chart"));
+    }
+
+    @Test
+    void shouldOnlyWriteFileWhenMetricsWereRecorded() throws Exception {
+        Path file = reportDir.resolve("metrics").resolve(MetricsRegistry.FILE_NAME);
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.writeTo(file);
+        assertFalse(Files.exists(file));
+
+        registry.counter("helmjunit_process_failures", "Failures", "command", "helm install").increment();
+        registry.writeTo(file);
+        assertTrue(Files.readString(file).contains("helmjunit_process_failures_total{command=\"helm install\"} 1"));
+    }
+
+    @Test
+    void shouldExportSharedRegistryAtTheEndOfEverySession() throws Exception {
+        Path file = reportDir.resolve(MetricsRegistry.FILE_NAME);
+        System.setProperty(HelmJUnitSettings.REPORT_DIR, reportDir.toString());
+        try {
+            MetricsRegistry.shared().counter("helmjunit_session_test", "Sessions").increment();
+            HelmSession.current().close();
+            assertTrue(Files.readString(file).contains("helmjunit_session_test_total 1"));
+
+            MetricsRegistry.shared().counter("helmjunit_session_test", "Sessions").increment();
+            HelmSession.current().close();
+            assertTrue(Files.readString(file).contains("helmjunit_session_test_total 2"));
+        } finally {
+            System.clearProperty(HelmJUnitSettings.REPORT_DIR);
+        }
+    }
+}
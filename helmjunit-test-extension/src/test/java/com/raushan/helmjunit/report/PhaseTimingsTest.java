@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import com.raushan.helmjunit.model.HelmChartDescriptor;
+import com.raushan.helmjunit.util.Json;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseTimingsTest {
+
+    @TempDir
+    Path reportDir;
+
+    @Test
+    void shouldDerivePodPhasesFromTimestamps() {
+        List<Map<String, Object>> pods = List.of(
+                pod("2024-05-01T10:00:00Z", "2024-05-01T10:00:01Z", "2024-05-01T10:00:21Z", "2024-05-01T10:00:30Z"),
+                pod("2024-05-01T10:00:02Z", "2024-05-01T10:00:04Z", "2024-05-01T10:00:10Z", "2024-05-01T10:00:40Z"));
+
+        Map<Phase, Instant[]> phases = PhaseTimings.podPhases(pods);
+
+        assertArrayEquals(new Instant[]{Instant.parse("2024-05-01T10:00:00Z"), Instant.parse("2024-05-01T10:00:04Z")},
+                phases.get(Phase.POD_SCHEDULING));
+        assertArrayEquals(new Instant[]{Instant.parse("2024-05-01T10:00:01Z"), Instant.parse("2024-05-01T10:00:21Z")},
+                phases.get(Phase.IMAGE_PULL));
+        assertArrayEquals(new Instant[]{Instant.parse("2024-05-01T10:00:10Z"), Instant.parse("2024-05-01T10:00:40Z")},
+                phases.get(Phase.READINESS));
+    }
+
+    @Test
+    void shouldAttributePhasesToBoundTestClass() {
+        PhaseTimings timings = new PhaseTimings();
+        HelmChartDescriptor descriptor = new HelmChartDescriptor("bitnami/redis", "redis", "timing", List.of());
+        timings.bind(descriptor, "com.example.RedisTest");
+
+        timings.start(descriptor, Phase.HELM_INSTALL).close();
+        timings.start("timing", null, Phase.NAMESPACE_DELETION).close();
+        timings.start("other", "nginx", Phase.HELM_INSTALL).close();
+
+        List<String> owners = timings.timings().stream().map(PhaseTiming::testClass).toList();
+        assertEquals(List.of("com.example.RedisTest", "com.example.RedisTest", PhaseTimings.UNBOUND_CLASS), owners);
+    }
+
+    @Test
+    void shouldWriteJsonAndHtmlReports() throws Exception {
+        Instant start = Instant.parse("2024-05-01T10:00:00Z");
+        List<PhaseTiming> timings = List.of(
+                new PhaseTiming("com.example.RedisTest", "timing", "redis", Phase.HELM_INSTALL, start, start.plusMillis(1500)),
+                new PhaseTiming("com.example.RedisTest", "timing", "redis", Phase.READINESS, start.plusMillis(1500), start.plusSeconds(9)),
+                new PhaseTiming("com.example.RedisTest", "timing", null, Phase.NAMESPACE_DELETION, start.plusSeconds(10), start.plusSeconds(30)));
+
+        new TimingReport("run-1", timings).writeTo(reportDir);
+
+        Object json = Json.parse(Files.readString(reportDir.resolve(TimingReport.JSON_FILE)));
+        assertEquals(1500, Json.number(json, 0, "totals", "HELM_INSTALL"));
+        assertEquals("com.example.RedisTest", Json.string(json, "classes", 0, "name"));
+        assertEquals(2, Json.array(json, "classes", 0, "releases").size());
+        assertEquals(7500, Json.number(json, 0, "classes", 0, "releases", 0, "phases", 1, "durationMs"));
+        assertNull(Json.path(json, "classes", 0, "releases", 1, "release"));
+
+        String html = Files.readString(reportDir.resolve(TimingReport.HTML_FILE));
+        assertTrue(html.contains("timing/redis"));
+        assertTrue(html.contains("left:33.333%;width:66.667%"), html);
+    }
+
+    private static Map<String, Object> pod(String created, String scheduled, String started, String ready) {
+        return Json.object(Json.parse("""
+                {"metadata": {"name": "redis-0", "creationTimestamp": "%s"},
+                 "status": {"conditions": [
+                    {"type": "PodScheduled", "status": "True", "lastTransitionTime": "%s"},
+                    {"type": "Ready", "status": "True", "lastTransitionTime": "%s"}],
+                  "containerStatuses": [{"name": "redis", "state": {"running": {"startedAt": "%s"}}}]}}
+                """.formatted(created, scheduled, ready, started)));
+    }
+}
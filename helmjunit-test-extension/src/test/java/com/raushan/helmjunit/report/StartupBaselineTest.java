@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupBaselineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldFlagInstallsSlowerThanTheBaseline() {
+        StartupBaseline baseline = new StartupBaseline();
+        for (int seconds : new int[]{10, 11, 12, 10, 11, 13}) {
+            baseline.add(readyTime("redis", seconds * 1000));
+        }
+
+        Optional<StartupBaseline.Regression> regression = baseline.check(readyTime("redis", 20_000), 50, 5);
+
+        assertTrue(regression.isPresent());
+        assertEquals(11, regression.get().medianSeconds(), 0.001);
+        assertEquals(13, regression.get().p90Seconds(), 0.001);
+        assertEquals(6, regression.get().samples());
+        assertTrue(regression.get().describe().contains("82% slower than its median of 11.0s"), regression.get().describe());
+        assertTrue(baseline.check(readyTime("redis", 16_000), 50, 5).isEmpty());
+        assertTrue(baseline.check(readyTime("redis", 20_000), 50, 7).isEmpty(), "not enough history");
+        assertTrue(baseline.check(readyTime("postgres", 60_000), 50, 1).isEmpty(), "no history");
+    }
+
+    @Test
+    void shouldPersistTheLatestSamplesPerFingerprint() throws Exception {
+        StartupBaseline baseline = new StartupBaseline();
+        for (int run = 0; run < StartupBaseline.MAX_SAMPLES + 5; run++) {
+            baseline.add(readyTime("redis", 1000 + run));
+        }
+        baseline.add(readyTime("postgres", 2500));
+        Path file = tempDir.resolve("nested").resolve("startup-baseline.json");
+
+        baseline.writeTo(file);
+        StartupBaseline loaded = StartupBaseline.load(file);
+
+        List<Double> redis = loaded.entry("fp-redis").orElseThrow().seconds();
+        assertEquals(StartupBaseline.MAX_SAMPLES, redis.size());
+        assertEquals(1.005, redis.get(0), 0.0001);
+        assertEquals("bitnami/postgres", loaded.entry("fp-postgres").orElseThrow().chart());
+        assertEquals(List.of(2.5), loaded.entry("fp-postgres").orElseThrow().seconds());
+    }
+
+    @Test
+    void shouldIgnoreAnUnreadableBaseline() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("startup-baseline.json"), "{not json");
+
+        assertTrue(StartupBaseline.load(file).entry("fp-redis").isEmpty());
+        assertTrue(StartupBaseline.load(tempDir.resolve("missing.json")).entry("fp-redis").isEmpty());
+    }
+
+    @Test
+    void shouldRenderRegressionReport() {
+        StartupBaseline.Regression regression = new StartupBaseline.Regression(readyTime("redis", 20_000), 10, 12, 8);
+
+        String json = StartupBaselineListener.toJson(List.of(regression));
+
+        assertTrue(json.contains("\"chart\": \"bitnami/redis\""));
+        assertTrue(json.contains("\"seconds\": 20.000"));
+        assertTrue(json.contains("\"baselineMedianSeconds\": 10.000"));
+        assertEquals("{\n  \"regressions\": []\n}\n", StartupBaselineListener.toJson(List.of()));
+    }
+
+    private static ReadyTime readyTime(String chart, long millis) {
+        return new ReadyTime("bitnami/" + chart, chart, "startup", "fp-" + chart, Duration.ofMillis(millis));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.resources;
+
+import com.raushan.helmjunit.annotation.ResourceBudget;
+import com.raushan.helmjunit.util.Json;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceSamplerTest {
+
+    @Test
+    void shouldTrackPeakAndAverageUsagePerContainer() {
+        Deque<String> responses = new ArrayDeque<>(List.of(
+                podMetrics("redis-0", "100m", "100Mi") + "," + podMetrics("redis-1", "300m", "200Mi"),
+                podMetrics("redis-0", "200000000n", "300Mi")));
+        ResourceSampler sampler = new ResourceSampler("redis", "it", Duration.ofHours(1),
+                (namespace, selector) -> {
+                    assertEquals("app.kubernetes.io/instance=redis", selector);
+                    return Json.array(Json.parse("{\"items\":[" + responses.pop() + "]}"), "items");
+                });
+
+        sampler.sample();
+        sampler.sample();
+        ContainerUsage usage = sampler.usage().container("redis").orElseThrow();
+
+        assertEquals(2, sampler.usage().polls());
+        assertEquals(3, usage.samples());
+        assertEquals(300, usage.peakCpuMillis(), 0.001);
+        assertEquals(200, usage.averageCpuMillis(), 0.001);
+        assertEquals(300, usage.peakMemoryMi(), 0.001);
+        assertEquals(200, usage.averageMemoryMi(), 0.001);
+    }
+
+    @Test
+    void shouldReportExceededLimits() throws Exception {
+        ResourceSampler sampler = new ResourceSampler("redis", "it", Duration.ofHours(1),
+                (namespace, selector) -> Json.array(Json.parse("{\"items\":[" + podMetrics("redis-0", "1", "1Gi") + "]}"), "items"));
+        sampler.sample();
+
+        List<String> violations = sampler.usage().violations(budget("budgeted"));
+
+        assertEquals(List.of("redis/redis peak memory 1024.0Mi exceeds 512Mi"), violations);
+        assertTrue(sampler.usage().violations(budget("otherContainer")).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreAnUnavailableMetricsApi() {
+        ResourceSampler sampler = new ResourceSampler("redis", "it", Duration.ofMillis(10),
+                (namespace, selector) -> {
+                    throw new RuntimeException("the server could not find the requested resource");
+                });
+
+        sampler.start();
+        ResourceUsage usage = sampler.stop();
+
+        assertEquals(0, usage.polls());
+        assertTrue(usage.containers().isEmpty());
+    }
+
+    @Test
+    void shouldParseQuantities() {
+        assertEquals(250, Quantities.cpuMillis("250m"), 0.001);
+        assertEquals(2000, Quantities.cpuMillis("2"), 0.001);
+        assertEquals(1.5, Quantities.cpuMillis("1500u"), 0.001);
+        assertEquals(512L * 1024 * 1024, Quantities.bytes("512Mi"));
+        assertEquals(1_000_000_000L, Quantities.bytes("1G"));
+        assertEquals(4096, Quantities.bytes("4Ki"));
+        assertEquals(-1, Quantities.bytes("lots"));
+    }
+
+    @ResourceBudget(maxMemoryMi = 512, maxCpuMillis = 1000)
+    void budgeted() {
+    }
+
+    @ResourceBudget(container = "sidecar", maxMemoryMi = 1)
+    void otherContainer() {
+    }
+
+    private static ResourceBudget budget(String method) throws NoSuchMethodException {
+        return ResourceSamplerTest.class.getDeclaredMethod(method).getAnnotation(ResourceBudget.class);
+    }
+
+    private static String podMetrics(String pod, String cpu, String memory) {
+        return "{\"metadata\":{\"name\":\"" + pod + "\"},\"containers\":[{\"name\":\"redis\",\"usage\":{\"cpu\":\""
+                + cpu + "\",\"memory\":\"" + memory + "\"}}]}";
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.util;
+
+import com.raushan.helmjunit.fake.FakeCluster;
+import com.raushan.helmjunit.kube.PodState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamespaceSnapshotTest {
+
+    private static final String OUTPUT = """
+            {"apiVersion":"v1","kind":"List","items":[
+              {"kind":"Pod","metadata":{"name":"echo-0"},"spec":{"containers":[{"name":"echo"}]},
+               "status":{"phase":"Running","containerStatuses":[{"ready":true,"state":{"running":{}}}]}},
+              {"kind":"Pod","metadata":{"name":"echo-1"},"spec":{"containers":[{"name":"echo"}]},
+               "status":{"phase":"Running","containerStatuses":[{"ready":false,"state":{"waiting":{"reason":"CrashLoopBackOff"}}}]}},
+              {"kind":"Service","metadata":{"name":"echo","labels":{"app.kubernetes.io/instance":"echo"}},
+               "spec":{"clusterIP":"10.0.0.1","ports":[{"port":8080}]}},
+              {"kind":"Endpoints","metadata":{"name":"echo"},"subsets":[]}
+            ]}""";
+
+    @Test
+    void shouldSplitOutputByKind() {
+        NamespaceSnapshot snapshot = NamespaceSnapshot.parse("test", OUTPUT);
+
+        assertEquals(List.of(new PodState("echo-0", "Running", 1, 1), new PodState("echo-1", "CrashLoopBackOff", 0, 1)),
+                snapshot.pods());
+        assertEquals(1, snapshot.services().size());
+        assertEquals(1, snapshot.endpoints().size());
+    }
+
+    @Test
+    void shouldLookUpServicesByName() {
+        NamespaceSnapshot snapshot = NamespaceSnapshot.parse("test", OUTPUT);
+
+        assertEquals(8080L, Json.number(snapshot.service("echo").orElseThrow(), -1, "spec", "ports", 0, "port"));
+        assertTrue(snapshot.service("missing").isEmpty());
+    }
+
+    @Test
+    void shouldShareOneFetchBetweenConcurrentCallers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (FakeCluster cluster = new FakeCluster().latency("kubectl get pods,svc,endpoints", Duration.ofMillis(300)).install()) {
+            NamespaceSnapshot.invalidate("snapshot-shared");
+            List<Future<NamespaceSnapshot>> snapshots = List.of(
+                    executor.submit(() -> NamespaceSnapshot.of("snapshot-shared")),
+                    executor.submit(() -> NamespaceSnapshot.of("snapshot-shared")),
+                    executor.submit(() -> NamespaceSnapshot.of("snapshot-shared")));
+
+            for (Future<NamespaceSnapshot> snapshot : snapshots) {
+                assertSame(snapshots.get(0).get(), snapshot.get());
+            }
+            assertEquals(1, cluster.invocations("kubectl get pods,svc,endpoints -n snapshot-shared"));
+
+            NamespaceSnapshot.invalidate("snapshot-shared");
+            assertNotSame(snapshots.get(0).get(), NamespaceSnapshot.of("snapshot-shared"));
+            assertEquals(2, cluster.invocations("kubectl get pods,svc,endpoints -n snapshot-shared"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
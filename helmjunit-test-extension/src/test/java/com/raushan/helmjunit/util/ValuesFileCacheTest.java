@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValuesFileCacheTest {
+
+    private final ValuesFileCache cache = ValuesFileCache.shared();
+
+    @Test
+    void shouldHashClasspathValuesByContent() throws Exception {
+        byte[] content = cache.read("values/cache-values.yaml");
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertEquals(hash, cache.contentHash("values/cache-values.yaml"));
+        assertEquals(hash, cache.contentHash("values/cache-values-copy.yaml"));
+    }
+
+    @Test
+    void shouldMaterializeEachContentOnce() throws Exception {
+        Path file = cache.materialize("values/cache-values.yaml");
+
+        assertEquals(file, cache.materialize("values/cache-values.yaml"));
+        assertEquals(file, cache.materialize("values/cache-values-copy.yaml"), "identical content must share one file");
+        assertArrayEquals(cache.read("values/cache-values.yaml"), Files.readAllBytes(file));
+        assertEquals(cache.contentHash("values/cache-values.yaml") + ".yaml", file.getFileName().toString());
+    }
+
+    @Test
+    void shouldRejectMissingClasspathValues() {
+        assertThrows(IllegalArgumentException.class, () -> cache.contentHash("values/missing.yaml"));
+        assertThrows(IllegalArgumentException.class, () -> cache.materialize("values/missing.yaml"));
+    }
+}
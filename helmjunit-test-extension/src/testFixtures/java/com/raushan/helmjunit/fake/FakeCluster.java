@@ -0,0 +1,1197 @@
+/*
+ * Copyright 2025 Raushan Kumar
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.raushan.helmjunit.fake;
+
+import com.raushan.helmjunit.helm.ChartCache;
+import com.raushan.helmjunit.helm.ManifestCache;
+import com.raushan.helmjunit.kube.ClusterStateCache;
+import com.raushan.helmjunit.kube.KubernetesClient;
+import com.raushan.helmjunit.util.HelmJUnitSettings;
+import com.raushan.helmjunit.util.Json;
+import com.raushan.helmjunit.util.ProcessExecutor;
+import com.raushan.helmjunit.util.ProcessExecutor.ProcessResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An in-process stand-in for {@code helm} and {@code kubectl} that simulates a Kubernetes cluster, so that the
+ * release lifecycle can be exercised and timed without a cluster.
+ * <p>
+ * Once {@link #install() installed}, the cluster answers all commands of the {@link ProcessExecutor} and
+ * forces HelmJUnit to use {@code kubectl} instead of the Kubernetes API. Releases render a Deployment and a
+ * Service named after the release, whose pods move through a configurable {@link #podTimeline timeline}:
+ * scheduled, containers started, ready. Releases installed with {@value #PERSISTENCE} also render a
+ * PersistentVolumeClaim mounted by the Deployment and a StatefulSet with a volume claim template; a pod whose
+ * claim is missing or still terminating stays pending, as it would on a real cluster. Release state is kept in Helm release Secrets, so that the
+ * {@code ReleaseStore} and the {@code ReleaseSweeper} read it as they would from a real cluster.
+ * <p>
+ * Commands can be slowed down with {@link #latency} and made to fail with {@link #failNext}; all commands are
+ * recorded for inspection. {@code kubectl port-forward} is not simulated, as it is not run through the
+ * {@link ProcessExecutor}.
+ *
+ * <pre>{@code
+ * try (FakeCluster cluster = new FakeCluster()
+ *         .latency("helm install", Duration.ofMillis(500))
+ *         .podTimeline(Duration.ofMillis(100), Duration.ofMillis(400), Duration.ofSeconds(1))
+ *         .install()) {
+ *     new HelmClient().installChart(descriptor);
+ *     assertEquals(1, cluster.invocations("helm install"));
+ * }
+ * }</pre>
+ */
+public class FakeCluster implements ProcessExecutor.Backend, AutoCloseable {
+
+    /**
+     * The {@code --set} value that makes a release render persistent volume claims.
+     */
+    public static final String PERSISTENCE = "persistence.enabled=true";
+
+    private static final String HELM_VERSION = "v3.14.0+gfake";
+    private static final Duration NEVER = Duration.ofDays(365);
+    private static final Pattern CHART_FIELD = Pattern.compile("(?m)^(name|version|appVersion):\\s*[\"']?([^\\s\"']+)");
+    private static final Set<String> VALUE_OPTIONS = Set.of("namespace", "n", "labels", "set", "f", "values",
+            "version", "filter", "output", "o", "timeout", "destination", "l", "selector", "p", "type", "field-selector");
+
+    private final Map<String, FakeNamespace> namespaces = new HashMap<>();
+    private final Map<String, Duration> latencies = new LinkedHashMap<>();
+    private final Map<String, Integer> failures = new LinkedHashMap<>();
+    private final List<List<String>> commands = new ArrayList<>();
+    private Duration scheduledAfter = Duration.ZERO;
+    private Duration startedAfter = Duration.ZERO;
+    private Duration readyAfter = Duration.ZERO;
+    private Duration namespaceFinalization = Duration.ZERO;
+    private Duration claimFinalization = Duration.ZERO;
+    private int replicas = 1;
+    private ProcessExecutor.Backend previous;
+    private String previousClientSetting;
+
+    /**
+     * Delays all commands starting with a prefix, e.g. {@code helm install} or {@code kubectl get}.
+     * The latency is added before the command is simulated; for {@code helm install --wait}, the wait for the
+     * pods comes on top of it.
+     *
+     * @param commandPrefix the command prefix, with arguments separated by single spaces
+     * @param latency       the delay
+     * @return this cluster
+     */
+    public synchronized FakeCluster latency(String commandPrefix, Duration latency) {
+        latencies.put(commandPrefix, latency);
+        return this;
+    }
+
+    /**
+     * Makes the next commands starting with a prefix fail with exit code 1 without changing the cluster.
+     *
+     * @param commandPrefix the command prefix, with arguments separated by single spaces
+     * @param times         the number of commands that fail
+     * @return this cluster
+     */
+    public synchronized FakeCluster failNext(String commandPrefix, int times) {
+        failures.merge(commandPrefix, times, Integer::sum);
+        return this;
+    }
+
+    /**
+     * Sets when the pods of a release are scheduled, have started their containers and become ready,
+     * relative to their creation.
+     *
+     * @param scheduled the time until the pod is scheduled
+     * @param started   the time until its containers are running
+     * @param ready     the time until it is ready
+     * @return this cluster
+     */
+    public synchronized FakeCluster podTimeline(Duration scheduled, Duration started, Duration ready) {
+        this.scheduledAfter = scheduled;
+        this.startedAfter = started;
+        this.readyAfter = ready;
+        return this;
+    }
+
+    /**
+     * Sets how long a deleted namespace stays in the {@code Terminating} phase.
+     *
+     * @param finalization the finalization time
+     * @return this cluster
+     */
+    public synchronized FakeCluster namespaceFinalization(Duration finalization) {
+        this.namespaceFinalization = finalization;
+        return this;
+    }
+
+    /**
+     * Sets how long a deleted persistent volume claim stays in the {@code Terminating} state once no pod
+     * uses it any more. A pod created for the claim in the meantime binds to it and stays pending.
+     *
+     * @param finalization the finalization time
+     * @return this cluster
+     */
+    public synchronized FakeCluster claimFinalization(Duration finalization) {
+        this.claimFinalization = finalization;
+        return this;
+    }
+
+    /**
+     * Sets the number of pods created for each release.
+     *
+     * @param replicas the number of pods per release
+     * @return this cluster
+     */
+    public synchronized FakeCluster replicas(int replicas) {
+        this.replicas = replicas;
+        return this;
+    }
+
+    /**
+     * Routes all commands of the {@link ProcessExecutor} to this cluster and disables the Kubernetes API client.
+     * The shared API client, cluster state cache, chart cache and manifest cache are discarded, so that they are
+     * created again from the current system properties, e.g. a per-test {@value HelmJUnitSettings#CACHE_DIR}.
+     *
+     * @return this cluster
+     */
+    public synchronized FakeCluster install() {
+        previousClientSetting = System.setProperty(HelmJUnitSettings.KUBE_CLIENT_ENABLED, "false");
+        previous = ProcessExecutor.useBackend(this);
+        resetSharedState();
+        return this;
+    }
+
+    /**
+     * Restores the backend and settings that were in place before {@link #install()}.
+     */
+    @Override
+    public synchronized void close() {
+        ProcessExecutor.useBackend(previous);
+        if (previousClientSetting == null) {
+            System.clearProperty(HelmJUnitSettings.KUBE_CLIENT_ENABLED);
+        } else {
+            System.setProperty(HelmJUnitSettings.KUBE_CLIENT_ENABLED, previousClientSetting);
+        }
+        resetSharedState();
+    }
+
+    private static void resetSharedState() {
+        KubernetesClient.resetShared();
+        ClusterStateCache.resetShared();
+        ChartCache.resetShared();
+        ManifestCache.resetShared();
+    }
+
+    /**
+     * Returns all commands executed so far, in order.
+     *
+     * @return the commands
+     */
+    public synchronized List<List<String>> commands() {
+        return List.copyOf(commands);
+    }
+
+    /**
+     * Counts the executed commands starting with a prefix, including failed ones.
+     *
+     * @param commandPrefix the command prefix, with arguments separated by single spaces
+     * @return the number of matching commands
+     */
+    public synchronized int invocations(String commandPrefix) {
+        return (int) commands.stream().filter(command -> matches(command, commandPrefix)).count();
+    }
+
+    /**
+     * Checks if a namespace exists, including namespaces that are still terminating.
+     *
+     * @param namespace the namespace
+     * @return true if the namespace exists
+     */
+    public synchronized boolean namespaceExists(String namespace) {
+        return namespace(namespace) != null;
+    }
+
+    /**
+     * Returns the names of the releases installed in a namespace.
+     *
+     * @param namespace the namespace
+     * @return the release names
+     */
+    public synchronized Set<String> releases(String namespace) {
+        FakeNamespace ns = namespace(namespace);
+        return ns == null ? Set.of() : Set.copyOf(ns.releases.keySet());
+    }
+
+    /**
+     * Returns the persistent volume claims in a namespace, including claims that are still terminating.
+     *
+     * @param namespace the namespace
+     * @return the claim UIDs by claim name
+     */
+    public synchronized Map<String, String> claims(String namespace) {
+        FakeNamespace ns = namespace(namespace);
+        Map<String, String> claims = new LinkedHashMap<>();
+        if (ns != null) {
+            purgeClaims(ns);
+            ns.claims.forEach(claim -> claims.put(claim.name, claim.uid));
+        }
+        return claims;
+    }
+
+    /**
+     * Returns the names of the pods in a namespace that are ready.
+     *
+     * @param namespace the namespace
+     * @return the names of the ready pods
+     */
+    public synchronized Set<String> readyPods(String namespace) {
+        FakeNamespace ns = namespace(namespace);
+        Instant now = Instant.now();
+        return ns == null ? Set.of() : ns.pods.stream()
+                .filter(pod -> pod.isReady(now))
+                .map(FakePod::name)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public ProcessResult execute(List<String> command, byte[] stdin) throws Exception {
+        Duration latency;
+        boolean fail;
+        synchronized (this) {
+            commands.add(List.copyOf(command));
+            latency = latencyOf(command);
+            fail = consumeFailure(command);
+        }
+        if (!latency.isZero()) {
+            Thread.sleep(latency.toMillis());
+        }
+        if (fail) {
+            return error("Error: injected failure");
+        }
+        Args args = Args.parse(command);
+        return switch (command.isEmpty() ? "" : command.get(0)) {
+            case "helm" -> helm(args, stdin);
+            case "kubectl" -> kubectl(args, stdin);
+            default -> error(command.get(0) + ": command not found");
+        };
+    }
+
+    private ProcessResult helm(Args args, byte[] stdin) throws Exception {
+        return switch (args.positional(0)) {
+            case "install" -> install(args, false);
+            case "upgrade" -> args.has("install") || releaseExists(args) ? install(args, true) : error("Error: UPGRADE FAILED: \"" + args.positional(1) + "\" has no deployed releases");
+            case "uninstall" -> uninstall(args);
+            case "template" -> ok(manifest(args.positional(1), chartName(args.positional(2)), namespaceOf(args),
+                    args.values("set").contains(PERSISTENCE)));
+            case "get" -> getManifest(args);
+            case "list" -> list(args);
+            case "rollback" -> rollback(args);
+            case "version" -> ok(HELM_VERSION + "\n");
+            case "dependency" -> ok("");
+            case "search" -> ok("[{\"name\":\"" + args.positional(2) + "\",\"version\":\""
+                    + (args.value("version") == null ? "1.0.0" : args.value("version")) + "\"}]");
+            case "pull" -> pull(args);
+            default -> error("Error: unknown command \"" + args.positional(0) + "\" for \"helm\"");
+        };
+    }
+
+    private ProcessResult kubectl(Args args, byte[] stdin) throws Exception {
+        String verb = args.positional(0);
+        String resource = args.positional(1);
+        return switch (verb) {
+            case "get" -> switch (resource) {
+                case "namespace", "namespaces", "ns" -> getNamespace(args);
+                case "secrets", "secret" -> getSecrets(args);
+                case "pods,svc,endpoints" -> getNamespaceObjects(namespaceOf(args));
+                case "pvc", "persistentvolumeclaims" -> getClaims(args);
+                default -> error("error: the server doesn't have a resource type \"" + resource + "\"");
+            };
+            case "delete" -> switch (resource) {
+                case "namespace", "namespaces", "ns" -> deleteNamespaces(args);
+                case "pods", "pod" -> restartPods(args);
+                case "pvc", "persistentvolumeclaims" -> deleteClaims(args);
+                default -> ok("");
+            };
+            case "patch" -> patchNamespace(args);
+            case "apply" -> apply(stdin);
+            case "rollout" -> ok(args.positional(2) + " successfully rolled out\n");
+            default -> error("error: unknown command \"" + verb + "\" for \"kubectl\"");
+        };
+    }
+
+    private ProcessResult install(Args args, boolean upgrade) throws Exception {
+        String name = args.positional(1);
+        String chart = args.positional(2);
+        String namespace = namespaceOf(args);
+        Instant readyAt;
+        synchronized (this) {
+            FakeNamespace ns = namespace(namespace);
+            if (ns == null) {
+                if (!args.has("create-namespace")) {
+                    return error("Error: INSTALLATION FAILED: create: failed to create: namespaces \"" + namespace + "\" not found");
+                }
+                ns = new FakeNamespace(namespace);
+                namespaces.put(namespace, ns);
+            }
+            if (ns.deletedAt != null) {
+                return error("Error: INSTALLATION FAILED: namespace " + namespace + " is being terminated");
+            }
+            FakeRelease release = ns.releases.get(name);
+            if (release != null && !upgrade) {
+                return error("Error: INSTALLATION FAILED: cannot re-use a name that is still in use");
+            }
+            String[] chartMeta = chartMetadata(chart);
+            String manifest = manifest(name, chartMeta[0], namespace, args.values("set").contains(PERSISTENCE));
+            if (release == null) {
+                release = new FakeRelease(name, namespace);
+                ns.releases.put(name, release);
+            }
+            release.deploy(chartMeta[0], chartMeta[1], manifest, labels(args.value("labels")), args.values("set"));
+            createChartClaims(ns, release);
+            readyAt = createPods(ns, release);
+        }
+        if (args.has("wait")) {
+            awaitReady(readyAt);
+        }
+        return ok("NAME: " + name + "\nNAMESPACE: " + namespace + "\nSTATUS: deployed\n");
+    }
+
+    private synchronized ProcessResult uninstall(Args args) {
+        String name = args.positional(1);
+        FakeNamespace ns = namespace(namespaceOf(args));
+        if (ns == null || ns.releases.remove(name) == null) {
+            return error("Error: uninstall: Release not loaded: " + name + ": release: not found");
+        }
+        ns.pods.removeIf(pod -> pod.release.equals(name));
+        // Claims created from volume claim templates are not part of the release and outlive it.
+        ns.claims.removeIf(claim -> claim.release.equals(name) && !claim.fromTemplate);
+        return ok("release \"" + name + "\" uninstalled\n");
+    }
+
+    private ProcessResult rollback(Args args) throws Exception {
+        String name = args.positional(1);
+        int revision = Integer.parseInt(args.positional(2));
+        Instant readyAt;
+        synchronized (this) {
+            FakeNamespace ns = namespace(namespaceOf(args));
+            FakeRelease release = ns == null ? null : ns.releases.get(name);
+            if (release == null || revision < 1 || revision > release.history.size()) {
+                return error("Error: release: not found");
+            }
+            FakeRevision target = release.history.get(revision - 1);
+            release.deploy(target.chart, target.chartVersion, target.manifest, release.labels, target.values);
+            createChartClaims(ns, release);
+            readyAt = createPods(ns, release);
+        }
+        if (args.has("wait")) {
+            awaitReady(readyAt);
+        }
+        return ok("Rollback was a success! Happy Helming!\n");
+    }
+
+    private synchronized ProcessResult getManifest(Args args) {
+        FakeNamespace ns = namespace(namespaceOf(args));
+        FakeRelease release = ns == null ? null : ns.releases.get(args.positional(2));
+        if (release == null) {
+            return error("Error: release: not found");
+        }
+        return ok(release.current().manifest);
+    }
+
+    private synchronized ProcessResult list(Args args) {
+        FakeNamespace ns = namespace(namespaceOf(args));
+        Pattern filter = args.value("filter") == null ? null : Pattern.compile(args.value("filter"));
+        List<Object> entries = new ArrayList<>();
+        if (ns != null) {
+            for (FakeRelease release : ns.releases.values()) {
+                if (filter != null && !filter.matcher(release.name).find()) continue;
+                FakeRevision current = release.current();
+                entries.add(object("name", release.name, "namespace", release.namespace,
+                        "revision", String.valueOf(current.revision), "status", current.status,
+                        "chart", current.chart + "-" + current.chartVersion, "app_version", current.chartVersion));
+            }
+        }
+        return ok(toJson(entries));
+    }
+
+    private ProcessResult pull(Args args) throws IOException {
+        String chart = args.positional(1);
+        String version = args.value("version");
+        Path destination = Path.of(args.value("destination"));
+        Files.createDirectories(destination);
+        Files.write(destination.resolve(chartName(chart) + "-" + version + ".tgz"),
+                gzip((chart + "@" + version).getBytes(StandardCharsets.UTF_8)));
+        return ok("");
+    }
+
+    private synchronized ProcessResult getNamespace(Args args) {
+        String name = args.positional(2);
+        FakeNamespace ns = namespace(name);
+        if (ns == null) {
+            return error("Error from server (NotFound): namespaces \"" + name + "\" not found");
+        }
+        if (args.value("output") == null && args.value("o") == null) {
+            return ok("NAME   STATUS   AGE\n" + name + "   " + (ns.deletedAt == null ? "Active" : "Terminating") + "   1m\n");
+        }
+        return ok(toJson(ns.toObject()));
+    }
+
+    private synchronized ProcessResult getSecrets(Args args) {
+        Selector selector = Selector.parse(args.value("l") != null ? args.value("l") : args.value("selector"));
+        Collection<FakeNamespace> scope = args.has("all-namespaces")
+                ? namespaces.values()
+                : namespace(namespaceOf(args)) == null ? List.of() : List.of(namespace(namespaceOf(args)));
+        List<Object> items = new ArrayList<>();
+        for (FakeNamespace ns : scope) {
+            for (FakeRelease release : ns.releases.values()) {
+                for (FakeRevision revision : release.history) {
+                    Map<String, String> labels = release.secretLabels(revision);
+                    if (selector.matches(labels)) {
+                        items.add(release.secret(revision, labels));
+                    }
+                }
+            }
+        }
+        return ok(toJson(object("apiVersion", "v1", "kind", "List", "items", items)));
+    }
+
+    private synchronized ProcessResult getNamespaceObjects(String namespace) {
+        FakeNamespace ns = namespace(namespace);
+        List<Object> items = new ArrayList<>();
+        if (ns != null) {
+            Instant now = Instant.now();
+            for (FakePod pod : ns.pods) {
+                items.add(pod.toObject(now));
+            }
+            for (FakeRelease release : ns.releases.values()) {
+                items.add(object("kind", "Service",
+                        "metadata", object("name", release.name, "namespace", namespace,
+                                "labels", object("app.kubernetes.io/instance", release.name)),
+                        "spec", object("type", "ClusterIP", "clusterIP", "10.96.0." + (release.name.length() % 250 + 2),
+                                "ports", List.of(object("port", 80, "targetPort", 8080)))));
+                List<Object> addresses = ns.pods.stream()
+                        .filter(pod -> pod.release.equals(release.name) && pod.isReady(now))
+                        .map(pod -> (Object) object("ip", pod.ip))
+                        .toList();
+                items.add(object("kind", "Endpoints", "metadata", object("name", release.name, "namespace", namespace),
+                        "subsets", addresses.isEmpty() ? List.of()
+                                : List.of(object("addresses", addresses, "ports", List.of(object("port", 8080))))));
+            }
+        }
+        return ok(toJson(object("apiVersion", "v1", "kind", "List", "items", items)));
+    }
+
+    private ProcessResult deleteNamespaces(Args args) throws InterruptedException {
+        Instant finalizedAt = Instant.now();
+        synchronized (this) {
+            for (String name : args.positionals.subList(2, args.positionals.size())) {
+                FakeNamespace ns = namespace(name);
+                if (ns == null) {
+                    if (args.has("ignore-not-found")) continue;
+                    return error("Error from server (NotFound): namespaces \"" + name + "\" not found");
+                }
+                if (ns.deletedAt == null) {
+                    ns.deletedAt = Instant.now();
+                    ns.releases.clear();
+                    ns.pods.clear();
+                    ns.claims.clear();
+                }
+                finalizedAt = ns.deletedAt.plus(namespaceFinalization);
+            }
+        }
+        if (!"false".equals(args.value("wait"))) {
+            awaitReady(finalizedAt);
+        }
+        return ok("");
+    }
+
+    private synchronized ProcessResult restartPods(Args args) {
+        FakeNamespace ns = namespace(namespaceOf(args));
+        List<String> names = args.positionals.subList(2, args.positionals.size());
+        if (ns != null && !names.isEmpty()) {
+            for (String name : names) {
+                FakePod pod = ns.pods.stream().filter(candidate -> candidate.name.equals(name)).findFirst().orElse(null);
+                if (pod == null) continue;
+                ns.pods.remove(pod);
+                purgeClaims(ns);
+                // StatefulSet pods keep their name, other pods get a new one from their ReplicaSet.
+                boolean statefulSetPod = pod.name.matches(Pattern.quote(pod.release + "-db-") + "\\d+");
+                String replacement = statefulSetPod ? pod.name : pod.name.substring(0, pod.name.lastIndexOf('-') + 1) + randomSuffix();
+                ns.pods.add(pod(ns, pod.release, replacement, pod.claim, statefulSetPod, Instant.now()));
+            }
+            return ok("");
+        }
+        Selector selector = Selector.parse(args.value("l"));
+        if (ns != null) {
+            for (FakeRelease release : ns.releases.values()) {
+                if (selector.matches(Map.of("app.kubernetes.io/instance", release.name))) {
+                    createPods(ns, release);
+                }
+            }
+        }
+        return ok("");
+    }
+
+    private synchronized ProcessResult getClaims(Args args) {
+        FakeNamespace ns = namespace(namespaceOf(args));
+        Selector selector = Selector.parse(args.value("l") != null ? args.value("l") : args.value("selector"));
+        List<Object> items = new ArrayList<>();
+        if (ns != null) {
+            purgeClaims(ns);
+            for (FakeClaim claim : ns.claims) {
+                if (selector.matches(Map.of("app.kubernetes.io/instance", claim.release))) {
+                    items.add(claim.toObject(ns.name));
+                }
+            }
+        }
+        return ok(toJson(object("apiVersion", "v1", "kind", "List", "items", items)));
+    }
+
+    private synchronized ProcessResult deleteClaims(Args args) {
+        FakeNamespace ns = namespace(namespaceOf(args));
+        List<String> names = args.positionals.subList(2, args.positionals.size());
+        Selector selector = Selector.parse(args.value("l"));
+        if (ns != null) {
+            Instant now = Instant.now();
+            for (FakeClaim claim : ns.claims) {
+                boolean selected = names.isEmpty()
+                        ? selector.matches(Map.of("app.kubernetes.io/instance", claim.release))
+                        : names.contains(claim.name);
+                if (selected && claim.deletedAt == null) {
+                    claim.deletedAt = now;
+                }
+            }
+            purgeClaims(ns);
+        }
+        return ok("");
+    }
+
+    private synchronized ProcessResult patchNamespace(Args args) {
+        FakeNamespace ns = namespace(args.positional(2));
+        if (ns == null) {
+            return error("Error from server (NotFound): namespaces \"" + args.positional(2) + "\" not found");
+        }
+        Object patch = Json.parse(args.value("p"));
+        Json.object(patch, "metadata", "labels").forEach((key, value) -> ns.labels.put(key, String.valueOf(value)));
+        Json.object(patch, "metadata", "annotations").forEach((key, value) -> ns.annotations.put(key, String.valueOf(value)));
+        return ok("namespace/" + ns.name + " patched\n");
+    }
+
+    private synchronized ProcessResult apply(byte[] stdin) {
+        Object document = Json.parse(new String(stdin, StandardCharsets.UTF_8));
+        List<Object> items = "List".equals(Json.string(document, "kind")) ? Json.array(document, "items") : List.of(document);
+        StringBuilder output = new StringBuilder();
+        for (Object item : items) {
+            if (!"Namespace".equals(Json.string(item, "kind"))) continue;
+            String name = Json.string(item, "metadata", "name");
+            FakeNamespace ns = namespaces.computeIfAbsent(name, FakeNamespace::new);
+            Json.object(item, "metadata", "labels").forEach((key, value) -> ns.labels.put(key, String.valueOf(value)));
+            output.append("namespace/").append(name).append(" created\n");
+        }
+        return ok(output.toString());
+    }
+
+    private synchronized boolean releaseExists(Args args) {
+        FakeNamespace ns = namespace(namespaceOf(args));
+        return ns != null && ns.releases.containsKey(args.positional(1));
+    }
+
+    /**
+     * Replaces the pods of a release with fresh ones and returns when the last of them becomes ready.
+     * Persistent releases get the pods of their StatefulSet as well.
+     */
+    private Instant createPods(FakeNamespace ns, FakeRelease release) {
+        ns.pods.removeIf(pod -> pod.release.equals(release.name));
+        purgeClaims(ns);
+        Instant now = Instant.now();
+        boolean persistent = release.isPersistent();
+        String replicaSet = Integer.toHexString(ThreadLocalRandom.current().nextInt(0x10000000, Integer.MAX_VALUE));
+        for (int i = 0; i < replicas; i++) {
+            String name = release.name + "-" + replicaSet + "-" + randomSuffix();
+            ns.pods.add(pod(ns, release.name, name, persistent ? release.name + "-cache" : null, false, now));
+        }
+        if (persistent) {
+            for (int i = 0; i < replicas; i++) {
+                String name = release.name + "-db-" + i;
+                ns.pods.add(pod(ns, release.name, name, "data-" + name, true, now));
+            }
+        }
+        return now.plus(readyAfter);
+    }
+
+    /**
+     * Creates a pod that mounts a claim, if any. A claim from a volume claim template is created when it is
+     * missing; a pod whose claim is missing or terminating is never scheduled.
+     */
+    private FakePod pod(FakeNamespace ns, String release, String name, String claimName, boolean fromTemplate, Instant now) {
+        if (claimName == null) {
+            return new FakePod(name, release, now, scheduledAfter, startedAfter, readyAfter, null, null);
+        }
+        FakeClaim claim = ns.claims.stream().filter(candidate -> candidate.name.equals(claimName)).findFirst().orElse(null);
+        if (claim == null && fromTemplate) {
+            claim = new FakeClaim(claimName, release, true);
+            ns.claims.add(claim);
+        }
+        if (claim == null || claim.deletedAt != null) {
+            return new FakePod(name, release, now, NEVER, NEVER, NEVER, claimName, claim == null ? null : claim.uid);
+        }
+        return new FakePod(name, release, now, scheduledAfter, startedAfter, readyAfter, claimName, claim.uid);
+    }
+
+    /**
+     * Creates the claims rendered by the chart of a persistent release, as {@code helm install},
+     * {@code upgrade} and {@code rollback} do.
+     */
+    private void createChartClaims(FakeNamespace ns, FakeRelease release) {
+        purgeClaims(ns);
+        String name = release.name + "-cache";
+        if (release.isPersistent() && ns.claims.stream().noneMatch(claim -> claim.name.equals(name))) {
+            ns.claims.add(new FakeClaim(name, release.name, false));
+        }
+    }
+
+    /**
+     * Drops the deleted claims that no scheduled pod uses any more, once their finalization time has passed.
+     * Like the PVC protection controller, pods that are not scheduled do not keep a claim.
+     */
+    private void purgeClaims(FakeNamespace ns) {
+        Instant now = Instant.now();
+        ns.claims.removeIf(claim -> claim.deletedAt != null
+                && !now.isBefore(claim.deletedAt.plus(claimFinalization))
+                && ns.pods.stream().noneMatch(pod -> claim.uid.equals(pod.claimUid) && pod.isScheduled(now)));
+    }
+
+    private static String randomSuffix() {
+        return Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36, 36 * 36 * 36 * 36), 36);
+    }
+
+    /**
+     * Returns a namespace if it exists, dropping it once its finalization time has passed.
+     */
+    private FakeNamespace namespace(String name) {
+        FakeNamespace ns = namespaces.get(name);
+        if (ns != null && ns.deletedAt != null && !Instant.now().isBefore(ns.deletedAt.plus(namespaceFinalization))) {
+            namespaces.remove(name);
+            return null;
+        }
+        return ns;
+    }
+
+    private Duration latencyOf(List<String> command) {
+        Duration latency = Duration.ZERO;
+        for (Map.Entry<String, Duration> entry : latencies.entrySet()) {
+            if (matches(command, entry.getKey())) {
+                latency = latency.plus(entry.getValue());
+            }
+        }
+        return latency;
+    }
+
+    private boolean consumeFailure(List<String> command) {
+        Iterator<Map.Entry<String, Integer>> entries = failures.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Integer> entry = entries.next();
+            if (matches(command, entry.getKey())) {
+                if (entry.getValue() <= 1) {
+                    entries.remove();
+                } else {
+                    entry.setValue(entry.getValue() - 1);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(List<String> command, String prefix) {
+        return (String.join(" ", command) + " ").startsWith(prefix + " ");
+    }
+
+    private static void awaitReady(Instant readyAt) throws InterruptedException {
+        long millis = Duration.between(Instant.now(), readyAt).toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private static String namespaceOf(Args args) {
+        String namespace = args.value("namespace") != null ? args.value("namespace") : args.value("n");
+        return namespace == null ? "default" : namespace;
+    }
+
+    /**
+     * Returns the name and version of a chart: read from the {@code Chart.yaml} of a local chart directory,
+     * or derived from the chart reference.
+     */
+    private static String[] chartMetadata(String chart) throws IOException {
+        String name = chartName(chart);
+        String version = "1.0.0";
+        Path chartYaml = chart.contains("://") ? null : Path.of(chart).resolve("Chart.yaml");
+        if (chartYaml != null && Files.isRegularFile(chartYaml)) {
+            var matcher = CHART_FIELD.matcher(Files.readString(chartYaml));
+            while (matcher.find()) {
+                if (matcher.group(1).equals("name")) name = matcher.group(2);
+                if (matcher.group(1).equals("version")) version = matcher.group(2);
+            }
+        }
+        return new String[]{name, version};
+    }
+
+    private static String chartName(String chart) {
+        String name = chart.replaceAll("/+$", "");
+        name = name.substring(name.lastIndexOf('/') + 1).replaceAll("\\.tgz$", "");
+        return name.replaceAll("-v?\\d+\\.\\d+\\.\\d+.*$", "");
+    }
+
+    /**
+     * Renders the manifest of a release: a Service and a Deployment named after the release, and for persistent
+     * releases a PersistentVolumeClaim and a StatefulSet with a volume claim template.
+     */
+    private static String manifest(String release, String chart, String namespace, boolean persistent) {
+        String manifest = """
+                ---
+                # Source: %2$s/templates/service.yaml
+                apiVersion: v1
+                kind: Service
+                metadata:
+                  name: %1$s
+                  namespace: %3$s
+                  labels:
+                    app.kubernetes.io/instance: %1$s
+                spec:
+                  type: ClusterIP
+                  ports:
+                    - port: 80
+                      targetPort: 8080
+                  selector:
+                    app.kubernetes.io/instance: %1$s
+                ---
+                # Source: %2$s/templates/deployment.yaml
+                apiVersion: apps/v1
+                kind: Deployment
+                metadata:
+                  name: %1$s
+                  namespace: %3$s
+                  labels:
+                    app.kubernetes.io/instance: %1$s
+                spec:
+                  selector:
+                    matchLabels:
+                      app.kubernetes.io/instance: %1$s
+                  template:
+                    metadata:
+                      labels:
+                        app.kubernetes.io/instance: %1$s
+                    spec:
+                      containers:
+                        - name: %2$s
+                          image: "registry.local/%2$s:latest"
+                """.formatted(release, chart, namespace);
+        if (!persistent) {
+            return manifest;
+        }
+        return manifest + """
+                ---
+                # Source: %2$s/templates/pvc.yaml
+                apiVersion: v1
+                kind: PersistentVolumeClaim
+                metadata:
+                  name: %1$s-cache
+                  namespace: %3$s
+                  labels:
+                    app.kubernetes.io/instance: %1$s
+                spec:
+                  accessModes: ["ReadWriteOnce"]
+                ---
+                # Source: %2$s/templates/statefulset.yaml
+                apiVersion: apps/v1
+                kind: StatefulSet
+                metadata:
+                  name: %1$s-db
+                  namespace: %3$s
+                  labels:
+                    app.kubernetes.io/instance: %1$s
+                spec:
+                  serviceName: %1$s-db
+                  selector:
+                    matchLabels:
+                      app.kubernetes.io/instance: %1$s
+                  template:
+                    metadata:
+                      labels:
+                        app.kubernetes.io/instance: %1$s
+                    spec:
+                      containers:
+                        - name: db
+                          image: "registry.local/%2$s-db:latest"
+                  volumeClaimTemplates:
+                    - metadata:
+                        name: data
+                      spec:
+                        accessModes: ["ReadWriteOnce"]
+                """.formatted(release, chart, namespace);
+    }
+
+    private static Map<String, String> labels(String value) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        if (value == null || value.isBlank()) return labels;
+        for (String pair : value.split(",")) {
+            int separator = pair.indexOf('=');
+            labels.put(pair.substring(0, separator), pair.substring(separator + 1));
+        }
+        return labels;
+    }
+
+    private static ProcessResult ok(String stdout) {
+        return new ProcessResult(0, stdout, "");
+    }
+
+    private static ProcessResult error(String stderr) {
+        return new ProcessResult(1, "", stderr + "\n");
+    }
+
+    private static Map<String, Object> object(Object... keyValues) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            object.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return object;
+    }
+
+    private static String timestamp(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.MILLIS).toString();
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static String toJson(Object value) {
+        StringBuilder json = new StringBuilder();
+        appendJson(json, value);
+        return json.toString();
+    }
+
+    private static void appendJson(StringBuilder json, Object value) {
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof Map<?, ?> map) {
+            json.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) json.append(',');
+                first = false;
+                appendJson(json, String.valueOf(entry.getKey()));
+                json.append(':');
+                appendJson(json, entry.getValue());
+            }
+            json.append('}');
+        } else if (value instanceof Collection<?> list) {
+            json.append('[');
+            boolean first = true;
+            for (Object item : list) {
+                if (!first) json.append(',');
+                first = false;
+                appendJson(json, item);
+            }
+            json.append(']');
+        } else if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else {
+            json.append('"');
+            for (char c : value.toString().toCharArray()) {
+                switch (c) {
+                    case '"' -> json.append("\\\"");
+                    case '\\' -> json.append("\\\\");
+                    case '\n' -> json.append("\\n");
+                    case '\r' -> json.append("\\r");
+                    case '\t' -> json.append("\\t");
+                    default -> {
+                        if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                        else json.append(c);
+                    }
+                }
+            }
+            json.append('"');
+        }
+    }
+
+    /**
+     * The arguments of a command: positional arguments and {@code --option value} or {@code --option=value} pairs.
+     */
+    private record Args(List<String> positionals, Map<String, List<String>> options) {
+
+        static Args parse(List<String> command) {
+            List<String> positionals = new ArrayList<>();
+            Map<String, List<String>> options = new HashMap<>();
+            for (int i = 1; i < command.size(); i++) {
+                String token = command.get(i);
+                if (!token.startsWith("-") || token.equals("-")) {
+                    positionals.add(token);
+                    continue;
+                }
+                String name = token.replaceFirst("^--?", "");
+                String value = "";
+                int equals = name.indexOf('=');
+                if (equals >= 0) {
+                    value = name.substring(equals + 1);
+                    name = name.substring(0, equals);
+                } else if (VALUE_OPTIONS.contains(name) && i + 1 < command.size()) {
+                    value = command.get(++i);
+                }
+                options.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+            }
+            return new Args(positionals, options);
+        }
+
+        String positional(int index) {
+            return index < positionals.size() ? positionals.get(index) : "";
+        }
+
+        boolean has(String option) {
+            return options.containsKey(option);
+        }
+
+        String value(String option) {
+            List<String> values = options.get(option);
+            return values == null ? null : values.get(values.size() - 1);
+        }
+
+        List<String> values(String option) {
+            return options.getOrDefault(option, List.of());
+        }
+    }
+
+    /**
+     * A label selector with {@code key=value}, {@code key!=value}, {@code key} and {@code !key} requirements.
+     */
+    private record Selector(List<String> requirements) {
+
+        static Selector parse(String selector) {
+            return new Selector(selector == null || selector.isBlank() ? List.of() : List.of(selector.split(",")));
+        }
+
+        boolean matches(Map<String, String> labels) {
+            for (String requirement : requirements) {
+                int notEquals = requirement.indexOf("!=");
+                int equals = requirement.indexOf('=');
+                boolean satisfied;
+                if (notEquals >= 0) {
+                    satisfied = !requirement.substring(notEquals + 2).equals(labels.get(requirement.substring(0, notEquals)));
+                } else if (equals >= 0) {
+                    satisfied = requirement.substring(equals + 1).equals(labels.get(requirement.substring(0, equals)));
+                } else if (requirement.startsWith("!")) {
+                    satisfied = !labels.containsKey(requirement.substring(1));
+                } else {
+                    satisfied = labels.containsKey(requirement);
+                }
+                if (!satisfied) return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class FakeNamespace {
+        final String name;
+        final Map<String, String> labels = new LinkedHashMap<>();
+        final Map<String, String> annotations = new LinkedHashMap<>();
+        final Map<String, FakeRelease> releases = new LinkedHashMap<>();
+        final List<FakePod> pods = new ArrayList<>();
+        final List<FakeClaim> claims = new ArrayList<>();
+        final Instant createdAt = Instant.now();
+        Instant deletedAt;
+
+        FakeNamespace(String name) {
+            this.name = name;
+        }
+
+        Map<String, Object> toObject() {
+            Map<String, Object> metadata = object("name", name, "creationTimestamp", timestamp(createdAt),
+                    "labels", labels, "annotations", annotations);
+            if (deletedAt != null) {
+                metadata.put("deletionTimestamp", timestamp(deletedAt));
+            }
+            return object("apiVersion", "v1", "kind", "Namespace", "metadata", metadata,
+                    "status", object("phase", deletedAt == null ? "Active" : "Terminating"));
+        }
+    }
+
+    private record FakeRevision(int revision, String status, String chart, String chartVersion, String manifest,
+                                List<String> values, Instant deployedAt) {
+    }
+
+    private static final class FakeRelease {
+        final String name;
+        final String namespace;
+        final List<FakeRevision> history = new ArrayList<>();
+        Map<String, String> labels = Map.of();
+
+        FakeRelease(String name, String namespace) {
+            this.name = name;
+            this.namespace = namespace;
+        }
+
+        void deploy(String chart, String chartVersion, String manifest, Map<String, String> labels, List<String> values) {
+            if (!history.isEmpty()) {
+                FakeRevision last = current();
+                history.set(history.size() - 1, new FakeRevision(last.revision, "superseded", last.chart,
+                        last.chartVersion, last.manifest, last.values, last.deployedAt));
+            }
+            this.labels = Map.copyOf(labels);
+            history.add(new FakeRevision(history.size() + 1, "deployed", chart, chartVersion, manifest,
+                    List.copyOf(values), Instant.now()));
+        }
+
+        FakeRevision current() {
+            return history.get(history.size() - 1);
+        }
+
+        boolean isPersistent() {
+            return current().values.contains(PERSISTENCE);
+        }
+
+        Map<String, String> secretLabels(FakeRevision revision) {
+            Map<String, String> secretLabels = new LinkedHashMap<>(labels);
+            secretLabels.put("owner", "helm");
+            secretLabels.put("name", name);
+            secretLabels.put("status", revision.status);
+            secretLabels.put("version", String.valueOf(revision.revision));
+            return secretLabels;
+        }
+
+        /**
+         * Encodes a revision like Helm's Secret storage driver: gzipped JSON, base64 encoded by Helm and
+         * once more by the API server.
+         */
+        Map<String, Object> secret(FakeRevision revision, Map<String, String> secretLabels) {
+            Map<String, Object> config = new LinkedHashMap<>();
+            for (String value : revision.values) {
+                int separator = value.indexOf('=');
+                if (separator > 0) config.put(value.substring(0, separator), value.substring(separator + 1));
+            }
+            String release = toJson(object("name", name, "namespace", namespace, "version", revision.revision,
+                    "info", object("status", revision.status, "last_deployed", timestamp(revision.deployedAt)),
+                    "chart", object("metadata", object("name", revision.chart, "version", revision.chartVersion)),
+                    "manifest", revision.manifest, "config", config));
+            Base64.Encoder base64 = Base64.getEncoder();
+            String helmEncoded = base64.encodeToString(gzip(release.getBytes(StandardCharsets.UTF_8)));
+            String data = base64.encodeToString(helmEncoded.getBytes(StandardCharsets.US_ASCII));
+            return object("apiVersion", "v1", "kind", "Secret", "type", "helm.sh/release.v1",
+                    "metadata", object("name", "sh.helm.release.v1." + name + ".v" + revision.revision,
+                            "namespace", namespace, "labels", secretLabels),
+                    "data", object("release", data));
+        }
+    }
+
+    private static final class FakeClaim {
+        final String name;
+        final String release;
+        final boolean fromTemplate;
+        final String uid = UUID.randomUUID().toString();
+        final Instant createdAt = Instant.now();
+        Instant deletedAt;
+
+        FakeClaim(String name, String release, boolean fromTemplate) {
+            this.name = name;
+            this.release = release;
+            this.fromTemplate = fromTemplate;
+        }
+
+        Map<String, Object> toObject(String namespace) {
+            Map<String, Object> metadata = object("name", name, "namespace", namespace, "uid", uid,
+                    "creationTimestamp", timestamp(createdAt), "labels", object("app.kubernetes.io/instance", release));
+            if (deletedAt != null) {
+                metadata.put("deletionTimestamp", timestamp(deletedAt));
+                metadata.put("finalizers", List.of("kubernetes.io/pvc-protection"));
+            }
+            return object("apiVersion", "v1", "kind", "PersistentVolumeClaim", "metadata", metadata,
+                    "status", object("phase", "Bound"));
+        }
+    }
+
+    private record FakePod(String name, String release, Instant createdAt, Duration scheduledAfter,
+                           Duration startedAfter, Duration readyAfter, String claim, String claimUid, String ip) {
+
+        FakePod(String name, String release, Instant createdAt, Duration scheduledAfter, Duration startedAfter,
+                Duration readyAfter, String claim, String claimUid) {
+            this(name, release, createdAt, scheduledAfter, startedAfter, readyAfter, claim, claimUid,
+                    "10.244." + ThreadLocalRandom.current().nextInt(256) + "." + ThreadLocalRandom.current().nextInt(1, 255));
+        }
+
+        boolean isScheduled(Instant now) {
+            return !now.isBefore(createdAt.plus(scheduledAfter));
+        }
+
+        boolean isReady(Instant now) {
+            return !now.isBefore(createdAt.plus(readyAfter));
+        }
+
+        /**
+         * Returns the pod as the API server would report it at a point in time of its timeline.
+         */
+        Map<String, Object> toObject(Instant now) {
+            Instant scheduled = createdAt.plus(scheduledAfter);
+            Instant started = createdAt.plus(startedAfter);
+            Instant ready = createdAt.plus(readyAfter);
+            List<Object> conditions = new ArrayList<>();
+            Map<String, Object> state;
+            String phase = "Pending";
+            if (!now.isBefore(scheduled)) {
+                conditions.add(object("type", "PodScheduled", "status", "True", "lastTransitionTime", timestamp(scheduled)));
+            }
+            if (!now.isBefore(started)) {
+                phase = "Running";
+                state = object("running", object("startedAt", timestamp(started)));
+            } else {
+                state = object("waiting", object("reason", "ContainerCreating"));
+            }
+            boolean isReady = !now.isBefore(ready);
+            if (isReady) {
+                conditions.add(object("type", "Ready", "status", "True", "lastTransitionTime", timestamp(ready)));
+            }
+            return object("apiVersion", "v1", "kind", "Pod",
+                    "metadata", object("name", name, "creationTimestamp", timestamp(createdAt),
+                            "labels", object("app.kubernetes.io/instance", release)),
+                    "spec", object("containers", List.of(object("name", release))),
+                    "status", object("phase", phase, "podIP", ip, "conditions", conditions,
+                            "containerStatuses", List.of(object("name", release, "ready", isReady, "restartCount", 0,
+                                    "state", state))));
+        }
+    }
+}